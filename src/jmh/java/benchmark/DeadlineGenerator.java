@@ -0,0 +1,120 @@
+package benchmark;
+
+import localParser.Save;
+import model.Course;
+import model.Deadline;
+
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * This class generates synthetic deadlines for the benchmarks. The same seed always
+ * generates the same data, so results of different runs can be compared.
+ */
+public final class DeadlineGenerator {
+    /**
+     * The number of deadlines in every generated course
+     */
+    public static final int DEADLINES_PER_COURSE = 50;
+    private static final String[] STATUS = Deadline.STATUS.getAllStatus();
+
+    /**
+     * This class only has static methods
+     */
+    private DeadlineGenerator() {
+    }
+
+    /**
+     * This function generates deadlines spread over four years. Every course has
+     * DEADLINES_PER_COURSE deadlines and every deadline name is unique.
+     * @param size the number of deadlines
+     * @param seed the random seed
+     * @requires size >= 0
+     * @modifies None
+     * @effects None
+     * @return a list of new deadlines
+     */
+    public static List<Deadline> deadlines(int size, long seed) {
+        Random random = new Random(seed);
+        List<Deadline> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            String link = random.nextBoolean() ? "" : "https://submitty.cs.rpi.edu/gradeable/" + i;
+            result.add(new Deadline(2018 + random.nextInt(4), 1 + random.nextInt(12),
+                    1 + random.nextInt(28), random.nextInt(24), random.nextInt(60),
+                    String.format("Homework %06d", i),
+                    String.format("Course %04d", i / DEADLINES_PER_COURSE),
+                    STATUS[random.nextInt(STATUS.length)], link));
+        }
+        return result;
+    }
+
+    /**
+     * This function puts deadlines into courses
+     * @param deadlines the deadlines
+     * @requires deadlines != null
+     * @modifies None
+     * @effects None
+     * @return a <course_name, course_object> map
+     */
+    public static ConcurrentHashMap<String, Course> courses(List<Deadline> deadlines) {
+        ConcurrentHashMap<String, Course> courses = new ConcurrentHashMap<>();
+        for (Deadline deadline : deadlines) {
+            courses.computeIfAbsent(deadline.getCourseName(), Course::new).addDeadline(deadline);
+        }
+        return courses;
+    }
+
+    /**
+     * This function writes courses in a file format with localParser.Save
+     * @param courses the <course_name, course_object> map
+     * @param format "json", "csv" or "ics"
+     * @requires courses != null
+     * @modifies None
+     * @effects None
+     * @return the content of the file
+     */
+    public static String save(ConcurrentHashMap<String, Course> courses, String format) {
+        StringWriter writer = new StringWriter();
+        Save save = new Save(courses, writer);
+        switch (format) {
+            case "json":
+                save.Json();
+                break;
+            case "csv":
+                save.Csv();
+                break;
+            case "ics":
+                save.Ics();
+                break;
+            default:
+                throw new IllegalArgumentException("Unsupported format: " + format);
+        }
+        return writer.toString();
+    }
+
+    /**
+     * This function generates due texts as they appear on Submitty, e.g.
+     * "(due 03/15/2019 @ 11:59 PM)"
+     * @param size the number of texts
+     * @param seed the random seed
+     * @requires size >= 0
+     * @modifies None
+     * @effects None
+     * @return an array of due texts
+     */
+    public static String[] dueTexts(int size, long seed) {
+        Random random = new Random(seed);
+        String[] result = new String[size];
+        for (int i = 0; i < size; i++) {
+            // Deadline.parseDate() only accepts months 01 to 11
+            result[i] = String.format("(%s %02d/%02d/%04d @ %02d:%02d %s)",
+                    random.nextInt(10) == 0 ? "teams lock" : "due",
+                    1 + random.nextInt(11), 1 + random.nextInt(28), 2018 + random.nextInt(4),
+                    1 + random.nextInt(11), random.nextInt(60), random.nextBoolean() ? "AM" : "PM");
+        }
+        return result;
+    }
+}
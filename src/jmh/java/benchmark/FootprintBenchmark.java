@@ -0,0 +1,109 @@
+package benchmark;
+
+import model.CalendarWrapper;
+import model.Deadline;
+import model.DeadlineStore;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the heap a loaded deadline keeps. Every invocation makes the
+ * deadlines the way a parser does, from a new String for every field, and reports
+ * the growth of the used heap per deadline as the bytesPerDeadline counter, which
+ * includes the deadline name and the slot in the list. archive does the same for a
+ * DeadlineStore whose deadlines have all passed and were archived, which keeps the
+ * deadlines as columns instead. Run it alone, e.g. -Djmh.args="FootprintBenchmark",
+ * so no other benchmark shares the heap.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@State(Scope.Benchmark)
+public class FootprintBenchmark {
+    @Param({"100000"})
+    public int size;
+
+    private int[][] times;
+    private String[][] texts;
+
+    /**
+     * The heap kept per deadline by the last invocation
+     */
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    @State(Scope.Thread)
+    public static class Footprint {
+        public long bytesPerDeadline;
+    }
+
+    /**
+     * This function generates the fields of the deadlines once
+     */
+    @Setup
+    public void setUp() {
+        List<Deadline> deadlines = DeadlineGenerator.deadlines(this.size, 42);
+        this.times = new int[this.size][];
+        this.texts = new String[this.size][];
+        for (int i = 0; i < this.size; i++) {
+            Deadline deadline = deadlines.get(i);
+            this.times[i] = new int[]{deadline.getYear(), deadline.getMonth(), deadline.getDay(),
+                    deadline.getHour(), deadline.getMinute()};
+            this.texts[i] = new String[]{deadline.getName(), deadline.getCourseName(),
+                    deadline.getStatus(), deadline.getLink()};
+        }
+    }
+
+    @Benchmark
+    public List<Deadline> load(Footprint footprint) {
+        long before = usedHeap();
+        List<Deadline> deadlines = new ArrayList<>(this.size);
+        for (int i = 0; i < this.size; i++) {
+            int[] time = this.times[i];
+            String[] text = this.texts[i];
+            deadlines.add(new Deadline(time[0], time[1], time[2], time[3], time[4], new String(text[0]),
+                    new String(text[1]), new String(text[2]), new String(text[3])));
+        }
+        footprint.bytesPerDeadline = (usedHeap() - before) / this.size;
+        return deadlines;
+    }
+
+    @Benchmark
+    public DeadlineStore archive(Footprint footprint) {
+        long before = usedHeap();
+        DeadlineStore store = new DeadlineStore(new CalendarWrapper(2000, 1, 1, 0, 0));
+        store.putAll(this.load(new Footprint()));
+        store.rebalance(new CalendarWrapper(2100, 1, 1, 0, 0));
+        footprint.bytesPerDeadline = (usedHeap() - before) / this.size;
+        return store;
+    }
+
+    /**
+     * This function returns the used heap after the garbage is collected
+     * @return the used heap in bytes
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // a few collections, since one may leave garbage behind
+        for (int i = 0; i < 4; i++) {
+            System.gc();
+            used = Math.min(used, runtime.totalMemory() - runtime.freeMemory());
+        }
+        return used;
+    }
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import model.CalendarWrapper;
+import model.Course;
+import model.Deadline;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures the hot paths of the model: comparing and hashing times,
+ * sorting deadlines and parsing Submitty due texts. Every benchmark handles all
+ * generated deadlines, so the score is the time for one pass over them.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ModelBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    private List<Deadline> deadlines;
+    private CalendarWrapper[] times;
+    private Course course;
+    private String[] dueTexts;
+
+    /**
+     * This function generates the data once for every size
+     */
+    @Setup
+    public void setUp() {
+        this.deadlines = DeadlineGenerator.deadlines(this.size, 42);
+        this.times = new CalendarWrapper[this.size];
+        this.course = new Course("Benchmark");
+        for (int i = 0; i < this.size; i++) {
+            Deadline deadline = this.deadlines.get(i);
+            this.times[i] = deadline.getTime();
+            this.course.addDeadline(deadline);
+        }
+        this.dueTexts = DeadlineGenerator.dueTexts(this.size, 42);
+    }
+
+    @Benchmark
+    public void calendarCompareTo(Blackhole blackhole) {
+        for (int i = 1; i < this.times.length; i++) {
+            blackhole.consume(this.times[i - 1].compareTo(this.times[i]));
+        }
+    }
+
+    @Benchmark
+    public void calendarHashCode(Blackhole blackhole) {
+        for (CalendarWrapper time : this.times) {
+            blackhole.consume(time.hashCode());
+        }
+    }
+
+    @Benchmark
+    public List<Deadline> deadlineSort() {
+        List<Deadline> list = new ArrayList<>(this.deadlines);
+        Collections.sort(list);
+        return list;
+    }
+
+    @Benchmark
+    public List<String> courseGetSortedDeadlines() {
+        return this.course.getSortedDeadlines();
+    }
+
+    @Benchmark
+    public void deadlineParseDate(Blackhole blackhole) {
+        for (String dueText : this.dueTexts) {
+            blackhole.consume(Deadline.parseDate(dueText));
+        }
+    }
+}
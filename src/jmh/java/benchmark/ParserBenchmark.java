@@ -0,0 +1,112 @@
+package benchmark;
+
+import localParser.Load;
+import localParser.Save;
+import main.controller.CommandLineController;
+import model.Course;
+import model.DeadlineSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringReader;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * This class measures loading and saving whole files with localParser.Load and
+ * localParser.Save. The text files are kept in memory, so the score does not include
+ * any disk access; the binary snapshot is loaded from a temporary file because it is
+ * memory-mapped, which stays in the page cache after the first iteration.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParserBenchmark {
+    @Param({"1000", "10000", "100000"})
+    public int size;
+
+    @Param({"json", "csv", "ics", "dls"})
+    public String format;
+
+    private ConcurrentHashMap<String, Course> courses;
+    private String file;
+    private File snapshot;
+
+    /**
+     * This function generates the courses and their saved file once for every size
+     * and format
+     */
+    @Setup
+    public void setUp() throws IOException {
+        this.courses = DeadlineGenerator.courses(DeadlineGenerator.deadlines(this.size, 42));
+        if (this.format.equals("dls")) {
+            this.snapshot = File.createTempFile("deadlines", ".dls");
+            try (OutputStream out = new FileOutputStream(this.snapshot)) {
+                new Save(DeadlineSnapshot.of(this.courses), out).Binary();
+            }
+        } else {
+            this.file = DeadlineGenerator.save(this.courses, this.format);
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (this.snapshot != null) {
+            this.snapshot.delete();
+        }
+    }
+
+    @Benchmark
+    public ConcurrentHashMap<String, Course> load() throws IOException {
+        CommandLineController controller = new CommandLineController();
+        Load load = (this.snapshot != null) ? new Load(controller, this.snapshot)
+                : new Load(controller, new StringReader(this.file));
+        boolean result;
+        switch (this.format) {
+            case "json":
+                result = load.Json();
+                break;
+            case "csv":
+                result = load.Csv();
+                break;
+            case "dls":
+                result = load.Binary();
+                break;
+            default:
+                result = load.Ics();
+                break;
+        }
+        if (!result) {
+            throw new IllegalStateException("Failed to load the generated " + this.format + " file");
+        }
+        return controller.getAllCourses();
+    }
+
+    @Benchmark
+    public Object save() {
+        if (this.format.equals("dls")) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            new Save(DeadlineSnapshot.of(this.courses), out).Binary();
+            return out.toByteArray();
+        }
+        return DeadlineGenerator.save(this.courses, this.format);
+    }
+}
@@ -0,0 +1,333 @@
+package localParser;
+
+import model.CalendarWrapper;
+import model.Deadline;
+import model.DeadlineSnapshot;
+import model.RecurringDeadline;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+import java.util.function.BiConsumer;
+
+/**
+ * This class reads and writes the binary deadline snapshot (*.dls). Course names,
+ * statuses and links are written once in a string table, due times are epoch minutes
+ * stored as the difference to the previous deadline, and every number is a varint, so
+ * a deadline usually takes a few bytes besides its name. The layout of version 2 is
+ *
+ *   magic     'D' 'L' 'S' and one byte for the format version
+ *   zone      string; the time zone the due times are shown in
+ *   strings   varint n, then n strings
+ *   courses   varint n, then for every course
+ *               varint    the index of the course name
+ *               varint    the number of deadlines, then for every deadline
+ *                 string    the deadline name
+ *                 zigzag    the due epoch minute minus the one of the deadline before
+ *                 varint    the index of the status plus one; 0 for no status
+ *                 varint    the index of the link
+ *                 varint    the index of the recurrence rule plus one; 0 for a
+ *                           deadline which does not repeat
+ *
+ * where a string is a varint length in bytes followed by the UTF-8 bytes. A recurring
+ * deadline is written as its first occurrence under the name of the series, after the
+ * other deadlines of its course. Version 1 has no rules and is still read.
+ */
+final class BinarySnapshot {
+    static final byte[] MAGIC = {'D', 'L', 'S'};
+    static final int VERSION = 2;
+
+    private BinarySnapshot() {
+    }
+
+    /**
+     * This function writes a snapshot
+     *
+     * @param snapshot the courses to write
+     * @param out the stream to write to; it is flushed but not closed
+     * @requires snapshot != null && out != null
+     * @modifies out
+     * @effects write the snapshot
+     * @throws IOException if the stream cannot be written
+     */
+    static void write(DeadlineSnapshot snapshot, OutputStream out) throws IOException {
+        // the string table
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (String courseName: snapshot.getCourseNames()) {
+            strings.putIfAbsent(courseName, strings.size());
+            for (Deadline deadline: snapshot.getDeadlines(courseName).values()) {
+                if (deadline.getStatus() != null) {
+                    strings.putIfAbsent(deadline.getStatus(), strings.size());
+                }
+                strings.putIfAbsent(link(deadline), strings.size());
+            }
+            for (RecurringDeadline series: snapshot.getRecurring(courseName).values()) {
+                if (series.getFirst().getStatus() != null) {
+                    strings.putIfAbsent(series.getFirst().getStatus(), strings.size());
+                }
+                strings.putIfAbsent(link(series.getFirst()), strings.size());
+                strings.putIfAbsent(series.getRule(), strings.size());
+            }
+        }
+
+        OutputStream buffered = new BufferedOutputStream(out, 1 << 16);
+        buffered.write(MAGIC);
+        buffered.write(VERSION);
+        writeString(buffered, TimeZone.getDefault().getID());
+        writeVarint(buffered, strings.size());
+        for (String string: strings.keySet()) {
+            writeString(buffered, string);
+        }
+        writeVarint(buffered, snapshot.getCourseCount());
+        long previous = 0;
+        for (String courseName: snapshot.getCourseNames()) {
+            Map<String, Deadline> deadlines = snapshot.getDeadlines(courseName);
+            Map<String, RecurringDeadline> recurring = snapshot.getRecurring(courseName);
+            writeVarint(buffered, strings.get(courseName));
+            writeVarint(buffered, deadlines.size() + recurring.size());
+            for (Deadline deadline: deadlines.values()) {
+                previous = writeDeadline(buffered, strings, deadline.getName(), deadline, null, previous);
+            }
+            for (RecurringDeadline series: recurring.values()) {
+                previous = writeDeadline(buffered, strings, series.getName(), series.getFirst(), series.getRule(),
+                        previous);
+            }
+        }
+        buffered.flush();
+    }
+
+    /**
+     * This function writes one deadline of a course
+     *
+     * @param out the stream to write to
+     * @param strings the string table
+     * @param name the deadline name, or the name of the series
+     * @param deadline the deadline, or the first occurrence of the series
+     * @param rule the recurrence rule; null if the deadline does not repeat
+     * @param previous the due epoch minute of the deadline written before
+     * @requires out != null && strings contains the strings of the deadline
+     * @modifies out
+     * @effects write the deadline
+     * @return the due epoch minute of the deadline
+     * @throws IOException if the stream cannot be written
+     */
+    private static long writeDeadline(OutputStream out, Map<String, Integer> strings, String name,
+                                      Deadline deadline, String rule, long previous) throws IOException {
+        writeString(out, name);
+        long minute = deadline.getEpochMinute();
+        writeVarint(out, zigzag(minute - previous));
+        writeVarint(out, (deadline.getStatus() == null) ? 0 : strings.get(deadline.getStatus()) + 1);
+        writeVarint(out, strings.get(link(deadline)));
+        writeVarint(out, (rule == null) ? 0 : strings.get(rule) + 1);
+        return minute;
+    }
+
+    /**
+     * This function reads a snapshot. Every course name, status and link is one String
+     * object shared by all the deadlines which use it.
+     *
+     * @param buffer the snapshot, e.g. a memory-mapped file
+     * @param sink the function which is given every deadline in order, with its
+     *             recurrence rule, or null if it does not repeat
+     * @requires buffer != null && sink != null
+     * @modifies buffer, sink
+     * @effects pass every deadline to the sink
+     * @return the number of deadlines
+     * @throws IOException if the buffer is not a snapshot this version can read
+     */
+    static int read(ByteBuffer buffer, BiConsumer<Deadline, String> sink) throws IOException {
+        try {
+            for (byte b: MAGIC) {
+                if (buffer.get() != b) {
+                    throw new IOException("Not a deadline snapshot.");
+                }
+            }
+            int version = buffer.get() & 0xFF;
+            if (version > VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + ".");
+            }
+            TimeZone zone = TimeZone.getTimeZone(readString(buffer));
+            int stringCount = readCount(buffer);
+            List<String> strings = new ArrayList<>(stringCount);
+            for (int i = 0; i < stringCount; i++) {
+                strings.add(readString(buffer));
+            }
+            int count = 0;
+            long minute = 0;
+            int courseCount = readCount(buffer);
+            for (int c = 0; c < courseCount; c++) {
+                String courseName = string(strings, readCount(buffer));
+                int deadlineCount = readCount(buffer);
+                for (int d = 0; d < deadlineCount; d++) {
+                    String name = readString(buffer);
+                    minute += unzigzag(readVarint(buffer));
+                    int status = readCount(buffer);
+                    String link = string(strings, readCount(buffer));
+                    int rule = (version >= 2) ? readCount(buffer) : 0;
+                    sink.accept(new Deadline(new CalendarWrapper(minute, zone), name, courseName,
+                            (status == 0) ? null : string(strings, status - 1), link),
+                            (rule == 0) ? null : string(strings, rule - 1));
+                    count++;
+                }
+            }
+            return count;
+        } catch (BufferUnderflowException e) {
+            throw new IOException("The snapshot is truncated.");
+        }
+    }
+
+    /**
+     * This function returns the link of a deadline for the string table
+     * @param deadline a deadline
+     * @requires deadline != null
+     * @modifies None
+     * @effects None
+     * @return the link of the deadline; "" for none
+     */
+    private static String link(Deadline deadline) {
+        return (deadline.getLink() == null) ? Deadline.LINK.NONE : deadline.getLink();
+    }
+
+    /**
+     * This function looks up an index in the string table
+     * @param strings the string table
+     * @param index an index read from the snapshot
+     * @requires strings != null
+     * @modifies None
+     * @effects None
+     * @return the string at the index
+     * @throws IOException if there is no such string
+     */
+    private static String string(List<String> strings, int index) throws IOException {
+        if (index >= strings.size()) {
+            throw new IOException("The snapshot refers to string " + index + " of " + strings.size() + ".");
+        }
+        return strings.get(index);
+    }
+
+    /**
+     * This function moves the sign of a number to its lowest bit
+     * @param value a signed number
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number with its sign in the lowest bit, so small negative numbers
+     *         are small varints too
+     */
+    static long zigzag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * This function moves the sign of a number back from its lowest bit
+     * @param value a number returned by zigzag()
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the signed number
+     */
+    static long unzigzag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * This function writes an unsigned number in 7-bit groups, lowest group first
+     *
+     * @param out the stream to write to
+     * @param value the number; read as unsigned
+     * @throws IOException if the stream cannot be written
+     */
+    static void writeVarint(OutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+
+    /**
+     * This function reads a varint
+     * @param buffer the buffer to read from
+     * @requires buffer != null
+     * @modifies buffer
+     * @effects move the position of the buffer past the number
+     * @return the unsigned number written by writeVarint()
+     * @throws IOException if the number has more than 64 bits
+     */
+    static long readVarint(ByteBuffer buffer) throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+        throw new IOException("The snapshot has a malformed number.");
+    }
+
+    /**
+     * This function reads a varint which must fit in an int
+     * @param buffer the buffer to read from
+     * @requires buffer != null
+     * @modifies buffer
+     * @effects move the position of the buffer past the number
+     * @return a count or an index
+     * @throws IOException if the number does not fit in an int
+     */
+    private static int readCount(ByteBuffer buffer) throws IOException {
+        long value = readVarint(buffer);
+        if (value > Integer.MAX_VALUE) {
+            throw new IOException("The snapshot has a malformed count.");
+        }
+        return (int) value;
+    }
+
+    /**
+     * This function writes a string as its length and its UTF-8 bytes
+     * @param out the stream to write to
+     * @param string the string
+     * @requires out != null && string != null
+     * @modifies out
+     * @effects write the string
+     * @throws IOException if the stream cannot be written
+     */
+    private static void writeString(OutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * This function reads a string
+     * @param buffer the buffer to read from
+     * @requires buffer != null
+     * @modifies buffer
+     * @effects move the position of the buffer past the string
+     * @return the string written by writeString()
+     * @throws IOException if the length is malformed
+     */
+    private static String readString(ByteBuffer buffer) throws IOException {
+        int length = readCount(buffer);
+        if (length > buffer.remaining()) {
+            throw new BufferUnderflowException();
+        }
+        if (buffer.hasArray()) {
+            String string = new String(buffer.array(), buffer.arrayOffset() + buffer.position(),
+                    length, StandardCharsets.UTF_8);
+            buffer.position(buffer.position() + length);
+            return string;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
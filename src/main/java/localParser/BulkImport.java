@@ -0,0 +1,324 @@
+package localParser;
+
+import main.controller.Operations;
+import main.viewer.Log;
+import model.Deadline;
+import model.RecurringDeadline;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * This class imports many local files at once, e.g. the exported calendars of every
+ * course of a semester. Every file is parsed by its own Load on a fork-join pool, into
+ * a Result of its own, so the files neither share a batch nor an error message. The
+ * results are merged in the order of the files: the deadlines of all the files are
+ * passed to the controller in one batch, and a deadline in a later file replaces one
+ * of the same course and name in an earlier file, whatever order the files finished in.
+ */
+public final class BulkImport {
+    private BulkImport() {
+    }
+
+    /**
+     * This class stores what was read from one file
+     */
+    public static final class Result {
+        private final File file;
+        private final String extension;
+        private final List<Deadline> deadlines;
+        private final List<RecurringDeadline> recurring;
+        private boolean successful;
+        private String errMsg;
+
+        /**
+         * Constructor
+         * @param file the file
+         * @param extension the upper-case extension which selects the parser
+         * @requires file != null && extension != null
+         * @modifies this
+         * @effects create an empty result
+         */
+        private Result(File file, String extension) {
+            this.file = file;
+            this.extension = extension;
+            this.deadlines = new ArrayList<>();
+            this.recurring = new ArrayList<>();
+            this.successful = false;
+            this.errMsg = "";
+        }
+
+        /**
+         * This function returns the file that was read
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the file
+         */
+        public File getFile() {
+            return this.file;
+        }
+
+        /**
+         * This function returns the extension of the file
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the upper-case extension which selected the parser, e.g. "CSV"
+         */
+        public String getExtension() {
+            return this.extension;
+        }
+
+        /**
+         * This function returns the deadlines read from the file
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of the deadlines in the order they were read; a file
+         *         which failed keeps the deadlines before the error
+         */
+        public List<Deadline> getDeadlines() {
+            return Collections.unmodifiableList(this.deadlines);
+        }
+
+        /**
+         * This function returns the recurring deadlines read from the file
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of the recurring deadlines in the order they were read
+         */
+        public List<RecurringDeadline> getRecurring() {
+            return Collections.unmodifiableList(this.recurring);
+        }
+
+        /**
+         * This function returns how many entries were read from the file
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the number of deadlines and recurring deadlines
+         */
+        public int size() {
+            return this.deadlines.size() + this.recurring.size();
+        }
+
+        /**
+         * This function checks whether the file was read completely
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return whether the whole file was read
+         */
+        public boolean isSuccessful() {
+            return this.successful;
+        }
+
+        /**
+         * This function returns the error of the file
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return why the file was not read completely; "" if it was
+         */
+        public String getErrorMessage() {
+            return this.errMsg;
+        }
+
+        /**
+         * Returns a string representation of the object.
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a string representation of the object.
+         */
+        @Override
+        public String toString() {
+            return this.file.getName() + ": " + this.size() + " deadlines"
+                    + (this.successful ? "" : ", " + this.errMsg);
+        }
+    }
+
+    /**
+     * This function lists the files to import. A directory is replaced by the files
+     * with a supported extension in it and in its subdirectories, ordered by path; a
+     * file which is given twice is imported once, at its first place.
+     *
+     * @param paths the files and directories
+     * @requires paths != null
+     * @modifies None
+     * @effects None
+     * @return the files in the order they will be merged
+     */
+    public static List<File> collect(Collection<File> paths) {
+        Set<File> files = new LinkedHashSet<>();
+        for (File path: paths) {
+            collect(path.getAbsoluteFile(), files);
+        }
+        return new ArrayList<>(files);
+    }
+
+    /**
+     * This function adds a file, or the files in a directory
+     *
+     * @param path a file or a directory
+     * @param files the files found so far
+     * @requires path != null && files != null
+     * @modifies files
+     * @effects add the files
+     */
+    private static void collect(File path, Set<File> files) {
+        if (path.isDirectory()) {
+            File[] children = path.listFiles();
+            if (children == null) {
+                Log.error("[Import] Unable to list " + path);
+                return;
+            }
+            Arrays.sort(children);
+            for (File child: children) {
+                if (child.isDirectory() || extensionOf(child) != null) {
+                    collect(child, files);
+                }
+            }
+        } else {
+            files.add(path);
+        }
+    }
+
+    /**
+     * This function returns the parser of a file
+     *
+     * @param file the file
+     * @requires file != null
+     * @modifies None
+     * @effects None
+     * @return the upper-case extension; null if it is not supported
+     */
+    static String extensionOf(File file) {
+        String name = file.getName();
+        int dot = name.lastIndexOf('.');
+        if (dot < 0) {
+            return null;
+        }
+        String extension = name.substring(dot + 1).toLowerCase(Locale.US);
+        return Arrays.asList(Parser.SUPPORTED_EXTIONSION).contains(extension)
+                ? extension.toUpperCase(Locale.US) : null;
+    }
+
+    /**
+     * This function parses the files on a pool, one task per file. The files are not
+     * passed to any controller.
+     *
+     * @param files the files
+     * @param pool the pool the files are parsed on
+     * @requires files != null && pool != null
+     * @modifies None
+     * @effects None
+     * @return one result per file, in the order of the files
+     */
+    public static List<Result> parse(List<File> files, ForkJoinPool pool) {
+        List<ForkJoinTask<Result>> tasks = new ArrayList<>(files.size());
+        for (File file: files) {
+            tasks.add(pool.submit(() -> parse(file)));
+        }
+        List<Result> results = new ArrayList<>(files.size());
+        for (ForkJoinTask<Result> task: tasks) {
+            results.add(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * This function parses one file
+     *
+     * @param file the file
+     * @requires file != null
+     * @modifies None
+     * @effects None
+     * @return the result of the file
+     */
+    static Result parse(File file) {
+        String extension = extensionOf(file);
+        Result result = new Result(file, (extension == null) ? "" : extension);
+        if (extension == null) {
+            result.errMsg = "Unsupported file type.";
+            return result;
+        }
+        Load load;
+        try {
+            load = new Load(new Load.Sink() {
+                @Override
+                public void addDeadlines(Collection<Deadline> deadlines) {
+                    result.deadlines.addAll(deadlines);
+                }
+
+                @Override
+                public void addRecurringDeadlines(Collection<RecurringDeadline> series) {
+                    result.recurring.addAll(series);
+                }
+            }, file);
+        } catch (FileNotFoundException e) {
+            result.errMsg = e.getMessage();
+            return result;
+        }
+        result.successful = Parser.parse(load, extension);
+        result.errMsg = result.successful ? "" : load.getErrorMessage();
+        Log.debug("DEBUG: [Import] " + result);
+        return result;
+    }
+
+    /**
+     * This function passes the results to a controller: the deadlines of every file in
+     * one batch, then the recurring deadlines of every file in one batch
+     *
+     * @param results the results in the order of the files
+     * @param parent the controller
+     * @requires results != null && parent != null
+     * @modifies parent
+     * @effects add the deadlines of every result
+     * @return the number of deadlines and recurring deadlines passed
+     */
+    public static int merge(List<Result> results, Operations parent) {
+        List<Deadline> deadlines = new ArrayList<>();
+        List<RecurringDeadline> recurring = new ArrayList<>();
+        for (Result result: results) {
+            deadlines.addAll(result.deadlines);
+            recurring.addAll(result.recurring);
+        }
+        if (!deadlines.isEmpty()) {
+            parent.addDeadlines(deadlines);
+        }
+        if (!recurring.isEmpty()) {
+            parent.addRecurringDeadlines(recurring);
+        }
+        return deadlines.size() + recurring.size();
+    }
+
+    /**
+     * This function imports files and directories: it lists, parses and merges them
+     *
+     * @param paths the files and directories
+     * @param pool the pool the files are parsed on
+     * @param parent the controller
+     * @requires paths != null && pool != null && parent != null
+     * @modifies parent
+     * @effects add the deadlines of every file
+     * @return one result per file, in the order they were merged
+     */
+    public static List<Result> run(Collection<File> paths, ForkJoinPool pool, Operations parent) {
+        List<Result> results = parse(collect(paths), pool);
+        merge(results, parent);
+        return results;
+    }
+}
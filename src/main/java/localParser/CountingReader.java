@@ -0,0 +1,61 @@
+package localParser;
+
+import java.io.FilterReader;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * This class is a reader which counts the characters read through it, so a loader
+ * can tell how far into a file it is
+ */
+class CountingReader extends FilterReader {
+    private volatile long count;
+
+    /**
+     * Constructor
+     * @param in the reader to count
+     * @requires in != null
+     * @modifies count
+     * @effects create a new CountingReader
+     */
+    CountingReader(Reader in) {
+        super(in);
+        this.count = 0;
+    }
+
+    /**
+     * This function returns the number of characters read so far
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of characters
+     */
+    long getCount() {
+        return this.count;
+    }
+
+    @Override
+    public int read() throws IOException {
+        int c = super.read();
+        if (c >= 0) {
+            this.count++;
+        }
+        return c;
+    }
+
+    @Override
+    public int read(char[] buffer, int offset, int length) throws IOException {
+        int n = super.read(buffer, offset, length);
+        if (n > 0) {
+            this.count += n;
+        }
+        return n;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        long skipped = super.skip(n);
+        this.count += skipped;
+        return skipped;
+    }
+}
@@ -0,0 +1,393 @@
+package localParser;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.function.Function;
+
+/**
+ * This class reads and writes CSV as described in RFC 4180: fields are separated by
+ * commas, records by CRLF or LF, and a field which contains a comma, a quote or a line
+ * break is quoted, with every quote in it doubled. Records are read by scanning a char
+ * buffer; a field which does not cross the end of the buffer becomes a String straight
+ * from the buffer, so no regular expression or intermediate string is made.
+ *
+ * A large file which is already in memory can be split into chunks at record
+ * boundaries and parsed on a fork-join pool; the results are returned in the order of
+ * the records.
+ */
+final class CsvCodec {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private CsvCodec() {
+    }
+
+    /**
+     * This class reads one record at a time from a reader or from a range of a char
+     * array
+     */
+    static final class RecordReader {
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_SEEN = 3;
+        private static final int AFTER_QUOTED = 4;
+        private final Reader in;
+        private final StringBuilder field;
+        private char[] buffer;
+        private int position;
+        private int limit;
+        private int start;
+        private boolean skipLineFeed;
+
+        /**
+         * Constructor
+         * @param in the reader; it is not closed
+         * @requires in != null
+         * @modifies this
+         * @effects create a reader with its own buffer
+         */
+        RecordReader(Reader in) {
+            this.in = in;
+            this.buffer = new char[BUFFER_SIZE];
+            this.position = 0;
+            this.limit = 0;
+            this.field = new StringBuilder();
+        }
+
+        /**
+         * Constructor
+         * @param data the characters; they are read in place
+         * @param from the index of the first character
+         * @param to the index after the last character
+         * @requires data != null && 0 <= from <= to <= data.length
+         * @modifies this
+         * @effects create a reader of the range
+         */
+        RecordReader(char[] data, int from, int to) {
+            this.in = null;
+            this.buffer = data;
+            this.position = from;
+            this.limit = to;
+            this.field = new StringBuilder();
+        }
+
+        /**
+         * This function returns the index of the next character to read in the array
+         * given to the constructor
+         * @requires this reader reads a char array
+         * @modifies None
+         * @effects None
+         * @return the index
+         */
+        int position() {
+            if (this.skipLineFeed && this.position < this.limit && this.buffer[this.position] == '\n') {
+                return this.position + 1;
+            }
+            return this.position;
+        }
+
+        /**
+         * This function reads the next record. A quote which is not closed runs to the
+         * end of the input, and characters after a closing quote are kept.
+         * @param record the list the fields are put into; it is cleared first
+         * @requires record != null
+         * @modifies record, this
+         * @effects read one record
+         * @return false if there are no more records
+         * @throws IOException if the reader fails
+         */
+        boolean next(List<String> record) throws IOException {
+            record.clear();
+            int state = FIELD_START;
+            boolean started = false;
+            while (true) {
+                if (this.position >= this.limit) {
+                    if (state == UNQUOTED || state == QUOTED) {
+                        this.field.append(this.buffer, this.start, this.position - this.start);
+                    }
+                    if (!this.fill()) {
+                        if (!started) {
+                            return false;
+                        }
+                        if (state == FIELD_START) {
+                            // the record ended with a comma
+                            record.add("");
+                        } else {
+                            this.addField(record);
+                        }
+                        return true;
+                    }
+                    this.start = this.position;
+                }
+                char c = this.buffer[this.position];
+                if (this.skipLineFeed) {
+                    this.skipLineFeed = false;
+                    if (c == '\n') {
+                        this.position++;
+                        this.start = this.position;
+                        continue;
+                    }
+                }
+                started = true;
+                switch (state) {
+                    case FIELD_START:
+                        if (c == '"') {
+                            this.position++;
+                            this.start = this.position;
+                            state = QUOTED;
+                        } else {
+                            // read the character again as part of an unquoted field
+                            this.start = this.position;
+                            state = UNQUOTED;
+                        }
+                        break;
+                    case UNQUOTED:
+                        if (c == ',' || c == '\n' || c == '\r') {
+                            this.addField(record, this.start, this.position);
+                            this.position++;
+                            if (c == ',') {
+                                state = FIELD_START;
+                            } else {
+                                this.skipLineFeed = (c == '\r');
+                                return true;
+                            }
+                        } else {
+                            this.position++;
+                        }
+                        break;
+                    case QUOTED:
+                        if (c == '"') {
+                            this.field.append(this.buffer, this.start, this.position - this.start);
+                            state = QUOTE_SEEN;
+                        }
+                        this.position++;
+                        break;
+                    case QUOTE_SEEN:
+                        if (c == '"') {
+                            // a doubled quote is one quote in the field
+                            this.start = this.position;
+                            this.position++;
+                            state = QUOTED;
+                        } else {
+                            state = AFTER_QUOTED;
+                        }
+                        break;
+                    default:
+                        if (c == ',' || c == '\n' || c == '\r') {
+                            this.addField(record);
+                            this.position++;
+                            if (c == ',') {
+                                state = FIELD_START;
+                            } else {
+                                this.skipLineFeed = (c == '\r');
+                                return true;
+                            }
+                        } else {
+                            this.field.append(c);
+                            this.position++;
+                        }
+                        break;
+                }
+            }
+        }
+
+        /**
+         * This function adds a field which ends in the buffer
+         * @param record the fields of the record
+         * @param from the index of the first character in the buffer
+         * @param to the index after the last character in the buffer
+         */
+        private void addField(List<String> record, int from, int to) {
+            if (this.field.length() == 0) {
+                record.add(new String(this.buffer, from, to - from));
+            } else {
+                this.field.append(this.buffer, from, to - from);
+                this.addField(record);
+            }
+        }
+
+        /**
+         * This function adds the field collected so far
+         * @param record the fields of the record
+         */
+        private void addField(List<String> record) {
+            record.add(this.field.toString());
+            this.field.setLength(0);
+        }
+
+        /**
+         * This function reads more characters into the buffer
+         * @return false at the end of the input
+         * @throws IOException if the reader fails
+         */
+        private boolean fill() throws IOException {
+            if (this.in == null) {
+                return false;
+            }
+            int n;
+            do {
+                n = this.in.read(this.buffer, 0, this.buffer.length);
+            } while (n == 0);
+            if (n < 0) {
+                return false;
+            }
+            this.position = 0;
+            this.limit = n;
+            return true;
+        }
+    }
+
+    /**
+     * This function writes one record, quoting the fields which need it, and ends it
+     * with CRLF
+     * @param out the writer
+     * @param fields the fields; null is written as an empty field
+     * @requires out != null
+     * @modifies out
+     * @effects write the record
+     * @throws IOException if the writer fails
+     */
+    static void writeRecord(Writer out, String... fields) throws IOException {
+        for (int i = 0; i < fields.length; i++) {
+            if (i != 0) {
+                out.write(',');
+            }
+            writeField(out, fields[i]);
+        }
+        out.write("\r\n");
+    }
+
+    /**
+     * This function writes one field
+     * @param out the writer
+     * @param field the field; null is written as an empty field
+     * @requires out != null
+     * @modifies out
+     * @effects write the field
+     * @throws IOException if the writer fails
+     */
+    static void writeField(Writer out, String field) throws IOException {
+        if (field == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < field.length() && !quote; i++) {
+            char c = field.charAt(i);
+            quote = (c == ',' || c == '"' || c == '\n' || c == '\r');
+        }
+        if (!quote) {
+            out.write(field);
+            return;
+        }
+        out.write('"');
+        int from = 0;
+        for (int i = 0; i < field.length(); i++) {
+            if (field.charAt(i) == '"') {
+                out.write(field, from, i + 1 - from);
+                out.write('"');
+                from = i + 1;
+            }
+        }
+        out.write(field, from, field.length() - from);
+        out.write('"');
+    }
+
+    /**
+     * This function splits a range of characters into chunks which start at a record
+     * boundary, that is after a line break which is not inside quotes. It reads every
+     * character once and makes no objects besides the result.
+     * @param data the characters
+     * @param from the index of the first character
+     * @param to the index after the last character
+     * @param chunkSize the number of characters a chunk should have at least
+     * @requires data != null && 0 <= from <= to <= data.length && chunkSize > 0
+     * @modifies None
+     * @effects None
+     * @return the start of every chunk followed by to
+     */
+    static int[] split(char[] data, int from, int to, int chunkSize) {
+        List<Integer> bounds = new ArrayList<>();
+        bounds.add(from);
+        boolean quoted = false;
+        int next = from + chunkSize;
+        for (int i = from; i < to; i++) {
+            char c = data[i];
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == '\n' && !quoted && i >= next - 1 && i + 1 < to) {
+                bounds.add(i + 1);
+                next = i + 1 + chunkSize;
+            }
+        }
+        int[] result = new int[bounds.size() + 1];
+        for (int i = 0; i < bounds.size(); i++) {
+            result[i] = bounds.get(i);
+        }
+        result[bounds.size()] = to;
+        return result;
+    }
+
+    /**
+     * This function parses a range of characters in chunks on a fork-join pool. Every
+     * record is given to the mapper on a thread of the pool, and the results which are
+     * not null are returned in the order of the records.
+     * @param data the characters; they are read in place
+     * @param from the index of the first character
+     * @param to the index after the last character
+     * @param chunkSize the number of characters a chunk should have at least
+     * @param pool the pool the chunks are parsed on
+     * @param mapper the function which makes a result of the fields of a record; the
+     *               list is reused, so it must not be kept
+     * @param <T> the type of the results
+     * @requires data != null && 0 <= from <= to <= data.length && chunkSize > 0
+     *           && pool != null && mapper != null
+     * @modifies None
+     * @effects None
+     * @return the results in order
+     * @throws IOException never for a char array, but declared by the reader
+     */
+    static <T> List<T> parse(char[] data, int from, int to, int chunkSize, ForkJoinPool pool,
+                             Function<List<String>, T> mapper) throws IOException {
+        int[] bounds = split(data, from, to, chunkSize);
+        List<ForkJoinTask<List<T>>> tasks = new ArrayList<>(bounds.length - 1);
+        for (int i = 0; i < bounds.length - 1; i++) {
+            final int chunkFrom = bounds[i];
+            final int chunkTo = bounds[i + 1];
+            tasks.add(pool.submit(() -> parseChunk(data, chunkFrom, chunkTo, mapper)));
+        }
+        List<T> results = new ArrayList<>();
+        for (ForkJoinTask<List<T>> task: tasks) {
+            results.addAll(task.join());
+        }
+        return results;
+    }
+
+    /**
+     * This function parses one chunk
+     * @param data the characters
+     * @param from the index of the first character of the chunk
+     * @param to the index after the last character of the chunk
+     * @param mapper the function which makes a result of a record
+     * @param <T> the type of the results
+     * @return the results which are not null, in order
+     * @throws IOException never for a char array
+     */
+    private static <T> List<T> parseChunk(char[] data, int from, int to,
+                                          Function<List<String>, T> mapper) throws IOException {
+        RecordReader reader = new RecordReader(data, from, to);
+        List<String> record = new ArrayList<>();
+        List<T> results = new ArrayList<>();
+        while (reader.next(record)) {
+            T result = mapper.apply(record);
+            if (result != null) {
+                results.add(result);
+            }
+        }
+        return results;
+    }
+}
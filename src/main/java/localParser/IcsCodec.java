@@ -0,0 +1,449 @@
+package localParser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.text.SimpleDateFormat;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.Locale;
+import java.util.TimeZone;
+import java.util.UUID;
+
+/**
+ * This class reads and writes iCalendar files (RFC 5545) one VEVENT at a time, so only
+ * the event being read or written is in memory. Only the properties a deadline needs
+ * are read: SUMMARY, DTSTART, DESCRIPTION and RRULE of every VEVENT; the properties of
+ * components inside an event, such as the DESCRIPTION of a VALARM, are skipped.
+ *
+ * Lines are unfolded when read and folded after 75 characters when written, and TEXT
+ * values are escaped as the RFC describes. Files are written with CRLF line breaks in
+ * the same layout biweekly used, so files saved before can be compared line by line.
+ */
+final class IcsCodec {
+    static final String PRODID = "-//Michael Angstadt//biweekly 0.6.3//EN";
+    private static final String CRLF = "\r\n";
+    private static final int LINE_LENGTH = 75;
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("uuuuMMdd'T'HHmmss", Locale.US);
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("uuuuMMdd", Locale.US);
+
+    private IcsCodec() {
+    }
+
+    /**
+     * This class stores the properties of one event
+     */
+    static final class Event {
+        private String summary;
+        private String description;
+        private String rule;
+        private long start;
+        private boolean hasStart;
+
+        /**
+         * This function returns the summary of the event
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the unescaped SUMMARY; null if there is none
+         */
+        String getSummary() {
+            return this.summary;
+        }
+
+        /**
+         * This function returns the description of the event
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the unescaped DESCRIPTION with \n line breaks; null if there is none
+         */
+        String getDescription() {
+            return this.description;
+        }
+
+        /**
+         * This function returns the recurrence rule of the event
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the value of the RRULE; null if the event does not repeat
+         */
+        String getRule() {
+            return this.rule;
+        }
+
+        /**
+         * This function returns the start of the event
+         * @requires hasStart()
+         * @modifies None
+         * @effects None
+         * @return the DTSTART in epoch milliseconds
+         */
+        long getStart() {
+            return this.start;
+        }
+
+        /**
+         * This function checks whether the event has a start time
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return whether the event has a DTSTART which can be read
+         */
+        boolean hasStart() {
+            return this.hasStart;
+        }
+    }
+
+    /**
+     * This class reads one event at a time
+     */
+    static final class EventReader {
+        private final BufferedReader in;
+        private String next;
+
+        /**
+         * Constructor
+         * @param in the reader; it is not closed
+         * @requires in != null
+         * @modifies this
+         * @effects create a reader
+         */
+        EventReader(Reader in) {
+            this.in = (in instanceof BufferedReader) ? (BufferedReader) in : new BufferedReader(in, 1 << 14);
+        }
+
+        /**
+         * This function reads the next VEVENT and skips everything before it
+         * @requires None
+         * @modifies this
+         * @effects read one event
+         * @return the event; null at the end of the input
+         * @throws IOException if the reader fails
+         */
+        Event next() throws IOException {
+            Event event = null;
+            // the depth of the components inside the event
+            int nested = 0;
+            String line;
+            while ((line = this.readLine()) != null) {
+                int colon = valueStart(line);
+                if (colon < 0) {
+                    continue;
+                }
+                String property = line.substring(0, colon);
+                int semicolon = property.indexOf(';');
+                String name = ((semicolon < 0) ? property : property.substring(0, semicolon)).toUpperCase(Locale.US);
+                String value = line.substring(colon + 1);
+                if (event == null) {
+                    if (name.equals("BEGIN") && value.trim().equalsIgnoreCase("VEVENT")) {
+                        event = new Event();
+                    }
+                    continue;
+                }
+                if (name.equals("BEGIN")) {
+                    nested++;
+                } else if (name.equals("END")) {
+                    if (nested == 0) {
+                        return event;
+                    }
+                    nested--;
+                } else if (nested == 0) {
+                    switch (name) {
+                        case "SUMMARY":
+                            event.summary = unescape(value);
+                            break;
+                        case "DESCRIPTION":
+                            event.description = unescape(value);
+                            break;
+                        case "RRULE":
+                            event.rule = value.trim();
+                            break;
+                        case "DTSTART":
+                            try {
+                                event.start = parseStart(property, value.trim());
+                                event.hasStart = true;
+                            } catch (DateTimeException e) {
+                                event.hasStart = false;
+                            }
+                            break;
+                        default:
+                            break;
+                    }
+                }
+            }
+            // an event which is not closed is kept
+            return event;
+        }
+
+        /**
+         * This function reads one unfolded content line
+         * @return the line; null at the end of the input
+         * @throws IOException if the reader fails
+         */
+        private String readLine() throws IOException {
+            String line = (this.next != null) ? this.next : this.in.readLine();
+            this.next = null;
+            if (line == null) {
+                return null;
+            }
+            StringBuilder unfolded = null;
+            String following;
+            while ((following = this.in.readLine()) != null
+                    && !following.isEmpty() && (following.charAt(0) == ' ' || following.charAt(0) == '\t')) {
+                if (unfolded == null) {
+                    unfolded = new StringBuilder(line);
+                }
+                unfolded.append(following, 1, following.length());
+            }
+            this.next = following;
+            return (unfolded == null) ? line : unfolded.toString();
+        }
+    }
+
+    /**
+     * This function finds where the value of a content line starts
+     * @param line a content line
+     * @requires line != null
+     * @modifies None
+     * @effects None
+     * @return the index of the colon before the value, skipping colons in quoted
+     *         parameter values; -1 if there is none
+     */
+    private static int valueStart(String line) {
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ':' && !quoted) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This function reads a DTSTART. A UTC time ends with Z, a local time is in the
+     * zone of the TZID parameter or else in the default zone, and a date starts at
+     * midnight in the default zone.
+     * @param property the property name with its parameters
+     * @param value the value
+     * @return the time in epoch milliseconds
+     * @throws DateTimeException if the time cannot be read
+     */
+    static long parseStart(String property, String value) {
+        if (value.length() == 8) {
+            return LocalDate.parse(value, DATE).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        }
+        if (value.endsWith("Z") || value.endsWith("z")) {
+            LocalDateTime utc = LocalDateTime.parse(value.substring(0, value.length() - 1), DATE_TIME);
+            return utc.toInstant(ZoneOffset.UTC).toEpochMilli();
+        }
+        ZoneId zone = ZoneId.systemDefault();
+        String tzid = parameter(property, "TZID");
+        if (tzid != null) {
+            try {
+                zone = ZoneId.of(tzid.startsWith("/") ? tzid.substring(1) : tzid);
+            } catch (DateTimeException e) {
+                // a zone which is only described in a VTIMEZONE is read as the default zone
+                zone = ZoneId.systemDefault();
+            }
+        }
+        try {
+            return LocalDateTime.parse(value, DATE_TIME).atZone(zone).toInstant().toEpochMilli();
+        } catch (DateTimeParseException e) {
+            throw new DateTimeException(e.getMessage());
+        }
+    }
+
+    /**
+     * This function reads a parameter of a property
+     * @param property the property name with its parameters
+     * @param name the parameter name
+     * @requires property != null && name != null
+     * @modifies None
+     * @effects None
+     * @return the value of the parameter without quotes; null if there is none
+     */
+    private static String parameter(String property, String name) {
+        for (String parameter: property.split(";")) {
+            int equals = parameter.indexOf('=');
+            if (equals > 0 && parameter.substring(0, equals).equalsIgnoreCase(name)) {
+                String value = parameter.substring(equals + 1);
+                if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                    value = value.substring(1, value.length() - 1);
+                }
+                return value;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This function restores the characters of a TEXT value
+     * @param value a TEXT value
+     * @requires value != null
+     * @modifies None
+     * @effects None
+     * @return the value with the escaped characters restored
+     */
+    static String unescape(String value) {
+        if (value.indexOf('\\') < 0) {
+            return value;
+        }
+        StringBuilder text = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '\\' && i + 1 < value.length()) {
+                char escaped = value.charAt(++i);
+                text.append((escaped == 'n' || escaped == 'N') ? '\n' : escaped);
+            } else {
+                text.append(c);
+            }
+        }
+        return text.toString();
+    }
+
+    /**
+     * This function escapes a text as a TEXT value
+     * @param text a text; a line break is \n, \r\n or \r
+     * @requires text != null
+     * @modifies None
+     * @effects None
+     * @return the text escaped as a TEXT value
+     */
+    static String escape(String text) {
+        StringBuilder value = new StringBuilder(text.length() + 8);
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '\\':
+                case ';':
+                case ',':
+                    value.append('\\').append(c);
+                    break;
+                case '\r':
+                    if (i + 1 < text.length() && text.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    value.append("\\n");
+                    break;
+                case '\n':
+                    value.append("\\n");
+                    break;
+                default:
+                    value.append(c);
+                    break;
+            }
+        }
+        return value.toString();
+    }
+
+    /**
+     * This function writes the start of the calendar
+     * @param out the writer
+     * @requires out != null
+     * @modifies out
+     * @effects write BEGIN:VCALENDAR, VERSION and PRODID
+     * @throws IOException if the writer fails
+     */
+    static void writeHeader(Writer out) throws IOException {
+        writeLine(out, "BEGIN:VCALENDAR");
+        writeLine(out, "VERSION:2.0");
+        writeLine(out, "PRODID:" + PRODID);
+    }
+
+    /**
+     * This function writes one event which lasts an hour
+     * @param out the writer
+     * @param summary the summary
+     * @param start the start of the event
+     * @param description the description
+     * @param stamp the time the file is written
+     * @requires out != null && summary != null && start != null && description != null
+     * @modifies out
+     * @effects write the event
+     * @throws IOException if the writer fails
+     */
+    static void writeEvent(Writer out, String summary, Date start, String description, Date stamp)
+            throws IOException {
+        writeEvent(out, summary, start, description, null, stamp);
+    }
+
+    /**
+     * This function writes one event which lasts an hour and may repeat
+     * @param out the writer
+     * @param summary the summary
+     * @param start the start of the event
+     * @param description the description
+     * @param rule the value of the RRULE; null if the event does not repeat
+     * @param stamp the time the file is written
+     * @requires out != null && summary != null && start != null && description != null
+     * @modifies out
+     * @effects write the event
+     * @throws IOException if the writer fails
+     */
+    static void writeEvent(Writer out, String summary, Date start, String description, String rule, Date stamp)
+            throws IOException {
+        SimpleDateFormat utc = new SimpleDateFormat("yyyyMMdd'T'HHmmss'Z'", Locale.US);
+        utc.setTimeZone(TimeZone.getTimeZone("UTC"));
+        writeLine(out, "BEGIN:VEVENT");
+        writeLine(out, "UID:" + UUID.randomUUID());
+        writeLine(out, "DTSTAMP:" + utc.format(stamp));
+        writeLine(out, "SUMMARY;LANGUAGE=en-us:" + escape(summary));
+        writeLine(out, "DTSTART:" + utc.format(start));
+        writeLine(out, "DURATION:PT1H");
+        if (rule != null) {
+            writeLine(out, "RRULE:" + rule);
+        }
+        writeLine(out, "DESCRIPTION:" + escape(description));
+        writeLine(out, "END:VEVENT");
+    }
+
+    /**
+     * This function writes the end of the calendar
+     * @param out the writer
+     * @requires out != null
+     * @modifies out
+     * @effects write END:VCALENDAR
+     * @throws IOException if the writer fails
+     */
+    static void writeFooter(Writer out) throws IOException {
+        writeLine(out, "END:VCALENDAR");
+    }
+
+    /**
+     * This function writes a content line, folded after every 75 characters without
+     * splitting a surrogate pair
+     * @param out the writer
+     * @param line the content line
+     * @throws IOException if the writer fails
+     */
+    private static void writeLine(Writer out, String line) throws IOException {
+        int from = 0;
+        int length = LINE_LENGTH;
+        while (line.length() - from > length) {
+            int to = from + length;
+            if (Character.isHighSurrogate(line.charAt(to - 1))) {
+                to--;
+            }
+            out.write(line, from, to - from);
+            out.write(CRLF);
+            out.write(' ');
+            from = to;
+            // the space takes one character of the next line
+            length = LINE_LENGTH - 1;
+        }
+        out.write(line, from, line.length() - from);
+        out.write(CRLF);
+    }
+}
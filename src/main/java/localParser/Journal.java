@@ -0,0 +1,505 @@
+package localParser;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import javafx.util.Pair;
+import main.controller.AbstractController;
+import main.viewer.Log;
+import model.CalendarWrapper;
+import model.Deadline;
+import model.DeadlineKey;
+import model.DeadlineStore;
+import model.RecurringDeadline;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * This class keeps an append-only journal of the changes of the deadlines next to a
+ * saved deadlines file, so a change costs one short record instead of rewriting every
+ * deadline. Every record is one line of JSON:
+ *
+ *   {"op":"put","course":"OS","name":"HW1","year":2019,"month":4,"day":2,"hour":23,"minute":59,"status":"...","link":"..."}
+ *   {"op":"remove","course":"OS","name":"HW1"}
+ *   {"op":"ignore","course":"OS"}
+ *   {"op":"unignore","course":"OS"}
+ *
+ * The journal is compacted by rotating it: the records so far are moved to a rotated
+ * file, the deadlines file is written again, and then the rotated file is deleted.
+ * Replaying the whole journal on any deadlines file written after it was started gives
+ * the same deadlines, so a compaction which was interrupted loses nothing.
+ */
+public class Journal implements DeadlineStore.Listener {
+    public static final String ROTATED_SUFFIX = ".old";
+    private static final int BATCH_SIZE = 1024;
+    private static final String PUT = "put";
+    private static final String REMOVE = "remove";
+    private static final String IGNORE = "ignore";
+    private static final String UNIGNORE = "unignore";
+    private final File file;
+    private final File rotated;
+    private Writer writer;
+    private long length;
+    private int records;
+    private int skipped;
+
+    /**
+     * Constructor
+     *
+     * @param file the journal file; it is created by the first record
+     * @requires file != null
+     * @modifies this
+     * @effects create a new Journal object
+     */
+    public Journal(File file) {
+        this.file = file;
+        this.rotated = new File(file.getPath() + ROTATED_SUFFIX);
+        this.writer = null;
+        this.length = file.isFile() ? file.length() : 0;
+        this.records = 0;
+        this.skipped = 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Append a record for every deadline which was added, changed or removed.
+     *
+     * @param change what changed in the store
+     * @requires change != null
+     * @modifies the journal file
+     * @effects append the records
+     */
+    @Override
+    public synchronized void storeChanged(DeadlineStore.Change change) {
+        try {
+            for (Deadline deadline: change.getAdded()) {
+                this.write(PUT, deadline.getCourseName(), deadline);
+            }
+            for (Pair<Deadline, Deadline> updated: change.getUpdated()) {
+                this.write(PUT, updated.getValue().getCourseName(), updated.getValue());
+            }
+            for (Deadline deadline: change.getRemoved()) {
+                this.writeRemove(deadline.getCourseName(), deadline.getName());
+            }
+            if (change.isRecurringChanged()) {
+                Set<DeadlineKey> added = new HashSet<>();
+                for (RecurringDeadline series: change.getAddedRecurring()) {
+                    added.add(series.getKey());
+                }
+                // a replaced series is in both lists; its put is enough
+                for (RecurringDeadline series: change.getRemovedRecurring()) {
+                    if (!added.contains(series.getKey())) {
+                        this.writeRemove(series.getCourseName(), series.getName());
+                    }
+                }
+                for (RecurringDeadline series: change.getAddedRecurring()) {
+                    this.write(PUT, series.getCourseName(), series.getFirst(), series.getRule());
+                }
+            }
+            if (this.writer != null) {
+                this.writer.flush();
+            }
+        } catch (IOException e) {
+            Log.error("[Journal] Error when writing journal", e);
+        }
+    }
+
+    /**
+     * This method appends a record that a course is ignored or no longer ignored
+     *
+     * @param course the course name
+     * @param ignored true if the course is ignored now
+     * @requires course != null
+     * @modifies the journal file
+     * @effects append the record
+     */
+    public synchronized void ignore(String course, boolean ignored) {
+        try {
+            this.write(ignored ? IGNORE : UNIGNORE, course, null);
+            this.writer.flush();
+        } catch (IOException e) {
+            Log.error("[Journal] Error when writing journal", e);
+        }
+    }
+
+    /**
+     * This method appends a record that a deadline was removed
+     *
+     * @param course the course name
+     * @param name the deadline name
+     * @requires course != null && name != null
+     * @modifies the journal file
+     * @effects append the record
+     * @throws IOException if the journal cannot be written
+     */
+    private void writeRemove(String course, String name) throws IOException {
+        StringWriter line = new StringWriter();
+        JsonWriter json = new JsonWriter(line);
+        json.beginObject();
+        json.name("op").value(REMOVE);
+        json.name("course").value(course);
+        json.name("name").value(name);
+        json.endObject();
+        json.close();
+        this.append(line.toString());
+    }
+
+    /**
+     * This method appends a put, ignore or unignore record
+     *
+     * @param op the kind of the record
+     * @param course the course name
+     * @param deadline the deadline of a put record; null otherwise
+     * @requires op != null && course != null
+     * @modifies the journal file
+     * @effects append the record
+     * @throws IOException if the journal cannot be written
+     */
+    private void write(String op, String course, Deadline deadline) throws IOException {
+        this.write(op, course, deadline, null);
+    }
+
+    /**
+     * This method appends a put record of a deadline which may repeat, or an ignore
+     * or unignore record
+     *
+     * @param op the kind of the record
+     * @param course the course name
+     * @param deadline the deadline of a put record; null otherwise
+     * @param rule the recurrence rule of the deadline; null if it does not repeat
+     * @requires op != null && course != null
+     * @modifies the journal file
+     * @effects append the record
+     * @throws IOException if the journal cannot be written
+     */
+    private void write(String op, String course, Deadline deadline, String rule) throws IOException {
+        StringWriter line = new StringWriter();
+        JsonWriter json = new JsonWriter(line);
+        json.beginObject();
+        json.name("op").value(op);
+        json.name("course").value(course);
+        if (deadline != null) {
+            json.name("name").value(deadline.getName());
+            json.name("year").value(deadline.getYear());
+            json.name("month").value(deadline.getMonth());
+            json.name("day").value(deadline.getDay());
+            json.name("hour").value(deadline.getHour());
+            json.name("minute").value(deadline.getMinute());
+            json.name("status").value(deadline.getStatus());
+            json.name("link").value(deadline.getLink());
+            if (rule != null) {
+                json.name("rrule").value(rule);
+            }
+        }
+        json.endObject();
+        json.close();
+        this.append(line.toString());
+    }
+
+    /**
+     * This method appends one line to the journal file
+     *
+     * @param line the record
+     * @requires line has no line break
+     * @modifies writer, length, records
+     * @effects append the line
+     * @throws IOException if the journal cannot be written
+     */
+    private void append(String line) throws IOException {
+        if (this.writer == null) {
+            this.writer = new BufferedWriter(new OutputStreamWriter(
+                    new FileOutputStream(this.file, true), StandardCharsets.UTF_8));
+        }
+        this.writer.write(line);
+        this.writer.write('\n');
+        this.length += line.getBytes(StandardCharsets.UTF_8).length + 1;
+        this.records++;
+    }
+
+    /**
+     * This method replays the journal: first the rotated file of a compaction which
+     * did not finish, then the journal file. A record which cannot be read, such as the
+     * last record of a program which was killed while writing it, is skipped.
+     *
+     * @param parent the controller the records are applied to
+     * @requires parent != null
+     * @modifies parent, records, skipped
+     * @effects apply every record in order
+     * @return the number of records which were applied
+     */
+    public synchronized int replay(AbstractController parent) {
+        int applied = 0;
+        List<Deadline> batch = new ArrayList<>();
+        for (File f: new File[]{this.rotated, this.file}) {
+            if (!f.isFile()) {
+                continue;
+            }
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(new FileInputStream(f), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.trim().isEmpty()) {
+                        continue;
+                    }
+                    if (this.apply(line, parent, batch)) {
+                        applied++;
+                    } else {
+                        this.skipped++;
+                    }
+                }
+            } catch (IOException e) {
+                Log.error("[Journal] Error when reading journal", e);
+            }
+        }
+        if (!batch.isEmpty()) {
+            parent.addDeadlines(batch);
+        }
+        return applied;
+    }
+
+    /**
+     * This method applies one record. Puts are collected in the batch, which is passed
+     * to the controller before any other record so the order is kept.
+     *
+     * @param line the record
+     * @param parent the controller the record is applied to
+     * @param batch the puts which have not been passed to the controller
+     * @requires line != null && parent != null && batch != null
+     * @modifies parent, batch
+     * @effects apply the record
+     * @return false if the record cannot be read
+     */
+    private boolean apply(String line, AbstractController parent, List<Deadline> batch) {
+        String op = null, course = null, name = null, status = null, link = "", rule = null;
+        Integer year = null, month = null, day = null, hour = null, minute = null;
+        try (JsonReader json = new JsonReader(new StringReader(line))) {
+            json.beginObject();
+            while (json.hasNext()) {
+                String key = json.nextName();
+                if (json.peek() == JsonToken.NULL) {
+                    json.skipValue();
+                    continue;
+                }
+                switch (key) {
+                    case "op":
+                        op = json.nextString();
+                        break;
+                    case "course":
+                        course = json.nextString();
+                        break;
+                    case "name":
+                        name = json.nextString();
+                        break;
+                    case "year":
+                        year = json.nextInt();
+                        break;
+                    case "month":
+                        month = json.nextInt();
+                        break;
+                    case "day":
+                        day = json.nextInt();
+                        break;
+                    case "hour":
+                        hour = json.nextInt();
+                        break;
+                    case "minute":
+                        minute = json.nextInt();
+                        break;
+                    case "status":
+                        status = json.nextString();
+                        break;
+                    case "link":
+                        link = json.nextString();
+                        break;
+                    case "rrule":
+                        rule = json.nextString();
+                        break;
+                    default:
+                        json.skipValue();
+                        break;
+                }
+            }
+            json.endObject();
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            Log.error("[Journal] Skipped a record which cannot be read: " + line);
+            return false;
+        }
+        if (op == null || course == null) {
+            return false;
+        }
+        if (op.equals(PUT)) {
+            if (name == null || year == null || month == null || day == null || hour == null || minute == null) {
+                return false;
+            }
+            Deadline deadline;
+            try {
+                deadline = new Deadline(year, month, day, hour, minute, name, course, status, link);
+            } catch (CalendarWrapper.CalendarFormatException e) {
+                Log.error("[Journal] Due date format not correct: " + e.getMessage());
+                return false;
+            }
+            if (rule != null) {
+                RecurringDeadline series;
+                try {
+                    series = new RecurringDeadline(deadline, rule);
+                } catch (IllegalArgumentException e) {
+                    Log.error("[Journal] Recurrence rule not supported: " + e.getMessage());
+                    return false;
+                }
+                if (!batch.isEmpty()) {
+                    parent.addDeadlines(new ArrayList<>(batch));
+                    batch.clear();
+                }
+                parent.addRecurringDeadlines(Collections.singletonList(series));
+                return true;
+            }
+            batch.add(deadline);
+            if (batch.size() >= BATCH_SIZE) {
+                parent.addDeadlines(new ArrayList<>(batch));
+                batch.clear();
+            }
+            return true;
+        }
+        if (!batch.isEmpty()) {
+            parent.addDeadlines(new ArrayList<>(batch));
+            batch.clear();
+        }
+        switch (op) {
+            case REMOVE:
+                if (name == null) {
+                    return false;
+                }
+                parent.removeDeadline(course, name, 0, 0, 0);
+                return true;
+            case IGNORE:
+                parent.addIgnoredCourse(course);
+                return true;
+            case UNIGNORE:
+                parent.removeIgnoredCourse(course);
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    /**
+     * This method starts a compaction: the records so far are moved to the rotated
+     * file and later records go to a new journal file. The caller must write the
+     * deadlines file and then call finishCompaction(). Nothing is rotated while the
+     * rotated file of an earlier compaction is still there.
+     *
+     * @requires None
+     * @modifies the journal file, the rotated file, writer, length
+     * @effects rotate the journal
+     * @return true if the journal was rotated
+     */
+    public synchronized boolean startCompaction() {
+        if (this.rotated.exists() || !this.file.isFile()) {
+            return false;
+        }
+        this.close();
+        if (!this.file.renameTo(this.rotated)) {
+            Log.error("[Journal] Unable to rotate " + this.file);
+            return false;
+        }
+        this.length = 0;
+        return true;
+    }
+
+    /**
+     * This method finishes a compaction after the deadlines file was written
+     *
+     * @requires the deadlines file was written after startCompaction() returned true
+     * @modifies the rotated file
+     * @effects delete the rotated file
+     */
+    public synchronized void finishCompaction() {
+        if (this.rotated.exists() && !this.rotated.delete()) {
+            Log.error("[Journal] Unable to delete " + this.rotated);
+        }
+    }
+
+    /**
+     * This method checks whether a compaction has not finished, e.g. because the
+     * program was closed while the deadlines file was written
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if the rotated file is still there
+     */
+    public boolean isCompacting() {
+        return this.rotated.exists();
+    }
+
+    /**
+     * This method returns the size of the journal file
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of bytes
+     */
+    public synchronized long length() {
+        return this.length;
+    }
+
+    /**
+     * This method returns the number of records appended by this object
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of records
+     */
+    public synchronized int getRecordCount() {
+        return this.records;
+    }
+
+    /**
+     * This method returns the number of records which could not be replayed
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of records
+     */
+    public synchronized int getSkippedCount() {
+        return this.skipped;
+    }
+
+    /**
+     * This method closes the journal file. A later record opens it again.
+     *
+     * @requires None
+     * @modifies writer
+     * @effects close the file
+     */
+    public synchronized void close() {
+        if (this.writer == null) {
+            return;
+        }
+        try {
+            this.writer.close();
+        } catch (IOException e) {
+            Log.error("[Journal] Error when closing journal", e);
+        }
+        this.writer = null;
+    }
+}
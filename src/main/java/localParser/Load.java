@@ -2,25 +2,88 @@ package localParser;
 
 import com.sun.istack.internal.NotNull;
 import main.controller.AbstractController;
-import com.google.gson.JsonElement;
-import com.google.gson.JsonParser;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import main.viewer.Log;
-import biweekly.Biweekly;
-import biweekly.ICalendar;
-import biweekly.component.VEvent;
+import model.CalendarWrapper;
 import model.Deadline;
+import model.RecurringDeadline;
 
 import java.io.*;
-import java.util.Date;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ForkJoinPool;
 
 /**
- * This class loads data from local files
+ * This class loads data from local files. A load can run on any thread: deadlines
+ * are passed to the controller in batches, every batch is reported to the progress
+ * listener, and the load stops at the next deadline after it is cancelled.
  */
 public class Load extends Parser {
-    private AbstractController parent;
+    /**
+     * A listener of the progress of a load. It is called on the loading thread after
+     * every batch.
+     */
+    public interface ProgressListener {
+        /**
+         * This method is called after a batch was passed to the controller
+         * @param deadlines the number of deadlines loaded so far
+         * @param characters the number of characters read so far; bytes for a binary
+         *                   snapshot
+         * @requires None
+         * @modifies None
+         * @effects None
+         */
+        void progress(int deadlines, long characters);
+    }
+
+    /**
+     * The receiver of the batches of a load: a controller, or the result of one file
+     * of a bulk import
+     */
+    interface Sink {
+        /**
+         * This method is given every batch of deadlines
+         * @param deadlines the deadlines in the order they were read
+         * @requires deadlines != null
+         * @modifies this
+         * @effects add the deadlines
+         */
+        void addDeadlines(Collection<Deadline> deadlines);
+
+        /**
+         * This method is given every batch of recurring deadlines
+         * @param series the recurring deadlines in the order they were read
+         * @requires series != null
+         * @modifies this
+         * @effects add the recurring deadlines
+         */
+        void addRecurringDeadlines(Collection<RecurringDeadline> series);
+    }
+
+    private static final int BATCH_SIZE = 1024;
+    private static final long PARALLEL_CSV_LENGTH = 8L << 20;
+    private static final int PARALLEL_CSV_CHUNK = 1 << 20;
+    private final Sink parent;
     private Reader reader;
+    private final CountingReader counter;
+    private final File file;
+    private ByteBuffer binary;
+    private final List<Deadline> batch;
+    private final List<RecurringDeadline> recurring;
+    private int loaded;
+    private volatile boolean cancelled;
+    private volatile ProgressListener progressListener;
 
     /**
      * Constructor
@@ -31,12 +94,265 @@ public class Load extends Parser {
      * @effects create a LocalParser.Load object
      */
     public Load(@NotNull AbstractController parent, Reader file) {
+        this(sinkOf(parent), file, null);
+    }
+
+    /**
+     * Constructor. A text file is read as UTF-8; a binary snapshot is memory-mapped.
+     *
+     * @param parent the controller the deadlines are passed to
+     * @param file the local file that will be load from.
+     * @requires parent != null && file != null
+     * @modifies this
+     * @effects create a LocalParser.Load object
+     * @throws FileNotFoundException if the file cannot be opened
+     */
+    public Load(@NotNull AbstractController parent, @NotNull File file) throws FileNotFoundException {
+        this(sinkOf(parent), file);
+    }
+
+    /**
+     * Constructor. A text file is read as UTF-8; a binary snapshot is memory-mapped.
+     *
+     * @param parent the receiver of the deadlines
+     * @param file the local file that will be load from.
+     * @requires parent != null && file != null
+     * @modifies this
+     * @effects create a LocalParser.Load object
+     * @throws FileNotFoundException if the file cannot be opened
+     */
+    Load(Sink parent, File file) throws FileNotFoundException {
+        this(parent, new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8), file);
+    }
+
+    /**
+     * Constructor
+     *
+     * @param parent the receiver of the deadlines
+     * @param reader the IO reader of a text file
+     * @param file the local file; null if there is only a reader
+     * @requires parent != null
+     * @modifies this
+     * @effects create a LocalParser.Load object
+     */
+    private Load(Sink parent, Reader reader, File file) {
         this.parent = parent;
-        this.reader = file;
+        this.counter = (reader == null) ? null : new CountingReader(reader);
+        this.reader = this.counter;
+        this.file = file;
+        this.batch = new ArrayList<>();
+        this.recurring = new ArrayList<>();
+        this.loaded = 0;
+        this.cancelled = false;
+    }
+
+    /**
+     * This function passes the batches of a load to a controller
+     *
+     * @param parent the controller
+     * @requires parent != null
+     * @modifies None
+     * @effects None
+     * @return a sink which calls the controller
+     */
+    private static Sink sinkOf(AbstractController parent) {
+        return new Sink() {
+            @Override
+            public void addDeadlines(Collection<Deadline> deadlines) {
+                parent.addDeadlines(deadlines);
+            }
+
+            @Override
+            public void addRecurringDeadlines(Collection<RecurringDeadline> series) {
+                parent.addRecurringDeadlines(series);
+            }
+        };
+    }
+
+    /**
+     * This method sets the listener which is told about every batch
+     *
+     * @param listener the listener; null for none
+     * @requires None
+     * @modifies progressListener
+     * @effects replace the listener
+     */
+    public void setProgressListener(ProgressListener listener) {
+        this.progressListener = listener;
+    }
+
+    /**
+     * This method stops the load. It can be called from any thread; the deadlines of
+     * the batches which were already passed to the controller are kept.
+     *
+     * @requires None
+     * @modifies cancelled
+     * @effects cancel the load
+     */
+    public void cancel() {
+        this.cancelled = true;
+    }
+
+    /**
+     * This method returns whether the load was cancelled
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if cancel() was called
+     */
+    public boolean isCancelled() {
+        return this.cancelled;
+    }
+
+    /**
+     * This method would create a deadline and put it into the current batch. A full
+     * batch is passed to the controller at once.
+     *
+     * @param courseName the course name
+     * @param deadlineName the deadline name
+     * @param year year number
+     * @param month month number; starts from 1 to 12
+     * @param day the day number; starts from 1 to 31
+     * @param hour the hour number
+     * @param minute the minute number
+     * @param status the status of this deadline
+     * @param link the link to the project
+     * @requires None
+     * @modifies batch, parent
+     * @effects add a deadline to the batch
+     * @return false if the date is not valid
+     * @throws CancellationException if the load was cancelled
+     */
+    private boolean add(String courseName, String deadlineName, int year, int month,
+                        int day, int hour, int minute, String status, String link) {
+        return this.add(courseName, deadlineName, year, month, day, hour, minute, status, link, null);
+    }
+
+    /**
+     * This method would create a deadline, or a recurring deadline if it has a rule,
+     * and put it into the current batch.
+     *
+     * @param courseName the course name
+     * @param deadlineName the deadline name
+     * @param year year number
+     * @param month month number; starts from 1 to 12
+     * @param day the day number; starts from 1 to 31
+     * @param hour the hour number
+     * @param minute the minute number
+     * @param status the status of this deadline
+     * @param link the link to the project
+     * @param rule the value of the RRULE; null if the deadline does not repeat
+     * @requires None
+     * @modifies batch, recurring, parent
+     * @effects add a deadline to the batch
+     * @return false if the date is not valid
+     * @throws CancellationException if the load was cancelled
+     */
+    private boolean add(String courseName, String deadlineName, int year, int month,
+                        int day, int hour, int minute, String status, String link, String rule) {
+        if (this.cancelled) {
+            throw new CancellationException("Loading was cancelled.");
+        }
+        Deadline deadline;
+        try {
+            deadline = new Deadline(year, month, day, hour, minute, deadlineName, courseName, status, link);
+        } catch (CalendarWrapper.CalendarFormatException e) {
+            Log.error("[Load] Due date format not correct: " + e.getMessage());
+            return false;
+        }
+        if (rule == null) {
+            this.add(deadline);
+        } else {
+            this.addRecurring(deadline, rule);
+        }
+        return true;
     }
 
     /**
-     * This method would save data to a local JSON file.
+     * This method would put a deadline into the current batch. A full batch is passed
+     * to the controller at once.
+     *
+     * @param deadline the deadline
+     * @requires deadline != null
+     * @modifies batch, parent
+     * @effects add the deadline to the batch
+     * @throws CancellationException if the load was cancelled
+     */
+    private void add(Deadline deadline) {
+        if (this.cancelled) {
+            throw new CancellationException("Loading was cancelled.");
+        }
+        this.batch.add(deadline);
+        if (this.batch.size() >= BATCH_SIZE) {
+            this.flush();
+        }
+    }
+
+    /**
+     * This method would put a recurring deadline into the current batch. A rule which
+     * cannot be read is logged and the first occurrence is added as a deadline.
+     *
+     * @param first the first occurrence
+     * @param rule the value of the RRULE
+     * @requires first != null && rule != null
+     * @modifies batch, recurring, parent
+     * @effects add the series to the batch
+     * @throws CancellationException if the load was cancelled
+     */
+    private void addRecurring(Deadline first, String rule) {
+        if (this.cancelled) {
+            throw new CancellationException("Loading was cancelled.");
+        }
+        try {
+            this.recurring.add(new RecurringDeadline(first, rule));
+        } catch (IllegalArgumentException e) {
+            Log.error("[Load] Recurrence rule not supported: " + e.getMessage());
+            this.add(first);
+            return;
+        }
+        if (this.batch.size() + this.recurring.size() >= BATCH_SIZE) {
+            this.flush();
+        }
+    }
+
+    /**
+     * This method would pass the current batch to the controller and report the
+     * progress. The batch of a cancelled load is dropped.
+     *
+     * @requires None
+     * @modifies batch, loaded, parent
+     * @effects add every deadline in the batch
+     */
+    private void flush() {
+        if (this.cancelled) {
+            this.batch.clear();
+            this.recurring.clear();
+            return;
+        }
+        if (!this.batch.isEmpty() || !this.recurring.isEmpty()) {
+            if (!this.batch.isEmpty()) {
+                this.parent.addDeadlines(new ArrayList<>(this.batch));
+            }
+            if (!this.recurring.isEmpty()) {
+                this.parent.addRecurringDeadlines(new ArrayList<>(this.recurring));
+            }
+            this.loaded += this.batch.size() + this.recurring.size();
+            this.batch.clear();
+            this.recurring.clear();
+            ProgressListener listener = this.progressListener;
+            if (listener != null) {
+                listener.progress(this.loaded,
+                        (this.binary != null) ? this.binary.position() : this.counter.getCount());
+            }
+        }
+    }
+
+    /**
+     * This method would load data from a local JSON file. The file is read as a
+     * stream and every deadline is queued as soon as its object is closed. Deadlines
+     * are passed to the controller in batches, so memory is bounded by one batch
+     * instead of the whole file.
      *
      * @requires file != null
      * @modifies None
@@ -45,119 +361,178 @@ public class Load extends Parser {
      */
     @Override
     public synchronized boolean Json() {
-        // Read the JSON file
-        JsonElement root;
-        try {
-            root = new JsonParser().parse(this.reader);
-        } catch (Exception e) {
-            e.printStackTrace();
-            errMsg = e.getMessage();
+        if (this.reader == null) {
+            errMsg = "File is empty.";
             return false;
         }
         boolean success = false;
         errMsg = "File is empty.";
         int i = 1;
-        for (Map.Entry<String, JsonElement> course : root.getAsJsonObject().entrySet()) {
-            // iterate through each course
-            String courseName = course.getKey();
-            for (Map.Entry<String, JsonElement> deadline : course.getValue().getAsJsonObject().entrySet()) {
-                String deadlineName = deadline.getKey();
-                Integer year = null, month = null, date = null, hour = null, minute = null;
-                String status = null, link = "";
-                for (Map.Entry<String, JsonElement> entry : deadline.getValue().getAsJsonObject().entrySet()) {
-                    switch (entry.getKey()) {
-                        case "year":
-                            year = entry.getValue().getAsInt();
-                            break;
-                        case "month":
-                            month = entry.getValue().getAsInt();
-                            break;
-                        case "day":
-                        case "date":
-                            date = entry.getValue().getAsInt();
-                            break;
-                        case "hour":
-                            hour = entry.getValue().getAsInt();
-                            break;
-                        case "minute":
-                            minute = entry.getValue().getAsInt();
-                            break;
-                        case "status":
-                            status = entry.getValue().getAsString();
-                            break;
-                        case "link":
-                            link = entry.getValue().getAsString();
-                            break;
+        try (JsonReader json = new JsonReader(this.reader)) {
+            json.setLenient(true);
+            json.beginObject();
+            while (json.hasNext()) {
+                // iterate through each course
+                String courseName = json.nextName();
+                json.beginObject();
+                while (json.hasNext()) {
+                    String deadlineName = json.nextName();
+                    Integer year = null, month = null, date = null, hour = null, minute = null;
+                    String status = null, link = "", rule = null;
+                    json.beginObject();
+                    while (json.hasNext()) {
+                        String key = json.nextName();
+                        if (json.peek() == JsonToken.NULL) {
+                            json.skipValue();
+                            continue;
+                        }
+                        switch (key) {
+                            case "year":
+                                year = json.nextInt();
+                                break;
+                            case "month":
+                                month = json.nextInt();
+                                break;
+                            case "day":
+                            case "date":
+                                date = json.nextInt();
+                                break;
+                            case "hour":
+                                hour = json.nextInt();
+                                break;
+                            case "minute":
+                                minute = json.nextInt();
+                                break;
+                            case "status":
+                                status = json.nextString();
+                                break;
+                            case "link":
+                                link = json.nextString();
+                                break;
+                            case "rrule":
+                                rule = json.nextString();
+                                break;
+                            default:
+                                json.skipValue();
+                                break;
+                        }
                     }
+                    json.endObject();
+                    if (year == null || month == null || date == null || hour == null || minute == null) {
+                        errMsg = "Unrecognizable file format on line " + i;
+                    } else if (this.add(courseName, deadlineName, year, month, date, hour, minute, status, link, rule)) {
+                        success = true;
+                    } else {
+                        errMsg = "Invalid date on line " + i;
+                    }
+                    i++;
                 }
-                if (year == null || month == null || date == null || hour == null || minute == null) {
-                    errMsg = "Unrecognizable file format on line " + i;
-                } else {
-                    parent.addDeadline(courseName, deadlineName, year, month, date, hour, minute, status, link); // TODO status and link
-                    success = true;
-                }
-                i++;
+                json.endObject();
             }
-        }
-        try {
-            this.reader.close();
-        } catch (IOException e) {
-            System.err.println("[Load] Error when closing file" + e);
+            json.endObject();
+            if (i == 1) {
+                // the file Save writes when there is no deadline
+                errMsg = "";
+                success = true;
+            }
+        } catch (IOException | IllegalStateException | NumberFormatException e) {
+            // MalformedJsonException is an IOException; CancellationException is an
+            // IllegalStateException
+            if (!this.cancelled) {
+                e.printStackTrace();
+            }
+            errMsg = e.getMessage();
+            return false;
+        } finally {
+            this.flush();
         }
         return success;
     }
+
+    /**
+     * This method would load data from a local ICS file. The events are read one at a
+     * time, so the calendar is never in memory as a whole.
+     *
+     * @requires file != null
+     * @modifies None
+     * @effects load from local file
+     * @return result: true -> successful; false -> failed
+     */
     @Override
-    @SuppressWarnings("deprecation")
     public synchronized boolean Ics() {
-        List<ICalendar> icals;
+        if (this.reader == null) {
+            return false;
+        }
         try {
-            icals = Biweekly.parse(this.reader).all();
-        } catch (IOException | NullPointerException e) {
+            IcsCodec.EventReader events = new IcsCodec.EventReader(this.reader);
+            IcsCodec.Event event;
+            while ((event = events.next()) != null) {
+                this.addEvent(event);
+            }
+            return true;
+        } catch (IOException e) {
             e.printStackTrace();
             errMsg = e.getMessage();
             return false;
+        } catch (CancellationException e) {
+            errMsg = e.getMessage();
+            return false;
+        } finally {
+            this.flush();
+            try {
+                this.reader.close();
+            } catch (IOException e) {
+                Log.error("[Load] Error when closing file", e);
+            }
         }
+    }
 
-        for (ICalendar ical: icals) {
-            List<VEvent> events = ical.getEvents();
-            for (VEvent event: events) {
-                String names = event.getSummary().getValue();
-                String[] nameList = names.split(": ");
-                String courseName;
-                String deadlineName;
-                if (nameList.length >= 2) {
-                    courseName = nameList[0];
-                    deadlineName = names.replace(courseName + ": ", "");
-                } else {
-                    courseName = "Unknown Course";
-                    deadlineName = nameList[0];
-                }
-                Date d = event.getDateStart().getValue();
-                int year = d.getYear() + 1900;
-                int month = d.getMonth() + 1;
-                int day = d.getDate();
-                int hour = d.getHours();
-                int minute = d.getMinutes();
-                String status, link = "";
-                if (event.getDescription().getValue().startsWith("Status = ")) {
-                    status = event.getDescription().getValue().split("\n")[0].replace("Status = ", "");
-                    if (event.getDescription().getValue().split("\n").length == 2) {
-                        link = event.getDescription().getValue().split("\n")[1].replace("Link = ", "");
-                    }
-                } else {
-                    status = Deadline.STATUS.DEFAULT;
-                    link = "";
+    /**
+     * This method would add the deadline of an event. The summary is "Course: Name"
+     * and the description is "Status = ..." with an optional second line "Link = ...".
+     * An event with an RRULE is added as a recurring deadline, whose occurrences are
+     * only made when they are shown.
+     *
+     * @param event the event
+     * @requires event != null
+     * @modifies batch, parent
+     * @effects add a deadline for the event
+     * @throws CancellationException if the load was cancelled
+     */
+    private void addEvent(IcsCodec.Event event) {
+        if (event.getSummary() == null || !event.hasStart()) {
+            Log.error("[Load] Skipped an event without a summary or a start time");
+            return;
+        }
+        String names = event.getSummary();
+        int separator = names.indexOf(": ");
+        String courseName;
+        String deadlineName;
+        if (separator >= 0) {
+            courseName = names.substring(0, separator);
+            deadlineName = names.substring(separator + 2);
+        } else {
+            courseName = "Unknown Course";
+            deadlineName = names;
+        }
+        LocalDateTime start = LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getStart()), ZoneId.systemDefault());
+        String description = event.getDescription();
+        String status = Deadline.STATUS.DEFAULT;
+        String link = "";
+        if (description != null && description.startsWith("Status = ")) {
+            int lineBreak = description.indexOf('\n');
+            if (lineBreak < 0) {
+                status = description.substring("Status = ".length());
+            } else {
+                status = description.substring("Status = ".length(), lineBreak);
+                String rest = description.substring(lineBreak + 1);
+                if (rest.indexOf('\n') < 0) {
+                    link = rest.replace("Link = ", "");
                 }
-                parent.addDeadline(courseName, deadlineName, year, month, day, hour, minute, status, link);
             }
         }
-
-        try {
-            this.reader.close();
-        } catch (IOException e) {
-            Log.error("[Load] Error when closing file", e);
-        }
-        return true;
+        this.add(courseName, deadlineName, start.getYear(), start.getMonthValue(), start.getDayOfMonth(),
+                start.getHour(), start.getMinute(), status, link, event.getRule());
     }
 
     /**
@@ -173,54 +548,156 @@ public class Load extends Parser {
         if (this.reader == null) {
             return false;
         }
-        BufferedReader reader = new BufferedReader(this.reader);
-        String str;
-        int i = 0;
-        while (true) {
+        try {
+            if (this.file != null && this.file.length() >= PARALLEL_CSV_LENGTH) {
+                this.csvInParallel();
+            } else {
+                CsvCodec.RecordReader csv = new CsvCodec.RecordReader(this.reader);
+                List<String> record = new ArrayList<>();
+                // skip the first line
+                csv.next(record);
+                while (csv.next(record)) {
+                    Deadline deadline = csvDeadline(record);
+                    if (deadline != null) {
+                        this.add(deadline);
+                    }
+                }
+            }
+            return !this.cancelled;
+        } catch (IOException e) {
+            e.printStackTrace();
+            errMsg = e.getMessage();
+            return false;
+        } catch (CancellationException e) {
+            errMsg = e.getMessage();
+            return false;
+        } finally {
+            this.flush();
             try {
-                str = reader.readLine();
+                this.reader.close();
             } catch (IOException e) {
-                e.printStackTrace();
-                errMsg = e.getMessage();
-                return false;
+                Log.error("[Load] Error when closing file", e);
             }
-            if (i == 0) {
-                // skip the first line
-                i++;
-                continue;
+        }
+    }
+
+    /**
+     * This method would read the whole CSV file and parse it in chunks on the common
+     * fork-join pool. The deadlines are added in the order of the file.
+     *
+     * @requires file != null
+     * @modifies batch, parent
+     * @effects add every deadline of the file
+     * @throws IOException if the file cannot be read
+     * @throws CancellationException if the load was cancelled
+     */
+    private void csvInParallel() throws IOException {
+        // a UTF-8 file has at most as many characters as bytes
+        char[] data = new char[(int) Math.min(this.file.length() + 1, Integer.MAX_VALUE - 8)];
+        int length = 0;
+        while (true) {
+            if (length == data.length) {
+                data = Arrays.copyOf(data, length + (length >> 1));
             }
-            if (str != null) {
-                String[] parts = str.split(",");
-                if (parts.length < 7) {
-                    continue;
-                }
-                try {
-                    String courseName = parts[0];
-                    String deadlineName = parts[1];
-                    int year = Integer.parseInt(parts[4]);
-                    int month = Integer.parseInt(parts[2]);
-                    int date = Integer.parseInt(parts[3]);
-                    int hour = Integer.parseInt(parts[5]);
-                    int minute = Integer.parseInt(parts[6]);
-                    String status = parts[7];
-                    String link = "";
-                    if (parts.length == 9) {
-                        link = parts[8];
-                    }
-                    parent.addDeadline(courseName, deadlineName, year, month, date, hour, minute, status, link);
-                } catch (NumberFormatException | IndexOutOfBoundsException e) {
-                    Log.error("Error when reading csv file", e);
-                }
-            } else {
+            int n = this.reader.read(data, length, data.length - length);
+            if (n < 0) {
                 break;
             }
+            length += n;
+        }
+        CsvCodec.RecordReader header = new CsvCodec.RecordReader(data, 0, length);
+        // skip the first line
+        header.next(new ArrayList<>());
+        List<Deadline> deadlines = CsvCodec.parse(data, header.position(), length, PARALLEL_CSV_CHUNK,
+                ForkJoinPool.commonPool(), record -> {
+                    if (this.cancelled) {
+                        throw new CancellationException("Loading was cancelled.");
+                    }
+                    return csvDeadline(record);
+                });
+        for (Deadline deadline: deadlines) {
+            this.add(deadline);
         }
+    }
 
+    /**
+     * This method would create a deadline of a CSV record: course name, deadline name,
+     * month, day, year, hour, minute, status and an optional link. It can be called
+     * from any thread.
+     *
+     * @param record the fields of the record
+     * @requires record != null
+     * @modifies None
+     * @effects None
+     * @return the deadline; null if the record is not a deadline
+     */
+    private static Deadline csvDeadline(List<String> record) {
+        if (record.size() < 7) {
+            return null;
+        }
         try {
-            this.reader.close();
+            String courseName = record.get(0);
+            String deadlineName = record.get(1);
+            int year = Integer.parseInt(record.get(4));
+            int month = Integer.parseInt(record.get(2));
+            int date = Integer.parseInt(record.get(3));
+            int hour = Integer.parseInt(record.get(5));
+            int minute = Integer.parseInt(record.get(6));
+            String status = record.get(7);
+            String link = "";
+            if (record.size() > 8) {
+                link = record.get(8);
+            }
+            return new Deadline(year, month, date, hour, minute, deadlineName, courseName, status, link);
+        } catch (NumberFormatException | IndexOutOfBoundsException e) {
+            Log.error("Error when reading csv file", e);
+        } catch (CalendarWrapper.CalendarFormatException e) {
+            Log.error("[Load] Due date format not correct: " + e.getMessage());
+        }
+        return null;
+    }
+
+    /**
+     * This method would load data from a local binary snapshot. The file is
+     * memory-mapped, so only the pages which are read are loaded from the disk.
+     *
+     * @requires file != null
+     * @modifies None
+     * @effects load from local file
+     * @return result: true -> successful; false -> failed
+     */
+    @Override
+    public synchronized boolean Binary() {
+        if (this.file == null) {
+            errMsg = "A binary snapshot can only be loaded from a file.";
+            return false;
+        }
+        try (FileChannel channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ)) {
+            this.binary = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            BinarySnapshot.read(this.binary, (deadline, rule) -> {
+                if (rule == null) {
+                    this.add(deadline);
+                } else {
+                    this.addRecurring(deadline, rule);
+                }
+            });
+            return true;
         } catch (IOException e) {
-            Log.error("[Load] Error when closing file", e);
+            Log.error("[Load] Error when reading binary snapshot", e);
+            errMsg = e.getMessage();
+            return false;
+        } catch (CancellationException e) {
+            errMsg = e.getMessage();
+            return false;
+        } finally {
+            this.flush();
+            // the mapping is released by the garbage collector once it is unreachable
+            this.binary = null;
+            try {
+                this.reader.close();
+            } catch (IOException e) {
+                Log.error("[Load] Error when closing file", e);
+            }
         }
-        return true;
     }
 }
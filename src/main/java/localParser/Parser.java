@@ -1,24 +1,36 @@
 package localParser;
 
-import model.Course;
 import main.controller.AbstractController;
 import main.controller.GUIController;
 
 import java.io.File;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
 
 /**
  * This class represents a parser for local IO operations
  */
 public abstract class Parser {
-    ConcurrentHashMap<String, Course> allCourses;
-    public static final String[] SUPPORTED_EXTIONSION = {"json", "txt", "csv", "ics"};
+    public static final String[] SUPPORTED_EXTIONSION = {"json", "txt", "csv", "ics", "dls"};
     public static final String[] SUPPORTED_EXTIONSION_DESCRIPTION =
             {"JavaScript Object Notation (*.json)",
                     "Pure Text (*.txt)",
                     "Comma-Separated Values (*.csv)",
-                    "Universal Calendar Format File (*.ics)"};
-    static String errMsg = "";
+                    "Universal Calendar Format File (*.ics)",
+                    "Deadline Snapshot (*.dls)"};
+    /** errMsg: the error of the last failed run of this parser; every parser has its own */
+    String errMsg = "";
+
+    /**
+     * This function returns why the last run of this parser failed
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the error message; "" if there is none
+     */
+    public String getErrorMessage() {
+        return (this.errMsg == null) ? "" : this.errMsg;
+    }
 
     /**
      * This method would save data to a local JSON file.
@@ -50,6 +62,16 @@ public abstract class Parser {
      */
     public abstract boolean Csv();
 
+    /**
+     * This method would save data to a local binary snapshot.
+     *
+     * @requires file != null
+     * @modifies None
+     * @effects save to / load from local file
+     * @return result: true -> successful; false -> failed
+     */
+    public abstract boolean Binary();
+
     /**
      * This function generates a new Thread running the parser
      *
@@ -64,34 +86,95 @@ public abstract class Parser {
      */
     public static Thread getParserThread(Parser parser, String extension,
                                          AbstractController parent, boolean showDialog) {
-        return new Thread(() -> {
-            boolean result = true;
-            switch (extension.toUpperCase()) {
-                case "JSON":
-                    result = parser.Json();
-                    break;
-                case "ICS":
-                    result = parser.Ics();
-                    break;
-                case "CSV":
-                case "TXT":
-                    result = parser.Csv();
-                    break;
-            }
-            // alerts
-            if (parent instanceof GUIController) {
-                if (!result && showDialog) {
-                    String parserType = (parser instanceof Save) ?
-                            ((GUIController) parent).getFrame().getText("saving_to") :
-                            ((GUIController) parent).getFrame().getText("loading_from");
-                    ((GUIController) parent).notification(parserType,
-                            ((!(errMsg == null) && !errMsg.equals("")) ?
-                                    ((GUIController) parent).getFrame().getText("error_code")
-                                    : "") + " " + errMsg, "");
+        return getParserThread(parser, extension, parent, showDialog, null);
+    }
 
+    /**
+     * This function generates a new Thread running the parser, which runs a callback
+     * when the parser has finished, failed or been cancelled
+     *
+     * @param parser the parser type
+     * @param extension the file extension
+     * @param parent the main process
+     * @param showDialog if the program should show a dialog indicator
+     * @param done the callback, which is given true if the parser succeeded; null for none
+     * @requires parser != null
+     * @modifies None
+     * @effects None
+     * @return a new Java Thread
+     */
+    public static Thread getParserThread(Parser parser, String extension,
+                                         AbstractController parent, boolean showDialog,
+                                         Consumer<Boolean> done) {
+        return new Thread(() -> {
+            boolean result = false;
+            try {
+                result = runParser(parser, extension, parent, showDialog);
+            } finally {
+                if (done != null) {
+                    done.accept(result);
                 }
             }
         });
     }
-}
 
+    /**
+     * This function runs the parser on the calling thread
+     *
+     * @param parser the parser type
+     * @param extension the file extension
+     * @requires parser != null && extension != null
+     * @modifies None
+     * @effects save to / load from the file
+     * @return result: true -> successful; false -> failed or unknown extension
+     */
+    public static boolean parse(Parser parser, String extension) {
+        switch (extension.toUpperCase()) {
+            case "JSON":
+                return parser.Json();
+            case "ICS":
+                return parser.Ics();
+            case "CSV":
+            case "TXT":
+                return parser.Csv();
+            case "DLS":
+                return parser.Binary();
+            default:
+                parser.errMsg = "Unsupported file extension: " + extension;
+                return false;
+        }
+    }
+
+    /**
+     * This function runs the parser and alerts the user if it failed
+     *
+     * @param parser the parser type
+     * @param extension the file extension
+     * @param parent the main process
+     * @param showDialog if the program should show a dialog indicator
+     * @requires parser != null
+     * @modifies None
+     * @effects run the parser
+     * @return result: true -> successful; false -> failed
+     */
+    private static boolean runParser(Parser parser, String extension,
+                                     AbstractController parent, boolean showDialog) {
+        boolean result = parse(parser, extension);
+        String errMsg = parser.getErrorMessage();
+        // alerts
+        if (parent instanceof GUIController) {
+            boolean cancelled = (parser instanceof Load) && ((Load) parser).isCancelled();
+            if (!result && showDialog && !cancelled) {
+                String parserType = (parser instanceof Save) ?
+                        ((GUIController) parent).getFrame().getText("saving_to") :
+                        ((GUIController) parent).getFrame().getText("loading_from");
+                ((GUIController) parent).notification(parserType,
+                        (!errMsg.equals("") ?
+                                ((GUIController) parent).getFrame().getText("error_code")
+                                : "") + " " + errMsg, "");
+
+            }
+        }
+        return result;
+    }
+}
@@ -1,26 +1,39 @@
 package localParser;
 
-import biweekly.Biweekly;
-import biweekly.ICalendar;
-import biweekly.component.VEvent;
-import biweekly.property.Summary;
-import biweekly.util.Duration;
+import com.google.gson.stream.JsonWriter;
 import com.sun.istack.internal.NotNull;
 import model.CalendarWrapper;
 import model.Course;
 import model.Deadline;
+import model.DeadlineSnapshot;
+import model.RecurringDeadline;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
 import java.util.Date;
-import java.util.TreeMap;
+import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * This class saves data to local files
  */
 public class Save extends Parser {
+    private final DeadlineSnapshot snapshot;
+    private static final int PARALLEL_JSON_DEADLINES = 4096;
+    private static final String NEWLINE = System.lineSeparator();
     private PrintWriter writer;
+    private final OutputStream out;
 
     /**
      * Constructor
@@ -28,16 +41,49 @@ public class Save extends Parser {
      * @param allCourses a map to store every course object with its name
      * @param file the IO writer that will be saved to / load from.
      * @requires allCourses != null
-     * @modifies this.allCourses
+     * @modifies this.snapshot
      * @effects create a LocalParser.Save object
      */
     public Save(ConcurrentHashMap<String, Course> allCourses, @NotNull Writer file) {
-        this.allCourses = allCourses;
+        this(DeadlineSnapshot.of(allCourses), file);
+    }
+
+    /**
+     * Constructor. The snapshot does not change, so the store it was taken from can be
+     * changed while the file is being written.
+     *
+     * @param snapshot the courses to save
+     * @param file the IO writer that will be saved to / load from.
+     * @requires snapshot != null
+     * @modifies this.snapshot
+     * @effects create a LocalParser.Save object
+     */
+    public Save(DeadlineSnapshot snapshot, @NotNull Writer file) {
+        this.snapshot = snapshot;
         this.writer = new PrintWriter(file);
+        this.out = null;
     }
 
     /**
-     * This method would save data to a local JSON file.
+     * Constructor. Text formats are written as UTF-8; a binary snapshot is written as
+     * bytes.
+     *
+     * @param snapshot the courses to save
+     * @param file the IO stream that will be saved to.
+     * @requires snapshot != null
+     * @modifies this.snapshot
+     * @effects create a LocalParser.Save object
+     */
+    public Save(DeadlineSnapshot snapshot, @NotNull OutputStream file) {
+        this.snapshot = snapshot;
+        this.out = new BufferedOutputStream(file);
+        this.writer = new PrintWriter(new OutputStreamWriter(this.out, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * This method would save data to a local JSON file. A large snapshot is serialized
+     * on the common fork-join pool, one course per task, and the courses are written
+     * in order.
      *
      * @requires file != null
      * @modifies None
@@ -46,49 +92,104 @@ public class Save extends Parser {
      */
     @Override
     public synchronized boolean Json() {
-        writer.println("{");
-        int courseCount = 0;
-        for (String courseName: this.allCourses.keySet()) {
-            writer.println("\t\"" + courseName + "\": {");
-            TreeMap<String, Deadline> deadlines = this.allCourses.get(courseName).getDeadlines();
-            int deadlineCount = 0;
-            for (String deadlineName : deadlines.keySet()) {
-                writer.println("\t\t\"" + deadlineName + "\": {");
-                writer.println("\t\t\t\"year\": " + deadlines.get(deadlineName).getYear() + ",");
-                writer.println("\t\t\t\"month\": " + deadlines.get(deadlineName).getMonth() + ",");
-                writer.println("\t\t\t\"day\": " + deadlines.get(deadlineName).getDay() + ",");
-                writer.println("\t\t\t\"hour\": " + deadlines.get(deadlineName).getHour() + ",");
-                writer.print("\t\t\t\"minute\": " + deadlines.get(deadlineName).getMinute());
-                if (deadlines.get(deadlineName).getStatus() != null) {
-                    writer.println(",");
-                    writer.print("\t\t\t\"status\": \"" + deadlines.get(deadlineName).getStatus() + "\"");
-                }
-                if (!deadlines.get(deadlineName).getLink().equals("")) {
-                    writer.println(",");
-                    writer.print("\t\t\t\"link\": \"" + deadlines.get(deadlineName).getLink() + "\"");
-                }
-                writer.println();
-                if (deadlineCount != deadlines.size() - 1) {
-                    writer.println("\t\t},");
-                } else {
-                    writer.println("\t\t}");
-                }
-                deadlineCount++;
-            }
-            if (courseCount != this.allCourses.size() - 1) {
-                writer.println("\t},");
-            } else {
-                writer.println("\t}");
-            }
-            courseCount++;
+        List<String> courseNames = new ArrayList<>(this.snapshot.getCourseNames());
+        Stream<String> stream = (this.snapshot.size() >= PARALLEL_JSON_DEADLINES)
+                ? courseNames.parallelStream() : courseNames.stream();
+        List<String> courses;
+        try {
+            courses = stream.map(this::jsonCourse).collect(Collectors.toList());
+        } catch (UncheckedIOException e) {
+            errMsg = e.getMessage();
+            return false;
+        }
+        writer.write("{" + NEWLINE);
+        for (int i = 0; i < courses.size(); i++) {
+            writer.write(courses.get(i));
+            writer.write((i != courses.size() - 1) ? "," + NEWLINE : NEWLINE);
+        }
+        writer.write("}" + NEWLINE);
+        if (writer.checkError()) {
+            errMsg = "Unable to write the JSON file.";
+            writer.close();
+            return false;
         }
-        writer.println("}");
         writer.close();
         return true;
     }
 
     /**
-     * This method would save data to a local ICS file.
+     * This method would serialize one course of the JSON file into its own buffer, so
+     * the courses can be serialized at the same time. The names, statuses and links
+     * are escaped by the JsonWriter.
+     *
+     * @param courseName the course name
+     * @requires the snapshot contains the course
+     * @modifies None
+     * @effects None
+     * @return the course as a member of the top-level object, indented by one tab and
+     *         with no line break at the end
+     * @throws UncheckedIOException never for a StringWriter, but declared by the JsonWriter
+     */
+    private String jsonCourse(String courseName) {
+        StringWriter buffer = new StringWriter();
+        try (JsonWriter json = new JsonWriter(buffer)) {
+            json.setIndent("\t");
+            // the course is written as a member of an object which is cut off below
+            json.beginObject();
+            json.name(courseName).beginObject();
+            for (Map.Entry<String, Deadline> entry: this.snapshot.getDeadlines(courseName).entrySet()) {
+                jsonDeadline(json, entry.getKey(), entry.getValue(), null);
+            }
+            // a recurring deadline is its first occurrence and its rule
+            for (RecurringDeadline series: this.snapshot.getRecurring(courseName).values()) {
+                jsonDeadline(json, series.getName(), series.getFirst(), series.getRule());
+            }
+            json.endObject();
+            json.endObject();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        // cut off "{\n" and "\n}"; the JsonWriter ends lines with \n and escapes it in strings
+        String course = buffer.toString();
+        course = course.substring(2, course.length() - 2);
+        return NEWLINE.equals("\n") ? course : course.replace("\n", NEWLINE);
+    }
+
+    /**
+     * This method would write one deadline as a member of the object of its course
+     *
+     * @param json the writer
+     * @param name the deadline name
+     * @param deadline the deadline
+     * @param rule the recurrence rule; null if the deadline does not repeat
+     * @requires json != null && name != null && deadline != null
+     * @modifies json
+     * @effects write the deadline
+     * @throws IOException if the writer fails
+     */
+    private static void jsonDeadline(JsonWriter json, String name, Deadline deadline, String rule)
+            throws IOException {
+        json.name(name).beginObject();
+        json.name("year").value(deadline.getYear());
+        json.name("month").value(deadline.getMonth());
+        json.name("day").value(deadline.getDay());
+        json.name("hour").value(deadline.getHour());
+        json.name("minute").value(deadline.getMinute());
+        if (deadline.getStatus() != null) {
+            json.name("status").value(deadline.getStatus());
+        }
+        if (deadline.getLink() != null && !deadline.getLink().equals("")) {
+            json.name("link").value(deadline.getLink());
+        }
+        if (rule != null) {
+            json.name("rrule").value(rule);
+        }
+        json.endObject();
+    }
+
+    /**
+     * This method would save data to a local ICS file. Every event is written as soon
+     * as it is made, so the calendar is never in memory as a whole.
      *
      * @requires file != null
      * @modifies None
@@ -96,70 +197,108 @@ public class Save extends Parser {
      */
     @Override
     public synchronized boolean Ics() {
-        // create the ICalendar
-        ICalendar ical = new ICalendar();
-        for (String courseName: this.allCourses.keySet()) {
-            TreeMap<String, Deadline> deadlines = this.allCourses.get(courseName).getDeadlines();
-            for (String deadlineName : deadlines.keySet()) {
-                Deadline deadline = deadlines.get(deadlineName);
-                VEvent event = new VEvent();
-                Summary summary = event.setSummary(courseName + ": " + deadlineName);
-                summary.setLanguage("en-us");
-
-                Date start = CalendarWrapper.createJavaDate(deadline.getYear(),
-                        deadline.getMonth(), deadline.getDay(), deadline.getHour(), deadline.getMinute());
-                event.setDateStart(start);
-
-                Duration duration = new Duration.Builder().hours(1).build();
-                event.setDuration(duration);
-
-                event.setDescription("Status = " + deadline.getStatus() +
-                        System.lineSeparator() + "Link = " + deadline.getLink());
-
-                ical.addEvent(event);
-
+        Date stamp = new Date();
+        try {
+            IcsCodec.writeHeader(writer);
+            for (String courseName: this.snapshot.getCourseNames()) {
+                for (Map.Entry<String, Deadline> entry : this.snapshot.getDeadlines(courseName).entrySet()) {
+                    icsEvent(entry.getKey(), entry.getValue(), null, stamp);
+                }
+                for (RecurringDeadline series: this.snapshot.getRecurring(courseName).values()) {
+                    icsEvent(series.getName(), series.getFirst(), series.getRule(), stamp);
+                }
             }
+            IcsCodec.writeFooter(writer);
+        } catch (IOException e) {
+            // a PrintWriter does not throw
+            errMsg = e.getMessage();
+            return false;
+        }
+        if (writer.checkError()) {
+            errMsg = "Unable to write the ICS file.";
+            writer.close();
+            return false;
         }
-        writer.print(Biweekly.write(ical).go());
         writer.close();
         return true;
     }
 
     /**
-     * This method would save data to a local CSV file.
+     * This method would write one deadline as an event
+     *
+     * @param name the deadline name
+     * @param deadline the deadline
+     * @param rule the recurrence rule; null if the deadline does not repeat
+     * @param stamp the time the file is written
+     * @requires name != null && deadline != null && stamp != null
+     * @modifies writer
+     * @effects write the event
+     * @throws IOException if the writer fails
+     */
+    private void icsEvent(String name, Deadline deadline, String rule, Date stamp) throws IOException {
+        Date start = CalendarWrapper.createJavaDate(deadline.getYear(),
+                deadline.getMonth(), deadline.getDay(), deadline.getHour(), deadline.getMinute());
+        IcsCodec.writeEvent(writer, deadline.getCourseName() + ": " + name, start,
+                "Status = " + deadline.getStatus() + System.lineSeparator() + "Link = " + deadline.getLink(),
+                rule, stamp);
+    }
+
+    /**
+     * This method would save data to a local CSV file. A name or link which contains
+     * a comma, a quote or a line break is quoted. A CSV file has no recurrence rules,
+     * so the recurring deadlines are left out and errMsg tells how many there were.
      *
      * @requires file != null
-     * @modifies None
+     * @modifies errMsg
      * @effects save to / load from local file
      */
     @Override
     public synchronized boolean Csv() {
         writer.println("Course Name, Deadline Name, Month, Day, Year, Hour, Minute, Status, Link");
-        for (String courseName: this.allCourses.keySet()) {
-            TreeMap<String, Deadline> deadlines = this.allCourses.get(courseName).getDeadlines();
-            for (String deadlineName : deadlines.keySet()) {
-                Deadline deadline = deadlines.get(deadlineName);
-                writer.print(deadline.getCourseName());
-                writer.print(",");
-                writer.print(deadline.getName());
-                writer.print(",");
-                writer.print(deadline.getMonth());
-                writer.print(",");
-                writer.print(deadline.getDay());
-                writer.print(",");
-                writer.print(deadline.getYear());
-                writer.print(",");
-                writer.print(deadline.getHour());
-                writer.print(",");
-                writer.print(deadline.getMinute());
-                writer.print(",");
-                writer.print(deadline.getStatus());
-                writer.print(",");
-                writer.print(deadline.getLink());
-                writer.print("\r\n");
+        for (String courseName: this.snapshot.getCourseNames()) {
+            for (Deadline deadline : this.snapshot.getDeadlines(courseName).values()) {
+                try {
+                    CsvCodec.writeRecord(writer, deadline.getCourseName(), deadline.getName(),
+                            String.valueOf(deadline.getMonth()), String.valueOf(deadline.getDay()),
+                            String.valueOf(deadline.getYear()), String.valueOf(deadline.getHour()),
+                            String.valueOf(deadline.getMinute()), String.valueOf(deadline.getStatus()),
+                            deadline.getLink());
+                } catch (IOException e) {
+                    // a PrintWriter does not throw
+                    errMsg = e.getMessage();
+                    return false;
+                }
             }
         }
         writer.close();
+        int skipped = this.snapshot.getRecurringCount();
+        if (skipped != 0) {
+            errMsg = skipped + " recurring deadline(s) cannot be saved as CSV and were left out.";
+        }
         return true;
     }
+
+    /**
+     * This method would save data to a local binary snapshot.
+     *
+     * @requires file != null
+     * @modifies None
+     * @effects save to local file
+     * @return result: true -> successful; false -> failed
+     */
+    @Override
+    public synchronized boolean Binary() {
+        if (this.out == null) {
+            errMsg = "A binary snapshot can only be saved to a stream.";
+            return false;
+        }
+        try {
+            BinarySnapshot.write(this.snapshot, this.out);
+            this.out.close();
+            return true;
+        } catch (IOException e) {
+            errMsg = e.getMessage();
+            return false;
+        }
+    }
 }
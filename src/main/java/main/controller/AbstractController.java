@@ -3,87 +3,75 @@ package main.controller;
 import model.CalendarWrapper;
 import model.Course;
 import model.Deadline;
+import model.DeadlineStore;
 
-import java.util.List;
+import java.util.Collections;
 import java.util.HashSet;
-import java.util.TreeMap;
-import java.util.TreeSet;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * This class defines a general main controller.
  */
 public abstract class AbstractController implements Operations {
-    /** allCourses: a map to store every course object with its name. */
-    protected ConcurrentHashMap<String, Course> allCourses;
-    /** ignoredCoursesSet: a list to store every course that should be ignored. */
-    protected HashSet<String> ignoredCoursesSet;
-    /** allDeadlines: a sorted set to store every deadline based on their dates. */
-    protected TreeSet<Deadline> allDeadlines;
+    /** FINISHED: the statuses skipped when looking for the closest deadline. */
+    private static final Set<String> FINISHED = Collections.singleton(Deadline.STATUS.FINISHED);
+    /** store: every course and deadline, indexed by due time. */
+    protected DeadlineStore store;
+    /**
+     * ignoredCoursesSet: every course that should be ignored. The set is never changed;
+     * setIgnoring publishes a new one, so any thread can read it.
+     */
+    protected volatile Set<String> ignoredCoursesSet = Collections.emptySet();
     /** settings: program settings */
     protected Settings settings;
 
     /**
-     * This method will return a specified course object given the course name.
-     * If no such object is found, then create a new instance.
-     * @param courseName the course name
+     * This method returns a copy of every course
      * @requires None
      * @modifies None
-     * @effects None
-     * @return a course object
+     * @effects return a copy of the courses in the store
+     * @return a <course_name, course_object> map
      */
-    protected Course getCourseByName(String courseName) {
-        Course c;
-        if (!allCourses.containsKey(courseName)) {
-            c = new Course(courseName);
-        } else {
-            c = allCourses.get(courseName);
-        }
-        return c;
+    public ConcurrentHashMap<String, Course> getAllCourses() {
+        return this.store.getCourses();
     }
 
     /**
-     * This method returns a copy of the allCourses map
+     * This method returns the store of every course and deadline. Views should listen
+     * to it instead of keeping their own copies of the deadlines.
      * @requires None
      * @modifies None
-     * @effects return a copy of the allCourse map
-     * @return this.allCourses
+     * @effects None
+     * @return store
      */
-    public ConcurrentHashMap<String, Course> getAllCourses() {
-        return new ConcurrentHashMap<>(allCourses);
+    public DeadlineStore getDeadlineStore() {
+        return this.store;
     }
 
     /**
-     * This method returns the closest deadline
+     * This method returns the closest deadline. It only reads the current snapshot of
+     * the store, so the tray and the timers can call it on any thread.
      * @requires None
      * @modifies None
      * @effects return the closest deadline
      * @return the closest deadline
      */
     public Deadline getClosestDeadline() {
-        for (Deadline d: allDeadlines) {
-            if (d.isAfter(CalendarWrapper.now()) && !this.isIgnoring(d.getCourseName()) && !d.getStatus().equals(Deadline.STATUS.FINISHED)) {
-                return d;
-            }
-        }
-        return null;
+        return this.store.getSnapshot().getClosest(CalendarWrapper.now().getEpochMinute(),
+                this.ignoredCoursesSet, FINISHED);
     }
 
     /**
-     * This method would go through the AllCourse map and add all deadlines to the
-     * allDeadlines set
+     * This method moves every deadline that has passed since the last clock tick from
+     * the upcoming part of the store to the past part
      * @requires None
-     * @modifies allDeadlines
-     * @effects update the AllDeadline set
+     * @modifies store
+     * @effects rebalance the time index of the store
+     * @return the number of deadlines that have just passed
      */
-    protected void updateDeadlineSet() {
-        for (String i : this.allCourses.keySet()) {
-            TreeMap<String, Deadline> dueMap = this.allCourses.get(i).getDeadlines();
-            List<String> dueList = this.allCourses.get(i).getReversedSortedDeadlines();
-            for (String j : dueList) {
-                this.allDeadlines.add(dueMap.get(j));
-            }
-        }
+    public int rebalanceDeadlines() {
+        return this.store.rebalance(CalendarWrapper.now());
     }
 
     /**
@@ -97,4 +85,29 @@ public abstract class AbstractController implements Operations {
     public boolean isIgnoring(final String courseName) {
         return ignoredCoursesSet.contains(courseName);
     }
+
+    /**
+     * This method publishes a copy of ignoredCoursesSet with a course added or removed.
+     * The GUI only calls it on the model writer thread, so the changes are ordered with
+     * the changes of the deadlines.
+     * @param courseName the course name
+     * @param ignored true if the course is ignored now
+     * @requires courseName != null
+     * @modifies ignoredCoursesSet
+     * @effects replace ignoredCoursesSet
+     * @return true if the set was changed
+     */
+    protected boolean setIgnoring(final String courseName, boolean ignored) {
+        if (ignored == this.ignoredCoursesSet.contains(courseName)) {
+            return false;
+        }
+        Set<String> courses = new HashSet<>(this.ignoredCoursesSet);
+        if (ignored) {
+            courses.add(courseName);
+        } else {
+            courses.remove(courseName);
+        }
+        this.ignoredCoursesSet = Collections.unmodifiableSet(courses);
+        return true;
+    }
 }
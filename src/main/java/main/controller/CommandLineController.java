@@ -3,7 +3,12 @@ package main.controller;
 import model.CalendarWrapper;
 import model.Course;
 import model.Deadline;
+import model.DeadlineKey;
+import model.DeadlineSnapshot;
+import model.DeadlineStore;
+import model.RecurringDeadline;
 import main.viewer.Log;
+import localParser.BulkImport;
 import webService.SubmittyAccess;
 import javafx.util.Pair;
 
@@ -18,11 +23,12 @@ import java.io.Console;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
-import java.util.TreeMap;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
 
 import static java.lang.System.exit;
 
@@ -34,13 +40,11 @@ public class CommandLineController extends AbstractController implements Operati
     /**
      * Default Constructor
      * @requires None
-     * @modifies ignoredCoursesSet, allCourses, allDeadlines
+     * @modifies store
      * @effects create a CommandLineController instance
      */
     public CommandLineController() {
-        ignoredCoursesSet = new HashSet<>();
-        allCourses = new ConcurrentHashMap<>();
-        allDeadlines = new TreeSet<>();
+        store = new DeadlineStore(CalendarWrapper.now());
     }
 
     /**
@@ -59,6 +63,23 @@ public class CommandLineController extends AbstractController implements Operati
         /* This feature is not supported in a command line version */
     }
 
+    /**
+     * This method would read many local files at once on the common fork-join pool and
+     * add their deadlines in one batch. A file which cannot be read is logged.
+     * @param paths the files and directories that will be load from
+     * @requires paths != null
+     * @modifies a list that stores every course and their information
+     * @effects read from local files
+     */
+    @Override
+    public void importFromLocal(Collection<File> paths) {
+        for (BulkImport.Result result: BulkImport.run(paths, ForkJoinPool.commonPool(), this)) {
+            if (!result.isSuccessful()) {
+                Log.error("[Import] " + result.getFile() + ": " + result.getErrorMessage());
+            }
+        }
+    }
+
     /**
      * This method would save data to a local file.
      *
@@ -232,8 +253,11 @@ public class CommandLineController extends AbstractController implements Operati
             exit(1);
         }
         sa.login();
-        sa.parser(ignoredCoursesSet);
-        allCourses = sa.getCourseMap();
+        sa.parser(new HashSet<>(ignoredCoursesSet), SubmittyAccess.DEFAULT_SESSIONS);
+        for (Course c : sa.getCourseMap().values()) {
+            store.addCourse(c.getCourseName());
+            store.putAll(c.getDeadlines().values());
+        }
         sa.close();
     }
 
@@ -256,15 +280,38 @@ public class CommandLineController extends AbstractController implements Operati
     @Override
     public void addDeadline(String course, String deadlineName, int year, int month,
                             int day, int hour, int minute, String status, String link) {
-        Course c =getCourseByName(course);
         try {
-            c.addDeadline(deadlineName, year, month, day, hour, minute, status, link);
+            store.put(new Deadline(year, month, day, hour, minute, deadlineName, course, status, link));
         } catch (CalendarWrapper.CalendarFormatException e) {
             Log.debug("Due date format not correct:" + e.getMessage());
             e.printStackTrace();
-            return;
         }
-        allCourses.put(course, c);
+    }
+
+    /**
+     * This method would add a group of deadlines at once. Courses that don't exist
+     * will be created.
+     * @param deadlines the deadlines that will be added
+     * @requires deadlines != null
+     * @modifies a list that stores every course and their information
+     * @effects None
+     */
+    @Override
+    public void addDeadlines(Collection<Deadline> deadlines) {
+        store.putAll(deadlines);
+    }
+
+    /**
+     * This method would add a group of recurring deadlines at once. Courses that don't
+     * exist will be created.
+     * @param series the series that will be added
+     * @requires series != null
+     * @modifies a list that stores every course and their information
+     * @effects None
+     */
+    @Override
+    public void addRecurringDeadlines(Collection<RecurringDeadline> series) {
+        store.putRecurring(series);
     }
 
     /**
@@ -284,9 +331,7 @@ public class CommandLineController extends AbstractController implements Operati
         /* This feature is not supported in the command-line version of main
          * since the output of System.out is immutable
          */
-        Course c =getCourseByName(course);
-        c.removeDeadline(deadlineName);
-        allCourses.put(course, c);
+        store.remove(new DeadlineKey(course, deadlineName));
     }
 
     /**
@@ -313,7 +358,7 @@ public class CommandLineController extends AbstractController implements Operati
      */
     @Override
     public void addIgnoredCourse(String course) {
-        ignoredCoursesSet.add(course);
+        setIgnoring(course, true);
     }
 
     /**
@@ -326,7 +371,7 @@ public class CommandLineController extends AbstractController implements Operati
      */
     @Override
     public void removeIgnoredCourse(String course) {
-        ignoredCoursesSet.remove(course);
+        setIgnoring(course, false);
     }
 
     /**
@@ -340,22 +385,24 @@ public class CommandLineController extends AbstractController implements Operati
     public void run(String[] args) {
         CalendarWrapper now = CalendarWrapper.now();
         int maxlen = 1;
-        for (String i : this.allCourses.keySet()) {
+        DeadlineSnapshot snapshot = this.store.getSnapshot();
+        for (String i : snapshot.getCourseNames()) {
             // iterate through courses
             System.out.println("\n"+i);
             System.out.println("========================================================");
-            TreeMap<String, Deadline> dueMap = this.allCourses.get(i).getDeadlines();
-            List<String> dueList = this.allCourses.get(i).getReversedSortedDeadlines();
-            for (String j : dueList) {
+            List<Deadline> dueList = new ArrayList<>(snapshot.getDeadlines(i).values());
+            dueList.sort(Comparator.reverseOrder());
+            for (Deadline d : dueList) {
                 // iterate through deadlines
-                System.out.println(j.trim() + ": \t\t" + dueMap.get(j).getRemainingText(now));
-                int currlen = (dueMap.get(j).getCourseName().trim() + " " + dueMap.get(j).getName().trim() + ":   ").length();
+                System.out.println(d.getName().trim() + ": \t\t" + d.getRemainingText(now));
+                int currlen = (d.getCourseName().trim() + " " + d.getName().trim() + ":   ").length();
                 if (currlen > maxlen) maxlen = currlen;
             }
         }
+        this.store.rebalance(now);
         System.out.println("\n\nSUMMARY");
         System.out.println("========================================================");
-        for (Deadline d: this.allDeadlines) {
+        for (Deadline d: this.store.getAll()) {
             System.out.printf("%-"+maxlen+"s", d.getCourseName().trim() + " " + d.getName().trim() + ":   ");
             System.out.println(d.getRemainingText(now));
         }
@@ -372,7 +419,6 @@ public class CommandLineController extends AbstractController implements Operati
         String id = IDandPassword.getKey();
         String password = IDandPassword.getValue();
         sv.access(id, password);
-        sv.updateDeadlineSet();
         sv.run(args);
     }
 }
@@ -1,23 +1,35 @@
 package main.controller;
 
 import model.CalendarWrapper;
-import model.Course;
+import model.CourseDelta;
 import model.Deadline;
+import model.DeadlineKey;
+import model.DeadlineStore;
+import model.RecurringDeadline;
 import main.viewer.Log;
 import main.viewer.textFormat.ViewerFont;
 import main.viewer.util.DeadlineTimer;
+import main.viewer.util.RecurringTimer;
 import main.viewer.GUIViewer;
+import main.viewer.util.LoadProgressPanel;
 import main.viewer.util.LoadingDialog;
+import javafx.util.Pair;
+import localParser.BulkImport;
+import localParser.Journal;
 import webService.SubmittyAccess;
+import webService.SubmittySync;
 
 import java.awt.Color;
 import java.awt.Font;
 import java.io.*;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.TreeSet;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
 
 import javax.swing.*;
 
@@ -28,22 +40,37 @@ import static main.viewer.Log.*;
  */
 public class GUIController extends AbstractController implements Operations {
     public static final String VERSION = "1.0";
-    private GUIViewer frame;
+    private static final long SAVE_QUIET_MILLIS = 500;
+    private static final long SAVE_SHUTDOWN_MILLIS = 5000;
+    private static final long WRITER_SHUTDOWN_MILLIS = 5000;
+    private static final long JOURNAL_COMPACT_BYTES = 256 * 1024;
+    private final GUIViewer frame;
     private String settingPath;
+    private final SubmittySync submittySync;
+    private final ModelWriter writer;
+    private final SaveService saver;
+    private volatile Journal journal;
+    private volatile boolean journalCompaction;
+    private volatile boolean journalCompacting;
+    /** defaultLoad: completes once the default deadlines file is in the store, with whether it was read completely */
+    private volatile CompletableFuture<Boolean> defaultLoad = CompletableFuture.completedFuture(true);
 
     /**
      * Default Constructor
      *
      * @requires None
-     * @modifies this, ignoredCoursesSet, allCourses, allDeadlines
+     * @modifies this, store, writer, saver, submittySync
      * @effects create a CommandLineController instance
      */
     public GUIController() {
-        this.frame = new GUIViewer(this);
         // initialize variables
-        this.allCourses = new ConcurrentHashMap<>();
-        this.allDeadlines = new TreeSet<>();
-        this.ignoredCoursesSet = new HashSet<>();
+        this.store = new DeadlineStore(CalendarWrapper.now());
+        this.writer = new ModelWriter(this.store);
+        // a save waits for the changes queued before it is written
+        this.saver = new SaveService(() -> this.writer.snapshot().join(), SAVE_QUIET_MILLIS);
+        this.frame = new GUIViewer(this);
+        this.store.addListener(this.frame, SwingUtilities::invokeLater);
+        this.submittySync = new SubmittySync();
         // load basic settings
         this.settings = new Settings();
         // create folders to store local data
@@ -91,7 +118,13 @@ public class GUIController extends AbstractController implements Operations {
     public void run(String[] args) {
         this.frame.setUp(false);
         // load deadline information from saved files
-        this.loadFromLocal(null, "JSON", false);
+        if (this.settings.isJournalDeadlines()) {
+            this.openJournal();
+        } else {
+            this.loadFromLocal(null, "JSON", false);
+        }
+        // move passed deadlines out of the upcoming part, and old ones to the archive, every minute
+        new Timer(60000, e -> this.writer.rebalance(CalendarWrapper.now())).start();
         this.frame.run(args);
     }
 
@@ -119,14 +152,25 @@ public class GUIController extends AbstractController implements Operations {
     }
 
     /**
-     * This function would shutdown the program
+     * This function would shutdown the program. Both the window and the tray icon
+     * call it before the program exits, so the saves which are still waiting for
+     * their quiet window are written first.
      *
      * @requires None
-     * @modifies None
+     * @modifies frame, saver, writer, journal
      * @effects shutdown the program
      */
     public void shutdown() {
         this.getFrame().shutdown();
+        this.saver.shutdown(SAVE_SHUTDOWN_MILLIS);
+        // the journal is opened by a change, so it is closed after the queued ones
+        this.writer.submit(s -> {
+            if (this.journal != null) {
+                this.journal.close();
+            }
+            return null;
+        });
+        this.writer.shutdown(WRITER_SHUTDOWN_MILLIS);
     }
 
     /**
@@ -166,7 +210,7 @@ public class GUIController extends AbstractController implements Operations {
      * @effects None
      * @return the current frame
      */
-    synchronized public final GUIViewer getFrame() {
+    public final GUIViewer getFrame() {
         return this.frame;
     }
 
@@ -246,6 +290,13 @@ public class GUIController extends AbstractController implements Operations {
                 timer.stop();
             }
         }
+        for (RecurringTimer timer: this.getFrame().getRecurringTimersMap().values()) {
+            if (start) {
+                timer.start();
+            } else {
+                timer.stop();
+            }
+        }
     }
 
     /**
@@ -392,24 +443,197 @@ public class GUIController extends AbstractController implements Operations {
         if (file == null)
             file = new File(this.settingPath + "deadlines.json");
         if (file.exists() && !file.isDirectory()) {
-            Reader fileReader = null;
+            localParser.Load load;
             try {
-                 fileReader = new FileReader(file);
+                load = new localParser.Load(this, file);
             } catch (IOException e) {
                 Log.error("[MainController] error when loading deadlines: ", e);
                 this.alert("<html>" + this.getFrame().getText("loading_from") + "<br>"
                         + this.getFrame().getText("error_code") + e.getMessage());
                 return;
             }
-            localParser.Parser load = new localParser.Load(this, fileReader);
-            Thread thread = localParser.Parser.getParserThread(load, extension, this, showDialog);
-            thread.run();
+            // parse on a background thread: the window paints at once and every batch
+            // reaches the view through the model writer while the file streams in
+            LoadProgressPanel progress = this.showLoadProgress(load, file.length());
+            CompletableFuture<Boolean> loaded = new CompletableFuture<>();
+            if (this.isDefaultFile(file)) {
+                this.defaultLoad = loaded;
+            }
+            final localParser.Load fileLoad = load;
+            Thread thread = localParser.Parser.getParserThread(load, extension, this, showDialog, parsed -> {
+                SwingUtilities.invokeLater(() -> this.getFrame().hideLoadProgress(progress));
+                // the last batch is in the store once the writer runs this
+                this.writer.submit(s -> parsed && !fileLoad.isCancelled()).whenComplete((complete, e) ->
+                        loaded.complete(e == null && complete));
+            });
+            thread.setName("deadline-loader");
+            thread.setDaemon(true);
+            thread.start();
         } else {
             Log.debug("DEBUG: [Load] Error when loading settings from local: " +
                     "file.exists() = " + file.exists() + ", file.isDirectory() = " + file.isDirectory());
         }
     }
 
+    /**
+     * This method would read many local files at once, e.g. the exported calendars of
+     * every course in a directory. The files are parsed in parallel on the common
+     * fork-join pool, off the event dispatch thread, and their deadlines reach the
+     * model writer in one batch; the files which could not be read are listed in one
+     * notification.
+     *
+     * @param paths the files and directories that will be load from
+     * @requires paths != null
+     * @modifies a list that stores every course and their information
+     * @effects read from local files
+     */
+    @Override
+    public void importFromLocal(Collection<File> paths) {
+        List<File> files = new ArrayList<>(paths);
+        Thread thread = new Thread(() -> {
+            StringBuilder failed = new StringBuilder();
+            for (BulkImport.Result result: BulkImport.run(files, ForkJoinPool.commonPool(), this)) {
+                if (!result.isSuccessful()) {
+                    Log.error("[Import] " + result.getFile() + ": " + result.getErrorMessage());
+                    failed.append(failed.length() == 0 ? "" : ", ").append(result.getFile().getName());
+                }
+            }
+            if (failed.length() != 0) {
+                this.notification(this.getFrame().getText("loading_from"),
+                        this.getFrame().getText("error_code") + " " + failed, "");
+            }
+        });
+        thread.setName("deadline-importer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * This method shows the progress of a load at the bottom of the window
+     *
+     * @param load the load
+     * @param total the length of the file
+     * @requires load != null
+     * @modifies frame
+     * @effects show the progress panel
+     * @return the panel, which must be hidden when the load ends
+     */
+    private LoadProgressPanel showLoadProgress(localParser.Load load, long total) {
+        LoadProgressPanel progress = new LoadProgressPanel(this, total, load::cancel);
+        load.setProgressListener((deadlines, characters) ->
+                SwingUtilities.invokeLater(() -> progress.setProgress(deadlines, characters)));
+        SwingUtilities.invokeLater(() -> this.getFrame().showLoadProgress(progress));
+        return progress;
+    }
+
+    /**
+     * This method loads the default deadlines file, replays the journal next to it and
+     * then journals every later change instead of saving the whole file. Everything
+     * runs as one change of the model writer, so the edits made while the file is
+     * loaded are applied after it and are journaled too.
+     *
+     * @requires settings.isJournalDeadlines()
+     * @modifies store, journal
+     * @effects load the deadlines and start the journal
+     */
+    private void openJournal() {
+        if (this.settings.isSaveLocalUnavailable()) {
+            return;
+        }
+        File file = new File(this.settingPath + "deadlines.json");
+        Journal journal = new Journal(new File(this.settingPath + "deadlines.journal"));
+        localParser.Load load = null;
+        if (file.isFile()) {
+            try {
+                load = new localParser.Load(this, file);
+            } catch (IOException e) {
+                Log.error("[MainController] error when loading deadlines: ", e);
+            }
+        }
+        final localParser.Load snapshotLoad = load;
+        final LoadProgressPanel progress = (load == null) ? null : this.showLoadProgress(load, file.length());
+        CompletableFuture<Boolean> loaded = new CompletableFuture<>();
+        this.defaultLoad = loaded;
+        this.writer.submit(s -> {
+            boolean complete = (snapshotLoad != null) || !file.isFile();
+            int replayed = 0;
+            try {
+                if (snapshotLoad != null) {
+                    // the batches of the load are applied at once on the writer thread
+                    complete = localParser.Parser.parse(snapshotLoad, "JSON") && !snapshotLoad.isCancelled();
+                }
+                replayed = journal.replay(this);
+                Log.debug("DEBUG: [Journal] replayed " + replayed + " records, skipped "
+                        + journal.getSkippedCount());
+            } finally {
+                SwingUtilities.invokeLater(() -> this.getFrame().hideLoadProgress(progress));
+            }
+            // a file which was not loaded completely must not be written over
+            this.journalCompaction = complete;
+            this.journal = journal;
+            s.addListener(change -> {
+                journal.storeChanged(change);
+                this.compactJournal();
+            }, Runnable::run);
+            this.compactJournal();
+            return replayed;
+        }).whenComplete((replayed, e) -> loaded.complete(e == null && this.journalCompaction));
+    }
+
+    /**
+     * This method returns the load of the default deadlines file which was started
+     * last, e.g. to report the closest deadline once the deadlines are known
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a future which completes with true if the file was read completely, or
+     * with false if the load was cancelled or the file could not be parsed; a
+     * completed future if there was no load
+     */
+    public CompletableFuture<Boolean> whenDeadlinesLoaded() {
+        return this.defaultLoad;
+    }
+
+    /**
+     * This method checks whether a file is the default deadlines file
+     *
+     * @param file the file
+     * @requires file != null
+     * @modifies None
+     * @effects None
+     * @return true if the file is deadlines.json in the setting directory
+     */
+    private boolean isDefaultFile(File file) {
+        return file.getAbsoluteFile().equals(new File(this.settingPath + "deadlines.json").getAbsoluteFile());
+    }
+
+    /**
+     * This method compacts the journal into the deadlines file in the background once
+     * the journal passes a size threshold, or if the last compaction did not finish
+     *
+     * @requires None
+     * @modifies journal
+     * @effects write the deadlines file and drop the records it contains
+     */
+    private void compactJournal() {
+        Journal journal = this.journal;
+        if (journal == null || !this.journalCompaction || this.journalCompacting) {
+            return;
+        }
+        if (!journal.isCompacting()
+                && (journal.length() < JOURNAL_COMPACT_BYTES || !journal.startCompaction())) {
+            return;
+        }
+        this.journalCompacting = true;
+        this.saver.request(new File(this.settingPath + "deadlines.json"), "JSON").thenAccept(result -> {
+            if (result.getStatus() != SaveService.Status.FAILED) {
+                journal.finishCompaction();
+            }
+            this.journalCompacting = false;
+        });
+    }
+
     /**
      * This method would save data to a local file.
      *
@@ -427,7 +651,10 @@ public class GUIController extends AbstractController implements Operations {
 
 
     /**
-     * This method would save data to a local file.
+     * This method would save data to a local file. Saves of the same file are
+     * coalesced and written by one thread after a short quiet window. The default
+     * deadlines file is not written until it has been loaded completely, since the
+     * store only holds part of it while it streams in or after the load was cancelled.
      *
      * @param file the file that will be saved to. enter null if you'd like to create
      *             a new file by default
@@ -444,19 +671,23 @@ public class GUIController extends AbstractController implements Operations {
         if (file == null)
             file = new File(this.settingPath + "deadlines.json");
 
-        if (!file.isDirectory()) {
-            PrintWriter fileWriter = null;
-            try {
-                 fileWriter = new PrintWriter(file, "UTF-8");
-            } catch (IOException e) {
-                Log.error("[MainController] error when saving settings: ", e);
+        if (this.isDefaultFile(file) && !this.defaultLoad.getNow(false)) {
+            Log.debug("DEBUG: [Save] " + file + " was not loaded completely; not written over");
+            if (showDialog) {
                 this.alert("<html>" + this.getFrame().getText("saving_to") + "<br>"
-                        + this.getFrame().getText("error_code") + e.getMessage());
-                return;
+                        + this.getFrame().getText("save_incomplete_load"));
             }
-            localParser.Parser save = new localParser.Save(this.allCourses, fileWriter);
-            Thread thread = localParser.Parser.getParserThread(save, extension, this, showDialog);
-            thread.start();
+        } else if (!file.isDirectory()) {
+            this.saver.request(file, extension).thenAccept(result -> {
+                if (result.getStatus() == SaveService.Status.FAILED) {
+                    SwingUtilities.invokeLater(() -> this.alert("<html>" + this.getFrame().getText("saving_to")
+                            + "<br>" + this.getFrame().getText("error_code") + result.getError()));
+                } else if (result.getError() != null && showDialog) {
+                    // the file was written, but the format cannot hold everything
+                    SwingUtilities.invokeLater(() -> this.alert("<html>" + this.getFrame().getText("saving_to")
+                            + "<br>" + result.getError()));
+                }
+            });
         } else {
             Log.debug("DEBUG: [Save] IOException");
         }
@@ -487,7 +718,8 @@ public class GUIController extends AbstractController implements Operations {
 
     /**
      * This method would try to access submitty via the username and password that the
-     * user provided
+     * user provided. Only the deadlines that were added, changed or removed on Submitty
+     * since the last refresh are passed to the frame.
      *
      * @param id       the user username
      * @param password the user password
@@ -501,54 +733,36 @@ public class GUIController extends AbstractController implements Operations {
         LoadingDialog dialog = new LoadingDialog(this);
 
         // create a thread to access submitty
-        Runnable access = new Runnable() {
-            @Override
-            public void run() {
-                SubmittyAccess sa = new SubmittyAccess(id, password, dialog.getCurrProgressLabel());
-                sa.login();
-                Log.debug("DEBUG: [access] login succeeded.");
-                sa.parser(ignoredCoursesSet);
-                Log.debug("DEBUG: [access] parser succeeded.");
-                ConcurrentHashMap<String, Course> newCourses = sa.getCourseMap();
-                sa.close();
-                Log.debug("DEBUG: [access] getCourseMap succeeded.");
-                boolean shouldAdd = true;
-                synchronized (this) {
-                    if (!dialog.isVisible()) {
-                        Log.debug("DEBUG: [access] dialog no longer visible");
-                        shouldAdd = false;
-                    }
-                }
-                if (!shouldAdd) {
-                    dialog.dispose();
-                    Log.debug("DEBUG: [access] closing thread");
-                    return;
-                }
-                for (String fullCourseName : newCourses.keySet()) {
-                    Log.debug("DEBUG: [access] handling course " + fullCourseName);
-                    String courseName = fullCourseName.replace("Fall 2019     ", "").trim();
-                    synchronized (this) {
-                        if (allCourses.containsKey(courseName)) {
-                            assert (allCourses.get(courseName) != null);
-                            assert (newCourses.get(fullCourseName) != null);
-                            allCourses.get(courseName).append(newCourses.get(fullCourseName));
-                        } else {
-                            assert (newCourses.get(fullCourseName) != null);
-                            allCourses.put(courseName, newCourses.get(fullCourseName));
-                        }
-                    }
-                }
-                Log.debug("DEBUG: [access] handling courses succeeded.");
-                if (newCourses.isEmpty()) {
-                    alert(getFrame().getText("no_deadline"));
-                }
-
-                // close the dialog
-                synchronized (this) {
-                    dialog.setVisible(false);
-                    dialog.dispose();
-                }
+        Runnable access = () -> {
+            SubmittyAccess sa = new SubmittyAccess(id, password, dialog.getCurrProgressLabel());
+            sa.setKnownHashes(submittySync.getKnownHashes(getAllCourses()));
+            sa.login();
+            Log.debug("DEBUG: [access] login succeeded.");
+            sa.parser(new HashSet<>(ignoredCoursesSet), SubmittyAccess.DEFAULT_SESSIONS);
+            Log.debug("DEBUG: [access] parser succeeded.");
+            sa.close();
+            if (!dialog.isVisible()) {
+                Log.debug("DEBUG: [access] dialog no longer visible");
+                dialog.dispose();
+                Log.debug("DEBUG: [access] closing thread");
+                return;
             }
+            // the deltas are computed on the writer thread against the same version
+            // they are applied to, so edits made during the refresh are not lost
+            List<CourseDelta> deltas = this.writer.submit(s -> {
+                List<CourseDelta> changes = submittySync.update(sa, s.getCourses());
+                this.applyDeltas(s, changes);
+                return changes;
+            }).join();
+            Log.debug("DEBUG: [access] " + deltas.size() + " course(s) changed, " +
+                    sa.getUnchangedCourses().size() + " course(s) unchanged.");
+            if (sa.getCourseMap().isEmpty() && sa.getUnchangedCourses().isEmpty()) {
+                alert(getFrame().getText("no_deadline"));
+            }
+
+            // close the dialog
+            dialog.setVisible(false);
+            dialog.dispose();
         };
         final RuntimeException[] exceptionFromAccess = {null};
         Thread.UncaughtExceptionHandler loginFailedHandler = (th, e) -> {
@@ -592,6 +806,49 @@ public class GUIController extends AbstractController implements Operations {
         }
     }
 
+    /**
+     * This method applies the result of a Submitty refresh on the writer thread.
+     *
+     * @param deltas the changes of every course
+     * @requires deltas != null
+     * @modifies store
+     * @effects queue the changes
+     */
+    public void applyDeltas(List<CourseDelta> deltas) {
+        final List<CourseDelta> copy = new ArrayList<>(deltas);
+        this.writer.submit(s -> {
+            this.applyDeltas(s, copy);
+            return null;
+        });
+    }
+
+    /**
+     * This method applies the result of a Submitty refresh. Removed deadlines are
+     * taken out of the store and added and changed deadlines are put in, so the
+     * blocks and timers of the other deadlines are left untouched.
+     *
+     * @param store the store; only called by the writer thread
+     * @param deltas the changes of every course
+     * @requires store != null, deltas != null
+     * @modifies store
+     * @effects apply the changes
+     */
+    private void applyDeltas(DeadlineStore store, List<CourseDelta> deltas) {
+        for (CourseDelta delta : deltas) {
+            Log.debug("DEBUG: [access] applying " + delta);
+            for (Deadline removed : delta.getRemoved()) {
+                store.remove(DeadlineKey.of(removed));
+            }
+            // a changed deadline has the same key as its old version, so it replaces it
+            List<Deadline> added = new ArrayList<>(delta.getAdded());
+            for (Pair<Deadline, Deadline> changed : delta.getChanged()) {
+                added.add(changed.getValue());
+            }
+            store.putAll(added);
+            store.addCourse(delta.getCourseName());
+        }
+    }
+
     /**
      * This method would add a new deadline to an existing course. If such course
      * doesn't exist, then such course instance will be created
@@ -609,7 +866,7 @@ public class GUIController extends AbstractController implements Operations {
      * @effects None
      */
     @Deprecated
-    public synchronized void addDeadline(String course, String deadlineName, int year, int month,
+    public void addDeadline(String course, String deadlineName, int year, int month,
                             int day, int hour, int minute, String status) {
         this.addDeadline(course, deadlineName, year, month, day, hour, minute, status, "");
     }
@@ -632,7 +889,7 @@ public class GUIController extends AbstractController implements Operations {
      * @effects None
      */
     @Override
-    public synchronized void addDeadline(String course, String deadlineName, int year, int month,
+    public void addDeadline(String course, String deadlineName, int year, int month,
                             int day, int hour, int minute, String status, String link) {
         Deadline deadline;
         try {
@@ -653,16 +910,39 @@ public class GUIController extends AbstractController implements Operations {
      *
      * @param deadline    the deadline that is about to be added
      * @requires None
-     * @modifies a list that stores every course and their information
-     * @effects None
+     * @modifies store
+     * @effects queue adding the deadline
      */
-    public synchronized void addDeadline(Deadline deadline) {
-        Course c = this.getCourseByName(deadline.getCourseName());
-        c.addDeadline(deadline);
-        this.allCourses.put(deadline.getCourseName(), c);
-        this.allDeadlines.add(deadline);
-        this.frame.addDeadlineBlock(deadline);
-        this.frame.updateTrayIcon();
+    public void addDeadline(Deadline deadline) {
+        this.writer.put(deadline);
+    }
+
+    /**
+     * This method would add a group of deadlines at once. The store notifies the
+     * calendar, the side bar and the tray icon only once for the whole group.
+     *
+     * @param deadlines the deadlines that will be added
+     * @requires deadlines != null
+     * @modifies store
+     * @effects queue adding the deadlines
+     */
+    @Override
+    public void addDeadlines(Collection<Deadline> deadlines) {
+        this.writer.putAll(deadlines);
+    }
+
+    /**
+     * This method would add a group of recurring deadlines at once. Their occurrences
+     * are only made for the month the calendar shows, the side bar and the tray icon.
+     *
+     * @param series the series that will be added
+     * @requires series != null
+     * @modifies store
+     * @effects queue adding the series
+     */
+    @Override
+    public void addRecurringDeadlines(Collection<RecurringDeadline> series) {
+        this.writer.putRecurring(series);
     }
 
     /**
@@ -674,19 +954,12 @@ public class GUIController extends AbstractController implements Operations {
      * @param month        month number; starts from 1 to 12
      * @param day the day number; starts from 1 to 31
      * @requires None
-     * @modifies a list that stores every course and their information
-     * @effects None
+     * @modifies store
+     * @effects queue removing the deadline
      */
     @Override
-    public synchronized void removeDeadline(String course, String deadlineName, int year, int month, int day) {
-        Course c = this.getCourseByName(course);
-        c.removeDeadline(deadlineName);
-        if (!c.getDeadlines().isEmpty()) {
-            allCourses.put(course, c);
-        } else {
-            allCourses.remove(course);
-        }
-        this.frame.removeDeadlineBlock(course, deadlineName, year, month, day);
+    public void removeDeadline(String course, String deadlineName, int year, int month, int day) {
+        this.writer.remove(new DeadlineKey(course, deadlineName));
     }
 
     /**
@@ -704,47 +977,91 @@ public class GUIController extends AbstractController implements Operations {
 
     /**
      * This function would add a course name that would be ignored when displaying all
-     * deadlines
+     * deadlines. The change is queued on the model writer like the changes of the
+     * deadlines; the timers and the view are updated on the event dispatch thread.
      *
      * @param course the course name
      * @requires None
-     * @modifies a list that stores every course and their information
-     * @effects None
+     * @modifies ignoredCoursesSet, journal
+     * @effects queue ignoring the course
      */
     @Override
     public void addIgnoredCourse(String course) {
         if (course == null || course.equals("")) {
             return;
         }
-        Log.debug("DEBUG: [GUIController] <" + course + "> is now ignored", ANSI_PURPLE);
-        this.ignoredCoursesSet.add(course);
-        for (Map.Entry<String, DeadlineTimer> item: this.frame.getAllTimersMap().entrySet()) {
-            if (item.getKey().startsWith(course)) {
-                item.getValue().stop();
-            }
-        }
-        this.frame.refresh();
+        this.writer.submit(s -> this.setIgnored(course, true));
     }
 
     /**
      * This function would remove a course name that would be ignored when displaying all
-     * deadlines
+     * deadlines. The change is queued on the model writer like the changes of the
+     * deadlines; the timers and the view are updated on the event dispatch thread.
      *
      * @param course the course name
      * @requires None
-     * @modifies a list that stores every course that would be ignored
-     * @effects None
+     * @modifies ignoredCoursesSet, journal
+     * @effects queue no longer ignoring the course
      */
     @Override
     public void removeIgnoredCourse(String course) {
-        Log.debug("DEBUG: [GUIController] <" + course + "> is no longer ignored", ANSI_CYAN);
-        this.ignoredCoursesSet.remove(course);
-        for (Map.Entry<String, DeadlineTimer> item: this.frame.getAllTimersMap().entrySet()) {
-            if (item.getKey().startsWith(course)) {
-                item.getValue().start();
+        this.writer.submit(s -> this.setIgnored(course, false));
+    }
+
+    /**
+     * This function changes whether a course is ignored and journals the change. It
+     * only runs on the model writer thread, e.g. when the journal is replayed, so it
+     * leaves the timers and the view to the event dispatch thread.
+     *
+     * @param course the course name
+     * @param ignored true if the course is ignored now
+     * @requires course != null; called by the writer thread
+     * @modifies ignoredCoursesSet, journal
+     * @effects change the ignored courses and queue updating the view
+     * @return true if the course was changed
+     */
+    private boolean setIgnored(String course, boolean ignored) {
+        if (!this.setIgnoring(course, ignored)) {
+            return false;
+        }
+        Log.debug("DEBUG: [GUIController] <" + course + "> is " + (ignored ? "now" : "no longer") + " ignored",
+                ignored ? ANSI_PURPLE : ANSI_CYAN);
+        if (this.journal != null) {
+            this.journal.ignore(course, ignored);
+        }
+        SwingUtilities.invokeLater(() -> this.updateIgnoredTimers(course, ignored));
+        return true;
+    }
+
+    /**
+     * This function starts or stops the timers of a course once it is ignored or no
+     * longer ignored, and refreshes the view
+     *
+     * @param course the course name
+     * @param ignored true if the course is ignored now
+     * @requires called on the event dispatch thread
+     * @modifies this.getFrame().getAllTimersMap(), frame
+     * @effects start or stop the timers of the course
+     */
+    private void updateIgnoredTimers(String course, boolean ignored) {
+        for (Map.Entry<DeadlineKey, DeadlineTimer> item: this.frame.getAllTimersMap().entrySet()) {
+            if (item.getKey().getCourseName().equals(course)) {
+                if (ignored) {
+                    item.getValue().stop();
+                } else {
+                    item.getValue().start();
+                }
+            }
+        }
+        for (Map.Entry<DeadlineKey, RecurringTimer> item: this.frame.getRecurringTimersMap().entrySet()) {
+            if (item.getKey().getCourseName().equals(course)) {
+                if (ignored) {
+                    item.getValue().stop();
+                } else {
+                    item.getValue().start();
+                }
             }
         }
         this.frame.refresh();
     }
 }
-
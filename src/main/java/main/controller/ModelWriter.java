@@ -0,0 +1,226 @@
+package main.controller;
+
+import main.viewer.Log;
+import model.CalendarWrapper;
+import model.Deadline;
+import model.DeadlineKey;
+import model.DeadlineSnapshot;
+import model.DeadlineStore;
+import model.RecurringDeadline;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * @overview
+ * This class is the only writer of a DeadlineStore in the GUI. Every change of the
+ * deadlines, whether it comes from the EDT, a file loader or the Submitty thread, is
+ * queued and applied in order on one background thread. Readers never wait for the
+ * writer: they read the snapshot the store last published.
+ *
+ * @abstract_fields
+ * store -> the store which is changed
+ * executor -> the queue of changes and the thread which applies them
+ *
+ * @creators
+ * ModelWriter(DeadlineStore store)
+ *
+ * @mutator
+ * CompletableFuture submit(Function<DeadlineStore, T> mutation)
+ * CompletableFuture put(Deadline deadline)
+ * CompletableFuture putAll(Collection<Deadline> deadlines)
+ * CompletableFuture remove(DeadlineKey key)
+ * CompletableFuture rebalance(CalendarWrapper now)
+ * shutdown()
+ * boolean shutdown(long timeoutMillis)
+ *
+ * @observers
+ * CompletableFuture snapshot()
+ * boolean isWriterThread()
+ *
+ * @representation_invariant
+ * store != null && executor has exactly one thread
+ */
+public class ModelWriter {
+    private final DeadlineStore store;
+    private final ExecutorService executor;
+    private volatile Thread thread;
+
+    /**
+     * Constructor
+     * @param store the store which is changed
+     * @requires store != null
+     * @modifies store, executor
+     * @effects create a new writer; its thread is started by the first change
+     */
+    public ModelWriter(DeadlineStore store) {
+        this.store = store;
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread t = new Thread(runnable, "model-writer");
+            t.setDaemon(true);
+            this.thread = t;
+            return t;
+        });
+    }
+
+    /**
+     * This function queues a change of the store. A change which is submitted by the
+     * writer thread itself runs at once, so a change can submit another one and wait
+     * for it. An exception of a change is logged and completes its future.
+     * @param mutation the change; it must only touch the store it is given
+     * @param <T> the type of the result
+     * @requires mutation != null
+     * @modifies store
+     * @effects run the change on the writer thread after every earlier change
+     * @return the future result of the change
+     */
+    public <T> CompletableFuture<T> submit(Function<DeadlineStore, T> mutation) {
+        if (this.isWriterThread()) {
+            CompletableFuture<T> result = new CompletableFuture<>();
+            try {
+                result.complete(mutation.apply(this.store));
+            } catch (RuntimeException e) {
+                Log.error("[ModelWriter] error when changing the deadlines: ", e);
+                result.completeExceptionally(e);
+            }
+            return result;
+        }
+        CompletableFuture<T> result = CompletableFuture.supplyAsync(() -> mutation.apply(this.store), this.executor);
+        result.whenComplete((value, e) -> {
+            if (e != null) {
+                Log.error("[ModelWriter] error when changing the deadlines: ", e);
+            }
+        });
+        return result;
+    }
+
+    /**
+     * This function queues adding a deadline
+     * @param deadline the deadline object
+     * @requires deadline != null
+     * @modifies store
+     * @effects add the deadline on the writer thread
+     * @return the future changes
+     * @see DeadlineStore#put(Deadline)
+     */
+    public CompletableFuture<DeadlineStore.Change> put(Deadline deadline) {
+        return this.submit(s -> s.put(deadline));
+    }
+
+    /**
+     * This function queues adding a group of deadlines. The collection is copied, so
+     * the caller may change it afterwards.
+     * @param deadlines the deadline objects
+     * @requires deadlines != null
+     * @modifies store
+     * @effects add the deadlines on the writer thread
+     * @return the future changes
+     * @see DeadlineStore#putAll(Collection)
+     */
+    public CompletableFuture<DeadlineStore.Change> putAll(Collection<Deadline> deadlines) {
+        final Collection<Deadline> copy = new ArrayList<>(deadlines);
+        return this.submit(s -> s.putAll(copy));
+    }
+
+    /**
+     * This function queues adding a group of series of recurring deadlines. The
+     * collection is copied, so the caller may change it afterwards.
+     * @param series the series
+     * @requires series != null
+     * @modifies store
+     * @effects add the series on the writer thread
+     * @return the future changes
+     * @see DeadlineStore#putRecurring(Collection)
+     */
+    public CompletableFuture<DeadlineStore.Change> putRecurring(Collection<RecurringDeadline> series) {
+        final Collection<RecurringDeadline> copy = new ArrayList<>(series);
+        return this.submit(s -> s.putRecurring(copy));
+    }
+
+    /**
+     * This function queues removing a deadline
+     * @param key the key of the deadline
+     * @requires key != null
+     * @modifies store
+     * @effects remove the deadline on the writer thread
+     * @return the future removed deadline, or null if there was no such deadline
+     * @see DeadlineStore#remove(DeadlineKey)
+     */
+    public CompletableFuture<Deadline> remove(DeadlineKey key) {
+        return this.submit(s -> s.remove(key));
+    }
+
+    /**
+     * This function queues moving the clock of the store forward
+     * @param now the new current time; null for now
+     * @requires None
+     * @modifies store
+     * @effects move the clock on the writer thread
+     * @return the future number of deadlines that have just passed
+     * @see DeadlineStore#rebalance(CalendarWrapper)
+     */
+    public CompletableFuture<Integer> rebalance(CalendarWrapper now) {
+        return this.submit(s -> s.rebalance(now));
+    }
+
+    /**
+     * This function returns the snapshot which includes every change queued before
+     * this call. A reader which only needs some published version should call
+     * DeadlineStore.getSnapshot() instead, which does not wait.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the future snapshot
+     */
+    public CompletableFuture<DeadlineSnapshot> snapshot() {
+        return this.submit(DeadlineStore::getSnapshot);
+    }
+
+    /**
+     * This function checks whether the current thread is the writer thread
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if this is called by a change
+     */
+    public boolean isWriterThread() {
+        return Thread.currentThread() == this.thread;
+    }
+
+    /**
+     * This function stops the writer thread after the queued changes
+     * @requires None
+     * @modifies executor
+     * @effects reject later changes
+     */
+    public void shutdown() {
+        this.executor.shutdown();
+    }
+
+    /**
+     * This function stops the writer thread after the queued changes and waits for
+     * them, e.g. before the program exits, since the thread is a daemon
+     * @param timeoutMillis how long to wait for the changes
+     * @requires timeoutMillis >= 0
+     * @modifies executor
+     * @effects reject later changes and wait for the queued ones
+     * @return true if every queued change has finished
+     */
+    public boolean shutdown(long timeoutMillis) {
+        this.executor.shutdown();
+        try {
+            if (this.executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+            Log.debug("DEBUG: [ModelWriter] changes were still being applied at shutdown");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return false;
+    }
+}
@@ -1,8 +1,10 @@
 package main.controller;
 
 import model.Deadline;
+import model.RecurringDeadline;
 
 import java.io.File;
+import java.util.Collection;
 
 /**
  * This class defines the gerneral behaviour for the controller
@@ -20,6 +22,16 @@ public interface Operations {
      */
     void loadFromLocal(File file, String extension);
 
+    /**
+     * This method would read many local files at once, e.g. every file in a directory,
+     * and add their deadlines in one batch.
+     * @param paths the files and directories that will be load from
+     * @requires paths != null
+     * @modifies a list that stores every course and their information
+     * @effects read from local files
+     */
+    void importFromLocal(Collection<File> paths);
+
     /**
      * This method would save data to a local file.
      * @param file the file that will be saved to. enter null if you'd like to create
@@ -77,6 +89,27 @@ public interface Operations {
     void addDeadline(String course, String deadlineName, int year, int month,
                      int day, int hour, int minute, String status, String link);
 
+    /**
+     * This method would add a group of deadlines at once. Courses that don't exist
+     * will be created. The views are updated once for the whole group instead of
+     * once per deadline.
+     * @param deadlines the deadlines that will be added
+     * @requires deadlines != null
+     * @modifies a list that stores every course and their information
+     * @effects None
+     */
+    void addDeadlines(Collection<Deadline> deadlines);
+
+    /**
+     * This method would add a group of recurring deadlines at once, replacing the
+     * series with the same names. Courses that don't exist will be created.
+     * @param series the series that will be added
+     * @requires series != null
+     * @modifies a list that stores every course and their information
+     * @effects None
+     */
+    void addRecurringDeadlines(Collection<RecurringDeadline> series);
+
     /**
      * This method would remove a deadline from an existing course.
      * @param course the course name
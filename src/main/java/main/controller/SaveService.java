@@ -0,0 +1,435 @@
+package main.controller;
+
+import localParser.Parser;
+import localParser.Save;
+import main.viewer.Log;
+import model.DeadlineSnapshot;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * @overview
+ * This class writes deadline files for the GUI. Requests to save the same file are
+ * coalesced until no new request has come for a quiet window, so a burst of edits is
+ * written once. Every file is written by one thread, so two saves never write the
+ * same file at the same time, and a file is not written again if its content has not
+ * changed since this service last wrote it.
+ *
+ * @abstract_fields
+ * source -> where the deadlines to save are read from when a file is written
+ * quietMillis -> how long a file waits for more requests before it is written
+ * pending -> the files which are waiting to be written
+ * written, skipped, coalesced, bytesWritten, lastLatency -> the save metrics
+ *
+ * @creators
+ * SaveService(Supplier<DeadlineSnapshot> source, long quietMillis)
+ *
+ * @mutator
+ * CompletableFuture request(File file, String extension)
+ * CompletableFuture flush()
+ * shutdown(long timeoutMillis)
+ *
+ * @observers
+ * long getQuietMillis()
+ * long getWrittenCount()
+ * long getSkippedCount()
+ * long getCoalescedCount()
+ * long getBytesWritten()
+ * long getLastLatencyMillis()
+ *
+ * @representation_invariant
+ * source != null && quietMillis >= 0 && executor has exactly one thread
+ */
+public class SaveService {
+    /**
+     * The result of a save
+     */
+    public enum Status {
+        WRITTEN, SKIPPED, FAILED
+    }
+
+    /**
+     * The result of writing a file, shared by every request that was coalesced into it
+     */
+    public static class Result {
+        private final Status status;
+        private final long bytes;
+        private final long latencyMillis;
+        private final String error;
+
+        /**
+         * Constructor
+         * @param status the result of the save
+         * @param bytes the length of the content
+         * @param latencyMillis the time from the first request to the end of the save
+         * @param error the reason of a failure, or what a written file leaves out; null
+         *              if there is none
+         * @requires status != null
+         * @modifies this
+         * @effects create a new Result
+         */
+        Result(Status status, long bytes, long latencyMillis, String error) {
+            this.status = status;
+            this.bytes = bytes;
+            this.latencyMillis = latencyMillis;
+            this.error = error;
+        }
+
+        /**
+         * This function returns the result of the save
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the result of the save
+         */
+        public Status getStatus() {
+            return this.status;
+        }
+
+        /**
+         * This function returns the length of the content in bytes
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the length of the content in bytes
+         */
+        public long getBytes() {
+            return this.bytes;
+        }
+
+        /**
+         * This function returns the time from the first request to the end of the save
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the time from the first request to the end of the save
+         */
+        public long getLatencyMillis() {
+            return this.latencyMillis;
+        }
+
+        /**
+         * This function returns the reason of a failure, or what a written file leaves
+         * out, e.g. the recurring deadlines of a CSV file
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the message; null if there is none
+         */
+        public String getError() {
+            return this.error;
+        }
+
+        /**
+         * Returns a string representation of the object.
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a string representation of the object.
+         */
+        @Override
+        public String toString() {
+            return this.status + " " + this.bytes + " bytes in " + this.latencyMillis + " ms"
+                    + ((this.error == null) ? "" : ": " + this.error);
+        }
+    }
+
+    /**
+     * A file which is waiting to be written
+     */
+    private static class Pending {
+        private final File file;
+        private final CompletableFuture<Result> result;
+        private final long firstRequest;
+        private String extension;
+        private ScheduledFuture<?> task;
+
+        /**
+         * Constructor
+         * @param file the file to write
+         * @param extension the upper-case extension which selects the format
+         * @requires file != null && extension != null
+         * @modifies this
+         * @effects create a request which starts waiting now
+         */
+        private Pending(File file, String extension) {
+            this.file = file;
+            this.extension = extension;
+            this.result = new CompletableFuture<>();
+            this.firstRequest = System.nanoTime();
+        }
+    }
+
+    /** a file which keeps getting requests is written after this many quiet windows */
+    private static final int MAX_WINDOWS = 4;
+    private final Supplier<DeadlineSnapshot> source;
+    private final long quietMillis;
+    private final ScheduledExecutorService executor;
+    private final Map<String, Pending> pending;
+    private final Map<String, byte[]> writtenHashes;
+    private final AtomicLong written;
+    private final AtomicLong skipped;
+    private final AtomicLong coalesced;
+    private final AtomicLong bytesWritten;
+    private volatile long lastLatencyMillis;
+
+    /**
+     * Constructor
+     * @param source where the deadlines to save are read from when a file is written
+     * @param quietMillis how long a file waits for more requests before it is written
+     * @requires source != null && quietMillis >= 0
+     * @modifies this
+     * @effects create a new save service; its thread is started by the first request
+     */
+    public SaveService(Supplier<DeadlineSnapshot> source, long quietMillis) {
+        this.source = source;
+        this.quietMillis = quietMillis;
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread t = new Thread(runnable, "deadline-saver");
+            t.setDaemon(true);
+            return t;
+        });
+        this.pending = new HashMap<>();
+        this.writtenHashes = new HashMap<>();
+        this.written = new AtomicLong();
+        this.skipped = new AtomicLong();
+        this.coalesced = new AtomicLong();
+        this.bytesWritten = new AtomicLong();
+        this.lastLatencyMillis = 0;
+    }
+
+    /**
+     * This function asks for a file to be saved. If the file is already waiting, the
+     * wait starts again and the request shares its result; the last extension wins.
+     * A file which keeps getting requests is still written after a few quiet windows.
+     * @param file the file to save to
+     * @param extension the file extension
+     * @requires file != null && extension != null
+     * @modifies pending
+     * @effects write the file after the quiet window
+     * @return the future result of the save
+     */
+    public synchronized CompletableFuture<Result> request(File file, String extension) {
+        String key = file.getAbsolutePath();
+        Pending request = this.pending.get(key);
+        if (request != null && request.task.cancel(false)) {
+            this.coalesced.incrementAndGet();
+            request.extension = extension;
+        } else {
+            request = new Pending(file, extension);
+            this.pending.put(key, request);
+        }
+        long waited = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - request.firstRequest);
+        long delay = Math.max(0, Math.min(this.quietMillis, MAX_WINDOWS * this.quietMillis - waited));
+        final Pending toWrite = request;
+        request.task = this.executor.schedule(() -> this.write(toWrite), delay, TimeUnit.MILLISECONDS);
+        return request.result;
+    }
+
+    /**
+     * This function writes every waiting file without waiting for the quiet window
+     * @requires None
+     * @modifies pending
+     * @effects write the waiting files
+     * @return a future which completes when they are written
+     */
+    public synchronized CompletableFuture<Void> flush() {
+        List<CompletableFuture<Result>> results = new ArrayList<>();
+        for (Pending request: this.pending.values()) {
+            if (request.task.cancel(false)) {
+                request.task = this.executor.schedule(() -> this.write(request), 0, TimeUnit.MILLISECONDS);
+            }
+            results.add(request.result);
+        }
+        return CompletableFuture.allOf(results.stream().toArray(CompletableFuture<?>[]::new));
+    }
+
+    /**
+     * This function writes every waiting file and stops the save thread
+     * @param timeoutMillis how long to wait for the files
+     * @requires timeoutMillis >= 0
+     * @modifies pending
+     * @effects write the waiting files and reject later requests
+     */
+    public void shutdown(long timeoutMillis) {
+        this.flush();
+        this.executor.shutdown();
+        try {
+            if (!this.executor.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                Log.debug("DEBUG: [SaveService] files were still being saved at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This function writes a file on the save thread
+     * @param request the file to write
+     * @requires request != null
+     * @modifies pending, writtenHashes, the file, the metrics
+     * @effects write the file unless its content has not changed
+     */
+    private void write(Pending request) {
+        String key = request.file.getAbsolutePath();
+        synchronized (this) {
+            if (this.pending.get(key) == request) {
+                this.pending.remove(key);
+            }
+        }
+        Result result;
+        try {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            Parser save = new Save(this.source.get(), content);
+            if (!Parser.parse(save, request.extension)) {
+                throw new IOException("Unable to save deadlines as " + request.extension + ": "
+                        + save.getErrorMessage());
+            }
+            String warning = save.getErrorMessage().isEmpty() ? null : save.getErrorMessage();
+            byte[] bytes = content.toByteArray();
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(bytes);
+            // the file may have been changed by someone else since it was written
+            if (Arrays.equals(hash, this.writtenHashes.get(key))
+                    && request.file.isFile() && request.file.length() == bytes.length) {
+                this.skipped.incrementAndGet();
+                result = new Result(Status.SKIPPED, bytes.length, this.latency(request), warning);
+            } else {
+                writeAtomically(request.file, bytes);
+                this.writtenHashes.put(key, hash);
+                this.written.incrementAndGet();
+                this.bytesWritten.addAndGet(bytes.length);
+                result = new Result(Status.WRITTEN, bytes.length, this.latency(request), warning);
+            }
+        } catch (IOException | NoSuchAlgorithmException | RuntimeException e) {
+            Log.error("[SaveService] error when saving deadlines: ", e);
+            this.writtenHashes.remove(key);
+            result = new Result(Status.FAILED, 0, this.latency(request), e.getMessage());
+        }
+        this.lastLatencyMillis = result.getLatencyMillis();
+        Log.debug("DEBUG: [SaveService] " + request.file.getName() + ": " + result);
+        request.result.complete(result);
+    }
+
+    /**
+     * This function replaces a file by writing a temporary file next to it and moving
+     * it over the old one, so a crash never leaves half a file behind
+     * @param file the file to replace
+     * @param bytes the new content
+     * @requires file != null && bytes != null
+     * @modifies file
+     * @effects replace the content of the file
+     * @throws IOException if the file cannot be written
+     */
+    private static void writeAtomically(File file, byte[] bytes) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = Files.createTempFile(target.getParent(), file.getName(), ".tmp");
+        try {
+            Files.write(temp, bytes);
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * This function measures how long a file took to be saved
+     * @param request the file which has been written
+     * @requires request != null
+     * @modifies None
+     * @effects None
+     * @return the time from the first request of the file until now
+     */
+    private long latency(Pending request) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - request.firstRequest);
+    }
+
+    /**
+     * This function returns how long a file waits for more requests before it is written
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return how long a file waits for more requests before it is written
+     */
+    public long getQuietMillis() {
+        return this.quietMillis;
+    }
+
+    /**
+     * This function returns the number of files written
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of files written
+     */
+    public long getWrittenCount() {
+        return this.written.get();
+    }
+
+    /**
+     * This function returns the number of saves skipped because the content had not changed
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of saves skipped because the content had not changed
+     */
+    public long getSkippedCount() {
+        return this.skipped.get();
+    }
+
+    /**
+     * This function returns the number of requests merged into an earlier request
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of requests merged into an earlier request
+     */
+    public long getCoalescedCount() {
+        return this.coalesced.get();
+    }
+
+    /**
+     * This function returns the number of bytes written in total
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of bytes written in total
+     */
+    public long getBytesWritten() {
+        return this.bytesWritten.get();
+    }
+
+    /**
+     * This function returns the time from the first request to the end of the last save
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the time from the first request to the end of the last save
+     */
+    public long getLastLatencyMillis() {
+        return this.lastLatencyMillis;
+    }
+}
@@ -22,8 +22,10 @@ public class Settings {
         public static final String AUTO_SAVE_AFTER_REFRESH = "auto_save_after_refresh";
         public static final String START_ON_LOGIN = "start_on_login";
         public static final String SAVE_LOCAL_FILE = "save_local_file";
+        public static final String JOURNAL_DEADLINES = "journal_deadlines";
         public static final String[] ALL_SETTINGS =
-                {START_FROM_SUNDAY, NOTIFICATION_ENABLED, SHOW_PAST_DEADLINES, AUTO_SAVE_AFTER_REFRESH};
+                {START_FROM_SUNDAY, NOTIFICATION_ENABLED, SHOW_PAST_DEADLINES, AUTO_SAVE_AFTER_REFRESH,
+                        JOURNAL_DEADLINES};
     }
     // settings
     private HashMap<String, Boolean> settings;
@@ -73,6 +75,7 @@ public class Settings {
         this.settings.put(SUPPORTED.NOTIFICATION_ENABLED, true);
         this.settings.put(SUPPORTED.START_FROM_SUNDAY, true);
         this.settings.put(SUPPORTED.SAVE_LOCAL_FILE, true);
+        this.settings.put(SUPPORTED.JOURNAL_DEADLINES, false);
         this.language = "en_US";
         this.theme = "default";
         this.themeRed = 34;
@@ -160,6 +163,18 @@ public class Settings {
         return !this.get(SUPPORTED.SAVE_LOCAL_FILE);
     }
 
+    /**
+     * This function returns true if the program keeps a journal of every change of the
+     * deadlines instead of saving the whole file. It takes effect after a restart.
+     * @requires None
+     * @modifies None
+     * @effects check if the program keeps a journal
+     * @return true if the program keeps a journal
+     */
+    public boolean isJournalDeadlines() {
+        return this.get(SUPPORTED.JOURNAL_DEADLINES);
+    }
+
     /**
      * This function returns the language setting for the program
      * @requires None
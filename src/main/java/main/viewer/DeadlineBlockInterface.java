@@ -76,6 +76,18 @@ public interface DeadlineBlockInterface {
      */
     void delete();
 
+    /**
+     * This function checks whether the deadline can be deleted or edited. An
+     * occurrence of a recurring deadline cannot: it is made from its series and is
+     * not in the store by itself.
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if the store holds the deadline
+     */
+    boolean isEditable();
+
     /**
      * This function would edit the deadline that current DeadlineBlock is
      * representing
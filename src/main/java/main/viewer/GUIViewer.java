@@ -2,6 +2,9 @@ package main.viewer;
 
 import model.CalendarWrapper;
 import model.Deadline;
+import model.DeadlineKey;
+import model.DeadlineStore;
+import model.RecurringDeadline;
 import main.controller.GUIController;
 import main.controller.Settings;
 import main.viewer.calendarPanel.CalendarPanel;
@@ -13,7 +16,10 @@ import main.viewer.textFormat.TextFactory;
 import main.viewer.theme.Theme;
 import main.viewer.theme.ThemeFactory;
 import main.viewer.util.DeadlineTimer;
+import main.viewer.util.RecurringTimer;
+import main.viewer.util.NotificationScheduler;
 import main.viewer.util.LoginDialog;
+import main.viewer.util.LoadProgressPanel;
 import webService.SubmittyAccess;
 import javafx.util.Pair;
 
@@ -42,7 +48,7 @@ import java.util.concurrent.ConcurrentHashMap;
 /**
  * This class is the View part of the GUI Version of main
  */
-public class GUIViewer extends JFrame {
+public class GUIViewer extends JFrame implements DeadlineStore.Listener {
     private final GUIController controller;
 
     // GUI components
@@ -53,7 +59,10 @@ public class GUIViewer extends JFrame {
     private BaseText textFormat;
     private ResourceBundle textResource;
     private Notification notification;
-    private ConcurrentHashMap<String, DeadlineTimer> allTimersMap;
+    private ConcurrentHashMap<DeadlineKey, DeadlineTimer> allTimersMap;
+    private ConcurrentHashMap<DeadlineKey, RecurringTimer> recurringTimersMap;
+    private NotificationScheduler notificationScheduler;
+    private LoadProgressPanel loadProgressPanel;
 
     // Display information
     private String username;
@@ -65,7 +74,7 @@ public class GUIViewer extends JFrame {
      *
      * @param parent the controller for main
      * @requires parent != null
-     * @modifies controller, month, year, username, allTimersMap
+     * @modifies controller, month, year, username, allTimersMap, notificationScheduler
      */
     public GUIViewer(GUIController parent) {
         this.controller = parent;
@@ -74,7 +83,8 @@ public class GUIViewer extends JFrame {
         this.addWindowListener(new java.awt.event.WindowAdapter() {
             @Override
             public void windowClosing(java.awt.event.WindowEvent windowEvent) {
-                shutdown();
+                // runs before EXIT_ON_CLOSE exits, so the waiting saves are written
+                controller.shutdown();
             }
         });
         this.setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
@@ -102,8 +112,10 @@ public class GUIViewer extends JFrame {
         this.year = CalendarWrapper.now().getYear();
         this.username = "";
 
-        // create timer
+        // create timer; every DeadlineTimer registers with the same scheduler
         this.allTimersMap = new ConcurrentHashMap<>();
+        this.recurringTimersMap = new ConcurrentHashMap<>();
+        this.notificationScheduler = new NotificationScheduler();
     }
 
     /**
@@ -130,6 +142,9 @@ public class GUIViewer extends JFrame {
         this.getContentPane().setLayout(new BorderLayout());
         this.addCalendar();
         this.addSideBar();
+        if (this.loadProgressPanel != null) {
+            this.getContentPane().add(this.loadProgressPanel, BorderLayout.SOUTH);
+        }
 
         // set theme
         this.setSwingLookAndFeel("");
@@ -211,8 +226,12 @@ public class GUIViewer extends JFrame {
      * @effects configures the main calendar panel
      */
     private void addCalendar() {
-        // add components
+        // add components; the panel of the last setup no longer listens to the store
+        if (this.calendarPanel != null) {
+            this.controller.getDeadlineStore().removeListener(this.calendarPanel);
+        }
         this.calendarPanel = new CalendarPanel(this.controller, this.textFormat);
+        this.controller.getDeadlineStore().addListener(this.calendarPanel, SwingUtilities::invokeLater);
         this.calendarTitle = new TitlePanel(this.textFormat, this);
 
         // Add prev-month, next-month and setUpForAccess button to the calendarTitle
@@ -256,8 +275,12 @@ public class GUIViewer extends JFrame {
      * @effects configures the sideBar
      */
     private void addSideBar() {
-        // add the side bar
-        this.sideBar = new SideBarPanel(new HashMap<>(), this.username, this.controller);
+        // add the side bar; the side bar of the last setup no longer listens to the store
+        if (this.sideBar != null) {
+            this.controller.getDeadlineStore().removeListener(this.sideBar);
+        }
+        this.sideBar = new SideBarPanel(this.username, this.controller);
+        this.controller.getDeadlineStore().addListener(this.sideBar, SwingUtilities::invokeLater);
         this.sideBar.setMinimumSize(new Dimension(400, 0));
 
         // settings toolbar
@@ -399,8 +422,8 @@ public class GUIViewer extends JFrame {
                 passwordNeeded = true;
             }
         }
-        // update sideBar and calendar to display all deadlines
-        this.refreshDeadlines();
+        // the controller has already added the deadlines that changed
+        this.sideBar.updateUsername(this.username);
 
         if (this.controller.getSettings().isAutoSaveAfterRefresh())
             this.controller.saveToLocal(null, "JSON", false);
@@ -511,31 +534,6 @@ public class GUIViewer extends JFrame {
         this.calendarPanel.highlightDateBlock(date);
     }
 
-    /**
-     * This function updates sideBar and calendar to display all deadlines
-     *
-     * @requires None
-     * @modifies sideBar.allCourseNames, sideBar.addNewDeadlinePanel, this.sideBar, this.calendarPanel
-     * @effects display all existing deadlines
-     */
-    private void refreshDeadlines() {
-        // update the username
-        this.sideBar.updateUsername(this.username);
-
-        // update the allCourse map
-        for (String courseName : this.controller.getAllCourses().keySet()) {
-            TreeMap<String, Deadline> dueMap = this.controller.getAllCourses().get(courseName).getDeadlines();
-            if (dueMap == null || dueMap.isEmpty() || this.controller.getAllCourses().get(courseName).size() == 0) {
-                this.sideBar.addCourse(courseName);
-                continue;
-            }
-            List<String> dueList = this.controller.getAllCourses().get(courseName).getReversedSortedDeadlines();
-            for (String deadlineName : dueList) {
-                this.controller.addDeadline(dueMap.get(deadlineName));
-            }
-        }
-    }
-
     /**
      * This function returns the theme of main
      *
@@ -625,60 +623,100 @@ public class GUIViewer extends JFrame {
     }
 
     /**
-     * This function returns the calendarPanel
+     * This function returns the timers of every deadline
      *
      * @requires None
      * @modifies None
      * @effects None
      * @return allTimersMap
      */
-    public ConcurrentHashMap<String, DeadlineTimer> getAllTimersMap() {
+    public ConcurrentHashMap<DeadlineKey, DeadlineTimer> getAllTimersMap() {
         return this.allTimersMap;
     }
 
     /**
-     * This method would add a new deadline to the calendar panel and the side bar panel,
-     * creating a timer for notification
+     * This function returns the timers of every series of recurring deadlines
      *
-     * @param deadline the deadline that will be added
      * @requires None
-     * @modifies calendarPanel, sideBar, allTimersMap
+     * @modifies None
      * @effects None
+     * @return recurringTimersMap
      */
-    synchronized public void addDeadlineBlock(Deadline deadline) {
-        this.calendarPanel.addDeadline(deadline);
-        this.sideBar.addDeadline(deadline);
-        DeadlineTimer timer = new DeadlineTimer(deadline, this.controller);
-        if (!this.controller.isIgnoring(deadline.getCourseName())) {
+    public ConcurrentHashMap<DeadlineKey, RecurringTimer> getRecurringTimersMap() {
+        return this.recurringTimersMap;
+    }
+
+    /**
+     * This method is called after the deadline store was changed. The calendar panel
+     * and the side bar listen to the store themselves; the frame keeps a notification
+     * timer for every deadline and every series of recurring deadlines and updates
+     * the tray icon.
+     *
+     * @param change the changes
+     * @requires change != null
+     * @modifies allTimersMap, recurringTimersMap, notification
+     * @effects update the timers and the tray icon
+     */
+    @Override
+    public void storeChanged(DeadlineStore.Change change) {
+        for (Deadline deadline : change.getRemoved()) {
+            DeadlineTimer timer = this.allTimersMap.remove(DeadlineKey.of(deadline));
+            if (timer != null) {
+                timer.stop();
+            }
+        }
+        for (Deadline deadline : change.getAdded()) {
+            this.addTimer(deadline);
+        }
+        for (Pair<Deadline, Deadline> updated : change.getUpdated()) {
+            this.addTimer(updated.getValue());
+        }
+        for (RecurringDeadline series : change.getRemovedRecurring()) {
+            RecurringTimer timer = this.recurringTimersMap.remove(series.getKey());
+            if (timer != null) {
+                timer.stop();
+            }
+        }
+        for (RecurringDeadline series : change.getAddedRecurring()) {
+            RecurringTimer timer = new RecurringTimer(series, this.controller, this.notificationScheduler);
             timer.start();
+            RecurringTimer old = this.recurringTimersMap.put(series.getKey(), timer);
+            if (old != null) {
+                old.stop();
+            }
+        }
+        if (this.notification != null) {
+            this.updateTrayIcon();
         }
-        this.allTimersMap.put(deadline.getCourseName() + deadline.getName(), timer);
     }
 
     /**
-     * This method would remove a deadline from the calendar panel and the side bar panel,
-     * disable all timers for this deadline
+     * This method would create a timer for a deadline, replacing the old one. A
+     * deadline which has passed gets no timer, since it would never fire.
      *
-     * @param course       the course name
-     * @param deadlineName the deadline name
-     * @param year         year number
-     * @param month        month number; starts from 1 to 12
-     * @param day the day number; starts from 1 to 31
-     * @requires None
-     * @modifies allTimersMap, calendarPanel, sideBar
+     * @param deadline the deadline
+     * @requires deadline != null
+     * @modifies allTimersMap
      * @effects None
      */
-    synchronized public void removeDeadlineBlock(String course, String deadlineName, int year, int month, int day) {
-        DeadlineTimer timer = this.allTimersMap.get(course + deadlineName);
-        if (timer != null) {
-            timer.stop();
-            this.allTimersMap.remove(course + deadlineName);
+    private void addTimer(Deadline deadline) {
+        if (deadline.isBefore(CalendarWrapper.now())) {
+            DeadlineTimer old = this.allTimersMap.remove(DeadlineKey.of(deadline));
+            if (old != null) {
+                old.stop();
+            }
+            return;
+        }
+        DeadlineTimer timer = new DeadlineTimer(deadline, this.controller, this.notificationScheduler);
+        if (!this.controller.isIgnoring(deadline.getCourseName())) {
+            timer.start();
+        }
+        DeadlineTimer old = this.allTimersMap.put(DeadlineKey.of(deadline), timer);
+        if (old != null) {
+            old.stop();
         }
-        this.calendarPanel.removeDeadline(course, deadlineName, year, month, day);
-        this.sideBar.removeDeadline(course, deadlineName, year, month, day);
     }
 
-
     /**
      * This method would let the side bar show edit deadline panel
      *
@@ -733,15 +771,18 @@ public class GUIViewer extends JFrame {
         if (Arrays.asList(args).contains("-s")) {
             // run in backgrounds
             this.setExtendedState(JFrame.ICONIFIED);
-            String message;
-            Deadline closest = this.controller.getClosestDeadline();
-            if (closest == null) {
-                message = "No incoming due dates";
-            } else {
-                message = closest.getName() + " (" + closest.getCourseName() + ") " + this.getText("due_in")
-                        + this.getTextFormat().getRemainingText(closest, CalendarWrapper.now(), false);
-            }
-            this.notification("Deadline countdown is running in background.", message, "");
+            // the deadlines are loaded in the background; report the closest one once they are in
+            this.controller.whenDeadlinesLoaded().whenComplete((complete, e) -> SwingUtilities.invokeLater(() -> {
+                String message;
+                Deadline closest = this.controller.getClosestDeadline();
+                if (closest == null) {
+                    message = "No incoming due dates";
+                } else {
+                    message = closest.getName() + " (" + closest.getCourseName() + ") " + this.getText("due_in")
+                            + this.getTextFormat().getRemainingText(closest, CalendarWrapper.now(), false);
+                }
+                this.notification("Deadline countdown is running in background.", message, "");
+            }));
         } else {
             this.setVisible(true);
         }
@@ -763,6 +804,43 @@ public class GUIViewer extends JFrame {
         }
     }
 
+    /**
+     * This function shows the progress of loading a local file at the bottom of the
+     * window. The panel stays there after a restart until it is hidden.
+     *
+     * @param panel the progress panel
+     * @requires panel != null && this is called on the EDT
+     * @modifies loadProgressPanel
+     * @effects show the panel instead of the last one
+     */
+    public void showLoadProgress(LoadProgressPanel panel) {
+        if (this.loadProgressPanel != null) {
+            this.getContentPane().remove(this.loadProgressPanel);
+        }
+        this.loadProgressPanel = panel;
+        this.getContentPane().add(panel, BorderLayout.SOUTH);
+        this.revalidate();
+        this.repaint();
+    }
+
+    /**
+     * This function hides the progress of loading a local file
+     *
+     * @param panel the progress panel
+     * @requires this is called on the EDT
+     * @modifies loadProgressPanel
+     * @effects hide the panel if it is still shown
+     */
+    public void hideLoadProgress(LoadProgressPanel panel) {
+        if (panel == null || panel != this.loadProgressPanel) {
+            return;
+        }
+        this.getContentPane().remove(panel);
+        this.loadProgressPanel = null;
+        this.revalidate();
+        this.repaint();
+    }
+
     /**
      * This function refreshes the calendar panel
      *
@@ -785,7 +863,8 @@ public class GUIViewer extends JFrame {
         this.getContentPane().removeAll();
         this.setSwingLookAndFeel("JAVA");
         this.setUp(true);
-        this.refreshDeadlines();
+        // the new panels have read every deadline from the store
+        this.sideBar.updateUsername(this.username);
     }
 
     /**
@@ -813,6 +892,7 @@ public class GUIViewer extends JFrame {
      * @effects shutdown the program
      */
     public void shutdown() {
+        this.notificationScheduler.shutdown();
         this.controller.saveSettings(false);
         this.notification.close();
     }
@@ -94,8 +94,7 @@ public class Notification {
         MenuItem closeMenu = new MenuItem("Close main");
         closeMenu.addActionListener(new ActionListener() {
 				public void actionPerformed(ActionEvent e) {
-				    parent.saveSettings(false);
-				    close();
+				    parent.shutdown();
 					System.exit(0);
 				}
 			});
@@ -176,10 +176,21 @@ public class ViewerPanelFactory {
             int result;
             if (type.equals("SAVE"))
                 result = fileChooser.showSaveDialog(frame);
-            else
+            else {
+                // many files or a directory are imported at once
+                fileChooser.setMultiSelectionEnabled(true);
+                fileChooser.setFileSelectionMode(JFileChooser.FILES_AND_DIRECTORIES);
                 result = fileChooser.showOpenDialog(frame);
+            }
 
             if (result == JFileChooser.APPROVE_OPTION) {
+                if (!type.equals("SAVE")) {
+                    File[] selected = fileChooser.getSelectedFiles();
+                    if (selected.length > 1 || (selected.length == 1 && selected[0].isDirectory())) {
+                        parent.importFromLocal(Arrays.asList(selected));
+                        return;
+                    }
+                }
                 // If 'Save/Open' is clicked
                 Pair<File, String> choice = getFileFromFileChooser(fileChooser);
                 if (choice == null) return;
@@ -355,6 +366,8 @@ public class ViewerPanelFactory {
     public static JPopupMenu createDeadlineBlockRightMenu(DeadlineBlockInterface parent,
                                                    Color textColor, Color backgroundColor) {
         JPopupMenu menu = new JPopupMenu();
+        // an occurrence of a recurring deadline is changed through its series only
+        boolean editable = parent.isEditable();
         // DELETE * FROM deadlines WHERE deadline = ?
         JMenuItem deleteMenu = new JMenuItem("Delete (D)");
         deleteMenu.addMenuKeyListener(new MenuKeyListener() {
@@ -363,7 +376,7 @@ public class ViewerPanelFactory {
             }
             @Override
             public void menuKeyPressed(MenuKeyEvent e) {
-                if (e.getKeyCode() == KeyEvent.VK_DELETE || e.getKeyCode() == KeyEvent.VK_D) {
+                if (editable && (e.getKeyCode() == KeyEvent.VK_DELETE || e.getKeyCode() == KeyEvent.VK_D)) {
                     parent.delete();
                 }
             }
@@ -373,6 +386,7 @@ public class ViewerPanelFactory {
         });
         setMenuItemStyle(deleteMenu, textColor, backgroundColor);
         deleteMenu.addActionListener(e2 -> parent.delete());
+        deleteMenu.setEnabled(editable);
         menu.add(deleteMenu);
 
         // DELETE * FROM deadlines WHERE deadline = ?
@@ -384,7 +398,7 @@ public class ViewerPanelFactory {
 
             @Override
             public void menuKeyPressed(MenuKeyEvent e) {
-                if (e.getKeyCode() == KeyEvent.VK_E) {
+                if (editable && e.getKeyCode() == KeyEvent.VK_E) {
                     parent.edit();
                 }
             }
@@ -395,6 +409,7 @@ public class ViewerPanelFactory {
         });
         setMenuItemStyle(editMenu, textColor, backgroundColor);
         editMenu.addActionListener(e2 -> parent.edit());
+        editMenu.setEnabled(editable);
         menu.add(editMenu);
 
         // export
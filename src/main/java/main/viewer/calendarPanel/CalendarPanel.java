@@ -3,6 +3,8 @@ package main.viewer.calendarPanel;
 import javafx.util.Pair;
 import model.CalendarWrapper;
 import model.Deadline;
+import model.DeadlineSnapshot;
+import model.DeadlineStore;
 import main.viewer.Log;
 import main.controller.GUIController;
 import main.viewer.textFormat.BaseText;
@@ -20,9 +22,10 @@ import java.util.*;
 
 
 /**
- * This component is created represent the center part (a visual calendar) of main
+ * This component is created represent the center part (a visual calendar) of main.
+ * It shows the deadlines of the deadline store and listens to its changes.
  */
-public class CalendarPanel extends JPanel {
+public class CalendarPanel extends JPanel implements DeadlineStore.Listener {
     private final GUIController parent;
     private JPanel weekdayTitlePanel;
     private JPanel datesPanel;
@@ -34,21 +37,20 @@ public class CalendarPanel extends JPanel {
     private int maxDayNumDisplayMonth;
     private int displayMonth;
     private int displayYear;
-    private HashMap<String, Deadline> allDeadlines;
+    private long shownVersion;
 
     /**
      * Constructor
      * @param parent the parent component
      * @param t stores all text needed
      * @requires None
-     * @modifies this, textStr, allDateBlocks, allDeadlines, weekdayTitlePanel
+     * @modifies this, textStr, allDateBlocks, weekdayTitlePanel
      * @effects create a calendarPanel
      */
     public CalendarPanel(GUIController parent, BaseText t) {
         super();
         this.textStr = t;
         this.allDateBlocks = new ArrayList<>();
-        this.allDeadlines = new HashMap<>();
         this.parent = parent;
 
         // add components
@@ -134,9 +136,7 @@ public class CalendarPanel extends JPanel {
         // change the year and month that the calendar is display
         this.displayYear = year;
         this.displayMonth = month;
-        CalendarWrapper c = new CalendarWrapper();
-        c.setYear(this.displayYear);
-        c.setMonth(this.displayMonth);
+        CalendarWrapper c = new CalendarWrapper(this.displayYear, this.displayMonth, 1, 0, 0);
         // how many days there are before the first day
         int numOfDaysBeforeFirstDay = c.getWeekDayOfFirstDayInMonth() - 1;
         if (parent.getSettings().isStartFromSunday()) {
@@ -218,14 +218,15 @@ public class CalendarPanel extends JPanel {
     private void removeSingleDeadlineBlock(Deadline deadline) {
         if (deadline.getMonth() == this.displayMonth && deadline.getYear() == this.displayYear) {
             this.getDatePanel(deadline.getDay()).removeDeadline(new DeadlineBlock(this, deadline));
+            this.getDatePanel(deadline.getDay()).getLowerPart().revalidate();
+            this.getDatePanel(deadline.getDay()).getLowerPart().repaint();
         }
-        this.getDatePanel(deadline.getDay()).getLowerPart().revalidate();
-        this.getDatePanel(deadline.getDay()).getLowerPart().repaint();
     }
 
     /**
-     * This function will display deadlines from this.allDeadlines to the date block
-     * which represents the deadline due date
+     * This function will display deadlines of the displayed month to the date block
+     * which represents the deadline due date. Only the deadlines of the month are
+     * looked up in the time index of the current snapshot of the store.
      * @requires None
      * @modifies this.getDatePanel(i).getLowerPart()
      * @effects display all deadlines
@@ -236,14 +237,9 @@ public class CalendarPanel extends JPanel {
             this.getDatePanel(i).getLowerPart().revalidate();
             this.getDatePanel(i).getLowerPart().repaint();
         }
-        for (String deadlineName: this.allDeadlines.keySet()) {
-            Deadline currDeadline = this.allDeadlines.get(deadlineName);
-            String course = this.allDeadlines.get(deadlineName).getCourseName();
-            if (parent.isIgnoring(course)) continue;
-            if (!parent.getSettings().isShowPastDeadlines() &&
-                    currDeadline.isBefore(CalendarWrapper.now())) {
-                continue;
-            }
+        DeadlineSnapshot snapshot = this.parent.getDeadlineStore().getSnapshot();
+        this.shownVersion = snapshot.getVersion();
+        for (Deadline currDeadline: snapshot.getMonth(this.displayYear, this.displayMonth)) {
             this.addSingleDeadlineBlock(currDeadline);
         }
     }
@@ -320,42 +316,39 @@ public class CalendarPanel extends JPanel {
     }
 
     /**
-     * This method would add a new deadline to the date block of the deadline due
-     * date
-     * @param newDeadline the new deadline that will be added
-     * @requires None
-     * @modifies allDateBlocks, allDeadlines
-     * @effects None
+     * This method is called after the deadline store was changed. Only the blocks of
+     * the changed deadlines are removed or added, and the calendar is laid out once.
+     * A change which is not newer than the snapshot the blocks were drawn from is
+     * already shown and skipped, and a change of a recurring deadline draws the month
+     * again.
+     * @param change the changes
+     * @requires change != null
+     * @modifies allDateBlocks, shownVersion
+     * @effects show the changes
      */
-    public void addDeadline(Deadline newDeadline) {
-        if (this.allDeadlines.containsKey(newDeadline.getName())) {
-            if (this.allDeadlines.get(newDeadline.getName()).equals(newDeadline)) {
-                return;
-            } else {
-                // update the deadline information
-                Deadline oldTimeInfo = allDeadlines.get(newDeadline.getName());
-                this.removeSingleDeadlineBlock(oldTimeInfo);
-            }
+    @Override
+    public void storeChanged(DeadlineStore.Change change) {
+        if (change.getSnapshot().getVersion() <= this.shownVersion) {
+            return;
         }
-        this.allDeadlines.put(newDeadline.getName(), newDeadline);
-        this.addSingleDeadlineBlock(newDeadline);
-    }
-
-    /**
-     * This method would remove a deadline
-     *
-     * @param course       the course name
-     * @param deadlineName the deadline name
-     * @param year         year number
-     * @param month        month number; starts from 1 to 12
-     * @param day          the day number; starts from 1 to 31
-     * @requires None
-     * @modifies parent
-     * @effects remove a deadline
-     */
-    public void removeDeadline(String course, String deadlineName, int year, int month, int day) {
-        this.removeSingleDeadlineBlock(new Deadline(year, month, day, 0, 0, deadlineName, course, Deadline.STATUS.DEFAULT, Deadline.LINK.NONE));
-        this.allDeadlines.remove(deadlineName);
+        if (change.isRecurringChanged()) {
+            // the occurrences of the month are made again from the new snapshot
+            this.displayAllDeadlines();
+            return;
+        }
+        this.shownVersion = change.getSnapshot().getVersion();
+        for (Deadline deadline : change.getRemoved()) {
+            this.removeSingleDeadlineBlock(deadline);
+        }
+        for (Deadline deadline : change.getAdded()) {
+            this.addSingleDeadlineBlock(deadline);
+        }
+        for (Pair<Deadline, Deadline> updated : change.getUpdated()) {
+            this.removeSingleDeadlineBlock(updated.getKey());
+            this.addSingleDeadlineBlock(updated.getValue());
+        }
+        this.revalidate();
+        this.repaint();
     }
 
     /**
@@ -2,6 +2,7 @@ package main.viewer.calendarPanel;
 
 import model.CalendarWrapper;
 import model.Deadline;
+import model.DeadlineKey;
 import main.viewer.*;
 import main.viewer.util.DeadlineExporter;
 import main.viewer.textFormat.ViewerFont;
@@ -189,6 +190,20 @@ class DeadlineBlock extends JTextArea implements DeadlineBlockInterface {
         return this.deadline.getDay();
     }
 
+    /**
+     * This function checks whether the deadline can be deleted or edited
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if the store holds the deadline, false for an occurrence of a
+     *         recurring deadline
+     */
+    @Override
+    public boolean isEditable() {
+        return this.deadline != null && parent.getMainmainGUI().getDeadlineStore().getSnapshot()
+                .get(DeadlineKey.of(this.deadline)) != null;
+    }
+
     /**
      * This function would delete the deadline that current DeadlineBlock is
      * representing
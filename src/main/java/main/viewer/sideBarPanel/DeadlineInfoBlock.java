@@ -2,148 +2,140 @@ package main.viewer.sideBarPanel;
 
 import model.CalendarWrapper;
 import model.Deadline;
+import model.DeadlineKey;
 import main.viewer.DeadlineBlockInterface;
-import main.viewer.DeadlineCountdownFactory;
 import main.viewer.textFormat.ViewerFont;
 import main.viewer.util.DeadlineExporter;
-import org.joda.time.DateTime;
 
 import javax.swing.*;
 import java.awt.*;
-import java.awt.event.MouseAdapter;
-import java.awt.event.MouseEvent;
-import java.awt.font.FontRenderContext;
-import java.awt.font.LineBreakMeasurer;
-import java.awt.font.TextAttribute;
-import java.text.AttributedCharacterIterator;
-import java.text.AttributedString;
 
 /**
  * This component is created to represent a single deadline in the summary part of
- * the side bar. Each DeadlineInfoBlock contains three parts: the deadline name,
- * an empty area and the remaining time information
+ * the side bar. Each DeadlineInfoBlock contains two parts: the deadline name and
+ * the remaining time information. A single DeadlineInfoBlock is used to paint
+ * every row of the deadline list, so it only holds the deadline of the row that is
+ * being painted.
  */
-class DeadlineInfoBlock extends JPanel implements DeadlineBlockInterface {
+class DeadlineInfoBlock extends JPanel implements DeadlineBlockInterface, ListCellRenderer<Deadline> {
+    /**
+     * The height of a row: two lines of text and the gap to the next row
+     */
+    static final int ROW_HEIGHT = 2 * 27 + 13;
+    private static final Color PAST_COLOR = new Color(0x6F6F6F);
     private final SideBarPanel parent;
-    private JTextArea remainTime;
-    private String blockName;
+    private JLabel deadlineName;
+    private JLabel remainTime;
     private Deadline deadline;
+    private int hoveredIndex;
 
     /**
      * Constructor
      * @param parent the sideBarPanel main component
-     * @param name the course name with the deadline name, which would appear as the
-     *             title of DeadlineInfoBlock
-     * @param d the deadline object
-     * @requires parent != null, d != null,
-     * @modifies this, remainTime, blockName, parent, deadline
-     * @effects create an instance of DeadlineInfoBlock
+     * @requires parent != null
+     * @modifies this, deadlineName, remainTime, parent, hoveredIndex
+     * @effects create an instance of DeadlineInfoBlock without a deadline
      */
-    DeadlineInfoBlock(SideBarPanel parent, String name, Deadline d) {
+    DeadlineInfoBlock(SideBarPanel parent) {
         super();
-        this.deadline = d;
         this.setLayout(new BorderLayout());
-        this.setBackground(null);
+        this.setBorder(BorderFactory.createEmptyBorder(0, 0, 13, 0));
         this.setOpaque(false);
-        this.addMouseListener(DeadlineCountdownFactory.getHoverEffect(this, parent.getTheme().SIDEBAR_HOVER()));
         this.parent = parent;
-        this.blockName = name;
+        this.hoveredIndex = -1;
 
         // an area to display the deadline name
-        JTextArea deadlineName = SideBarFactory.createSimpleTextArea(name, null,
-                parent.getTheme().SIDEBAR_TEXT());
-        deadlineName.setAlignmentX(Component.LEFT_ALIGNMENT);
-        deadlineName.setFont(new Font(ViewerFont.XHEI, Font.BOLD, 18));
-        deadlineName.setMargin(new Insets(2, 5, 2, 5));
-        deadlineName.setLineWrap(true);
-        deadlineName.setWrapStyleWord(true);
-        deadlineName.addMouseListener(DeadlineCountdownFactory.getHoverEffect(this,
-                parent.getTheme().SIDEBAR_HOVER()));
-        this.add(deadlineName, BorderLayout.NORTH);
+        this.deadlineName = new JLabel();
+        this.deadlineName.setFont(new Font(ViewerFont.XHEI, Font.BOLD, 18));
+        this.deadlineName.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 5));
+        this.deadlineName.setOpaque(false);
+        this.add(this.deadlineName, BorderLayout.NORTH);
 
         // an area to display the remaining time
-        remainTime = SideBarFactory.createSimpleTextArea(
-                parent.getMainmainGUI().getFrame().getTextFormat().getRemainingText(deadline, null, true),
-                null, parent.getTheme().SIDEBAR_TEXT());
-        remainTime.setAlignmentX(Component.RIGHT_ALIGNMENT);
-        remainTime.setFont(new Font(ViewerFont.XHEI, Font.PLAIN, 18));
-        remainTime.setMargin(new Insets(2, 5, 2, 5));
-        remainTime.setLineWrap(true);
-        remainTime.setWrapStyleWord(true);
-        remainTime.addMouseListener(DeadlineCountdownFactory.getHoverEffect(this,
-                parent.getTheme().SIDEBAR_HOVER()));
-        this.add(remainTime, BorderLayout.SOUTH);
-
-        JPanel middleBlank = DeadlineCountdownFactory.createEmptyArea(2, true);
-        middleBlank.addMouseListener(DeadlineCountdownFactory.getHoverEffect(this,
-                parent.getTheme().SIDEBAR_HOVER()));
-
-        this.setMaximumSize(new Dimension(SideBarPanel.SIDEBAR_WIDTH - 20,
-                (getWrappedLines(deadlineName) + getWrappedLines(remainTime)) * 27));
-        this.setMinimumSize(new Dimension(SideBarPanel.SIDEBAR_WIDTH - 20,
-                (getWrappedLines(deadlineName) + getWrappedLines(remainTime)) * 27));
-        this.setPreferredSize(new Dimension(SideBarPanel.SIDEBAR_WIDTH - 20,
-                (getWrappedLines(deadlineName) + getWrappedLines(remainTime)) * 27));
-
-        // add the right-click menu
-        JPopupMenu menu = DeadlineCountdownFactory.createDeadlineBlockRightMenu(this,
-                parent.getMainmainGUI().getFrame().getTheme().RIGHT_MENU_BACKGROUND(),
-                parent.getMainmainGUI().getFrame().getTheme().SIDEBAR_BACKGROUND());
-        this.setComponentPopupMenu(menu);
-        deadlineName.setComponentPopupMenu(menu);
-        this.remainTime.setComponentPopupMenu(menu);
-        middleBlank.setComponentPopupMenu(menu);
-        this.addMouseListener(DeadlineCountdownFactory.createRightClickMenuAction(menu));
-        deadlineName.addMouseListener(DeadlineCountdownFactory.createRightClickMenuAction(menu));
-        this.remainTime.addMouseListener(DeadlineCountdownFactory.createRightClickMenuAction(menu));
-        middleBlank.addMouseListener(DeadlineCountdownFactory.createRightClickMenuAction(menu));
+        this.remainTime = new JLabel();
+        this.remainTime.setFont(new Font(ViewerFont.XHEI, Font.PLAIN, 18));
+        this.remainTime.setBorder(BorderFactory.createEmptyBorder(2, 5, 2, 5));
+        this.remainTime.setOpaque(false);
+        this.add(this.remainTime, BorderLayout.SOUTH);
+    }
 
-        // click to jump
-        MouseAdapter jumpToDate = new MouseAdapter() {
-            /**
-             * {@inheritDoc}
-             *
-             * @param e
-             */
-            @Override
-            public void mousePressed(MouseEvent e) {
-                super.mousePressed(e);
-                if (SwingUtilities.isLeftMouseButton(e)) {
-                    parent.getMainmainGUI().getFrame().highlightDate(deadline.getMonth(), deadline.getYear(), deadline.getDay());
-                }
-            }
-        };
-        this.addMouseListener(jumpToDate);
-        this.remainTime.addMouseListener(jumpToDate);
-        deadlineName.addMouseListener(jumpToDate);
-        middleBlank.addMouseListener(jumpToDate);
+    /**
+     * This function would show a deadline in this block
+     * @param d the deadline object
+     * @param remainingText the remaining time of the deadline
+     * @requires d != null, remainingText != null
+     * @modifies deadline, deadlineName, remainTime
+     * @effects show the deadline
+     */
+    void setDeadline(Deadline d, String remainingText) {
+        this.deadline = d;
+        Color textColor = d.isAfter(CalendarWrapper.now()) ? parent.getTheme().SIDEBAR_TEXT() : PAST_COLOR;
+        this.deadlineName.setText(SideBarPanel.getBlockName(d));
+        this.deadlineName.setForeground(textColor);
+        this.remainTime.setText(remainingText);
+        this.remainTime.setForeground(textColor);
+    }
 
-        if (!deadline.isAfter(CalendarWrapper.now())) {
-            deadlineName.setDisabledTextColor(new Color(0x6F6F6F));
-            remainTime.setDisabledTextColor(new Color(0x6F6F6F));
-        }
+    /**
+     * This function would set the row that the cursor is over
+     * @param index the index of the row, or -1 if the cursor is not over any row
+     * @requires None
+     * @modifies hoveredIndex
+     * @effects the row will be painted with the hover color
+     */
+    void setHoveredIndex(int index) {
+        this.hoveredIndex = index;
     }
 
     /**
-     * This function would return the blockName
+     * This function would return the row that the cursor is over
      * @requires None
      * @modifies None
      * @effects None
-     * @return blockName
+     * @return the index of the row, or -1 if the cursor is not over any row
      */
-    String getBlockName() {
-        return this.blockName;
+    int getHoveredIndex() {
+        return this.hoveredIndex;
     }
 
     /**
-     * This function would update the remaining time text
-     * @param remainingText the next remaining time
-     * @requires None
-     * @modifies this.remainTime
-     * @effects update the text
+     * {@inheritDoc}
+     * This function would show a row of the deadline list in this block
+     * @param list the deadline list
+     * @param value the deadline of the row
+     * @param index the index of the row
+     * @param isSelected true if the row is selected
+     * @param cellHasFocus true if the row has focus
+     * @requires value != null
+     * @modifies deadline, deadlineName, remainTime
+     * @effects show the deadline
+     * @return this
      */
-    void updateRemainingText(String remainingText) {
-        this.remainTime.setText(remainingText);
+    @Override
+    public Component getListCellRendererComponent(JList<? extends Deadline> list, Deadline value, int index,
+                                                  boolean isSelected, boolean cellHasFocus) {
+        this.setDeadline(value, parent.getRemainingText(value));
+        if (index == this.hoveredIndex) {
+            this.setBackground(parent.getTheme().SIDEBAR_HOVER());
+            this.setOpaque(true);
+        } else {
+            this.setBackground(null);
+            this.setOpaque(false);
+        }
+        return this;
+    }
+
+    /**
+     * {@inheritDoc}
+     * Only the area above the gap to the next row is painted with the hover color.
+     * @param g the Graphics object to paint with
+     */
+    @Override
+    protected void paintComponent(Graphics g) {
+        if (this.isOpaque()) {
+            g.setColor(this.getBackground());
+            g.fillRect(0, 0, this.getWidth(), this.getHeight() - this.getInsets().bottom);
+        }
     }
 
     /**
@@ -219,6 +211,20 @@ class DeadlineInfoBlock extends JPanel implements DeadlineBlockInterface {
         return this.deadline.getName();
     }
 
+    /**
+     * This function checks whether the deadline can be deleted or edited
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if the store holds the deadline, false for an occurrence of a
+     *         recurring deadline
+     */
+    @Override
+    public boolean isEditable() {
+        return this.deadline != null && parent.getMainmainGUI().getDeadlineStore().getSnapshot()
+                .get(DeadlineKey.of(this.deadline)) != null;
+    }
+
     /**
      * This function would delete the deadline that current deadlineInfoBlock is
      * representing
@@ -259,35 +265,4 @@ class DeadlineInfoBlock extends JPanel implements DeadlineBlockInterface {
         DeadlineExporter exporter = new DeadlineExporter(this.deadline, parent.getMainmainGUI(), "DeadlineBlock");
         exporter.export();
     }
-
-    /**
-     * This method is created in order to count the actual lines including those
-     * cause by auto-wrap since JDK doesn't provide with such function. It counts
-     * the total length of characters and compare it with the maximum width of the
-     * component.
-     * Note: This method is from
-     * <url>https://stackoverflow.com/questions/6366776/how-to-count-the-number-of-lines-in-a-jtextarea-including-those-caused-by-wrapp</url>
-     * @param textArea the JTextArea
-     * @requires None
-     * @modifies None
-     * @effects None
-     * @return the number of physical lines in this JTextArea
-     */
-    private static int getWrappedLines(JTextArea textArea) {
-        AttributedString text = new AttributedString(textArea.getText());
-        text.addAttribute(TextAttribute.FONT, textArea.getFont());
-        FontRenderContext frc = textArea.getFontMetrics(textArea.getFont()).getFontRenderContext();
-        AttributedCharacterIterator charIt = text.getIterator();
-        LineBreakMeasurer lineMeasurer = new LineBreakMeasurer(charIt, frc);
-        float formatWidth = SideBarPanel.SIDEBAR_WIDTH - 30;
-        lineMeasurer.setPosition(charIt.getBeginIndex());
-
-        int noLines = 0;
-        while (lineMeasurer.getPosition() < charIt.getEndIndex()) {
-            lineMeasurer.nextLayout(formatWidth);
-            noLines++;
-        }
-        return noLines;
-
-    }
 }
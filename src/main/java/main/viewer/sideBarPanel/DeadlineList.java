@@ -0,0 +1,189 @@
+package main.viewer.sideBarPanel;
+
+import model.Deadline;
+import main.viewer.DeadlineCountdownFactory;
+
+import javax.swing.BorderFactory;
+import javax.swing.JList;
+import javax.swing.JPopupMenu;
+import javax.swing.ListSelectionModel;
+import javax.swing.SwingUtilities;
+import javax.swing.ToolTipManager;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+
+/**
+ * This component is created to represent the deadline list in the summary part of
+ * the side bar. All rows have the same size and are painted by one DeadlineInfoBlock,
+ * so only the visible rows are rendered no matter how many deadlines there are.
+ */
+class DeadlineList extends JList<Deadline> {
+    private final SideBarPanel parent;
+    private final DeadlineInfoBlock renderer;
+
+    /**
+     * Constructor
+     * @param parent the sideBarPanel main component
+     * @param model the model that holds the rows
+     * @requires parent != null, model != null
+     * @modifies this, parent, renderer
+     * @effects create an instance of DeadlineList
+     */
+    DeadlineList(SideBarPanel parent, DeadlineListModel model) {
+        super(model);
+        this.parent = parent;
+        this.renderer = new DeadlineInfoBlock(parent);
+        this.setCellRenderer(this.renderer);
+        // fixed sizes let the list skip measuring every row
+        this.setFixedCellWidth(SideBarPanel.SIDEBAR_WIDTH - 20);
+        this.setFixedCellHeight(DeadlineInfoBlock.ROW_HEIGHT);
+        this.setSelectionMode(ListSelectionModel.SINGLE_SELECTION);
+        this.setBackground(parent.getTheme().SIDEBAR_BACKGROUND());
+        this.setBorder(BorderFactory.createEmptyBorder());
+        ToolTipManager.sharedInstance().registerComponent(this);
+
+        MouseAdapter mouseAdapter = new MouseAdapter() {
+            /**
+             * {@inheritDoc}
+             * Paint the row under the cursor with the hover color
+             * @param e the mouse event
+             */
+            @Override
+            public void mouseMoved(MouseEvent e) {
+                setHoveredIndex(rowAt(e.getPoint()));
+            }
+
+            /**
+             * {@inheritDoc}
+             * Remove the hover color
+             * @param e the mouse event
+             */
+            @Override
+            public void mouseExited(MouseEvent e) {
+                setHoveredIndex(-1);
+            }
+
+            /**
+             * {@inheritDoc}
+             * Jump to the date of the deadline, or show the right-click menu
+             * @param e the mouse event
+             */
+            @Override
+            public void mousePressed(MouseEvent e) {
+                int index = rowAt(e.getPoint());
+                if (index < 0) {
+                    return;
+                }
+                if (e.isPopupTrigger()) {
+                    showRightMenu(index, e.getPoint());
+                } else if (SwingUtilities.isLeftMouseButton(e)) {
+                    Deadline d = getModel().getElementAt(index);
+                    parent.getMainmainGUI().getFrame().highlightDate(d.getMonth(), d.getYear(), d.getDay());
+                }
+            }
+
+            /**
+             * {@inheritDoc}
+             * Show the right-click menu
+             * @param e the mouse event
+             */
+            @Override
+            public void mouseReleased(MouseEvent e) {
+                int index = rowAt(e.getPoint());
+                if (index >= 0 && e.isPopupTrigger()) {
+                    showRightMenu(index, e.getPoint());
+                }
+            }
+        };
+        this.addMouseListener(mouseAdapter);
+        this.addMouseMotionListener(mouseAdapter);
+    }
+
+    /**
+     * This function would return the row at a point. Unlike locationToIndex(), it
+     * does not return the last row for a point below all rows.
+     * @param point the point in the list
+     * @requires point != null
+     * @modifies None
+     * @effects None
+     * @return the index of the row, or -1 if there is no row at the point
+     */
+    private int rowAt(Point point) {
+        int index = this.locationToIndex(point);
+        if (index < 0) {
+            return -1;
+        }
+        Rectangle bounds = this.getCellBounds(index, index);
+        return (bounds != null && bounds.contains(point)) ? index : -1;
+    }
+
+    /**
+     * This function would set the row that is painted with the hover color and
+     * repaint the two rows that changed
+     * @param index the index of the row, or -1 for no row
+     * @requires None
+     * @modifies renderer
+     * @effects repaint the rows
+     */
+    private void setHoveredIndex(int index) {
+        int old = this.renderer.getHoveredIndex();
+        if (old == index) {
+            return;
+        }
+        this.renderer.setHoveredIndex(index);
+        this.repaintRow(old);
+        this.repaintRow(index);
+    }
+
+    /**
+     * This function would repaint a single row
+     * @param index the index of the row
+     * @requires None
+     * @modifies this
+     * @effects repaint the row
+     */
+    void repaintRow(int index) {
+        if (index < 0 || index >= this.getModel().getSize()) {
+            return;
+        }
+        Rectangle bounds = this.getCellBounds(index, index);
+        if (bounds != null) {
+            this.repaint(bounds);
+        }
+    }
+
+    /**
+     * This function would show the right-click menu of a row
+     * @param index the index of the row
+     * @param point where the menu should appear
+     * @requires 0 <= index < getModel().getSize(), point != null
+     * @modifies None
+     * @effects show the menu
+     */
+    private void showRightMenu(int index, Point point) {
+        Deadline d = this.getModel().getElementAt(index);
+        DeadlineInfoBlock block = new DeadlineInfoBlock(this.parent);
+        block.setDeadline(d, "");
+        JPopupMenu menu = DeadlineCountdownFactory.createDeadlineBlockRightMenu(block,
+                parent.getMainmainGUI().getFrame().getTheme().RIGHT_MENU_BACKGROUND(),
+                parent.getMainmainGUI().getFrame().getTheme().SIDEBAR_BACKGROUND());
+        menu.show(this, point.x, point.y);
+    }
+
+    /**
+     * {@inheritDoc}
+     * The tooltip shows the full name of a deadline in case it does not fit in a row
+     * @param event the mouse event
+     * @return the tooltip of the row under the cursor
+     */
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        int index = this.rowAt(event.getPoint());
+        if (index < 0) {
+            return null;
+        }
+        return SideBarPanel.getBlockName(this.getModel().getElementAt(index));
+    }
+}
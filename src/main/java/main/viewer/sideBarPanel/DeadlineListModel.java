@@ -0,0 +1,156 @@
+package main.viewer.sideBarPanel;
+
+import model.Deadline;
+
+import javax.swing.AbstractListModel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+
+/**
+ * @overview
+ * This class represents the sorted list of deadlines that are shown in the summary
+ * part of the side bar. It only keeps references to the deadlines, so the list can
+ * hold thousands of them while the JList only renders the visible rows.
+ *
+ * @abstract_fields
+ * rows -> the deadlines in the order they are displayed
+ * order -> the comparator that rows are sorted by
+ *
+ * @creators
+ * DeadlineListModel()
+ *
+ * @mutator
+ * setDeadlines(Collection<Deadline> deadlines, Comparator<Deadline> order)
+ * int insert(Deadline deadline)
+ * int remove(Deadline deadline)
+ *
+ * @observers
+ * int getSize()
+ * Deadline getElementAt(int index)
+ * int indexOf(Deadline deadline)
+ *
+ * @representation_invariant
+ * rows != null && order != null && rows is sorted by order
+ */
+class DeadlineListModel extends AbstractListModel<Deadline> {
+    private final ArrayList<Deadline> rows;
+    private Comparator<Deadline> order;
+
+    /**
+     * Constructor
+     * @requires None
+     * @modifies rows, order
+     * @effects create an empty model sorted by the natural order of deadlines
+     */
+    DeadlineListModel() {
+        this.rows = new ArrayList<>();
+        this.order = Comparator.naturalOrder();
+    }
+
+    /**
+     * This function replaces every row and sorts them. Rows that still exist are
+     * reported as changed instead of being removed and added again, so the list
+     * keeps its scroll position.
+     * @param deadlines the deadlines that should be displayed
+     * @param order the order of the rows
+     * @requires deadlines != null, order != null
+     * @modifies rows, order
+     * @effects replace all rows
+     */
+    void setDeadlines(Collection<Deadline> deadlines, Comparator<Deadline> order) {
+        int oldSize = this.rows.size();
+        this.order = order;
+        this.rows.clear();
+        this.rows.addAll(deadlines);
+        this.rows.sort(order);
+        int newSize = this.rows.size();
+        if (newSize < oldSize) {
+            this.fireIntervalRemoved(this, newSize, oldSize - 1);
+        } else if (newSize > oldSize) {
+            this.fireIntervalAdded(this, oldSize, newSize - 1);
+        }
+        if (Math.min(oldSize, newSize) > 0) {
+            this.fireContentsChanged(this, 0, Math.min(oldSize, newSize) - 1);
+        }
+    }
+
+    /**
+     * This function inserts a deadline at its sorted position
+     * @param deadline the deadline
+     * @requires deadline != null
+     * @modifies rows
+     * @effects add a row
+     * @return the index of the new row
+     */
+    int insert(Deadline deadline) {
+        int index = Collections.binarySearch(this.rows, deadline, this.order);
+        if (index < 0) {
+            index = -index - 1;
+        }
+        this.rows.add(index, deadline);
+        this.fireIntervalAdded(this, index, index);
+        return index;
+    }
+
+    /**
+     * This function removes the row of a deadline
+     * @param deadline the deadline
+     * @requires None
+     * @modifies rows
+     * @effects remove a row
+     * @return the index of the removed row, or -1 if the deadline was not displayed
+     */
+    int remove(Deadline deadline) {
+        int index = this.indexOf(deadline);
+        if (index >= 0) {
+            this.rows.remove(index);
+            this.fireIntervalRemoved(this, index, index);
+        }
+        return index;
+    }
+
+    /**
+     * This function returns the row of a deadline. Rows are compared by reference
+     * since two different deadline objects may be equal.
+     * @param deadline the deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the index of the row, or -1 if the deadline is not displayed
+     */
+    int indexOf(Deadline deadline) {
+        for (int i = 0; i < this.rows.size(); i++) {
+            if (this.rows.get(i) == deadline) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of rows
+     */
+    @Override
+    public int getSize() {
+        return this.rows.size();
+    }
+
+    /**
+     * {@inheritDoc}
+     * @param index the index of the row
+     * @requires 0 <= index < getSize()
+     * @modifies None
+     * @effects None
+     * @return the deadline at the given row
+     */
+    @Override
+    public Deadline getElementAt(int index) {
+        return this.rows.get(index);
+    }
+}
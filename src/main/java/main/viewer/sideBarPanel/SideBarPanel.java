@@ -1,13 +1,17 @@
 package main.viewer.sideBarPanel;
 
+import javafx.util.Pair;
 import model.CalendarWrapper;
 import model.Deadline;
+import model.DeadlineSnapshot;
+import model.DeadlineStore;
 import main.controller.GUIController;
 import main.viewer.Log;
 import main.controller.Settings;
 import main.viewer.DeadlineCountdownFactory;
 import main.viewer.textFormat.ViewerFont;
 import main.viewer.theme.Theme;
+import main.viewer.util.CountdownCache;
 
 import javax.swing.BorderFactory;
 import javax.swing.Box;
@@ -22,7 +26,6 @@ import javax.swing.SwingUtilities;
 import javax.swing.Timer;
 import java.awt.BorderLayout;
 import java.awt.CardLayout;
-import java.awt.Component;
 import java.awt.Dimension;
 import java.awt.Font;
 import java.awt.event.ItemEvent;
@@ -30,24 +33,27 @@ import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 import java.util.ArrayList;
 import java.util.Comparator;
-import java.util.HashMap;
-import java.util.TreeSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
 
 /**
- * This component is created to represent the side bar of main.
+ * This component is created to represent the side bar of main. It lists the
+ * deadlines of the deadline store and listens to its changes.
  */
-public class SideBarPanel extends JPanel {
+public class SideBarPanel extends JPanel implements DeadlineStore.Listener {
     public static final int SIDEBAR_WIDTH = 350;
     private final GUIController parent;
-    private HashMap<String, Deadline> allDeadlines;
-    private TreeSet<String> allCourseNames;
     private String username;
     private JTextArea welcomeTextArea;
     private JComboBox<String> sortOrderBox;
-    private Comparator<Deadline> sortOrder;
+    private Supplier<Comparator<Deadline>> sortOrder;
     private JPanel lowerPart;
     private JScrollPane summaryScrollPanel;
-    private JPanel summaryPanel;
+    private DeadlineListModel summaryModel;
+    private DeadlineList summaryList;
+    private CountdownCache countdownCache;
+    private long shownVersion;
     private JScrollPane courseScrollPanel;
     private JPanel coursePanel;
     private addNewDeadlinePanel addNewDeadlinePanel;
@@ -66,30 +72,25 @@ public class SideBarPanel extends JPanel {
 
     /**
      * Constructor
-     * @param deadlines a hashmap stores all deadline objects
      * @param username a string stores the username
      * @param parent the GUIController main component
-     * @requires deadlines != null, username != null, parent != null
-     * @modifies this, username, parent, sortOrder, sortOrderBox, summaryPanel,
-     *           summaryScrollPanel, addNewDeadlinePanel, settingsPanel, cardLayout
-     * @effects create an instance of the side bar of main
+     * @requires username != null, parent != null
+     * @modifies this, username, parent, sortOrder, sortOrderBox, summaryModel,
+     *           summaryList, countdownCache, summaryScrollPanel, addNewDeadlinePanel, settingsPanel, cardLayout
+     * @effects create an instance of the side bar of main which lists the deadlines
+     *          of the store
      */
-    public SideBarPanel(HashMap<String, Deadline> deadlines, String username, GUIController parent) {
+    public SideBarPanel(String username, GUIController parent) {
         super();
         this.setPreferredSize(new Dimension(SideBarPanel.SIDEBAR_WIDTH, 0));
         this.setMinimumSize(new Dimension(SideBarPanel.SIDEBAR_WIDTH, 0));
         this.setBackground(parent.getFrame().getTheme().SIDEBAR_BACKGROUND());
         this.setLayout(new BoxLayout(this, BoxLayout.Y_AXIS));
-        this.allDeadlines = (deadlines != null) ? deadlines: (new HashMap<>());
-        this.allCourseNames = new TreeSet<>();
-        for (Deadline d: allDeadlines.values()) {
-            this.allCourseNames.add(d.getCourseName());
-        }
         this.username = username;
         this.parent = parent;
 
         // configure the order of sorting the deadlines
-        this.sortOrder = Comparator.naturalOrder();
+        this.sortOrder = () -> Deadline.upcomingFirst(CalendarWrapper.now());
         this.sortOrderBox = SideBarFactory.createComboBox(parent.getFrame().getTheme().SIDEBAR_HOVER(),
                 parent.getFrame().getTheme().SIDEBAR_BACKGROUND(), parent.getFrame().getTheme().SIDEBAR_TEXT());
         this.sortOrderBox.setPreferredSize(new Dimension(170, 30));
@@ -103,25 +104,23 @@ public class SideBarPanel extends JPanel {
                     JComboBox cb = (JComboBox) source;
                     Object selectedItem = cb.getSelectedItem();
                     if (parent.getFrame().getText("date2").equals(selectedItem)) {
-                        sortOrder = Comparator.naturalOrder();
+                        sortOrder = () -> Deadline.upcomingFirst(CalendarWrapper.now());
                     } else if (parent.getFrame().getText("date").equals(selectedItem)) {
-                        sortOrder = Comparator.comparing(Deadline::getTime);
+                        sortOrder = Comparator::naturalOrder;
                     } else if (parent.getFrame().getText("name").equals(selectedItem)) {
-                        sortOrder = Comparator.comparing(o -> (o.getCourseName() + " " + o.getName()));
+                        sortOrder = () -> Comparator.comparing(o -> (o.getCourseName() + " " + o.getName()));
                     }
                 }
                 this.updateSummaryPanel();  // Refresh after changing order
             }
         });
 
-        // create a panel to list the deadlines
-        this.summaryPanel = new JPanel();
-        this.summaryPanel.setBackground(this.getTheme().SIDEBAR_BACKGROUND());
-        this.summaryPanel.setBounds(0,0,0,0);
-        this.summaryPanel.setBorder(BorderFactory.createEmptyBorder());
-        this.summaryPanel.setLayout(new BoxLayout(this.summaryPanel, BoxLayout.Y_AXIS));
+        // create a list of the deadlines which only renders the visible rows
+        this.summaryModel = new DeadlineListModel();
+        this.countdownCache = new CountdownCache();
+        this.summaryList = new DeadlineList(this, this.summaryModel);
 
-        this.summaryScrollPanel = SideBarFactory.createSimpleScrollPanel(this.summaryPanel,
+        this.summaryScrollPanel = SideBarFactory.createSimpleScrollPanel(this.summaryList,
                 parent.getFrame().getTheme().SIDEBAR_BACKGROUND(), parent.getFrame().getTheme().SIDEBAR_TEXT());
 
         // create a panel to list the courses
@@ -173,19 +172,25 @@ public class SideBarPanel extends JPanel {
         // the lower part: including the summary panel and the addNewDeadline panel
         this.add(this.lowerPart);
 
-        // automatically update the summary panel every minute
-        new Timer(60000, e -> refresh()).start();
+        // automatically update the summary panel at the start of every minute
+        Timer timer = new Timer(60000, e -> refresh());
+        timer.setInitialDelay((int) (60000 - System.currentTimeMillis() % 60000));
+        timer.start();
+
+        // show the deadlines that are already in the store
+        this.updateSummaryPanel();
+        this.updateCoursePanel();
     }
 
     /**
-     * This function would return a copy of the allCourseNames set
+     * This function would return the names of every course in the store
      * @requires None
      * @modifies None
      * @effects None
-     * @return allCourseName
+     * @return a read-only set of the sorted course names
      */
-    TreeSet<String> getAllCourseNames() {
-        return new TreeSet<>(allCourseNames);
+    Set<String> getAllCourseNames() {
+        return parent.getDeadlineStore().getCourseNames();
     }
 
     /**
@@ -244,54 +249,83 @@ public class SideBarPanel extends JPanel {
     }
 
     /**
-     * This function would add a new deadline to the summary panel and the set containing
-     * all course names
+     * This method is called after the deadline store was changed. A single change
+     * only updates the affected rows of the summary list; a larger one filters and
+     * sorts the list again once. The rows of a change which is not newer than the
+     * snapshot the list was built from are already shown.
+     * @param change the changes
+     * @requires change != null
+     * @modifies addNewDeadlinePanel, summaryModel, coursePanel, shownVersion
+     * @effects show the changes
+     */
+    @Override
+    public void storeChanged(DeadlineStore.Change change) {
+        for (String courseName : change.getAddedCourses()) {
+            this.addNewDeadlinePanel.addCourse(courseName);
+            Log.debug("DEBUG: [SideBarPanel_] adding course {" + courseName + "} to list.", Log.ANSI_GREEN);
+        }
+        if (change.getSnapshot().getVersion() <= this.shownVersion) {
+            Log.debug("DEBUG: [SideBarPanel_] skipping " + change + ", already shown.");
+        } else if (change.size() > 1 || change.isRecurringChanged()) {
+            this.updateSummaryPanel();
+        } else {
+            this.shownVersion = change.getSnapshot().getVersion();
+            for (Deadline removed : change.getRemoved()) {
+                this.summaryModel.remove(removed);
+            }
+            for (Deadline added : change.getAdded()) {
+                this.insertRow(added);
+            }
+            for (Pair<Deadline, Deadline> updated : change.getUpdated()) {
+                this.summaryModel.remove(updated.getKey());
+                this.insertRow(updated.getValue());
+            }
+        }
+        if (!change.getAddedCourses().isEmpty() || !change.getRemovedCourses().isEmpty()) {
+            this.updateCoursePanel();
+        }
+    }
+
+    /**
+     * This method would insert a deadline into the summary list if it should be listed
      * @param deadline the deadline object
      * @requires deadline != null
-     * @modifies allDeadlines, allCourseNames, addNewDeadlinePanel, summaryPanel
-     * @effects add a new deadline to the summary panel
+     * @modifies summaryModel
+     * @effects insert a row
      */
-    public void addDeadline(Deadline deadline) {
-        if (deadline == null) return;
-        this.allDeadlines.put(deadline.getCourseName().replace("Spring 2019     ", "") + ": " + deadline.getName(),
-                deadline);
-        this.allCourseNames.add(deadline.getCourseName());
-        this.addNewDeadlinePanel.addCourse(deadline.getCourseName());
-        Log.debug("DEBUG: [SideBarPanel_] {" + deadline.toString() + "} will be added to sidebar.", Log.ANSI_BLUE);
-        this.updateSummaryPanel();   // update the summary after adding a deadline
-        this.updateCoursePanel();
+    private void insertRow(Deadline deadline) {
+        if (this.isListed(deadline)) {
+            this.summaryModel.insert(deadline);
+        }
     }
 
     /**
-     * This function would add an empty course to the course name list
-     * @param courseName the course name
-     * @requires courseName != null
-     * @modifies allCourseNames, addNewDeadlinePanel
-     * @effects add an empty course to the course name list
+     * This function returns the course name with the deadline name, which is the
+     * title of its row in the summary list
+     * @param deadline the deadline object
+     * @requires deadline != null
+     * @modifies None
+     * @effects None
+     * @return the title of the deadline
      */
-    public void addCourse(String courseName) {
-        this.allCourseNames.add(courseName);
-        this.addNewDeadlinePanel.addCourse(courseName);
-        Log.debug("DEBUG: [SideBarPanel_] adding an empty course {"
-                + courseName + "} to list.", Log.ANSI_GREEN);
+    static String getBlockName(Deadline deadline) {
+        return deadline.getCourseName().replace("Spring 2019     ", "") + ": " + deadline.getName();
     }
 
     /**
-     * This method would remove a deadline from an existing course.
-     * @param course       the course name
-     * @param deadlineName the deadline name
-     * @param year         year number
-     * @param month        month number; starts from 1 to 12
-     * @param day the day number; starts from 1 to 31
-     * @requires None
-     * @modifies parent
-     * @effects remove a deadline
+     * This function checks whether a deadline should appear in the summary list
+     * @param deadline the deadline object
+     * @requires deadline != null
+     * @modifies None
+     * @effects None
+     * @return false if the deadline is in the past and past deadlines are hidden, or
+     *         if its course is ignored
      */
-    public void removeDeadline(String course, String deadlineName, int year, int month, int day) {
-        this.allDeadlines.remove(course.replace("Spring 2019     ", "")
-                + ": " + deadlineName);
-        this.allCourseNames.remove(course);
-        this.updateSummaryPanel();   // update the summary panel after removing a course
+    private boolean isListed(Deadline deadline) {
+        if (deadline.isBefore(CalendarWrapper.now()) && !parent.getSettings().isShowPastDeadlines()) {
+            return false;
+        }
+        return !parent.isIgnoring(deadline.getCourseName());
     }
 
     /**
@@ -378,23 +412,41 @@ public class SideBarPanel extends JPanel {
     }
 
     /**
-     * This function would update the remaining time information of all DeadlineInfoBlocks
+     * This function would update the remaining time information of the deadline list.
+     * Only the visible rows are computed again, and only the rows whose text has
+     * changed are repainted.
      * @requires None
-     * @modifies this.summaryPanel
+     * @modifies this.summaryList, this.countdownCache
      * @effects update the remaining time
      */
     private void refresh() {
-        int pos = this.summaryScrollPanel.getVerticalScrollBar().getValue();
-        for (Component c: this.summaryPanel.getComponents()) {
-            if (c instanceof DeadlineInfoBlock) {
-                DeadlineInfoBlock block = (DeadlineInfoBlock) c;
-                block.updateRemainingText(
-                        parent.getFrame().getTextFormat().getRemainingText(
-                                this.allDeadlines.get(block.getBlockName()), null, true));
+        long now = CalendarWrapper.now().getEpochMinute();
+        int first = this.summaryList.getFirstVisibleIndex();
+        int last = this.summaryList.getLastVisibleIndex();
+        if (first >= 0) {
+            for (int i = first; i <= last; i++) {
+                if (this.countdownCache.update(this.summaryModel.getElementAt(i),
+                        parent.getFrame().getTextFormat(), now)) {
+                    this.summaryList.repaintRow(i);
+                }
             }
         }
-        // move the scrollbar back to the original position
-        SwingUtilities.invokeLater(() -> summaryScrollPanel.getVerticalScrollBar().setValue(pos));
+        // texts of rows that are not visible are computed again when they are painted
+        this.countdownCache.retain(now);
+    }
+
+    /**
+     * This function would return the remaining time text of a deadline in the list.
+     * The text is computed at most once a minute.
+     * @param deadline the deadline object
+     * @requires deadline != null
+     * @modifies this.countdownCache
+     * @effects None
+     * @return the remaining time text
+     */
+    String getRemainingText(Deadline deadline) {
+        return this.countdownCache.getText(deadline, parent.getFrame().getTextFormat(),
+                CalendarWrapper.now().getEpochMinute());
     }
 
     /**
@@ -418,8 +470,8 @@ public class SideBarPanel extends JPanel {
         // save scroll bar position
         int pos = this.courseScrollPanel.getVerticalScrollBar().getValue();
 
-        // add deadlines one by one
-        for (String courseName: this.allCourseNames) {
+        // add courses one by one
+        for (String courseName: this.getAllCourseNames()) {
             JCheckBox checkBox = SideBarFactory.createCheckBox(courseName,
                     parent.getFrame().getTheme().SIDEBAR_TEXT());
             checkBox.setMaximumSize(new Dimension(SIDEBAR_WIDTH - 5, 20));
@@ -443,42 +495,27 @@ public class SideBarPanel extends JPanel {
     }
 
     /**
-     * This function would remove all components from the summary panel and re-add
-     * all deadline blocks
+     * This function would filter and sort all deadlines again and show them in the
+     * summary list. No component is created; the list keeps its scroll position and
+     * only repaints the visible rows. The past deadlines are only read when they
+     * are shown, so the archived ones are not made otherwise.
      * @requires None
-     * @modifies summaryPanel
-     * @effects re-add all deadline information to the summary panel
+     * @modifies summaryModel, shownVersion
+     * @effects re-add all deadline information to the summary list
      */
     public void updateSummaryPanel() {
-        // delete old components
-        this.summaryPanel.removeAll();
-        this.summaryPanel.revalidate();
-        this.summaryPanel.repaint();
-
-        // save scroll bar position
-        int pos = this.summaryScrollPanel.getVerticalScrollBar().getValue();
-
-        // add deadlines one by one
-        int i = 0;
-        ArrayList<Deadline> list = new ArrayList<>(this.allDeadlines.values());
-        list.sort(sortOrder);
-        for (Deadline d: list) {
-            if (d.isBefore(CalendarWrapper.now()) && !parent.getSettings().isShowPastDeadlines()) {
-                continue;
-            }
-            if (parent.isIgnoring(d.getCourseName())) {
-                continue;
+        DeadlineSnapshot snapshot = parent.getDeadlineStore().getSnapshot();
+        this.shownVersion = snapshot.getVersion();
+        long now = CalendarWrapper.now().getEpochMinute();
+        List<Deadline> all = parent.getSettings().isShowPastDeadlines() ? snapshot.getAll(now)
+                : snapshot.getUpcoming(now);
+        ArrayList<Deadline> list = new ArrayList<>(all.size());
+        for (Deadline d: all) {
+            if (this.isListed(d)) {
+                list.add(d);
             }
-            this.summaryPanel.add(new DeadlineInfoBlock(this,
-                    d.getCourseName().replace("Spring 2019     ", "") + ": " + d.getName(), d));
-            if (i != list.size() - 1) {
-                this.summaryPanel.add(DeadlineCountdownFactory.createEmptyArea(13, true));
-            }
-            i++;
         }
-
-        // restore scroll bar's position
-        SwingUtilities.invokeLater(() -> summaryScrollPanel.getVerticalScrollBar().setValue(pos));
+        this.summaryModel.setDeadlines(list, sortOrder.get());
     }
 
     /**
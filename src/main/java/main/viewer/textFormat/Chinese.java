@@ -2,9 +2,8 @@ package main.viewer.textFormat;
 
 import model.CalendarWrapper;
 import model.Deadline;
-import javafx.util.Pair;
+import model.RemainingTime;
 import org.joda.time.DateTime;
-import org.joda.time.Period;
 
 import java.util.ResourceBundle;
 
@@ -99,23 +98,22 @@ public class Chinese extends BaseText {
     @Override
     public String getRemainingText(Deadline deadline, CalendarWrapper currentTime, boolean showIndicator) {
         if (currentTime == null) currentTime = CalendarWrapper.now();
-        Pair<Period, Boolean> remain = deadline.getRemainPeriod(currentTime);
-        Period pd = remain.getKey();
+        RemainingTime remain = deadline.getRemainingTime(currentTime);
         String month;
-        if (pd.getMonths() > 0) {
-            month = String.format("%02d %s ", pd.getMonths(), getText("month_remain"));
+        if (remain.getMonths() > 0) {
+            month = String.format("%02d %s ", remain.getMonths(), getText("month_remain"));
         } else {
             month = "";
         }
         String remainingText = "";
         if (showIndicator) {
-            if (remain.getValue().equals(true)) remainingText += (getText("due_in") + " ");
+            if (remain.isUpcoming()) remainingText += (getText("due_in") + " ");
             else remainingText += (getText("ago") + " ");
         }
         remainingText += month + String.format("%02d %s %02d %s %02d %s",
-                pd.getWeeks()*7+pd.getDays(), getText("day_remain"),
-                pd.getHours(), getText("hour_remain"),
-                pd.getMinutes(), getText("minute_remain"));
+                remain.getDays(), getText("day_remain"),
+                remain.getHours(), getText("hour_remain"),
+                remain.getMinutes(), getText("minute_remain"));
         return remainingText;
     }
 }
@@ -2,9 +2,8 @@ package main.viewer.textFormat;
 
 import model.CalendarWrapper;
 import model.Deadline;
-import javafx.util.Pair;
+import model.RemainingTime;
 import org.joda.time.DateTime;
-import org.joda.time.Period;
 
 import java.util.ResourceBundle;
 
@@ -104,20 +103,19 @@ public class English extends BaseText {
     @SuppressWarnings("Duplicates")
     public String getRemainingText(Deadline deadline, CalendarWrapper currentTime, boolean showIndicator) {
         if (currentTime == null) currentTime = CalendarWrapper.now();
-        Pair<Period, Boolean> remain = deadline.getRemainPeriod(currentTime);
-        Period pd = remain.getKey();
+        RemainingTime remain = deadline.getRemainingTime(currentTime);
         String month;
-        if (pd.getMonths() > 0) {
-            month = String.format("%02d %s ", pd.getMonths(), pd.getMonths() == 1 ? getText("month_remain") : getText("months_remain"));
+        if (remain.getMonths() > 0) {
+            month = String.format("%02d %s ", remain.getMonths(), remain.getMonths() == 1 ? getText("month_remain") : getText("months_remain"));
         } else {
             month = "";
         }
         String remainingText = month + String.format("%02d %s %02d %s %02d %s ",
-                pd.getWeeks()*7+pd.getDays(), pd.getWeeks()*7+pd.getDays() == 1 ? getText("day_remain") : getText("days_remain"),
-                pd.getHours(), pd.getHours() == 1 ? getText("hour_remain") : getText("hours_remain"),
-                pd.getMinutes(), pd.getMinutes() == 1 ? getText("minute_remain") : getText("minutes_remain"));
+                remain.getDays(), remain.getDays() == 1 ? getText("day_remain") : getText("days_remain"),
+                remain.getHours(), remain.getHours() == 1 ? getText("hour_remain") : getText("hours_remain"),
+                remain.getMinutes(), remain.getMinutes() == 1 ? getText("minute_remain") : getText("minutes_remain"));
         if (showIndicator) {
-            if (remain.getValue().equals(true)) remainingText += (getText("left") + ".");
+            if (remain.isUpcoming()) remainingText += (getText("left") + ".");
             else remainingText += (getText("ago") + ".");
         }
         return remainingText;
@@ -0,0 +1,119 @@
+package main.viewer.util;
+
+import main.viewer.textFormat.BaseText;
+import model.CalendarWrapper;
+import model.Deadline;
+
+import java.util.HashMap;
+import java.util.TimeZone;
+
+/**
+ * This class remembers the remaining time text of deadlines. A text is computed at
+ * most once per deadline per minute, so repainting a list of deadlines while
+ * scrolling or hovering does not compute any text again, and only the deadlines
+ * that are asked for are computed at all.
+ */
+public class CountdownCache {
+    /**
+     * A remaining time text together with the minute it was computed at
+     */
+    private static final class Entry {
+        private long minute;
+        private String text;
+    }
+
+    private final HashMap<Deadline, Entry> entries;
+    private BaseText format;
+
+    /**
+     * Constructor
+     * @requires None
+     * @modifies entries
+     * @effects create an empty cache
+     */
+    public CountdownCache() {
+        this.entries = new HashMap<>();
+    }
+
+    /**
+     * This method returns the remaining time text of a deadline at a given minute. It
+     * is only computed if the cached text belongs to another minute.
+     * @param deadline the deadline
+     * @param format the text format of the remaining time
+     * @param nowMinute the current epoch minute
+     * @requires deadline != null, format != null
+     * @modifies entries, format
+     * @effects cache the text
+     * @return the remaining time text with the indicator
+     */
+    public String getText(Deadline deadline, BaseText format, long nowMinute) {
+        return this.getEntry(deadline, format, nowMinute).text;
+    }
+
+    /**
+     * This method brings the text of a deadline up to a given minute
+     * @param deadline the deadline
+     * @param format the text format of the remaining time
+     * @param nowMinute the current epoch minute
+     * @requires deadline != null, format != null
+     * @modifies entries, format
+     * @effects cache the text
+     * @return true if the text is different from the cached one or was not cached
+     */
+    public boolean update(Deadline deadline, BaseText format, long nowMinute) {
+        Entry entry = this.entries.get(deadline);
+        String old = (entry == null || format != this.format) ? null : entry.text;
+        return !this.getEntry(deadline, format, nowMinute).text.equals(old);
+    }
+
+    /**
+     * This method forgets every text that was not computed at a given minute
+     * @param nowMinute the current epoch minute
+     * @requires None
+     * @modifies entries
+     * @effects remove old texts
+     */
+    public void retain(long nowMinute) {
+        this.entries.values().removeIf(entry -> entry.minute != nowMinute);
+    }
+
+    /**
+     * This method returns the number of cached texts
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of cached texts
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * This method returns the cache entry of a deadline, computing its text if needed
+     * @param deadline the deadline
+     * @param format the text format of the remaining time
+     * @param nowMinute the current epoch minute
+     * @requires deadline != null, format != null
+     * @modifies entries, format
+     * @effects cache the text
+     * @return the up-to-date entry
+     */
+    private Entry getEntry(Deadline deadline, BaseText format, long nowMinute) {
+        if (format != this.format) {
+            // the language was changed
+            this.entries.clear();
+            this.format = format;
+        }
+        Entry entry = this.entries.get(deadline);
+        if (entry == null) {
+            entry = new Entry();
+            this.entries.put(deadline, entry);
+        } else if (entry.minute == nowMinute && entry.text != null) {
+            return entry;
+        }
+        entry.minute = nowMinute;
+        entry.text = format.getRemainingText(deadline,
+                new CalendarWrapper(nowMinute, TimeZone.getDefault()), true);
+        return entry;
+    }
+}
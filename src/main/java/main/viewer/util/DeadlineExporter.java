@@ -3,14 +3,16 @@ package main.viewer.util;
 import javafx.util.Pair;
 import model.Course;
 import model.Deadline;
+import model.DeadlineSnapshot;
 import main.controller.GUIController;
 import main.viewer.DeadlineCountdownFactory;
 import main.viewer.Log;
 
 import javax.swing.*;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.io.OutputStream;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class DeadlineExporter {
@@ -68,9 +70,9 @@ public class DeadlineExporter {
             currCourse.addDeadline(this.deadline);
             courseMap.put(currCourse.getCourseName(), currCourse);
             if (!file.isDirectory()) {
-                PrintWriter writer;
+                OutputStream writer;
                 try {
-                    writer = new PrintWriter(file);
+                    writer = new FileOutputStream(file);
                 } catch (IOException e) {
                     e.printStackTrace();
                     this.controller.notification(this.controller.getFrame().getText("export_failed"),
@@ -89,7 +91,7 @@ public class DeadlineExporter {
                             this.controller.getFrame().getText("export_please_restart"),"");
                     return;
                 }
-                localParser.Parser save = new localParser.Save(courseMap, writer);
+                localParser.Parser save = new localParser.Save(DeadlineSnapshot.of(courseMap), writer);
                 Thread thread = localParser.Parser.getParserThread(save, extSelected, this.controller, true);
                 thread.run();
             } else {
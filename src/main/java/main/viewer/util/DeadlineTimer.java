@@ -4,167 +4,154 @@ import model.CalendarWrapper;
 import model.Deadline;
 import main.viewer.Log;
 import main.controller.GUIController;
-import org.joda.time.Period;
-
-import javax.swing.Timer;
-import java.awt.event.ActionEvent;
-import java.util.LinkedList;
 
 import static main.viewer.Log.ANSI_GREEN;
 import static main.viewer.Log.ANSI_YELLOW;
 
 /**
- * This class represents the timer tasks that sets for each deadline to send notifications
- * when deadlines are approaching
+ * This class represents the notification task that is set for each deadline to send
+ * notifications when deadlines are approaching. It does not own any timer: it is
+ * registered with the NotificationScheduler, which calls it back at the minutes
+ * returned by nextNotification().
+ *
+ * Notifications are sent once a day while at least one day is left (starting two
+ * weeks before the deadline), then once an hour, then every 15 minutes, every 5
+ * minutes and finally every minute. All of them are aligned to the due time, e.g.
+ * exactly 3 hours before it.
  */
-public class DeadlineTimer {
-    private static final Integer MINUTE = 60000;
-    private static final Integer HOUR = MINUTE * 60;
-    private static final Integer DAY = HOUR * 60 * 24;
+public class DeadlineTimer implements NotificationScheduler.Task {
+    private static final int HOUR = 60;
+    private static final int DAY = HOUR * 24;
+    private static final int MAX_DAYS = 14;
 
     // members
     private final Deadline deadline;
     private final GUIController parent;
-    private LinkedList<Timer> timers;
+    private final NotificationScheduler scheduler;
     private boolean isRunning;
 
     /**
      * Constructor
-     * @param deadline the deadline that the timers' schedules are based on
+     * @param deadline the deadline that the notifications are based on
      * @param parent the GUIController main part that will send the notification to the user
-     * @requires deadline != null; parent != null
-     * @modifies deadline, timers, parent
+     * @param scheduler the scheduler that this timer registers with
+     * @requires deadline != null; parent != null; scheduler != null
+     * @modifies deadline, parent, scheduler
      * @effects create a new DeadlineTimer instance
      */
-    public DeadlineTimer(Deadline deadline, GUIController parent) {
+    public DeadlineTimer(Deadline deadline, GUIController parent, NotificationScheduler scheduler) {
         this.deadline = deadline;
-        this.timers = new LinkedList<>();
         this.parent = parent;
-        this.addTimers();
-    }
-
-    /**
-     * This method initialize all timers
-     * @requires None
-     * @modifies timers
-     * @effects initialize the timers
-     */
-    private void addTimers() {
-        // notification not required for past deadlines
-        if (this.shouldStop())
-            return;
-        // get remaining time
-        Period remainingTime = deadline.getRemainPeriod(null).getKey();
-        if (remainingTime.getMonths() >= 1 || remainingTime.getWeeks() * 7 + remainingTime.getDays() >= 15) {
-            return;
-        }
-        // create timers for different intervals
-        Timer Timer01 = new Timer(MINUTE, e -> sendNotification(MINUTE, e));
-        Timer Timer05 = new Timer(MINUTE * 5, e -> sendNotification(MINUTE * 5, e));
-        Timer Timer15 = new Timer(MINUTE * 15, e -> sendNotification(MINUTE * 15, e));
-        Timer TimerHour = new Timer(HOUR, e -> sendNotification(HOUR, e));
-        Timer TimerDay = new Timer(DAY, e -> sendNotification(DAY, e));
-        this.timers.add(Timer01);
-        this.timers.add(Timer05);
-        this.timers.add(Timer15);
-        this.timers.add(TimerHour);
-        this.timers.add(TimerDay);
-        Log.debug("DEBUG: [DeadlineTimer] {" + this.deadline + "} timer threads initialized.");
+        this.scheduler = scheduler;
     }
 
     /**
      * This method will send a message to the user about deadline approaching
-     * @requires None
+     * @param parent the GUIController main part that will send the notification
+     * @param deadline the deadline, or the occurrence of a recurring deadline
+     * @requires parent != null, deadline != null
      * @modifies parent
      * @effects send a notification
      */
-    private void sendNotification() {
-        String message = this.deadline.getCourseName() + ": " + this.deadline.getName() + " " +
-                parent.getFrame().getText("due_in") + " " + parent.getFrame().getTextFormat().getRemainingText(this.deadline, null, false);
+    static void sendNotification(GUIController parent, Deadline deadline) {
+        String message = deadline.getCourseName() + ": " + deadline.getName() + " " +
+                parent.getFrame().getText("due_in") + " " + parent.getFrame().getTextFormat().getRemainingText(deadline, null, false);
         Log.debug("DEBUG: [DeadlineTimer] " + message);
-        if (!parent.isIgnoring(this.deadline.getCourseName()))
+        if (!parent.isIgnoring(deadline.getCourseName()))
             parent.notification(parent.getFrame().getText("notification_title_deadline_approach"), message,"");
     }
 
     /**
-     * This function checks if the current timer should send a message to the user
-     * If so, it will then call sendNotification() method to send the message
-     * @param interval the time interval for the timer
-     * @param e the timer event
-     * @requires interval != null
+     * This method returns the next minute a notification should be sent at
+     * @param afterMinute the current epoch minute
+     * @requires None
      * @modifies None
-     * @effects send a notification
+     * @effects None
+     * @return the next epoch minute, or NotificationScheduler.NONE
      */
-    private void sendNotification(Integer interval, ActionEvent e) {
-        // No message should be sent after the deadline has came and gone
-        if (this.shouldStop()) {
-            this.stop();
+    @Override
+    public long nextNotification(long afterMinute) {
+        return nextNotification(this.deadline.getEpochMinute(), afterMinute);
+    }
+
+    /**
+     * This method returns the next notification minute of a deadline. The result is
+     * the closest minute after now that is a whole number of days (at most MAX_DAYS),
+     * hours, 15 minutes, 5 minutes or minutes before the due time, depending on how
+     * much time is left.
+     * @param due the epoch minute of the deadline
+     * @param now the current epoch minute
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the next epoch minute, or NotificationScheduler.NONE if there is less
+     *         than two minutes left
+     */
+    static long nextNotification(long due, long now) {
+        long remaining = due - now;
+        if (remaining > DAY) {
+            return due - Math.min((remaining - 1) / DAY, MAX_DAYS) * DAY;
         }
-        Period remainingTime = deadline.getRemainPeriod(null).getKey();
-        // If there is still more than one days left
-        if (remainingTime.getDays() >= 1) {
-            if (interval.equals(DAY)) sendNotification();
-            return;
+        if (remaining > HOUR) {
+            return due - (remaining - 1) / HOUR * HOUR;
         }
-        // If there is still more than one hours left
-        if (remainingTime.getHours() >= 1) {
-            if (interval.equals(DAY)) ((Timer)e.getSource()).stop();
-            if (interval.equals(HOUR)) sendNotification();
-            return;
+        if (remaining > 15) {
+            return due - (remaining - 1) / 15 * 15;
         }
-        // If there is still more than 15 minutes left
-        if (remainingTime.getMinutes() >= 15) {
-            if (interval.equals(HOUR)) ((Timer)e.getSource()).stop();
-            if (interval.equals(MINUTE * 15)) sendNotification();
-            return;
+        if (remaining > 5) {
+            return due - (remaining - 1) / 5 * 5;
         }
-        // If there is still more than 5 minutes left
-        if (remainingTime.getMinutes() >= 5) {
-            if (interval.equals(MINUTE * 15)) ((Timer)e.getSource()).stop();
-            if (interval.equals(MINUTE * 5)) sendNotification();
-            return;
+        if (remaining > 1) {
+            return now + 1;
         }
-        // If there is still more than 1 minutes left
-        if (remainingTime.getMinutes() >= 1) {
-            if (interval.equals(MINUTE * 5)) ((Timer)e.getSource()).stop();
-            if (interval.equals(MINUTE)) sendNotification();
+        return NotificationScheduler.NONE;
+    }
+
+    /**
+     * This method is called by the scheduler on the event dispatch thread. It sends
+     * the notification, or stops the timer if the deadline no longer needs one.
+     * @requires None
+     * @modifies parent
+     * @effects send a notification
+     */
+    @Override
+    public void fire() {
+        // No message should be sent after the deadline has came and gone
+        if (!this.isRunning || this.shouldStop()) {
+            this.stop();
             return;
         }
-        ((Timer)e.getSource()).stop();
+        sendNotification(this.parent, this.deadline);
     }
 
     /**
-     * This method will start all timers
+     * This method registers the timer with the scheduler
      * @requires None
-     * @modifies timers
-     * @effects start all timer tasks
+     * @modifies isRunning, scheduler
+     * @effects start the notification task
      */
     public void start() {
         if (this.shouldStop()) {
             return;
         }
         this.isRunning = true;
-        Log.debug("DEBUG: [DeadlineTimer] {" + this.deadline + "} timer threads started.", ANSI_GREEN);
-        for (Timer t: this.timers) {
-            t.start();
-        }
+        Log.debug("DEBUG: [DeadlineTimer] {" + this.deadline + "} timer registered.", ANSI_GREEN);
+        this.scheduler.schedule(this);
     }
 
     /**
-     * This method will stop all timers
+     * This method removes the timer from the scheduler
      * @requires None
-     * @modifies timers
-     * @effects stop all timer tasks
+     * @modifies isRunning, scheduler
+     * @effects stop the notification task
      */
     public void stop() {
         if (!this.isRunning) {
             return;
         }
         this.isRunning = false;
-        Log.debug("DEBUG: [DeadlineTimer] {" + this.deadline + "} timer threads stopped.", ANSI_YELLOW);
-        for (Timer t: this.timers) {
-            t.stop();
-        }
+        Log.debug("DEBUG: [DeadlineTimer] {" + this.deadline + "} timer unregistered.", ANSI_YELLOW);
+        this.scheduler.cancel(this);
     }
 
     /**
@@ -0,0 +1,81 @@
+package main.viewer.util;
+
+import main.controller.GUIController;
+import main.viewer.calendarPanel.TitleButton;
+import main.viewer.textFormat.ViewerFont;
+
+import javax.swing.BorderFactory;
+import javax.swing.JButton;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JProgressBar;
+import java.awt.BorderLayout;
+import java.awt.Font;
+
+/**
+ * This is the bar at the bottom of the window which shows the progress of loading a
+ * local file. The window stays usable while the file is loaded, and the user can stop
+ * the load with the close button.
+ */
+public class LoadProgressPanel extends JPanel {
+    private static final int MAX_PROGRESS = 1000;
+    private final String loadingText;
+    private final long total;
+    private final JLabel progressLabel;
+    private final JProgressBar progressBar;
+
+    /**
+     * Constructor
+     * @param parent the GUIController main part
+     * @param total the length of the file; 0 if unknown
+     * @param cancel the action which stops the load
+     * @requires parent != null && cancel != null
+     * @modifies loadingText, total, progressLabel, progressBar
+     * @effects create a new LoadProgressPanel instance
+     */
+    public LoadProgressPanel(GUIController parent, long total, Runnable cancel) {
+        super(new BorderLayout(10, 0));
+        this.setBackground(parent.getFrame().getTheme().CAL_BACKGROUND());
+        this.setBorder(BorderFactory.createEmptyBorder(2, 10, 2, 10));
+        this.loadingText = parent.getFrame().getText("local_loading");
+        this.total = total;
+
+        this.progressLabel = new JLabel(String.format(this.loadingText, 0));
+        this.progressLabel.setFont(new Font(ViewerFont.XHEI, Font.PLAIN, 14));
+        this.progressLabel.setOpaque(false);
+
+        this.progressBar = new JProgressBar(0, MAX_PROGRESS);
+        this.progressBar.setIndeterminate(total <= 0);
+
+        JButton close = new TitleButton("✖",
+                parent.getFrame().getTheme().CAL_BACKGROUND(), parent.getFrame().getTheme().SIDEBAR_BACKGROUND(),
+                parent.getFrame().getTheme().HOVER_OVER_CAL());
+        close.setBorder(BorderFactory.createLineBorder(parent.getFrame().getTheme().SIDEBAR_BACKGROUND(), 1));
+        close.setFocusPainted(false);
+        close.setOpaque(false);
+        close.addActionListener(e -> {
+            close.setEnabled(false);
+            cancel.run();
+        });
+
+        this.add(this.progressLabel, BorderLayout.WEST);
+        this.add(this.progressBar, BorderLayout.CENTER);
+        this.add(close, BorderLayout.EAST);
+    }
+
+    /**
+     * This function shows how far the load is
+     * @param deadlines the number of deadlines loaded so far
+     * @param characters the number of characters read so far
+     * @requires this is called on the EDT
+     * @modifies progressLabel, progressBar
+     * @effects show the progress
+     */
+    public void setProgress(int deadlines, long characters) {
+        this.progressLabel.setText(String.format(this.loadingText, deadlines));
+        if (this.total > 0) {
+            // a character takes at least one byte, so this never passes the end
+            this.progressBar.setValue((int) Math.min(MAX_PROGRESS, characters * MAX_PROGRESS / this.total));
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package main.viewer.util;
+
+import main.viewer.Log;
+
+import javax.swing.SwingUtilities;
+import java.util.List;
+
+/**
+ * This class represents the single scheduler that wakes up for every deadline
+ * notification. Tasks are kept in a TimingWheel keyed by epoch minute, and one daemon
+ * thread sleeps until the earliest of them is due. Every task that is due in the same
+ * minute is handed to the event dispatch thread in a single batch.
+ */
+public class NotificationScheduler {
+    /**
+     * The value returned by Task.nextNotification() when no more notification is needed
+     */
+    public static final long NONE = Long.MAX_VALUE;
+    private static final long MINUTE = 60000;
+
+    /**
+     * This interface represents a job that is run by the scheduler at some minutes
+     */
+    public interface Task {
+        /**
+         * This method returns the next minute the task should run at
+         * @param afterMinute the current epoch minute
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the next epoch minute which is greater than afterMinute, or NONE
+         */
+        long nextNotification(long afterMinute);
+
+        /**
+         * This method runs the task. It is always called on the event dispatch thread.
+         * @requires None
+         * @modifies None
+         * @effects run the task
+         */
+        void fire();
+    }
+
+    private final TimingWheel<Task> wheel;
+    private Thread worker;
+    private boolean isShutdown;
+
+    /**
+     * Constructor
+     * @requires None
+     * @modifies wheel
+     * @effects create a new scheduler; the thread is started with the first task
+     */
+    public NotificationScheduler() {
+        this.wheel = new TimingWheel<>(currentMinute());
+    }
+
+    /**
+     * This method (re)schedules a task at its next notification minute
+     * @param task the task
+     * @requires task != null
+     * @modifies wheel, worker
+     * @effects schedule the task and wake the thread up if needed
+     */
+    public synchronized void schedule(Task task) {
+        if (this.isShutdown) {
+            return;
+        }
+        long when = task.nextNotification(currentMinute());
+        if (when == NONE) {
+            this.wheel.cancel(task);
+            return;
+        }
+        this.wheel.schedule(task, when);
+        if (this.worker == null) {
+            this.worker = new Thread(this::run, "NotificationScheduler");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        }
+        this.notifyAll();
+    }
+
+    /**
+     * This method removes a task from the scheduler
+     * @param task the task
+     * @requires None
+     * @modifies wheel
+     * @effects cancel the task
+     */
+    public synchronized void cancel(Task task) {
+        this.wheel.cancel(task);
+    }
+
+    /**
+     * This method returns the number of scheduled tasks
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of scheduled tasks
+     */
+    public synchronized int size() {
+        return this.wheel.size();
+    }
+
+    /**
+     * This method stops the scheduler thread. No task will run afterwards.
+     * @requires None
+     * @modifies isShutdown
+     * @effects stop the scheduler
+     */
+    public synchronized void shutdown() {
+        this.isShutdown = true;
+        this.notifyAll();
+    }
+
+    /**
+     * The loop of the scheduler thread. It sleeps until the wheel needs attention,
+     * collects every due task, reschedules them and passes them to the event dispatch
+     * thread at once.
+     * @requires None
+     * @modifies wheel
+     * @effects run due tasks
+     */
+    private void run() {
+        try {
+            while (true) {
+                final List<Task> batch;
+                synchronized (this) {
+                    if (this.isShutdown) {
+                        return;
+                    }
+                    long now = currentMinute();
+                    long wakeup = this.wheel.nextWakeup();
+                    if (wakeup > now) {
+                        // wait(0) waits until the next schedule() call
+                        this.wait(wakeup == Long.MAX_VALUE ? 0 : wakeup * MINUTE - System.currentTimeMillis());
+                        continue;
+                    }
+                    batch = this.wheel.advance(now);
+                    for (Task task : batch) {
+                        long next = task.nextNotification(now);
+                        if (next != NONE) {
+                            this.wheel.schedule(task, next);
+                        }
+                    }
+                }
+                if (!batch.isEmpty()) {
+                    Log.debug("DEBUG: [NotificationScheduler] " + batch.size() + " task(s) due.");
+                    SwingUtilities.invokeLater(() -> {
+                        for (Task task : batch) {
+                            task.fire();
+                        }
+                    });
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * This method returns the current epoch minute
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the current epoch minute
+     */
+    private static long currentMinute() {
+        return Math.floorDiv(System.currentTimeMillis(), MINUTE);
+    }
+}
@@ -0,0 +1,140 @@
+package main.viewer.util;
+
+import main.controller.GUIController;
+import main.viewer.Log;
+import model.CalendarWrapper;
+import model.Deadline;
+import model.RecurringDeadline;
+
+import static main.viewer.Log.ANSI_GREEN;
+import static main.viewer.Log.ANSI_YELLOW;
+
+/**
+ * This class represents the notification task of a series of recurring deadlines.
+ * Only the next occurrence of the series is made, whenever the scheduler asks for the
+ * next notification: the task notifies like a DeadlineTimer of that occurrence, and
+ * once the occurrence has passed it moves on to the one after it, so it stays
+ * registered until the rule ends.
+ */
+public class RecurringTimer implements NotificationScheduler.Task {
+    // members
+    private final RecurringDeadline series;
+    private final GUIController parent;
+    private final NotificationScheduler scheduler;
+    private boolean isRunning;
+
+    /**
+     * Constructor
+     * @param series the series that the notifications are based on
+     * @param parent the GUIController main part that will send the notification to the user
+     * @param scheduler the scheduler that this timer registers with
+     * @requires series != null; parent != null; scheduler != null
+     * @modifies series, parent, scheduler
+     * @effects create a new RecurringTimer instance
+     */
+    public RecurringTimer(RecurringDeadline series, GUIController parent, NotificationScheduler scheduler) {
+        this.series = series;
+        this.parent = parent;
+        this.scheduler = scheduler;
+    }
+
+    /**
+     * This method returns the next minute a notification should be sent at
+     * @param afterMinute the current epoch minute
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the next epoch minute, or NotificationScheduler.NONE
+     */
+    @Override
+    public long nextNotification(long afterMinute) {
+        return nextNotification(this.series, afterMinute);
+    }
+
+    /**
+     * This method returns the next notification minute of a series: the next one of
+     * its first occurrence which still needs a notification
+     * @param series the series
+     * @param now the current epoch minute
+     * @requires series != null
+     * @modifies None
+     * @effects None
+     * @return the next epoch minute, or NotificationScheduler.NONE if the rule has ended
+     * @see DeadlineTimer#nextNotification(long, long)
+     */
+    static long nextNotification(RecurringDeadline series, long now) {
+        Deadline occurrence = series.getNext(now);
+        while (occurrence != null) {
+            long next = DeadlineTimer.nextNotification(occurrence.getEpochMinute(), now);
+            if (next != NotificationScheduler.NONE) {
+                return next;
+            }
+            occurrence = series.getNext(occurrence.getEpochMinute());
+        }
+        return NotificationScheduler.NONE;
+    }
+
+    /**
+     * This method is called by the scheduler on the event dispatch thread. It sends
+     * the notification of the next occurrence, or stops the timer if the series no
+     * longer needs one.
+     * @requires None
+     * @modifies parent
+     * @effects send a notification
+     */
+    @Override
+    public void fire() {
+        if (!this.isRunning || this.shouldStop()) {
+            this.stop();
+            return;
+        }
+        Deadline occurrence = this.series.getNext(CalendarWrapper.now().getEpochMinute());
+        if (occurrence != null) {
+            DeadlineTimer.sendNotification(this.parent, occurrence);
+        }
+    }
+
+    /**
+     * This method registers the timer with the scheduler
+     * @requires None
+     * @modifies isRunning, scheduler
+     * @effects start the notification task
+     */
+    public void start() {
+        if (this.shouldStop()) {
+            return;
+        }
+        this.isRunning = true;
+        Log.debug("DEBUG: [RecurringTimer] {" + this.series + "} timer registered.", ANSI_GREEN);
+        this.scheduler.schedule(this);
+    }
+
+    /**
+     * This method removes the timer from the scheduler
+     * @requires None
+     * @modifies isRunning, scheduler
+     * @effects stop the notification task
+     */
+    public void stop() {
+        if (!this.isRunning) {
+            return;
+        }
+        this.isRunning = false;
+        Log.debug("DEBUG: [RecurringTimer] {" + this.series + "} timer unregistered.", ANSI_YELLOW);
+        this.scheduler.cancel(this);
+    }
+
+    /**
+     * This method checks if the series still has an upcoming occurrence which needs
+     * a notification
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if no timer is needed for the series
+     */
+    private boolean shouldStop() {
+        return Deadline.STATUS.FINISHED.equals(this.series.getFirst().getStatus()) ||
+                this.parent.isIgnoring(this.series.getCourseName()) ||
+                this.series.getNext(CalendarWrapper.now().getEpochMinute()) == null;
+    }
+}
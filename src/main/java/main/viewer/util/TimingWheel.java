@@ -0,0 +1,284 @@
+package main.viewer.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+
+/**
+ * This class represents a hierarchical timing wheel with a resolution of one minute.
+ *
+ * Level 0 has one slot per minute of the current 64-minute block, level 1 has one
+ * slot per 64-minute block of the current 4096-minute block, and level 2 has one slot
+ * per 4096-minute block of the current 262144-minute (about half a year) block. Tasks
+ * that are even further away wait in an overflow set. When the clock enters a new
+ * block, the tasks of the matching higher level slot are moved down one level, so
+ * scheduling, cancelling and firing a task are O(1) and an idle wheel can tell when
+ * the next task is due without scanning every task.
+ *
+ * @param <T> the type of the scheduled tasks
+ */
+public class TimingWheel<T> {
+    private static final int BITS = 6;
+    private static final int SLOTS = 1 << BITS;
+    private static final int MASK = SLOTS - 1;
+    private static final int LEVELS = 3;
+
+    /**
+     * A scheduled task together with the minute it is due and the slot holding it
+     */
+    private static final class Entry<T> {
+        private final T task;
+        private long when;
+        private HashSet<Entry<T>> slot;
+
+        Entry(T task, long when) {
+            this.task = task;
+            this.when = when;
+        }
+    }
+
+    private final ArrayList<ArrayList<HashSet<Entry<T>>>> levels;
+    private final HashSet<Entry<T>> overflow;
+    private final HashSet<Entry<T>> ready;
+    private final HashMap<T, Entry<T>> entries;
+    private long current;
+
+    /**
+     * Constructor
+     * @param startMinute the minute the wheel starts at
+     * @requires None
+     * @modifies levels, overflow, ready, entries, current
+     * @effects create an empty timing wheel
+     */
+    public TimingWheel(long startMinute) {
+        this.levels = new ArrayList<>(LEVELS);
+        for (int i = 0; i < LEVELS; i++) {
+            ArrayList<HashSet<Entry<T>>> level = new ArrayList<>(SLOTS);
+            for (int j = 0; j < SLOTS; j++) {
+                level.add(new HashSet<>());
+            }
+            this.levels.add(level);
+        }
+        this.overflow = new HashSet<>();
+        this.ready = new HashSet<>();
+        this.entries = new HashMap<>();
+        this.current = startMinute;
+    }
+
+    /**
+     * This method schedules a task at a given minute. If the task is already
+     * scheduled, it is moved to the new minute.
+     * @param task the task
+     * @param when the minute the task is due
+     * @requires task != null
+     * @modifies entries, levels, overflow, ready
+     * @effects schedule the task
+     */
+    public void schedule(T task, long when) {
+        Entry<T> entry = this.entries.get(task);
+        if (entry == null) {
+            entry = new Entry<>(task, when);
+            this.entries.put(task, entry);
+        } else {
+            entry.slot.remove(entry);
+            entry.when = when;
+        }
+        this.place(entry);
+    }
+
+    /**
+     * This method removes a task from the wheel
+     * @param task the task
+     * @requires None
+     * @modifies entries, levels, overflow, ready
+     * @effects cancel the task
+     * @return true if the task was scheduled
+     */
+    public boolean cancel(T task) {
+        Entry<T> entry = this.entries.remove(task);
+        if (entry == null) {
+            return false;
+        }
+        entry.slot.remove(entry);
+        return true;
+    }
+
+    /**
+     * This method returns the minute a task is due
+     * @param task the task
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the minute the task is due, or null if the task is not scheduled
+     */
+    public Long getScheduledTime(T task) {
+        Entry<T> entry = this.entries.get(task);
+        return (entry == null) ? null : entry.when;
+    }
+
+    /**
+     * This method returns the number of scheduled tasks
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of scheduled tasks
+     */
+    public int size() {
+        return this.entries.size();
+    }
+
+    /**
+     * This method returns the minute the wheel has advanced to
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the current minute
+     */
+    public long getCurrentMinute() {
+        return this.current;
+    }
+
+    /**
+     * This method returns the minute at which advance() should be called next. It is
+     * either the minute the earliest task is due or the minute tasks have to be moved
+     * down from a higher level, whichever comes first.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the next minute the wheel needs attention, or Long.MAX_VALUE if empty
+     */
+    public long nextWakeup() {
+        if (!this.ready.isEmpty()) {
+            return this.current;
+        }
+        if (this.entries.isEmpty()) {
+            return Long.MAX_VALUE;
+        }
+        for (int level = 0; level < LEVELS; level++) {
+            int shift = level * BITS;
+            int from = (int) ((this.current >> shift) & MASK) + 1;
+            ArrayList<HashSet<Entry<T>>> slots = this.levels.get(level);
+            for (int i = from; i < SLOTS; i++) {
+                if (!slots.get(i).isEmpty()) {
+                    return ((this.current >> (shift + BITS)) << (shift + BITS)) + ((long) i << shift);
+                }
+            }
+        }
+        // only the overflow set is left
+        return ((this.current >> (LEVELS * BITS)) + 1) << (LEVELS * BITS);
+    }
+
+    /**
+     * This method moves the clock forward and removes every task that is due at or
+     * before the given minute
+     * @param toMinute the new current minute
+     * @requires None
+     * @modifies current, entries, levels, overflow, ready
+     * @effects advance the wheel
+     * @return the tasks that are due, in the order they became due
+     */
+    public List<T> advance(long toMinute) {
+        List<T> due = new ArrayList<>();
+        this.collect(this.ready, due);
+        while (this.current < toMinute) {
+            long next = this.nextWakeup();
+            if (next > toMinute) {
+                // nothing is due and no slot has to be moved down before toMinute
+                this.current = toMinute;
+                break;
+            }
+            this.current = next - 1;
+            this.tick();
+            // tasks moved down onto the current minute are placed in the ready set
+            this.collect(this.ready, due);
+            this.collect(this.levels.get(0).get((int) (this.current & MASK)), due);
+        }
+        return due;
+    }
+
+    /**
+     * This method moves the clock forward by one minute, moving tasks down from the
+     * higher levels when a new block starts
+     * @requires None
+     * @modifies current, levels, overflow
+     * @effects advance the wheel by one minute
+     */
+    private void tick() {
+        this.current++;
+        if ((this.current & MASK) != 0) {
+            return;
+        }
+        // cascade from the highest level that starts a new block
+        int top = 1;
+        while (top < LEVELS && ((this.current >> (top * BITS)) & MASK) == 0) {
+            top++;
+        }
+        if (top == LEVELS) {
+            this.cascade(this.overflow);
+        }
+        for (int level = Math.min(top, LEVELS - 1); level >= 1; level--) {
+            this.cascade(this.levels.get(level).get((int) ((this.current >> (level * BITS)) & MASK)));
+        }
+    }
+
+    /**
+     * This method re-places every entry of a slot based on the current minute
+     * @param slot the slot whose entries will be moved
+     * @requires slot != null
+     * @modifies slot, levels
+     * @effects move entries to a lower level
+     */
+    private void cascade(HashSet<Entry<T>> slot) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        List<Entry<T>> moving = new ArrayList<>(slot);
+        slot.clear();
+        for (Entry<T> entry : moving) {
+            this.place(entry);
+        }
+    }
+
+    /**
+     * This method removes every entry of a slot and adds its task to a list
+     * @param slot the slot
+     * @param due the list of due tasks
+     * @requires slot != null, due != null
+     * @modifies slot, entries, due
+     * @effects collect due tasks
+     */
+    private void collect(HashSet<Entry<T>> slot, List<T> due) {
+        if (slot.isEmpty()) {
+            return;
+        }
+        for (Entry<T> entry : slot) {
+            this.entries.remove(entry.task);
+            due.add(entry.task);
+        }
+        slot.clear();
+    }
+
+    /**
+     * This method puts an entry into the slot that matches its due minute
+     * @param entry the entry
+     * @requires entry != null
+     * @modifies entry.slot, levels, overflow, ready
+     * @effects place the entry
+     */
+    private void place(Entry<T> entry) {
+        if (entry.when <= this.current) {
+            entry.slot = this.ready;
+        } else {
+            entry.slot = this.overflow;
+            for (int level = 0; level < LEVELS; level++) {
+                int blockShift = (level + 1) * BITS;
+                if ((entry.when >> blockShift) == (this.current >> blockShift)) {
+                    entry.slot = this.levels.get(level).get((int) ((entry.when >> (level * BITS)) & MASK));
+                    break;
+                }
+            }
+        }
+        entry.slot.add(entry);
+    }
+}
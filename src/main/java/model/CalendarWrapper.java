@@ -1,10 +1,7 @@
 package model;
 
-import org.joda.time.DateTime;
-
 import java.util.Calendar;
 import java.util.GregorianCalendar;
-import java.util.Objects;
 import java.util.TimeZone;
 
 /**
@@ -13,12 +10,28 @@ import java.util.TimeZone;
  * make some API get the expected behaviour that can coordinate with other APIs in
  * this program
  *
- * What's more, this class only needs to be accurate to second instead of millisecond
- * which java.util.Calendar is accurate to.
+ * What's more, this class only needs to be accurate to minute instead of millisecond
+ * which java.util.Calendar is accurate to. The time is therefore stored as the number
+ * of minutes since the epoch together with the time zone it is displayed in, and the
+ * local calendar fields are computed once whenever that number changes. Comparing,
+ * hashing and reading fields never creates a java.util.Calendar.
  */
 public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>  {
-    /** cal: A Java Calendar instance containing current time.  */
-    private Calendar cal;
+    /** epochMinute: minutes since 1970-01-01T00:00Z of the time being represented. */
+    private long epochMinute;
+    /** zone: the time zone used to compute the local calendar fields. */
+    private TimeZone zone;
+    /** fields: the local year, month, day, weekday, hour and minute packed into a long. */
+    private long fields;
+
+    private static final long MILLIS_PER_MINUTE = 60000L;
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final int MINUTE_SHIFT = 0;
+    private static final int HOUR_SHIFT = 6;
+    private static final int WEEKDAY_SHIFT = 11;
+    private static final int DAY_SHIFT = 14;
+    private static final int MONTH_SHIFT = 19;
+    private static final int YEAR_SHIFT = 23;
     /**
      * Value of the month field indicating the months of the year.
      */
@@ -48,11 +61,42 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * The basic constructor.
      *
      * @requires None
-     * @modifies this.cal
-     * @effects create a new CalendarWrapper instance
+     * @modifies this.epochMinute, this.zone, this.fields
+     * @effects create a new CalendarWrapper instance representing current time
      */
     public CalendarWrapper() {
-        this.cal = new GregorianCalendar();
+        this(Math.floorDiv(System.currentTimeMillis(), MILLIS_PER_MINUTE), TimeZone.getDefault());
+    }
+
+    /**
+     * Constructor.
+     *
+     * @param epochMinute  the number of minutes since 1970-01-01T00:00Z
+     * @param zone         the time zone used to compute the calendar fields
+     * @requires zone != null
+     * @modifies this.epochMinute, this.zone, this.fields
+     * @effects create a new CalendarWrapper instance
+     */
+    public CalendarWrapper(final long epochMinute, final TimeZone zone) {
+        this.zone = zone;
+        this.setEpochMinute(epochMinute);
+    }
+
+    /**
+     * Constructor for a time whose calendar fields were computed before, e.g. by
+     * another CalendarWrapper in the same zone.
+     *
+     * @param epochMinute  the number of minutes since 1970-01-01T00:00Z
+     * @param zone         the time zone of the fields
+     * @param fields       the value getFields() returned for the same time and zone
+     * @requires zone != null
+     * @modifies this.epochMinute, this.zone, this.fields
+     * @effects create a new CalendarWrapper instance
+     */
+    CalendarWrapper(final long epochMinute, final TimeZone zone, final long fields) {
+        this.epochMinute = epochMinute;
+        this.zone = zone;
+        this.fields = fields;
     }
 
     /**
@@ -64,112 +108,132 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @param day          the day number; starts from 1 to 31
      * @param hour         the hour number
      * @param minute       the minute number
-     * @modifies this.cal
+     * @modifies this.epochMinute, this.zone, this.fields
      * @effects create a new CalendarWrapper instance
      * @throws CalendarFormatException if the number of date is invalid
      */
     public CalendarWrapper(final int year, final int month, final int day,
                            final int hour, final int minute)
             throws CalendarFormatException {
-        this.cal = new GregorianCalendar();
-        this.setYear(year);
-        this.setMonth(month);
-        this.setDay(day);
-        this.setHour(hour);
-        this.setMinute(minute);
-        this.cal.set(Calendar.SECOND, 0);
-        this.cal.set(Calendar.MILLISECOND, 0);
+        checkMonth(month);
+        checkDay(day);
+        checkHour(hour);
+        checkMinute(minute);
+        this.zone = TimeZone.getDefault();
+        this.setLocal(year, month, day, hour, minute);
     }
 
     /**
      *
-     * This function updates the minute of the time cal is representing
+     * This function updates the minute of the time this CalendarWrapper is representing
      *
      * @param minute the minute number, starts from 0 to 59
      * @requires None
-     * @modifies cal
+     * @modifies epochMinute, fields
      * @effects update the minute
      * @throws CalendarFormatException if the number of minute is smaller than 0 or larger than 59
      */
     public void setMinute(int minute) throws CalendarFormatException {
-        if (minute < 0 || minute > 59) {
-            throw new CalendarFormatException("Error: \"minute\"(" + minute +")  should be in range [0,59]");
-        }
-        this.cal.set(Calendar.MINUTE, minute);
+        checkMinute(minute);
+        this.setLocal(getYear(), getMonth(), getDay(), getHourOfDay(), minute);
     }
 
     /**
-     * This function updates the hour of the day of the time cal is representing
+     * This function updates the hour of the day of the time this CalendarWrapper is representing
      *
      * @param hour a number indicating the hour of the day, which is user for the
      *             24-hour clock. Noon and midnight are represented by 0, not by 12/24.
      * @requires None
-     * @modifies cal
+     * @modifies epochMinute, fields
      * @effects update the hour
      * @throws CalendarFormatException if the number of hour is smaller than 0 or larger than 59
      */
     public void setHour(int hour) throws CalendarFormatException {
-        if (hour < 0 || hour > 23) {
-            throw new CalendarFormatException("Error: \"hour\"(" + hour +")  should be in range [0,23]");
-        }
-        this.cal.set(Calendar.HOUR_OF_DAY, hour);
+        checkHour(hour);
+        this.setLocal(getYear(), getMonth(), getDay(), hour, getMinuteOfHour());
     }
 
     /**
-     * This function updates the date of the date cal is representing
+     * This function updates the date of the date this CalendarWrapper is representing
      *
      * @param day the date number of a month. The first day of the month has value 1.
      * @requires None
-     * @modifies cal
+     * @modifies epochMinute, fields
      * @effects update the date
      * @throws CalendarFormatException if the number of day is smaller than 1 or larger than 31
      */
     public void setDay(int day) throws CalendarFormatException {
-        if (day < 1 || day > 31) {
-            throw new CalendarFormatException("Error: \"day\"(" + day +")  should be in range [1,31]");
-        }
-        this.cal.set(Calendar.DATE, day);
+        checkDay(day);
+        this.setLocal(getYear(), getMonth(), day, getHourOfDay(), getMinuteOfHour());
     }
 
     /**
-     * This function updates the month of the date cal is representing
+     * This function updates the month of the date this CalendarWrapper is representing
      *
      * @param month the month number of a year, starts from 1 (Jan)
      * @requires None
-     * @modifies cal
+     * @modifies epochMinute, fields
      * @effects update the month
      * @throws CalendarFormatException if the number of month is smaller than 1 or larger than 12
      */
     public void setMonth(int month) throws CalendarFormatException {
-        if (month < 1 || month > 12) {
-            throw new CalendarFormatException("Error: \"month\"(" + month +") should be in range [1,12]");
-        }
-        this.cal.set(Calendar.MONTH, month-1);
+        checkMonth(month);
+        this.setLocal(getYear(), month, getDay(), getHourOfDay(), getMinuteOfHour());
     }
 
     /**
-     * This function updates the year of the date cal is representing
+     * This function updates the year of the date this CalendarWrapper is representing
      *
      * @param year the year number
      * @requires None
-     * @modifies cal
+     * @modifies epochMinute, fields
      * @effects update the year
      */
     public void setYear(int year) {
-        this.cal.set(Calendar.YEAR, year);
+        this.setLocal(year, getMonth(), getDay(), getHourOfDay(), getMinuteOfHour());
     }
 
     /**
-     * TODO javadoc for getCalendarInstance() needed
-     * @return
+     * This function returns a new Java Calendar representing the same time
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new Java Calendar instance
      */
     public Calendar getCalendarInstance() {
-        return (Calendar) this.cal.clone();
+        Calendar cal = new GregorianCalendar(this.zone);
+        cal.setTimeInMillis(this.epochMinute * MILLIS_PER_MINUTE);
+        return cal;
     }
 
+    /**
+     * This function returns the number of minutes since 1970-01-01T00:00Z
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the epoch minute this CalendarWrapper is representing
+     */
+    public long getEpochMinute() {
+        return this.epochMinute;
+    }
 
     /**
-     * This function returns the minute of the time cal is representing.
+     * This function returns the time zone used to compute the calendar fields
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the time zone
+     */
+    public TimeZone getTimeZone() {
+        return this.zone;
+    }
+
+
+    /**
+     * This function returns the minute of the time this CalendarWrapper is representing.
      *
      * @requires None
      * @modifies None
@@ -177,11 +241,11 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @return a number represents current minute. Starts from 0 to 59
      */
     public int getMinuteOfHour() {
-        return this.cal.get(Calendar.MINUTE);
+        return minuteOfHour(this.fields);
     }
 
     /**
-     * This function returns the hour of the time cal is representing.
+     * This function returns the hour of the time this CalendarWrapper is representing.
      *
      * @requires None
      * @modifies None
@@ -190,11 +254,11 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      *         starts from 0 to 23
      */
     public int getHourOfDay() {
-        return this.cal.get(Calendar.HOUR_OF_DAY);
+        return hourOfDay(this.fields);
     }
 
     /**
-     * This function returns the day of the date cal is representing.
+     * This function returns the day of the date this CalendarWrapper is representing.
      *
      * @requires None
      * @modifies None
@@ -202,11 +266,11 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @return a number represents current date. The first day of the month has value 1.
      */
     public int getDay() {
-        return this.cal.get(Calendar.DATE);
+        return day(this.fields);
     }
 
     /**
-     * This function returns the week day of the date cal is representing.
+     * This function returns the week day of the date this CalendarWrapper is representing.
      *
      * @requires None
      * @modifies None
@@ -214,11 +278,11 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @return a number represents current week number. Starts from 0 as Sunday, 1 as Monday...
      */
     public int getWeekDay() {
-        return this.cal.get(Calendar.DAY_OF_WEEK) - 1;
+        return (int) ((this.fields >>> WEEKDAY_SHIFT) & 0x7);
     }
 
     /**
-     * This function returns the month of the date cal is representing
+     * This function returns the month of the date this CalendarWrapper is representing
      *
      * @requires None
      * @modifies None
@@ -226,11 +290,11 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @return the month number of today. The first month of the year starts from 1 (Jan)
      */
     public int getMonth() {
-        return this.cal.get(Calendar.MONTH) + 1;
+        return month(this.fields);
     }
 
     /**
-     * This function returns the year of the date cal is representing
+     * This function returns the year of the date this CalendarWrapper is representing
      *
      * @requires None
      * @modifies None
@@ -238,11 +302,84 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @return a number represents current year
      */
     public int getYear() {
-        return this.cal.get(Calendar.YEAR);
+        return year(this.fields);
+    }
+
+    /**
+     * This function returns the local calendar fields packed into a long, so a
+     * deadline can keep them without keeping a CalendarWrapper
+     *
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the packed fields, which the static getters below read
+     */
+    long getFields() {
+        return this.fields;
+    }
+
+    /**
+     * This function reads the minute from the packed fields
+     * @param fields the value of getFields()
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the minute of the hour
+     */
+    static int minuteOfHour(long fields) {
+        return (int) ((fields >>> MINUTE_SHIFT) & 0x3F);
+    }
+
+    /**
+     * This function reads the hour from the packed fields
+     * @param fields the value of getFields()
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the hour of the day
+     */
+    static int hourOfDay(long fields) {
+        return (int) ((fields >>> HOUR_SHIFT) & 0x1F);
+    }
+
+    /**
+     * This function reads the day from the packed fields
+     * @param fields the value of getFields()
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the day of the month
+     */
+    static int day(long fields) {
+        return (int) ((fields >>> DAY_SHIFT) & 0x1F);
+    }
+
+    /**
+     * This function reads the month from the packed fields
+     * @param fields the value of getFields()
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the month, starting from 1 (Jan)
+     */
+    static int month(long fields) {
+        return (int) ((fields >>> MONTH_SHIFT) & 0xF);
+    }
+
+    /**
+     * This function reads the year from the packed fields
+     * @param fields the value of getFields()
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the year
+     */
+    static int year(long fields) {
+        return (int) (fields >> YEAR_SHIFT);
     }
 
     /**
-     * This function returns the number of days in the month cal is representing
+     * This function returns the number of days in the month this CalendarWrapper is representing
      *
      * @requires None
      * @modifies None
@@ -250,7 +387,7 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @return a number represents the number of days in current month
      */
     public int getMaxDayNumOfMonth() {
-        return this.cal.getActualMaximum(Calendar.DAY_OF_MONTH);
+        return lengthOfMonth(getYear(), getMonth());
     }
 
     /**
@@ -265,14 +402,12 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @return a number represents the number of days in a specified month
      */
     public static int getMaxDayNumOfMonth(int month, int year) {
-        CalendarWrapper c = new CalendarWrapper();
-        c.setMonth(month);
-        c.setYear(year);
-        return c.getMaxDayNumOfMonth();
+        checkMonth(month);
+        return lengthOfMonth(year, month);
     }
 
     /**
-     * This function returns the week day of the first day in the month cal is representing
+     * This function returns the week day of the first day in the month this CalendarWrapper is representing
      *
      * @requires None
      * @modifies None
@@ -280,9 +415,7 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      * @return a number represents the week day of the first day in current month
      */
     public int getWeekDayOfFirstDayInMonth() {
-        Calendar cal2 = (Calendar) this.cal.clone();
-        cal2.set(Calendar.DAY_OF_MONTH, 1);
-        return cal2.get(Calendar.DAY_OF_WEEK) - 1;
+        return weekDayOfEpochDay(epochDay(getYear(), getMonth(), 1));
     }
 
     /**
@@ -297,7 +430,7 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      *          the time represented by {@code another}; {@code false} otherwise.
      */
     public boolean isAfter(CalendarWrapper another) {
-        return this.cal.after(another.cal);
+        return this.epochMinute > another.epochMinute;
     }
 
 
@@ -392,13 +525,7 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      */
     @Override
     public int compareTo(CalendarWrapper o) {
-        Calendar self = (Calendar) this.cal.clone();
-        Calendar other = (Calendar) o.cal.clone();
-        self.set(Calendar.SECOND, 0);
-        self.set(Calendar.MILLISECOND, 0);
-        other.set(Calendar.SECOND, 0);
-        other.set(Calendar.MILLISECOND, 0);
-        return self.compareTo(other);
+        return Long.compare(this.epochMinute, o.epochMinute);
     }
 
     /**
@@ -414,9 +541,7 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      */
     @Override
     public CalendarWrapper clone() throws CloneNotSupportedException {
-        CalendarWrapper c = (CalendarWrapper) super.clone();
-        c.cal = (Calendar) this.cal.clone();
-        return c;
+        return (CalendarWrapper) super.clone();
     }
 
     /**
@@ -441,11 +566,7 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
             return false;
         }
         CalendarWrapper that = (CalendarWrapper) o;
-        return this.getYear() == that.getYear()
-                && this.getMonth() == that.getMonth()
-                && this.getDay() == that.getDay()
-                && this.getHourOfDay() == that.getHourOfDay()
-                && this.getMinuteOfHour() == that.getMinuteOfHour();
+        return this.epochMinute == that.epochMinute;
     }
 
     /**
@@ -460,8 +581,169 @@ public class CalendarWrapper implements Cloneable, Comparable<CalendarWrapper>
      */
     @Override
     public int hashCode() {
-        return Objects.hash(this.getYear(), this.getMonth(), this.getDay(),
-                this.getHourOfDay(), this.getMinuteOfHour()) * 13;
+        return Long.hashCode(this.epochMinute) * 13;
+    }
+
+    /**
+     * This function moves this CalendarWrapper to a given epoch minute and recomputes
+     * the local calendar fields in this.zone
+     *
+     * @param epochMinute the number of minutes since 1970-01-01T00:00Z
+     * @requires None
+     * @modifies epochMinute, fields
+     * @effects update the time being represented
+     */
+    private void setEpochMinute(long epochMinute) {
+        this.epochMinute = epochMinute;
+        long localMinute = epochMinute + this.zone.getOffset(epochMinute * MILLIS_PER_MINUTE) / MILLIS_PER_MINUTE;
+        long epochDay = Math.floorDiv(localMinute, MINUTES_PER_DAY);
+        int minuteOfDay = (int) Math.floorMod(localMinute, MINUTES_PER_DAY);
+        // civil-from-days, see http://howardhinnant.github.io/date_algorithms.html
+        long z = epochDay + 719468;
+        long era = Math.floorDiv(z, 146097);
+        long doe = z - era * 146097;
+        long yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        long day = doy - (153 * mp + 2) / 5 + 1;
+        long month = mp < 10 ? mp + 3 : mp - 9;
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        this.fields = (year << YEAR_SHIFT)
+                | (month << MONTH_SHIFT)
+                | (day << DAY_SHIFT)
+                | ((long) weekDayOfEpochDay(epochDay) << WEEKDAY_SHIFT)
+                | ((long) (minuteOfDay / 60) << HOUR_SHIFT)
+                | ((long) (minuteOfDay % 60) << MINUTE_SHIFT);
+    }
+
+    /**
+     * This function moves this CalendarWrapper to a given local time in this.zone.
+     * Like a lenient java.util.Calendar, values out of range roll over to the next
+     * unit (e.g. Feb 30 becomes Mar 1 or Mar 2).
+     *
+     * @param year   the year number
+     * @param month  the month number, starts from 1 (Jan)
+     * @param day    the day number of the month
+     * @param hour   the hour number
+     * @param minute the minute number
+     * @requires None
+     * @modifies epochMinute, fields
+     * @effects update the time being represented
+     */
+    private void setLocal(int year, int month, int day, int hour, int minute) {
+        long localMinute = (epochDay(year, month, 1) + day - 1) * MINUTES_PER_DAY + hour * 60L + minute;
+        long localMillis = localMinute * MILLIS_PER_MINUTE;
+        int offset = this.zone.getOffset(localMillis - this.zone.getRawOffset());
+        int offsetAfter = this.zone.getOffset(localMillis - offset);
+        this.setEpochMinute((localMillis - offsetAfter) / MILLIS_PER_MINUTE);
+    }
+
+    /**
+     * This function returns the number of days from 1970-01-01 to a given date
+     *
+     * @param year  the year number
+     * @param month the month number, starts from 1 (Jan)
+     * @param day   the day number of the month
+     * @requires 1 <= month <= 12
+     * @modifies None
+     * @effects None
+     * @return the epoch day of the given date
+     */
+    static long epochDay(long year, int month, int day) {
+        // days-from-civil, see http://howardhinnant.github.io/date_algorithms.html
+        year -= month <= 2 ? 1 : 0;
+        long era = Math.floorDiv(year, 400);
+        long yoe = year - era * 400;
+        long doy = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146097 + doe - 719468;
+    }
+
+    /**
+     * This function returns the week day of a given epoch day
+     *
+     * @param epochDay the number of days since 1970-01-01
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the week day. Starts from 0 as Sunday, 1 as Monday...
+     */
+    private static int weekDayOfEpochDay(long epochDay) {
+        // 1970-01-01 is a Thursday
+        return (int) Math.floorMod(epochDay + 4, 7);
+    }
+
+    /**
+     * This function returns the number of days in a specified month
+     *
+     * @param year  the year number
+     * @param month the month number, starts from 1 (Jan)
+     * @requires 1 <= month <= 12
+     * @modifies None
+     * @effects None
+     * @return the number of days in the month
+     */
+    private static int lengthOfMonth(int year, int month) {
+        switch (month) {
+            case FEBRUARY:
+                boolean leap = (year % 4 == 0) && (year % 100 != 0 || year % 400 == 0);
+                return leap ? 29 : 28;
+            case APRIL:
+            case JUNE:
+            case SEPTEMBER:
+            case NOVEMBER:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * This function checks if a minute number is in range [0,59]
+     *
+     * @param minute the number to be checked
+     * @throws CalendarFormatException if the number is out of range
+     */
+    private static void checkMinute(int minute) throws CalendarFormatException {
+        if (minute < 0 || minute > 59) {
+            throw new CalendarFormatException("Error: \"minute\"(" + minute +")  should be in range [0,59]");
+        }
+    }
+
+    /**
+     * This function checks if a hour number is in range [0,23]
+     *
+     * @param hour the number to be checked
+     * @throws CalendarFormatException if the number is out of range
+     */
+    private static void checkHour(int hour) throws CalendarFormatException {
+        if (hour < 0 || hour > 23) {
+            throw new CalendarFormatException("Error: \"hour\"(" + hour +")  should be in range [0,23]");
+        }
+    }
+
+    /**
+     * This function checks if a day number is in range [1,31]
+     *
+     * @param day the number to be checked
+     * @throws CalendarFormatException if the number is out of range
+     */
+    private static void checkDay(int day) throws CalendarFormatException {
+        if (day < 1 || day > 31) {
+            throw new CalendarFormatException("Error: \"day\"(" + day +")  should be in range [1,31]");
+        }
+    }
+
+    /**
+     * This function checks if a month number is in range [1,12]
+     *
+     * @param month the number to be checked
+     * @throws CalendarFormatException if the number is out of range
+     */
+    private static void checkMonth(int month) throws CalendarFormatException {
+        if (month < 1 || month > 12) {
+            throw new CalendarFormatException("Error: \"month\"(" + month +") should be in range [1,12]");
+        }
     }
 
     /**
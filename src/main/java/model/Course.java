@@ -33,6 +33,7 @@ import java.util.TreeMap;
  * String getCourseName()
  * int size()
  * TreeMap<String, Deadline> getDeadlines()
+ * Deadline getDeadline(String deadlineName)
  *
  * @representation_invariant
  * courseName != null && deadlines != null
@@ -173,6 +174,20 @@ public class Course implements CourseInterface {
         return new TreeMap<>(deadlines);
     }
 
+    /**
+     * This function will return a deadline of current course without copying the
+     * Deadlines map
+     * @param deadlineName the name of the deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the deadline object, or null if there is no such deadline
+     */
+    @Override
+    public Deadline getDeadline(String deadlineName) {
+        return deadlines.get(deadlineName);
+    }
+
     /**
      * This function will return a list of deadline names based on their dates,
      * ascending order.
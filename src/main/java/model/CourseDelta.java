@@ -0,0 +1,188 @@
+package model;
+
+import javafx.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * @overview
+ * This class represents the difference between two versions of the same course.
+ *
+ * @abstract_function
+ * a CourseDelta contains the deadlines that only exist in the newer version, the
+ * deadlines that exist in both versions but whose due time, status or link differs,
+ * and the deadlines that only exist in the older version. Deadlines are matched by
+ * their names.
+ *
+ * @abstract_fields
+ * courseName -> the name of the course
+ * added -> deadlines that are new in the newer version
+ * changed -> <old deadline, new deadline> pairs of deadlines that were modified
+ * removed -> deadlines that no longer exist in the newer version
+ *
+ * @creators
+ * CourseDelta diff(Course older, Course newer, boolean includeRemoved)
+ *
+ * @observers
+ * String getCourseName()
+ * List<Deadline> getAdded()
+ * List<Pair<Deadline, Deadline>> getChanged()
+ * List<Deadline> getRemoved()
+ * boolean isEmpty()
+ *
+ * @representation_invariant
+ * courseName != null && added, changed and removed are not null
+ */
+public class CourseDelta {
+    private final String courseName;
+    private final List<Deadline> added;
+    private final List<Pair<Deadline, Deadline>> changed;
+    private final List<Deadline> removed;
+
+    /**
+     * Constructor
+     * @param courseName the name of the course
+     * @param added deadlines that are new
+     * @param changed <old deadline, new deadline> pairs
+     * @param removed deadlines that were removed
+     * @requires courseName != null, added != null, changed != null, removed != null
+     * @modifies courseName, added, changed, removed
+     * @effects create a new CourseDelta
+     */
+    private CourseDelta(String courseName, List<Deadline> added,
+                        List<Pair<Deadline, Deadline>> changed, List<Deadline> removed) {
+        this.courseName = courseName;
+        this.added = Collections.unmodifiableList(added);
+        this.changed = Collections.unmodifiableList(changed);
+        this.removed = Collections.unmodifiableList(removed);
+    }
+
+    /**
+     * This function compares two versions of a course
+     * @param older the older version; null if the course did not exist
+     * @param newer the newer version
+     * @param includeRemoved false if deadlines only in the older version should not
+     *                       be reported, e.g. when the older version may contain
+     *                       deadlines added by the user
+     * @requires newer != null
+     * @modifies None
+     * @effects None
+     * @return the difference between the two versions
+     */
+    public static CourseDelta diff(Course older, Course newer, boolean includeRemoved) {
+        TreeMap<String, Deadline> before = (older == null) ? new TreeMap<>() : older.getDeadlines();
+        TreeMap<String, Deadline> after = newer.getDeadlines();
+        List<Deadline> added = new ArrayList<>();
+        List<Pair<Deadline, Deadline>> changed = new ArrayList<>();
+        List<Deadline> removed = new ArrayList<>();
+        for (Map.Entry<String, Deadline> entry : after.entrySet()) {
+            Deadline old = before.get(entry.getKey());
+            if (old == null) {
+                added.add(entry.getValue());
+            } else if (isModified(old, entry.getValue())) {
+                changed.add(new Pair<>(old, entry.getValue()));
+            }
+        }
+        if (includeRemoved) {
+            for (Map.Entry<String, Deadline> entry : before.entrySet()) {
+                if (!after.containsKey(entry.getKey())) {
+                    removed.add(entry.getValue());
+                }
+            }
+        }
+        return new CourseDelta(newer.getCourseName(), added, changed, removed);
+    }
+
+    /**
+     * This function checks whether a deadline differs from its older version in any
+     * field that the user can see. Deadline.equals() does not compare the status and
+     * the link, so they are compared here.
+     * @param old the older version
+     * @param current the newer version
+     * @requires old != null, current != null
+     * @modifies None
+     * @effects None
+     * @return true if the deadline was modified
+     */
+    static boolean isModified(Deadline old, Deadline current) {
+        return !old.equals(current) ||
+                !Objects.equals(old.getStatus(), current.getStatus()) ||
+                !old.hasSameLink(current);
+    }
+
+    /**
+     * This function returns the name of the course
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return courseName
+     */
+    public String getCourseName() {
+        return this.courseName;
+    }
+
+    /**
+     * This function returns the deadlines that are new
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a read-only list of new deadlines
+     */
+    public List<Deadline> getAdded() {
+        return this.added;
+    }
+
+    /**
+     * This function returns the deadlines that were modified
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a read-only list of <old deadline, new deadline> pairs
+     */
+    public List<Pair<Deadline, Deadline>> getChanged() {
+        return this.changed;
+    }
+
+    /**
+     * This function returns the deadlines that were removed
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a read-only list of removed deadlines
+     */
+    public List<Deadline> getRemoved() {
+        return this.removed;
+    }
+
+    /**
+     * This function checks whether the two versions are the same
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if nothing was added, changed or removed
+     */
+    public boolean isEmpty() {
+        return this.added.isEmpty() && this.changed.isEmpty() && this.removed.isEmpty();
+    }
+
+    /**
+     * Returns a string representation of the object.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a string representation of the object.
+     */
+    @Override
+    public String toString() {
+        return "CourseDelta {" +
+                "courseName='" + courseName + '\'' +
+                ", added=" + added.size() +
+                ", changed=" + changed.size() +
+                ", removed=" + removed.size() + '}';
+    }
+}
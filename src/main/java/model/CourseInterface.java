@@ -103,6 +103,17 @@ public interface CourseInterface extends Cloneable {
      */
     Map<String, Deadline> getDeadlines();
 
+    /**
+     * This function will return a deadline of current course without copying the
+     * Deadlines map
+     * @param deadlineName the name of the deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the deadline object, or null if there is no such deadline
+     */
+    Deadline getDeadline(String deadlineName);
+
     /**
      * This function will return a list of deadline names based on their dates,
      * ascending order.
@@ -3,8 +3,9 @@ package model;
 import com.sun.istack.internal.NotNull;
 import javafx.util.Pair;
 
-import java.util.Calendar;
+import java.util.Comparator;
 import java.util.Objects;
+import java.util.TimeZone;
 
 import org.joda.time.DateTime;
 import org.joda.time.Interval;
@@ -24,6 +25,11 @@ import org.joda.time.Period;
  * deadlineName -> the deadlineName of a deadline
  * courseName -> the deadlineName of the course
  *
+ * Only the deadline name is owned by a deadline. The course name and the link prefix
+ * are shared through a StringTable and the status is a Deadline.STATUS constant
+ * whenever it is one of them, so the deadlines of a course take a few tens of bytes
+ * each besides their names.
+ *
  * @creators
  * Deadline(Calendar date_, String name_, String course_)
  *
@@ -37,11 +43,17 @@ import org.joda.time.Period;
  * TODO
  */
 public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
-    private final CalendarWrapper date;
+    /** epochMinute, fields, zone: the due time as kept by a CalendarWrapper, without the object */
+    private final long epochMinute;
+    private final long fields;
+    private final TimeZone zone;
     private final String deadlineName;
     private final String courseName;
     private final String status;
-    private final String href;
+    /** linkPrefix: the shared start of the link up to its last '/' or '='; "" if there is none */
+    private final String linkPrefix;
+    /** linkSuffix: the rest of the link; null if the link is null */
+    private final String linkSuffix;
 
     public static class STATUS {
         public final static String LATE_SUBMIT = "LATE SUBMIT";
@@ -73,11 +85,20 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      * @effects create a new Deadline instance
      */
     public Deadline(CalendarWrapper date_, String name_, String course_, @NotNull String status_, @NotNull String link) {
-        this.date = date_;
+        this.epochMinute = date_.getEpochMinute();
+        this.fields = date_.getFields();
+        this.zone = date_.getTimeZone();
         this.deadlineName = name_;
-        this.courseName = course_;
-        this.status = status_;
-        this.href = link;
+        this.courseName = StringTable.COURSES.share(course_);
+        this.status = DeadlineStatus.share(status_);
+        int split = (link == null) ? -1 : Math.max(link.lastIndexOf('/'), link.lastIndexOf('='));
+        if (split < 0) {
+            this.linkPrefix = "";
+            this.linkSuffix = (link == null || !link.isEmpty()) ? link : LINK.NONE;
+        } else {
+            this.linkPrefix = StringTable.LINK_PREFIXES.share(link.substring(0, split + 1));
+            this.linkSuffix = (split + 1 == link.length()) ? LINK.NONE : link.substring(split + 1);
+        }
     }
 
     /**
@@ -102,6 +123,33 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
         this(new CalendarWrapper(year, month, day ,hour, minute), name_, course_, status_, link);
     }
 
+    /**
+     * Constructor for a deadline whose fields are shared already, e.g. a row of a
+     * DeadlineArchive
+     * @param epochMinute the due time as getEpochMinute() returns it
+     * @param fields the packed calendar fields of the due time in zone
+     * @param zone the time zone of the fields
+     * @param name_ the name of the deadline
+     * @param course_ the shared course name
+     * @param status_ the shared status
+     * @param linkPrefix the shared link prefix, "" if there is none
+     * @param linkSuffix the rest of the link
+     * @requires zone != null, name_ != null, course_ != null, linkPrefix != null
+     * @modifies all fields
+     * @effects create a new Deadline instance without sharing its strings again
+     */
+    Deadline(long epochMinute, long fields, TimeZone zone, String name_, String course_, String status_,
+             String linkPrefix, String linkSuffix) {
+        this.epochMinute = epochMinute;
+        this.fields = fields;
+        this.zone = zone;
+        this.deadlineName = name_;
+        this.courseName = course_;
+        this.status = status_;
+        this.linkPrefix = linkPrefix;
+        this.linkSuffix = linkSuffix;
+    }
+
     /**
      * This function returns the minute of the deadline due time
      *
@@ -112,7 +160,7 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public int getMinute() {
-        return this.date.getMinuteOfHour();
+        return CalendarWrapper.minuteOfHour(this.fields);
     }
 
     /**
@@ -126,7 +174,7 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public int getHour() {
-        return this.date.getHourOfDay();
+        return CalendarWrapper.hourOfDay(this.fields);
     }
 
     /**
@@ -140,7 +188,7 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public int getDay() {
-        return this.date.getDay();
+        return CalendarWrapper.day(this.fields);
     }
 
     /**
@@ -154,7 +202,7 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public int getMonth() {
-        return this.date.getMonth();
+        return CalendarWrapper.month(this.fields);
     }
 
     /**
@@ -167,7 +215,7 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public int getYear() {
-        return this.date.getYear();
+        return CalendarWrapper.year(this.fields);
     }
 
     /**
@@ -218,7 +266,68 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public String getLink() {
-        return this.href;
+        if (this.linkPrefix.isEmpty() || this.linkSuffix == null) {
+            return this.linkSuffix;
+        }
+        return this.linkPrefix.concat(this.linkSuffix);
+    }
+
+    /**
+     * This function checks whether two deadlines have the same link without
+     * making either link
+     *
+     * @param other another deadline
+     * @return {@code true} if getLink() of both deadlines are equal
+     * @requires other != null
+     * @modifies None
+     * @effects None
+     */
+    boolean hasSameLink(Deadline other) {
+        return this.linkPrefix.equals(other.linkPrefix) && Objects.equals(this.linkSuffix, other.linkSuffix);
+    }
+
+    /**
+     * This function returns the packed calendar fields of the deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the packed calendar fields of the due time
+     */
+    long getFields() {
+        return this.fields;
+    }
+
+    /**
+     * This function returns the time zone of the deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the time zone of the calendar fields
+     */
+    TimeZone getZone() {
+        return this.zone;
+    }
+
+    /**
+     * This function returns the start of the link of the deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the shared start of the link; "" if there is none
+     */
+    String getLinkPrefix() {
+        return this.linkPrefix;
+    }
+
+    /**
+     * This function returns the end of the link of the deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the rest of the link; null if the link is null
+     */
+    String getLinkSuffix() {
+        return this.linkSuffix;
     }
 
     /**
@@ -233,25 +342,34 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public boolean isAfter(CalendarWrapper d) {
-        return this.date.isAfter(d);
+        return this.epochMinute > d.getEpochMinute();
     }
 
     /**
      * This function returns the exact time of this deadline
      *
-     * @return the date of this deadline
+     * @return a new CalendarWrapper of the date of this deadline
      * @requires None
      * @modifies None
      * @effects None
      */
     @Override
     public CalendarWrapper getTime() {
-        try {
-            return this.date.clone();
-        } catch (CloneNotSupportedException e) {
-            e.printStackTrace();
-            return null;
-        }
+        return new CalendarWrapper(this.epochMinute, this.zone, this.fields);
+    }
+
+    /**
+     * This function returns the due time of this deadline as the number of minutes
+     * since 1970-01-01T00:00Z
+     *
+     * @return the epoch minute of this deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     */
+    @Override
+    public long getEpochMinute() {
+        return this.epochMinute;
     }
 
     /**
@@ -266,7 +384,7 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public boolean isBefore(CalendarWrapper d) {
-        return !this.date.isAfter(d);
+        return !this.isAfter(d);
     }
 
     /**
@@ -282,19 +400,37 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
     @Override
     public Pair<Period, Boolean> getRemainPeriod(CalendarWrapper otherTime) {
         if (otherTime == null) otherTime = CalendarWrapper.now();
+        CalendarWrapper date = this.getTime();
         // interval from start to end
-        if (otherTime.isAfter(this.date)) {
+        if (otherTime.isAfter(date)) {
             // deadline passed
-            Interval interval = new Interval(new DateTime(this.date.getCalendarInstance()),
+            Interval interval = new Interval(new DateTime(date.getCalendarInstance()),
                     new DateTime(otherTime.getCalendarInstance()));
             return new Pair<>(new Period(interval), false);
         } else {
             Interval interval = new Interval(new DateTime(otherTime.getCalendarInstance()),
-                    new DateTime(this.date.getCalendarInstance()));
+                    new DateTime(date.getCalendarInstance()));
             return new Pair<>(new Period(interval), true);
         }
     }
 
+    /**
+     * This function will return the remaining time of this deadline. It has the same
+     * fields as getRemainPeriod() but is computed from epoch minutes without
+     * creating any Calendar or joda.time object.
+     *
+     * @param otherTime a date to be compared
+     * @return the time between otherTime and this deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     */
+    @Override
+    public RemainingTime getRemainingTime(CalendarWrapper otherTime) {
+        if (otherTime == null) otherTime = CalendarWrapper.now();
+        return RemainingTime.between(otherTime, this.getTime());
+    }
+
     /**
      * This function will return a text of the remaining time
      * @param otherTime a date to be compared
@@ -305,18 +441,16 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public String getRemainingText(CalendarWrapper otherTime) {
-        if (otherTime == null) otherTime = CalendarWrapper.now();
-        Pair<Period, Boolean> remain = this.getRemainPeriod(otherTime);
-        Period pd = remain.getKey();
+        RemainingTime remain = this.getRemainingTime(otherTime);
         String month;
-        if (pd.getMonths() > 0) {
-            month = String.format("%02d Months ", pd.getMonths());
+        if (remain.getMonths() > 0) {
+            month = String.format("%02d Months ", remain.getMonths());
         } else {
             month = "";
         }
         String remainingText = month + String.format("%02d Days %02d Hours %02d Minutes ",
-                pd.getWeeks()*7+pd.getDays(),pd.getHours(),pd.getMinutes());
-        if (remain.getValue().equals(true)) remainingText+="Left.";
+                remain.getDays(), remain.getHours(), remain.getMinutes());
+        if (remain.isUpcoming()) remainingText+="Left.";
         else remainingText += "Ago.";
         return remainingText;
     }
@@ -369,24 +503,54 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
     }
 
 
+    /**
+     * This function returns a comparator which puts upcoming deadlines before past
+     * deadlines and sorts each group by due time. The current time is captured once
+     * when the comparator is created, so the order stays the same during a sort.
+     *
+     * @param now the time that splits upcoming deadlines from past ones; null for now
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a comparator that puts upcoming deadlines first
+     */
+    public static Comparator<Deadline> upcomingFirst(CalendarWrapper now) {
+        final long nowMinute = (now == null) ? CalendarWrapper.now().getEpochMinute() : now.getEpochMinute();
+        return (d1, d2) -> {
+            boolean upcoming1 = d1.getEpochMinute() > nowMinute;
+            boolean upcoming2 = d2.getEpochMinute() > nowMinute;
+            if (upcoming1 != upcoming2) {
+                return upcoming1 ? -1 : 1;
+            }
+            return d1.compareTo(d2);
+        };
+    }
+
     /**
      * Compares this object with the specified object for order.  Returns a
      * negative integer, zero, or a positive integer as this object is less
      * than, equal to, or greater than the specified object.
+     * Deadlines are ordered by due time, then by course name and then by deadline
+     * name, so the order does not depend on the current time and is consistent
+     * with equals.
      *
      * @param o the object to be compared.
      * @return a negative integer, zero, or a positive integer as this current deadline
      * is earlier than, equal to, or latter than the specified deadline.
      * @throws NullPointerException if the specified object is null
+     * @see #upcomingFirst(CalendarWrapper)
      */
     @Override
     public int compareTo(Deadline o) {
-        if (this.isBefore(CalendarWrapper.now()) && o.isAfter(CalendarWrapper.now())){
-            return 1;
-        } else if (this.isAfter(CalendarWrapper.now()) && o.isBefore(CalendarWrapper.now())) {
-            return -1;
+        int result = Long.compare(this.epochMinute, o.epochMinute);
+        if (result != 0) {
+            return result;
+        }
+        result = this.courseName.compareTo(o.courseName);
+        if (result != 0) {
+            return result;
         }
-        return this.date.compareTo(o.date);
+        return this.deadlineName.compareTo(o.deadlineName);
     }
 
     /**
@@ -411,7 +575,7 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
             return false;
         }
         Deadline deadline = (Deadline) o;
-        return Objects.equals(date, deadline.date) &&
+        return this.epochMinute == deadline.epochMinute &&
                 Objects.equals(deadlineName, deadline.deadlineName) &&
                 Objects.equals(courseName, deadline.courseName);
     }
@@ -428,7 +592,9 @@ public final class Deadline implements DeadlineInterface, Comparable<Deadline> {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(date, deadlineName, courseName);
+        int result = 31 + Long.hashCode(this.epochMinute);
+        result = 31 * result + Objects.hashCode(deadlineName);
+        return 31 * result + Objects.hashCode(courseName);
     }
 
     /**
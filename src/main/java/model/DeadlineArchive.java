@@ -0,0 +1,498 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * @overview
+ * This class keeps the deadlines which passed long ago as columns instead of objects:
+ * the due times in long arrays, the course names, statuses and time zones as indices
+ * into small tables, and the names and links as references to their strings. A
+ * Deadline is made from its row only when it is asked for, e.g. when the calendar
+ * pages back to an old month or the past deadlines are listed, and the caller drops
+ * it again, so the heap kept by the objects of the model grows with the upcoming
+ * deadlines only.
+ *
+ * An archive never changes. Removing a row returns an archive which shares every
+ * column and only marks the row as removed; adding rows or removing a course copies
+ * the columns once, leaving the removed rows out.
+ *
+ * @abstract_function
+ * a DeadlineArchive is a set of deadlines with distinct keys
+ *
+ * @abstract_fields
+ * rows -> the deadlines, ascending by due time, then course name, then name
+ *
+ * @creators
+ * DeadlineArchive empty()
+ *
+ * @mutator
+ * This class is immutable
+ *
+ * @observers
+ * int size()
+ * boolean isEmpty()
+ * Deadline get(DeadlineKey key)
+ * List<Deadline> getBetween(long fromMinute, long toMinute)
+ * List<Deadline> getCourse(String courseName)
+ *
+ * @representation_invariant
+ * every column has rowCount elements && the rows are ascending by due time, then
+ * course name, then name && no two rows have the same course name and name &&
+ * byKey holds every row once, ascending by course name, then name &&
+ * size == rowCount - the number of bits set in removed
+ */
+final class DeadlineArchive {
+    private static final DeadlineArchive EMPTY = new Builder(0).build();
+
+    private final int rowCount;
+    private final long[] minutes;
+    private final long[] fields;
+    private final int[] zones;
+    private final int[] courses;
+    private final int[] statuses;
+    private final String[] names;
+    private final String[] linkPrefixes;
+    private final String[] linkSuffixes;
+    /** zoneTable, courseTable, statusTable: the distinct values the index columns refer to */
+    private final TimeZone[] zoneTable;
+    private final String[] courseTable;
+    private final String[] statusTable;
+    /** byKey: the rows ascending by course name, then name */
+    private final int[] byKey;
+    /** removed: one bit per row which was removed since the columns were made */
+    private final long[] removed;
+    private final int size;
+
+    /**
+     * Constructor
+     * @param builder the builder whose rows are ascending by due time
+     * @requires builder != null
+     * @modifies all fields
+     * @effects create an archive of the rows of the builder
+     */
+    private DeadlineArchive(Builder builder) {
+        this.rowCount = builder.count;
+        this.minutes = Arrays.copyOf(builder.minutes, this.rowCount);
+        this.fields = Arrays.copyOf(builder.fields, this.rowCount);
+        this.zones = Arrays.copyOf(builder.zones, this.rowCount);
+        this.courses = Arrays.copyOf(builder.courses, this.rowCount);
+        this.statuses = Arrays.copyOf(builder.statuses, this.rowCount);
+        this.names = Arrays.copyOf(builder.names, this.rowCount);
+        this.linkPrefixes = Arrays.copyOf(builder.linkPrefixes, this.rowCount);
+        this.linkSuffixes = Arrays.copyOf(builder.linkSuffixes, this.rowCount);
+        this.zoneTable = builder.zoneTable.toArray(new TimeZone[0]);
+        this.courseTable = builder.courseTable.toArray(new String[0]);
+        this.statusTable = builder.statusTable.toArray(new String[0]);
+        Integer[] order = new Integer[this.rowCount];
+        for (int row = 0; row < this.rowCount; row++) {
+            order[row] = row;
+        }
+        Arrays.sort(order, (row1, row2) -> this.compareKey(row1, this.courseTable[this.courses[row2]],
+                this.names[row2]));
+        this.byKey = new int[this.rowCount];
+        for (int i = 0; i < this.rowCount; i++) {
+            this.byKey[i] = order[i];
+        }
+        this.removed = new long[(this.rowCount + 63) / 64];
+        this.size = this.rowCount;
+    }
+
+    /**
+     * Constructor of an archive with one more row removed
+     * @param archive the archive whose columns are shared
+     * @param row the row to remove
+     * @requires archive != null && row is not removed from archive
+     * @modifies all fields
+     * @effects create an archive without the row
+     */
+    private DeadlineArchive(DeadlineArchive archive, int row) {
+        this.rowCount = archive.rowCount;
+        this.minutes = archive.minutes;
+        this.fields = archive.fields;
+        this.zones = archive.zones;
+        this.courses = archive.courses;
+        this.statuses = archive.statuses;
+        this.names = archive.names;
+        this.linkPrefixes = archive.linkPrefixes;
+        this.linkSuffixes = archive.linkSuffixes;
+        this.zoneTable = archive.zoneTable;
+        this.courseTable = archive.courseTable;
+        this.statusTable = archive.statusTable;
+        this.byKey = archive.byKey;
+        this.removed = archive.removed.clone();
+        this.removed[row >>> 6] |= 1L << row;
+        this.size = archive.size - 1;
+    }
+
+    /**
+     * This class collects the columns of a new archive
+     */
+    private static final class Builder {
+        private int count;
+        private long[] minutes;
+        private long[] fields;
+        private int[] zones;
+        private int[] courses;
+        private int[] statuses;
+        private String[] names;
+        private String[] linkPrefixes;
+        private String[] linkSuffixes;
+        private final List<TimeZone> zoneTable = new ArrayList<>();
+        private final List<String> courseTable = new ArrayList<>();
+        private final List<String> statusTable = new ArrayList<>();
+        private final Map<TimeZone, Integer> zoneIds = new HashMap<>();
+        private final Map<String, Integer> courseIds = new HashMap<>();
+        private final Map<String, Integer> statusIds = new HashMap<>();
+
+        /**
+         * Constructor
+         * @param capacity the number of rows that will be added
+         * @requires capacity >= 0
+         * @modifies all fields
+         * @effects create an empty builder
+         */
+        private Builder(int capacity) {
+            this.minutes = new long[capacity];
+            this.fields = new long[capacity];
+            this.zones = new int[capacity];
+            this.courses = new int[capacity];
+            this.statuses = new int[capacity];
+            this.names = new String[capacity];
+            this.linkPrefixes = new String[capacity];
+            this.linkSuffixes = new String[capacity];
+        }
+
+        /**
+         * This function appends a row
+         * @requires the row is not before the last row
+         * @modifies all fields
+         * @effects append the row, adding its course, status and time zone to the
+         * tables if they are new
+         */
+        private void add(long minute, long field, TimeZone zone, String course, String status, String name,
+                         String linkPrefix, String linkSuffix) {
+            this.minutes[this.count] = minute;
+            this.fields[this.count] = field;
+            this.zones[this.count] = id(this.zoneIds, this.zoneTable, zone);
+            this.courses[this.count] = id(this.courseIds, this.courseTable, course);
+            this.statuses[this.count] = id(this.statusIds, this.statusTable, status);
+            this.names[this.count] = name;
+            this.linkPrefixes[this.count] = linkPrefix;
+            this.linkSuffixes[this.count] = linkSuffix;
+            this.count++;
+        }
+
+        /**
+         * This function returns the index of a value in a table
+         * @param ids value -> index
+         * @param table the values in the order of their indices
+         * @param value the value
+         * @requires ids != null && table != null
+         * @modifies ids, table
+         * @effects add the value if it is not in the table
+         * @return the index of the value
+         */
+        private static <T> int id(Map<T, Integer> ids, List<T> table, T value) {
+            Integer id = ids.get(value);
+            if (id == null) {
+                id = table.size();
+                ids.put(value, id);
+                table.add(value);
+            }
+            return id;
+        }
+
+        /**
+         * This function makes an archive from the rows added so far
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return an archive of the rows
+         */
+        private DeadlineArchive build() {
+            return new DeadlineArchive(this);
+        }
+    }
+
+    /**
+     * This function returns the archive without any row
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return an empty archive
+     */
+    static DeadlineArchive empty() {
+        return EMPTY;
+    }
+
+    /**
+     * This function returns an archive with some deadlines added. The columns are
+     * copied once, in O(size() + deadlines.size()) time.
+     * @param deadlines the deadlines ascending by due time, then course name, then name
+     * @requires deadlines != null && no deadline has the key of a row
+     * @modifies None
+     * @effects None
+     * @return a new archive, or this if deadlines is empty
+     */
+    DeadlineArchive plus(List<Deadline> deadlines) {
+        return deadlines.isEmpty() ? this : this.rebuild(deadlines, null);
+    }
+
+    /**
+     * This function returns an archive without a deadline. The columns are shared.
+     * @param key the key of the deadline
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return a new archive, or this if there is no such deadline
+     */
+    DeadlineArchive minus(DeadlineKey key) {
+        int row = this.find(key.getCourseName(), key.getDeadlineName());
+        if (row < 0) {
+            return this;
+        }
+        return (this.size == 1) ? EMPTY : new DeadlineArchive(this, row);
+    }
+
+    /**
+     * This function returns an archive without the deadlines of a course
+     * @param courseName the name of the course
+     * @requires courseName != null
+     * @modifies None
+     * @effects None
+     * @return a new archive, or this if the course has no deadline here
+     */
+    DeadlineArchive minusCourse(String courseName) {
+        return this.getCourse(courseName).isEmpty() ? this
+                : this.rebuild(Collections.emptyList(), courseName);
+    }
+
+    /**
+     * This function copies the rows which are not removed into a new archive and
+     * merges deadlines into them
+     * @param deadlines the deadlines ascending by due time, then course name, then name
+     * @param droppedCourse the name of a course whose rows and deadlines are left
+     *                      out; null for none
+     * @requires deadlines != null
+     * @modifies None
+     * @effects None
+     * @return a new archive
+     */
+    private DeadlineArchive rebuild(List<Deadline> deadlines, String droppedCourse) {
+        Builder builder = new Builder(this.size + deadlines.size());
+        int row = 0;
+        int next = 0;
+        while (row < this.rowCount || next < deadlines.size()) {
+            if (row < this.rowCount && (this.isRemoved(row)
+                    || this.courseTable[this.courses[row]].equals(droppedCourse))) {
+                row++;
+            } else if (next < deadlines.size() && (row == this.rowCount || this.compare(row, deadlines.get(next)) > 0)) {
+                Deadline deadline = deadlines.get(next++);
+                if (!deadline.getCourseName().equals(droppedCourse)) {
+                    builder.add(deadline.getEpochMinute(), deadline.getFields(), deadline.getZone(),
+                            deadline.getCourseName(), deadline.getStatus(), deadline.getName(),
+                            deadline.getLinkPrefix(), deadline.getLinkSuffix());
+                }
+            } else {
+                builder.add(this.minutes[row], this.fields[row], this.zoneTable[this.zones[row]],
+                        this.courseTable[this.courses[row]], this.statusTable[this.statuses[row]], this.names[row],
+                        this.linkPrefixes[row], this.linkSuffixes[row]);
+                row++;
+            }
+        }
+        return (builder.count == 0) ? EMPTY : builder.build();
+    }
+
+    /**
+     * This function compares a row with a deadline in the order of Deadline.compareTo()
+     * @requires 0 <= row < rowCount && deadline != null
+     * @modifies None
+     * @effects None
+     * @return a negative integer, zero, or a positive integer as the row is before,
+     * the same as, or after the deadline
+     */
+    private int compare(int row, Deadline deadline) {
+        int result = Long.compare(this.minutes[row], deadline.getEpochMinute());
+        return (result != 0) ? result : this.compareKey(row, deadline.getCourseName(), deadline.getName());
+    }
+
+    /**
+     * This function compares the key of a row with a key
+     * @requires 0 <= row < rowCount && courseName != null && name != null
+     * @modifies None
+     * @effects None
+     * @return a negative integer, zero, or a positive integer as the key of the row is
+     * before, the same as, or after the key
+     */
+    private int compareKey(int row, String courseName, String name) {
+        int result = this.courseTable[this.courses[row]].compareTo(courseName);
+        return (result != 0) ? result : this.names[row].compareTo(name);
+    }
+
+    /**
+     * This function checks whether a row is removed
+     * @param row the index of the row
+     * @requires 0 <= row < size of the columns
+     * @modifies None
+     * @effects None
+     * @return true if a row was removed
+     */
+    private boolean isRemoved(int row) {
+        return (this.removed[row >>> 6] & (1L << row)) != 0;
+    }
+
+    /**
+     * This function finds the row of a deadline
+     * @param courseName the name of the course
+     * @param name the name of the deadline
+     * @requires courseName != null && name != null
+     * @modifies None
+     * @effects None
+     * @return the row, or -1 if there is no such deadline
+     */
+    private int find(String courseName, String name) {
+        int low = 0;
+        int high = this.rowCount - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int row = this.byKey[middle];
+            int result = this.compareKey(row, courseName, name);
+            if (result < 0) {
+                low = middle + 1;
+            } else if (result > 0) {
+                high = middle - 1;
+            } else {
+                return this.isRemoved(row) ? -1 : row;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * This function makes the deadline of a row
+     * @requires 0 <= row < rowCount
+     * @modifies None
+     * @effects None
+     * @return a new deadline object which shares the strings of the row
+     */
+    private Deadline materialize(int row) {
+        return new Deadline(this.minutes[row], this.fields[row], this.zoneTable[this.zones[row]], this.names[row],
+                this.courseTable[this.courses[row]], this.statusTable[this.statuses[row]], this.linkPrefixes[row],
+                this.linkSuffixes[row]);
+    }
+
+    /**
+     * This function returns the number of deadlines
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of rows which are not removed
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * This function checks whether the archive has no deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return size() == 0
+     */
+    boolean isEmpty() {
+        return this.size == 0;
+    }
+
+    /**
+     * This function returns the deadline with a key
+     * @param key the key of the deadline
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return a new deadline object, or null if there is no such deadline
+     */
+    Deadline get(DeadlineKey key) {
+        int row = this.find(key.getCourseName(), key.getDeadlineName());
+        return (row < 0) ? null : this.materialize(row);
+    }
+
+    /**
+     * This function returns the deadlines which are due in a range of time
+     * @param fromMinute the first epoch minute of the range
+     * @param toMinute the epoch minute right after the range
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new list of new deadline objects, ascending by due time
+     */
+    List<Deadline> getBetween(long fromMinute, long toMinute) {
+        List<Deadline> list = new ArrayList<>();
+        int low = 0;
+        int high = this.rowCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.minutes[middle] < fromMinute) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int row = low; row < this.rowCount && this.minutes[row] < toMinute; row++) {
+            if (!this.isRemoved(row)) {
+                list.add(this.materialize(row));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * This function returns the deadlines of a course
+     * @param courseName the name of the course
+     * @requires courseName != null
+     * @modifies None
+     * @effects None
+     * @return a new list of new deadline objects, ascending by name
+     */
+    List<Deadline> getCourse(String courseName) {
+        List<Deadline> list = new ArrayList<>();
+        int low = 0;
+        int high = this.rowCount;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (this.courseTable[this.courses[this.byKey[middle]]].compareTo(courseName) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        for (int i = low; i < this.rowCount; i++) {
+            int row = this.byKey[i];
+            if (!this.courseTable[this.courses[row]].equals(courseName)) {
+                break;
+            }
+            if (!this.isRemoved(row)) {
+                list.add(this.materialize(row));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * Returns a string representation of the object.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a string representation of the object.
+     */
+    @Override
+    public String toString() {
+        return "DeadlineArchive {size=" + size + ", rows=" + rowCount + ", courses=" + courseTable.length +
+                ", statuses=" + statusTable.length + '}';
+    }
+}
@@ -124,6 +124,16 @@ public interface DeadlineInterface extends Cloneable {
      */
     CalendarWrapper getTime();
 
+    /**
+     * This function returns the due time of this deadline as the number of minutes
+     * since 1970-01-01T00:00Z
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the epoch minute of this deadline
+     */
+    long getEpochMinute();
+
     /**
      * Check if a deadline has is due before a specified date time
      * @param d a date to be compared
@@ -146,6 +156,17 @@ public interface DeadlineInterface extends Cloneable {
      */
     Pair<Period,Boolean> getRemainPeriod(CalendarWrapper d);
 
+    /**
+     * This function will return the remaining time of this deadline, computed with
+     * integer arithmetic
+     * @param d a date to be compared
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the time between d and this deadline
+     */
+    RemainingTime getRemainingTime(CalendarWrapper d);
+
     /**
      * This function will return a text of the remaining time
      * @param currentTime a date to be compared
@@ -0,0 +1,126 @@
+package model;
+
+import java.util.Objects;
+
+/**
+ * @overview
+ * This class represents the identity of a deadline: the course it belongs to and its
+ * name. Two versions of the same deadline, e.g. before and after its due time was
+ * changed, have the same key.
+ *
+ * @abstract_fields
+ * courseName -> the name of the course
+ * deadlineName -> the name of the deadline
+ *
+ * @creators
+ * DeadlineKey(String courseName, String deadlineName)
+ * DeadlineKey of(Deadline deadline)
+ *
+ * @mutator
+ * This class is immutable
+ *
+ * @observers
+ * String getCourseName()
+ * String getDeadlineName()
+ *
+ * @representation_invariant
+ * courseName != null && deadlineName != null
+ */
+public final class DeadlineKey {
+    private final String courseName;
+    private final String deadlineName;
+
+    /**
+     * Constructor
+     * @param courseName the name of the course
+     * @param deadlineName the name of the deadline
+     * @requires courseName != null, deadlineName != null
+     * @modifies courseName, deadlineName
+     * @effects create a new DeadlineKey
+     */
+    public DeadlineKey(String courseName, String deadlineName) {
+        this.courseName = courseName;
+        this.deadlineName = deadlineName;
+    }
+
+    /**
+     * This function returns the key of a deadline
+     * @param deadline the deadline object
+     * @requires deadline != null
+     * @modifies None
+     * @effects None
+     * @return the key of the deadline
+     */
+    public static DeadlineKey of(Deadline deadline) {
+        return new DeadlineKey(deadline.getCourseName(), deadline.getName());
+    }
+
+    /**
+     * This function returns the name of the course
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return courseName
+     */
+    public String getCourseName() {
+        return this.courseName;
+    }
+
+    /**
+     * This function returns the name of the deadline
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return deadlineName
+     */
+    public String getDeadlineName() {
+        return this.deadlineName;
+    }
+
+    /**
+     * Indicates whether some other object is "equal to" this one.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @param   o   the reference object with which to compare.
+     * @return  {@code true} if this object is the same as the obj
+     *          argument; {@code false} otherwise.
+     * @see     #hashCode()
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        DeadlineKey that = (DeadlineKey) o;
+        return this.courseName.equals(that.courseName) && this.deadlineName.equals(that.deadlineName);
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return  a hash code value for this object.
+     * @see     java.lang.Object#equals(java.lang.Object)
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(courseName, deadlineName);
+    }
+
+    /**
+     * Returns a string representation of the object.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return  a string representation of the object.
+     */
+    @Override
+    public String toString() {
+        return "<" + courseName + "> " + deadlineName;
+    }
+}
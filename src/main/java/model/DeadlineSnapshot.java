@@ -0,0 +1,753 @@
+package model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TimeZone;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @overview
+ * This class represents the deadlines of a DeadlineStore at one moment. A snapshot
+ * never changes, so a reader such as a save or a report can walk it on any thread
+ * while the store goes on changing. Taking a snapshot does not copy anything.
+ *
+ * @abstract_function
+ * a DeadlineSnapshot is a persistent map course name -> persistent map deadline name
+ * -> deadline, with the same deadlines also indexed by due time and by status. The
+ * snapshot after a change shares every course and every node that the change did
+ * not touch with the snapshot before it.
+ *
+ * @abstract_fields
+ * version -> increases by one with every change of the store
+ * courses -> course name -> deadline name -> the deadline object
+ * byTime -> every deadline, ascending by due time
+ * byStatus -> status -> the deadlines with the status, ascending by due time; a
+ *             deadline loaded without a status is kept under ""
+ * recurring -> course name -> series name -> the series of recurring deadlines; their
+ *              occurrences are not in the maps above, but they are made and merged
+ *              in by the observers which return the deadlines due in a range of time
+ * archive -> the deadlines which passed long ago, kept as columns instead of in the
+ *            maps above; the observers make the objects of the ones they return
+ *
+ * @creators
+ * DeadlineSnapshot empty()
+ * DeadlineSnapshot of(Map<String, Course> courses)
+ *
+ * @mutator
+ * This class is immutable
+ *
+ * @observers
+ * long getVersion()
+ * int size()
+ * int getArchivedCount()
+ * int getCourseCount()
+ * boolean containsCourse(String courseName)
+ * Set<String> getCourseNames()
+ * Map<String, Deadline> getDeadlines(String courseName)
+ * Deadline get(DeadlineKey key)
+ * int getRecurringCount()
+ * Map<String, RecurringDeadline> getRecurring(String courseName)
+ * RecurringDeadline getRecurring(DeadlineKey key)
+ * List<Deadline> getUpcoming(long now)
+ * List<Deadline> getPast(long now)
+ * List<Deadline> getAll(long now)
+ * List<Deadline> getBetween(long fromMinute, long toMinute)
+ * List<Deadline> getMonth(int year, int month)
+ * Deadline getClosest(long now, Collection<String> ignoredCourses, Collection<String> ignoredStatuses)
+ * ConcurrentHashMap<String, Course> toCourses()
+ *
+ * @representation_invariant
+ * every deadline d in courses.get(c) satisfies d.getCourseName().equals(c) &&
+ * byTime and the union of byStatus contain exactly the deadlines of courses &&
+ * no map of byStatus is empty &&
+ * every course of recurring is in courses && no map of recurring is empty &&
+ * every course of archive is in courses && no key is both in courses and in archive
+ */
+public final class DeadlineSnapshot {
+    /** RECURRING_HORIZON: the minutes after now in which getAll() lists the occurrences of recurring deadlines */
+    public static final long RECURRING_HORIZON = 28 * 24 * 60L;
+    private static final long MINUTES_PER_DAY = 24 * 60L;
+    private static final DeadlineSnapshot EMPTY = new DeadlineSnapshot(0, PersistentSortedMap.empty(),
+            PersistentSortedMap.empty(), PersistentSortedMap.empty(), PersistentSortedMap.empty(),
+            DeadlineArchive.empty());
+
+    private final long version;
+    private final PersistentSortedMap<String, PersistentSortedMap<String, Deadline>> courses;
+    private final PersistentSortedMap<Deadline, Deadline> byTime;
+    private final PersistentSortedMap<String, PersistentSortedMap<Deadline, Deadline>> byStatus;
+    private final PersistentSortedMap<String, PersistentSortedMap<String, RecurringDeadline>> recurring;
+    private final DeadlineArchive archive;
+
+    /**
+     * Constructor
+     * @param version the version number
+     * @param courses the courses
+     * @param byTime the time index
+     * @param byStatus the status index
+     * @param recurring the recurring deadlines
+     * @param archive the archived deadlines
+     * @requires no argument is null
+     * @modifies version, courses, byTime, byStatus, recurring, archive
+     * @effects create a new snapshot
+     */
+    private DeadlineSnapshot(long version, PersistentSortedMap<String, PersistentSortedMap<String, Deadline>> courses,
+                             PersistentSortedMap<Deadline, Deadline> byTime,
+                             PersistentSortedMap<String, PersistentSortedMap<Deadline, Deadline>> byStatus,
+                             PersistentSortedMap<String, PersistentSortedMap<String, RecurringDeadline>> recurring,
+                             DeadlineArchive archive) {
+        this.version = version;
+        this.courses = courses;
+        this.byTime = byTime;
+        this.byStatus = byStatus;
+        this.recurring = recurring;
+        this.archive = archive;
+    }
+
+    /**
+     * This function returns the snapshot without any course
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return an empty snapshot of version 0
+     */
+    public static DeadlineSnapshot empty() {
+        return EMPTY;
+    }
+
+    /**
+     * This function creates a snapshot of some courses
+     * @param courses a <course_name, course_object> map
+     * @requires courses != null
+     * @modifies None
+     * @effects None
+     * @return a snapshot of version 0
+     */
+    public static DeadlineSnapshot of(Map<String, Course> courses) {
+        DeadlineSnapshot snapshot = EMPTY;
+        for (Course course : courses.values()) {
+            snapshot = snapshot.plusCourse(course.getCourseName());
+            for (Deadline deadline : course.getDeadlines().values()) {
+                snapshot = snapshot.plus(deadline);
+            }
+        }
+        return snapshot;
+    }
+
+    /**
+     * This function returns a snapshot with a deadline added, or replacing the
+     * deadline with the same key
+     * @param deadline the deadline object
+     * @requires deadline != null
+     * @modifies None
+     * @effects None
+     * @return a snapshot of the same version
+     */
+    DeadlineSnapshot plus(Deadline deadline) {
+        PersistentSortedMap<String, Deadline> course = this.courses.get(deadline.getCourseName());
+        if (course == null) {
+            course = PersistentSortedMap.empty();
+        }
+        PersistentSortedMap<Deadline, Deadline> newByTime = this.byTime;
+        PersistentSortedMap<String, PersistentSortedMap<Deadline, Deadline>> newByStatus = this.byStatus;
+        DeadlineArchive newArchive = this.archive;
+        Deadline old = course.get(deadline.getName());
+        if (old != null) {
+            newByTime = newByTime.minus(old);
+            newByStatus = minusPosting(newByStatus, old);
+        } else {
+            // a deadline which is put again lives in the maps until it is archived again
+            newArchive = newArchive.minus(DeadlineKey.of(deadline));
+        }
+        PersistentSortedMap<Deadline, Deadline> posting = newByStatus.get(statusKey(deadline));
+        if (posting == null) {
+            posting = PersistentSortedMap.empty();
+        }
+        return new DeadlineSnapshot(this.version,
+                this.courses.plus(deadline.getCourseName(), course.plus(deadline.getName(), deadline)),
+                newByTime.plus(deadline, deadline),
+                newByStatus.plus(statusKey(deadline), posting.plus(deadline, deadline)), this.recurring, newArchive);
+    }
+
+    /**
+     * This function returns the key of a deadline in the status index
+     * @param deadline the deadline object
+     * @requires deadline != null
+     * @modifies None
+     * @effects None
+     * @return the status, or "" if the deadline has none
+     */
+    private static String statusKey(Deadline deadline) {
+        return (deadline.getStatus() == null) ? "" : deadline.getStatus();
+    }
+
+    /**
+     * This function returns a deadline which is not greater than any deadline due at
+     * or after a given minute, to be used as a bound of a range of the indexes
+     * @param minute the epoch minute
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the first possible deadline of the minute
+     */
+    private static Deadline bound(long minute) {
+        return new Deadline(new CalendarWrapper(minute, TimeZone.getDefault()), "", "",
+                Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+    }
+
+    /**
+     * This function removes a deadline from the status index and drops its posting
+     * once it is empty
+     * @param byStatus the status index
+     * @param deadline the stored deadline object
+     * @requires byStatus != null, deadline != null
+     * @modifies None
+     * @effects None
+     * @return the new status index
+     */
+    private static PersistentSortedMap<String, PersistentSortedMap<Deadline, Deadline>> minusPosting(
+            PersistentSortedMap<String, PersistentSortedMap<Deadline, Deadline>> byStatus, Deadline deadline) {
+        String key = statusKey(deadline);
+        PersistentSortedMap<Deadline, Deadline> posting = byStatus.get(key);
+        if (posting == null) {
+            return byStatus;
+        }
+        posting = posting.minus(deadline);
+        return posting.isEmpty() ? byStatus.minus(key) : byStatus.plus(key, posting);
+    }
+
+    /**
+     * This function returns a snapshot without a deadline. The course is kept even
+     * if it has no deadline left.
+     * @param key the key of the deadline
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return a snapshot of the same version, or this if there is no such deadline
+     */
+    DeadlineSnapshot minus(DeadlineKey key) {
+        PersistentSortedMap<String, Deadline> course = this.courses.get(key.getCourseName());
+        Deadline old = (course == null) ? null : course.get(key.getDeadlineName());
+        if (old == null) {
+            DeadlineArchive newArchive = this.archive.minus(key);
+            return (newArchive == this.archive) ? this : new DeadlineSnapshot(this.version, this.courses,
+                    this.byTime, this.byStatus, this.recurring, newArchive);
+        }
+        return new DeadlineSnapshot(this.version,
+                this.courses.plus(key.getCourseName(), course.minus(key.getDeadlineName())),
+                this.byTime.minus(old), minusPosting(this.byStatus, old), this.recurring, this.archive);
+    }
+
+    /**
+     * This function returns a snapshot with a series of recurring deadlines added, or
+     * replacing the series with the same key. The course must exist.
+     * @param series the series
+     * @requires series != null && containsCourse(series.getCourseName())
+     * @modifies None
+     * @effects None
+     * @return a snapshot of the same version
+     */
+    DeadlineSnapshot plusRecurring(RecurringDeadline series) {
+        PersistentSortedMap<String, RecurringDeadline> course = this.recurring.get(series.getCourseName());
+        if (course == null) {
+            course = PersistentSortedMap.empty();
+        }
+        return new DeadlineSnapshot(this.version, this.courses, this.byTime, this.byStatus,
+                this.recurring.plus(series.getCourseName(), course.plus(series.getName(), series)), this.archive);
+    }
+
+    /**
+     * This function returns a snapshot without a series of recurring deadlines
+     * @param key the key of the series
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return a snapshot of the same version, or this if there is no such series
+     */
+    DeadlineSnapshot minusRecurring(DeadlineKey key) {
+        PersistentSortedMap<String, RecurringDeadline> course = this.recurring.get(key.getCourseName());
+        if (course == null || !course.containsKey(key.getDeadlineName())) {
+            return this;
+        }
+        course = course.minus(key.getDeadlineName());
+        return new DeadlineSnapshot(this.version, this.courses, this.byTime, this.byStatus,
+                course.isEmpty() ? this.recurring.minus(key.getCourseName())
+                        : this.recurring.plus(key.getCourseName(), course), this.archive);
+    }
+
+    /**
+     * This function returns a snapshot with a course added
+     * @param courseName the name of the course
+     * @requires courseName != null
+     * @modifies None
+     * @effects None
+     * @return a snapshot of the same version, or this if the course exists
+     */
+    DeadlineSnapshot plusCourse(String courseName) {
+        if (this.courses.containsKey(courseName)) {
+            return this;
+        }
+        return new DeadlineSnapshot(this.version,
+                this.courses.plus(courseName, PersistentSortedMap.<String, Deadline>empty()), this.byTime,
+                this.byStatus, this.recurring, this.archive);
+    }
+
+    /**
+     * This function returns a snapshot with a course and all of its deadlines,
+     * archived deadlines and recurring deadlines removed
+     * @param courseName the name of the course
+     * @requires courseName != null
+     * @modifies None
+     * @effects None
+     * @return a snapshot of the same version, or this if there is no such course
+     */
+    DeadlineSnapshot minusCourse(String courseName) {
+        PersistentSortedMap<String, Deadline> course = this.courses.get(courseName);
+        if (course == null) {
+            return this;
+        }
+        DeadlineSnapshot snapshot = this;
+        for (Deadline deadline : course.values()) {
+            snapshot = snapshot.minus(DeadlineKey.of(deadline));
+        }
+        return new DeadlineSnapshot(this.version, this.courses.minus(courseName), snapshot.byTime,
+                snapshot.byStatus, this.recurring.minus(courseName), this.archive.minusCourse(courseName));
+    }
+
+    /**
+     * This function returns a snapshot with the deadlines which are due before a
+     * cutoff moved from the maps to the archive. The snapshot holds the same
+     * deadlines as before, so the version is not changed.
+     * @param cutoff the epoch minute before which deadlines are archived
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a snapshot of the same version, or this if no deadline is due before cutoff
+     */
+    DeadlineSnapshot archive(long cutoff) {
+        List<Deadline> passed = new ArrayList<>();
+        for (Deadline deadline : this.byTime.keySet()) {
+            if (deadline.getEpochMinute() >= cutoff) {
+                break;
+            }
+            passed.add(deadline);
+        }
+        if (passed.isEmpty()) {
+            return this;
+        }
+        DeadlineSnapshot snapshot = this;
+        for (Deadline deadline : passed) {
+            snapshot = snapshot.minus(DeadlineKey.of(deadline));
+        }
+        return new DeadlineSnapshot(this.version, snapshot.courses, snapshot.byTime, snapshot.byStatus,
+                this.recurring, this.archive.plus(passed));
+    }
+
+    /**
+     * This function returns the same snapshot with the next version number
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a snapshot whose version is one higher
+     */
+    DeadlineSnapshot nextVersion() {
+        return new DeadlineSnapshot(this.version + 1, this.courses, this.byTime, this.byStatus, this.recurring,
+                this.archive);
+    }
+
+    /**
+     * This function returns the version number. A later snapshot of the same store
+     * has a higher version if and only if the store was changed in between.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return version
+     */
+    public long getVersion() {
+        return this.version;
+    }
+
+    /**
+     * This function returns the number of deadlines
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of deadlines
+     */
+    public int size() {
+        return this.byTime.size() + this.archive.size();
+    }
+
+    /**
+     * This function returns the number of deadlines which are archived. They are
+     * counted by size() as well.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of archived deadlines
+     */
+    public int getArchivedCount() {
+        return this.archive.size();
+    }
+
+    /**
+     * This function returns the number of courses
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of courses
+     */
+    public int getCourseCount() {
+        return this.courses.size();
+    }
+
+    /**
+     * This function checks whether a course exists
+     * @param courseName the name of the course
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if the course exists
+     */
+    public boolean containsCourse(String courseName) {
+        return this.courses.containsKey(courseName);
+    }
+
+    /**
+     * This function returns the names of every course
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a read-only set of course names in ascending order
+     */
+    public Set<String> getCourseNames() {
+        return Collections.unmodifiableSet(this.courses.keySet());
+    }
+
+    /**
+     * This function returns the deadlines of a course
+     * @param courseName the name of the course
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a read-only <deadline_name, deadline_object> map in ascending order of
+     * names; empty if there is no such course. The archived deadlines of the course
+     * are made for this call, so a course with archived deadlines takes O(n) time.
+     */
+    public Map<String, Deadline> getDeadlines(String courseName) {
+        PersistentSortedMap<String, Deadline> course = this.courses.get(courseName);
+        if (course == null) {
+            return Collections.emptyMap();
+        }
+        List<Deadline> archived = this.archive.getCourse(courseName);
+        if (archived.isEmpty()) {
+            return course;
+        }
+        TreeMap<String, Deadline> merged = new TreeMap<>(course);
+        for (Deadline deadline : archived) {
+            merged.put(deadline.getName(), deadline);
+        }
+        return Collections.unmodifiableSortedMap(merged);
+    }
+
+    /**
+     * This function returns the deadline with a key
+     * @param key the key of the deadline
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return the deadline, or null if there is no such deadline; an archived
+     * deadline is a new object every time
+     */
+    public Deadline get(DeadlineKey key) {
+        PersistentSortedMap<String, Deadline> course = this.courses.get(key.getCourseName());
+        Deadline deadline = (course == null) ? null : course.get(key.getDeadlineName());
+        return (deadline != null || this.archive.isEmpty()) ? deadline : this.archive.get(key);
+    }
+
+    /**
+     * This function returns the number of series of recurring deadlines
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of series
+     */
+    public int getRecurringCount() {
+        int count = 0;
+        for (PersistentSortedMap<String, RecurringDeadline> course : this.recurring.values()) {
+            count += course.size();
+        }
+        return count;
+    }
+
+    /**
+     * This function returns the series of recurring deadlines of a course
+     * @param courseName the name of the course
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a read-only <series_name, series> map in ascending order of names;
+     * empty if the course has none
+     */
+    public Map<String, RecurringDeadline> getRecurring(String courseName) {
+        PersistentSortedMap<String, RecurringDeadline> course = this.recurring.get(courseName);
+        return (course == null) ? Collections.emptyMap() : course;
+    }
+
+    /**
+     * This function returns the series of recurring deadlines with a key
+     * @param key the key of the series
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return the series, or null if there is no such series
+     */
+    public RecurringDeadline getRecurring(DeadlineKey key) {
+        return this.getRecurring(key.getCourseName()).get(key.getDeadlineName());
+    }
+
+    /**
+     * This function returns the occurrences of every series which are due in a range
+     * of time
+     * @param fromMinute the first epoch minute of the range
+     * @param toMinute the epoch minute right after the range
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new list of occurrences in no particular order
+     */
+    private List<Deadline> getOccurrences(long fromMinute, long toMinute) {
+        List<Deadline> list = new ArrayList<>();
+        for (PersistentSortedMap<String, RecurringDeadline> course : this.recurring.values()) {
+            for (RecurringDeadline series : course.values()) {
+                list.addAll(series.getBetween(fromMinute, toMinute));
+            }
+        }
+        return list;
+    }
+
+    /**
+     * This function returns the upcoming deadlines ascending by due time. The
+     * occurrences of recurring deadlines are listed for the next RECURRING_HORIZON
+     * minutes only. No archived deadline is made unless it is due after now.
+     * @param now the epoch minute that splits upcoming deadlines from past ones
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new list of the deadlines d with d.getEpochMinute() > now
+     */
+    public List<Deadline> getUpcoming(long now) {
+        List<Deadline> list = new ArrayList<>(this.byTime.size());
+        Iterator<Map.Entry<Deadline, Deadline>> upcoming = this.byTime.iteratorFrom(bound(now + 1));
+        while (upcoming.hasNext()) {
+            list.add(upcoming.next().getKey());
+        }
+        List<Deadline> archived = this.archive.getBetween(now + 1, Long.MAX_VALUE);
+        list.addAll(archived);
+        if (!this.recurring.isEmpty()) {
+            // the range starts at the beginning of the day, so it is the same all day
+            long from = Math.floorDiv(now, MINUTES_PER_DAY) * MINUTES_PER_DAY;
+            List<Deadline> occurrences = this.getOccurrences(from, from + MINUTES_PER_DAY + RECURRING_HORIZON);
+            occurrences.removeIf(d -> d.getEpochMinute() <= now || d.getEpochMinute() > now + RECURRING_HORIZON);
+            list.addAll(occurrences);
+        }
+        if (!archived.isEmpty() || !this.recurring.isEmpty()) {
+            Collections.sort(list);
+        }
+        return list;
+    }
+
+    /**
+     * This function returns the past deadlines ascending by due time. The archived
+     * ones are made for this call.
+     * @param now the epoch minute that splits upcoming deadlines from past ones
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new list of the deadlines d with d.getEpochMinute() <= now
+     */
+    public List<Deadline> getPast(long now) {
+        List<Deadline> list = this.archive.getBetween(Long.MIN_VALUE, now + 1);
+        int archived = list.size();
+        Deadline split = bound(now + 1);
+        for (Deadline deadline : this.byTime.keySet()) {
+            if (deadline.compareTo(split) >= 0) {
+                break;
+            }
+            list.add(deadline);
+        }
+        // a deadline which was put again after it was archived may be older than the archive
+        if (archived > 0 && list.size() > archived) {
+            Collections.sort(list);
+        }
+        return list;
+    }
+
+    /**
+     * This function returns every deadline: the upcoming deadlines first and then the
+     * past deadlines, each group ascending by due time. The occurrences of recurring
+     * deadlines are listed for the next RECURRING_HORIZON minutes only.
+     * @param now the epoch minute that splits upcoming deadlines from past ones
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new list of deadlines
+     * @see #getUpcoming(long)
+     * @see #getPast(long)
+     */
+    public List<Deadline> getAll(long now) {
+        List<Deadline> list = this.getUpcoming(now);
+        list.addAll(this.getPast(now));
+        return list;
+    }
+
+    /**
+     * This function returns the deadlines and the occurrences of recurring deadlines
+     * which are due in a range of time, ascending by due time. Only the archived
+     * deadlines in the range are made, e.g. when the calendar pages to an old month.
+     * @param fromMinute the first epoch minute of the range
+     * @param toMinute the epoch minute right after the range
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new list of the deadlines d with fromMinute <= d.getEpochMinute() < toMinute
+     */
+    public List<Deadline> getBetween(long fromMinute, long toMinute) {
+        List<Deadline> list = new ArrayList<>();
+        if (toMinute <= fromMinute) {
+            return list;
+        }
+        Iterator<Map.Entry<Deadline, Deadline>> iterator = this.byTime.iteratorFrom(bound(fromMinute));
+        while (iterator.hasNext()) {
+            Deadline deadline = iterator.next().getKey();
+            if (deadline.getEpochMinute() >= toMinute) {
+                break;
+            }
+            list.add(deadline);
+        }
+        List<Deadline> archived = this.archive.getBetween(fromMinute, toMinute);
+        list.addAll(archived);
+        if (!this.recurring.isEmpty()) {
+            list.addAll(this.getOccurrences(fromMinute, toMinute));
+        }
+        if (!archived.isEmpty() || !this.recurring.isEmpty()) {
+            Collections.sort(list);
+        }
+        return list;
+    }
+
+    /**
+     * This function returns the deadlines which are due in a month of the default time
+     * zone, ascending by due time
+     * @param year the year number
+     * @param month the month number of a year, starts from 1 (Jan)
+     * @requires 1 <= month <= 12
+     * @modifies None
+     * @effects None
+     * @return a new list of deadlines
+     */
+    public List<Deadline> getMonth(int year, int month) {
+        long from = new CalendarWrapper(year, month, 1, 0, 0).getEpochMinute();
+        long to = (month == CalendarWrapper.DECEMBER)
+                ? new CalendarWrapper(year + 1, CalendarWrapper.JANUARY, 1, 0, 0).getEpochMinute()
+                : new CalendarWrapper(year, month + 1, 1, 0, 0).getEpochMinute();
+        return this.getBetween(from, to);
+    }
+
+    /**
+     * This function returns the closest upcoming deadline. Only the postings of the
+     * statuses which are not ignored are searched, each from now on, and only the next
+     * occurrence of every recurring deadline is made.
+     * @param now the current epoch minute
+     * @param ignoredCourses the names of the courses to skip
+     * @param ignoredStatuses the statuses to skip
+     * @requires ignoredCourses != null, ignoredStatuses != null
+     * @modifies None
+     * @effects None
+     * @return the closest upcoming deadline, or null if there is none
+     */
+    public Deadline getClosest(long now, Collection<String> ignoredCourses, Collection<String> ignoredStatuses) {
+        Deadline from = bound(now + 1);
+        Deadline closest = null;
+        for (Map.Entry<String, PersistentSortedMap<Deadline, Deadline>> posting : this.byStatus.entrySet()) {
+            if (ignoredStatuses.contains(posting.getKey())) {
+                continue;
+            }
+            Iterator<Map.Entry<Deadline, Deadline>> iterator = posting.getValue().iteratorFrom(from);
+            while (iterator.hasNext()) {
+                Deadline deadline = iterator.next().getKey();
+                if (closest != null && deadline.compareTo(closest) >= 0) {
+                    break;
+                }
+                if (!ignoredCourses.contains(deadline.getCourseName())) {
+                    closest = deadline;
+                    break;
+                }
+            }
+        }
+        for (Map.Entry<String, PersistentSortedMap<String, RecurringDeadline>> course : this.recurring.entrySet()) {
+            if (ignoredCourses.contains(course.getKey())) {
+                continue;
+            }
+            for (RecurringDeadline series : course.getValue().values()) {
+                if (ignoredStatuses.contains(statusKey(series.getFirst()))) {
+                    continue;
+                }
+                Deadline next = series.getNext(now);
+                if (next != null && (closest == null || next.compareTo(closest) < 0)) {
+                    closest = next;
+                }
+            }
+        }
+        for (Deadline deadline : this.archive.getBetween(now + 1, Long.MAX_VALUE)) {
+            if (closest != null && deadline.compareTo(closest) >= 0) {
+                break;
+            }
+            if (!ignoredCourses.contains(deadline.getCourseName())
+                    && !ignoredStatuses.contains(statusKey(deadline))) {
+                closest = deadline;
+                break;
+            }
+        }
+        return closest;
+    }
+
+    /**
+     * This function copies the snapshot into course objects for code that changes
+     * them. It takes O(n) time and makes every archived deadline, so readers should
+     * use the observers above instead. Recurring deadlines are not copied.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new <course_name, course_object> map
+     */
+    public ConcurrentHashMap<String, Course> toCourses() {
+        ConcurrentHashMap<String, Course> copy = new ConcurrentHashMap<>();
+        for (String courseName : this.courses.keySet()) {
+            Course course = new Course(courseName);
+            for (Map.Entry<String, Deadline> deadline : this.getDeadlines(courseName).entrySet()) {
+                course.addDeadline(deadline.getKey(), deadline.getValue());
+            }
+            copy.put(courseName, course);
+        }
+        return copy;
+    }
+
+    /**
+     * Returns a string representation of the object.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a string representation of the object.
+     */
+    @Override
+    public String toString() {
+        return "DeadlineSnapshot {version=" + version + ", courses=" + courses.size() + ", size=" + size() +
+                ", archived=" + archive.size() + ", recurring=" + getRecurringCount() + '}';
+    }
+}
@@ -0,0 +1,87 @@
+package model;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @overview
+ * This enum lists the statuses a deadline may have on Submitty. Every status maps to
+ * the Deadline.STATUS string which is shown and saved, and back. A deadline stores
+ * the Deadline.STATUS constant itself instead of the string it was read from, so the
+ * status of every deadline is one of a few shared strings.
+ *
+ * @abstract_fields
+ * text -> the Deadline.STATUS string of the status
+ *
+ * @observers
+ * String getText()
+ * static DeadlineStatus of(String text)
+ */
+public enum DeadlineStatus {
+    DEFAULT(Deadline.STATUS.DEFAULT),
+    FINISHED(Deadline.STATUS.FINISHED),
+    RESUBMIT(Deadline.STATUS.RESUBMIT),
+    LATE_SUBMIT(Deadline.STATUS.LATE_SUBMIT),
+    LATE_RESUBMIT(Deadline.STATUS.LATE_RESUBMIT),
+    OVERDUE_SUBMISSION(Deadline.STATUS.OVERDUE_SUBMISSION),
+    NO_SUBMISSION(Deadline.STATUS.NO_SUBMISSION),
+    MUST_ON_TEAM(Deadline.STATUS.MUST_ON_TEAM);
+
+    private static final Map<String, DeadlineStatus> BY_TEXT = new HashMap<>();
+
+    static {
+        for (DeadlineStatus status: values()) {
+            BY_TEXT.put(status.text, status);
+        }
+    }
+
+    private final String text;
+
+    /**
+     * Constructor
+     * @param text the Deadline.STATUS string
+     * @requires text != null
+     * @modifies text
+     * @effects create a status
+     */
+    DeadlineStatus(String text) {
+        this.text = text;
+    }
+
+    /**
+     * This function returns the string of the status
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the Deadline.STATUS constant
+     */
+    public String getText() {
+        return this.text;
+    }
+
+    /**
+     * This function returns the status of a string
+     * @param text a status string, e.g. "FINISHED"
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the status; null if the string is null or not a Deadline.STATUS string
+     */
+    public static DeadlineStatus of(String text) {
+        return (text == null) ? null : BY_TEXT.get(text);
+    }
+
+    /**
+     * This function returns the shared copy of a status string: the Deadline.STATUS
+     * constant if there is one, or else the copy in StringTable.STATUSES
+     * @param text a status string
+     * @requires None
+     * @modifies StringTable.STATUSES
+     * @effects share the string if it is not a constant
+     * @return a string equal to text; null for null
+     */
+    static String share(String text) {
+        DeadlineStatus status = of(text);
+        return (status != null) ? status.text : StringTable.STATUSES.share(text);
+    }
+}
@@ -0,0 +1,653 @@
+package model;
+
+import javafx.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+/**
+ * @overview
+ * This class represents the one place where the deadlines of the program are kept.
+ * The controller changes it, and every view listens to its changes instead of keeping
+ * a copy of the deadlines.
+ *
+ * @abstract_function
+ * a DeadlineStore maps the key (course name, deadline name) of every deadline to the
+ * deadline object. The deadlines are grouped into courses, which may also be empty, and
+ * indexed by due time and status. Every call of a mutator that changes the store
+ * publishes a new DeadlineSnapshot with the next version number and notifies every
+ * listener once with all of its changes.
+ *
+ * The mutators are serialized by the lock of the store; the GUI sends all of them
+ * through one ModelWriter thread, so the lock is never contended. The observers only
+ * read the current snapshot and never take the lock, so they can be called from any
+ * thread while the store is being changed.
+ *
+ * rebalance() moves the deadlines which passed more than ARCHIVE_AFTER minutes ago
+ * to the archive of the snapshot, where they are kept as columns and are only made
+ * into objects when they are read, so the objects kept grow with the upcoming
+ * deadlines and not with every deadline of past semesters.
+ *
+ * @abstract_fields
+ * snapshot -> the current immutable view of every course and deadline
+ * now -> the epoch minute that splits upcoming deadlines from past ones
+ * listeners -> the listeners that are notified of every change, each with the
+ *              executor it is called on
+ *
+ * @creators
+ * DeadlineStore(CalendarWrapper now)
+ *
+ * @mutator
+ * Change put(Deadline deadline)
+ * Change putAll(Collection<Deadline> deadlines)
+ * Change putRecurring(Collection<RecurringDeadline> series)
+ * Deadline remove(DeadlineKey key)
+ * boolean addCourse(String courseName)
+ * int rebalance(CalendarWrapper now)
+ * addListener(Listener listener)
+ * addListener(Listener listener, Executor executor)
+ * removeListener(Listener listener)
+ *
+ * @observers
+ * Deadline get(DeadlineKey key)
+ * int size()
+ * DeadlineSnapshot getSnapshot()
+ * ConcurrentHashMap<String, Course> getCourses()
+ * Set<String> getCourseNames()
+ * List<Deadline> getAll()
+ * List<Deadline> getMonth(int year, int month)
+ * Deadline getClosest(Collection<String> ignoredCourses, Collection<String> ignoredStatuses)
+ *
+ * @representation_invariant
+ * snapshot != null
+ */
+public class DeadlineStore {
+    /** ARCHIVE_AFTER: the minutes after its due time a deadline is moved to the archive */
+    public static final long ARCHIVE_AFTER = 7 * 24 * 60L;
+
+    /**
+     * A listener of the changes of a DeadlineStore. It is called on the executor it
+     * was added with; by default on the thread that changed the store, while the store
+     * is locked. Either way the changes arrive in order as long as the executor keeps
+     * the order of its tasks.
+     */
+    public interface Listener {
+        /**
+         * This method is called after the store was changed
+         * @param change the changes
+         * @requires change != null && !change.isEmpty()
+         * @modifies None
+         * @effects None
+         */
+        void storeChanged(Change change);
+    }
+
+    /**
+     * @overview
+     * This class represents the changes made by one call of a mutator of the store. A
+     * listener should apply the removed deadlines first, then the added ones and then
+     * the updated ones, since a batch may add a deadline and update it again.
+     *
+     * @abstract_fields
+     * added -> deadlines whose keys were not in the store
+     * updated -> <old deadline, new deadline> pairs of deadlines whose due time,
+     *            status or link was changed
+     * removed -> deadlines that were removed
+     * addedCourses -> names of courses that were created
+     * removedCourses -> names of courses that were removed
+     * addedRecurring -> series of recurring deadlines that were added; a series which
+     *                   was replaced is also in removedRecurring
+     * removedRecurring -> series of recurring deadlines that were removed
+     * snapshot -> the snapshot that was published with the changes
+     */
+    public static final class Change {
+        private final DeadlineSnapshot snapshot;
+        private final List<Deadline> added;
+        private final List<Pair<Deadline, Deadline>> updated;
+        private final List<Deadline> removed;
+        private final List<String> addedCourses;
+        private final List<String> removedCourses;
+        private final List<RecurringDeadline> addedRecurring;
+        private final List<RecurringDeadline> removedRecurring;
+
+        /**
+         * Constructor
+         * @param snapshot the snapshot after the changes
+         * @param added deadlines that are new
+         * @param updated <old deadline, new deadline> pairs
+         * @param removed deadlines that were removed
+         * @param addedCourses names of new courses
+         * @param removedCourses names of removed courses
+         * @param addedRecurring series that were added
+         * @param removedRecurring series that were removed
+         * @requires no argument is null
+         * @modifies snapshot, added, updated, removed, addedCourses, removedCourses,
+         *           addedRecurring, removedRecurring
+         * @effects create a new Change
+         */
+        private Change(DeadlineSnapshot snapshot, List<Deadline> added, List<Pair<Deadline, Deadline>> updated, List<Deadline> removed,
+                       List<String> addedCourses, List<String> removedCourses,
+                       List<RecurringDeadline> addedRecurring, List<RecurringDeadline> removedRecurring) {
+            this.snapshot = snapshot;
+            this.added = Collections.unmodifiableList(added);
+            this.updated = Collections.unmodifiableList(updated);
+            this.removed = Collections.unmodifiableList(removed);
+            this.addedCourses = Collections.unmodifiableList(addedCourses);
+            this.removedCourses = Collections.unmodifiableList(removedCourses);
+            this.addedRecurring = Collections.unmodifiableList(addedRecurring);
+            this.removedRecurring = Collections.unmodifiableList(removedRecurring);
+        }
+
+        /**
+         * This function returns the snapshot that was published with the changes. A
+         * listener which is called later than the change, e.g. on another thread, can
+         * compare its version with the version it last showed.
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the snapshot after the changes
+         */
+        public DeadlineSnapshot getSnapshot() {
+            return this.snapshot;
+        }
+
+        /**
+         * This function returns the deadlines that are new
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of new deadlines
+         */
+        public List<Deadline> getAdded() {
+            return this.added;
+        }
+
+        /**
+         * This function returns the deadlines that were updated
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of <old deadline, new deadline> pairs
+         */
+        public List<Pair<Deadline, Deadline>> getUpdated() {
+            return this.updated;
+        }
+
+        /**
+         * This function returns the deadlines that were removed
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of removed deadlines
+         */
+        public List<Deadline> getRemoved() {
+            return this.removed;
+        }
+
+        /**
+         * This function returns the names of the courses that were created
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of course names
+         */
+        public List<String> getAddedCourses() {
+            return this.addedCourses;
+        }
+
+        /**
+         * This function returns the names of the courses that were removed
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of course names
+         */
+        public List<String> getRemovedCourses() {
+            return this.removedCourses;
+        }
+
+        /**
+         * This function returns the series of recurring deadlines that were added
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of series
+         */
+        public List<RecurringDeadline> getAddedRecurring() {
+            return this.addedRecurring;
+        }
+
+        /**
+         * This function returns the series of recurring deadlines that were removed
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a read-only list of series
+         */
+        public List<RecurringDeadline> getRemovedRecurring() {
+            return this.removedRecurring;
+        }
+
+        /**
+         * This function checks whether a series of recurring deadlines was changed.
+         * A view cannot tell which of its occurrences changed, so it should show the
+         * deadlines of its range of time again.
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return true if a series was added or removed
+         */
+        public boolean isRecurringChanged() {
+            return !this.addedRecurring.isEmpty() || !this.removedRecurring.isEmpty();
+        }
+
+        /**
+         * This function returns the number of deadlines that were added, updated or
+         * removed
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return the number of changed deadlines
+         */
+        public int size() {
+            return this.added.size() + this.updated.size() + this.removed.size();
+        }
+
+        /**
+         * This function checks whether nothing was changed
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return true if no deadline, no course and no series was changed
+         */
+        public boolean isEmpty() {
+            return this.size() == 0 && this.addedCourses.isEmpty() && this.removedCourses.isEmpty()
+                    && !this.isRecurringChanged();
+        }
+
+        /**
+         * Returns a string representation of the object.
+         * @requires None
+         * @modifies None
+         * @effects None
+         * @return a string representation of the object.
+         */
+        @Override
+        public String toString() {
+            return "Change {" +
+                    "added=" + added.size() +
+                    ", updated=" + updated.size() +
+                    ", removed=" + removed.size() +
+                    ", addedCourses=" + addedCourses +
+                    ", removedCourses=" + removedCourses +
+                    ", addedRecurring=" + addedRecurring.size() +
+                    ", removedRecurring=" + removedRecurring.size() + '}';
+        }
+    }
+
+    /**
+     * A listener with the executor it is called on
+     */
+    private static final class Registration {
+        private final Listener listener;
+        private final Executor executor;
+
+        private Registration(Listener listener, Executor executor) {
+            this.listener = listener;
+            this.executor = executor;
+        }
+    }
+
+    private volatile DeadlineSnapshot snapshot;
+    private volatile long now;
+    private final CopyOnWriteArrayList<Registration> listeners;
+
+    /**
+     * The basic constructor of this object
+     * @param now the time that splits upcoming deadlines from past ones; null for now
+     * @requires None
+     * @modifies snapshot, now, listeners
+     * @effects create a new empty store
+     */
+    public DeadlineStore(CalendarWrapper now) {
+        this.snapshot = DeadlineSnapshot.empty();
+        this.now = ((now == null) ? CalendarWrapper.now() : now).getEpochMinute();
+        this.listeners = new CopyOnWriteArrayList<>();
+    }
+
+    /**
+     * This function adds a listener which is notified of every later change on the
+     * thread that changed the store
+     * @param listener the listener
+     * @requires listener != null
+     * @modifies listeners
+     * @effects add the listener
+     */
+    public void addListener(Listener listener) {
+        this.addListener(listener, Runnable::run);
+    }
+
+    /**
+     * This function adds a listener which is notified of every later change on an
+     * executor, e.g. SwingUtilities::invokeLater for a view
+     * @param listener the listener
+     * @param executor the executor which calls the listener
+     * @requires listener != null, executor != null
+     * @modifies listeners
+     * @effects add the listener unless it was already added
+     */
+    public synchronized void addListener(Listener listener, Executor executor) {
+        for (Registration registration : this.listeners) {
+            if (registration.listener == listener) {
+                return;
+            }
+        }
+        this.listeners.add(new Registration(listener, executor));
+    }
+
+    /**
+     * This function removes a listener
+     * @param listener the listener
+     * @requires None
+     * @modifies listeners
+     * @effects remove the listener
+     */
+    public void removeListener(Listener listener) {
+        this.listeners.removeIf(registration -> registration.listener == listener);
+    }
+
+    /**
+     * This function adds a deadline, or replaces the deadline with the same key
+     * @param deadline the deadline object
+     * @requires deadline != null
+     * @modifies snapshot
+     * @effects add the deadline and notify the listeners
+     * @return the changes
+     */
+    public Change put(Deadline deadline) {
+        return this.putAll(Collections.singletonList(deadline));
+    }
+
+    /**
+     * This function adds a group of deadlines, replacing the deadlines with the same
+     * keys, and notifies the listeners once. A deadline which is the same as the
+     * stored one is not reported.
+     * @param deadlines the deadline objects
+     * @requires deadlines != null
+     * @modifies snapshot
+     * @effects add the deadlines and notify the listeners
+     * @return the changes
+     */
+    public synchronized Change putAll(Collection<Deadline> deadlines) {
+        List<Deadline> added = new ArrayList<>();
+        List<Pair<Deadline, Deadline>> updated = new ArrayList<>();
+        List<String> addedCourses = new ArrayList<>();
+        DeadlineSnapshot next = this.snapshot;
+        for (Deadline deadline : deadlines) {
+            if (deadline == null) {
+                continue;
+            }
+            if (!next.containsCourse(deadline.getCourseName())) {
+                next = next.plusCourse(deadline.getCourseName());
+                addedCourses.add(deadline.getCourseName());
+            }
+            Deadline old = next.get(DeadlineKey.of(deadline));
+            if (old == null) {
+                added.add(deadline);
+            } else if (CourseDelta.isModified(old, deadline)) {
+                updated.add(new Pair<>(old, deadline));
+            } else {
+                continue;
+            }
+            next = next.plus(deadline);
+        }
+        return this.publish(next, added, updated, Collections.emptyList(), addedCourses,
+                Collections.emptyList(), Collections.emptyList(), Collections.emptyList());
+    }
+
+    /**
+     * This function adds a group of series of recurring deadlines, replacing the
+     * series with the same keys, and notifies the listeners once. A series which is
+     * the same as the stored one is not reported.
+     * @param series the series
+     * @requires series != null
+     * @modifies snapshot
+     * @effects add the series and notify the listeners
+     * @return the changes
+     */
+    public synchronized Change putRecurring(Collection<RecurringDeadline> series) {
+        List<RecurringDeadline> added = new ArrayList<>();
+        List<RecurringDeadline> removed = new ArrayList<>();
+        List<String> addedCourses = new ArrayList<>();
+        DeadlineSnapshot next = this.snapshot;
+        for (RecurringDeadline one : series) {
+            if (one == null) {
+                continue;
+            }
+            if (!next.containsCourse(one.getCourseName())) {
+                next = next.plusCourse(one.getCourseName());
+                addedCourses.add(one.getCourseName());
+            }
+            RecurringDeadline old = next.getRecurring(one.getKey());
+            if (one.equals(old)) {
+                continue;
+            }
+            if (old != null) {
+                removed.add(old);
+            }
+            added.add(one);
+            next = next.plusRecurring(one);
+        }
+        return this.publish(next, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(),
+                addedCourses, Collections.emptyList(), added, removed);
+    }
+
+    /**
+     * This function removes a deadline and the series of recurring deadlines with the
+     * same key. Its course is removed when it has no deadline and no series left.
+     * @param key the key of the deadline
+     * @requires key != null
+     * @modifies snapshot
+     * @effects remove the deadline and the series and notify the listeners
+     * @return the removed deadline, the first occurrence of the removed series if
+     * there was no such deadline, or null if there was neither
+     */
+    public synchronized Deadline remove(DeadlineKey key) {
+        Deadline old = this.snapshot.get(key);
+        RecurringDeadline oldSeries = this.snapshot.getRecurring(key);
+        if (old == null && oldSeries == null) {
+            return null;
+        }
+        DeadlineSnapshot next = this.snapshot.minus(key).minusRecurring(key);
+        List<String> removedCourses = Collections.emptyList();
+        if (next.getDeadlines(key.getCourseName()).isEmpty() && next.getRecurring(key.getCourseName()).isEmpty()) {
+            next = next.minusCourse(key.getCourseName());
+            removedCourses = Collections.singletonList(key.getCourseName());
+        }
+        this.publish(next, Collections.emptyList(), Collections.emptyList(),
+                (old == null) ? Collections.emptyList() : Collections.singletonList(old),
+                Collections.emptyList(), removedCourses, Collections.emptyList(),
+                (oldSeries == null) ? Collections.emptyList() : Collections.singletonList(oldSeries));
+        return (old == null) ? oldSeries.getFirst() : old;
+    }
+
+    /**
+     * This function adds a course without deadlines
+     * @param courseName the name of the course
+     * @requires courseName != null
+     * @modifies snapshot
+     * @effects add the course and notify the listeners
+     * @return true if the course did not exist
+     */
+    public synchronized boolean addCourse(String courseName) {
+        if (this.snapshot.containsCourse(courseName)) {
+            return false;
+        }
+        this.publish(this.snapshot.plusCourse(courseName), Collections.emptyList(), Collections.emptyList(),
+                Collections.emptyList(), Collections.singletonList(courseName), Collections.emptyList(),
+                Collections.emptyList(), Collections.emptyList());
+        return true;
+    }
+
+    /**
+     * This function moves the clock which splits upcoming deadlines from past ones
+     * forward, and archives the deadlines which passed more than ARCHIVE_AFTER
+     * minutes ago. Archiving changes no deadline, so the version of the snapshot
+     * stays the same and the listeners are not notified.
+     * @param now the new current time; null for now
+     * @requires None
+     * @modifies now, snapshot
+     * @effects move passed deadlines to the past part and old ones to the archive
+     * @return the number of deadlines that have just passed
+     */
+    public synchronized int rebalance(CalendarWrapper now) {
+        long newNow = ((now == null) ? CalendarWrapper.now() : now).getEpochMinute();
+        this.snapshot = this.snapshot.archive(newNow - ARCHIVE_AFTER);
+        if (newNow <= this.now) {
+            return 0;
+        }
+        int moved = this.snapshot.getBetween(this.now + 1, newNow + 1).size();
+        this.now = newNow;
+        return moved;
+    }
+
+    /**
+     * This function publishes the snapshot after a change and notifies every listener
+     * @param next the snapshot with the changes applied
+     * @param added deadlines that are new
+     * @param updated <old deadline, new deadline> pairs
+     * @param removed deadlines that were removed
+     * @param addedCourses names of new courses
+     * @param removedCourses names of removed courses
+     * @param addedRecurring series that were added
+     * @param removedRecurring series that were removed
+     * @requires no argument is null
+     * @modifies snapshot
+     * @effects publish next with the next version number and notify every listener
+     * unless nothing was changed
+     * @return the changes
+     */
+    private Change publish(DeadlineSnapshot next, List<Deadline> added, List<Pair<Deadline, Deadline>> updated,
+                           List<Deadline> removed, List<String> addedCourses, List<String> removedCourses,
+                           List<RecurringDeadline> addedRecurring, List<RecurringDeadline> removedRecurring) {
+        boolean changed = !added.isEmpty() || !updated.isEmpty() || !removed.isEmpty() ||
+                !addedCourses.isEmpty() || !removedCourses.isEmpty() ||
+                !addedRecurring.isEmpty() || !removedRecurring.isEmpty();
+        if (changed) {
+            this.snapshot = next.nextVersion();
+        }
+        Change change = new Change(this.snapshot, added, updated, removed, addedCourses, removedCourses,
+                addedRecurring, removedRecurring);
+        if (changed) {
+            for (Registration registration : this.listeners) {
+                registration.executor.execute(() -> registration.listener.storeChanged(change));
+            }
+        }
+        return change;
+    }
+
+    /**
+     * This function returns the deadline with a key
+     * @param key the key of the deadline
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return the deadline, or null if there is no such deadline
+     */
+    public Deadline get(DeadlineKey key) {
+        return this.snapshot.get(key);
+    }
+
+    /**
+     * This function returns the number of deadlines
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of deadlines
+     */
+    public int size() {
+        return this.snapshot.size();
+    }
+
+    /**
+     * This function returns the current snapshot in O(1) time without locking. The
+     * snapshot can be read by another thread, e.g. to save it, while the store is
+     * being changed.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the current snapshot
+     */
+    public DeadlineSnapshot getSnapshot() {
+        return this.snapshot;
+    }
+
+    /**
+     * This function returns a copy of every course for code which changes them
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new <course_name, course_object> map
+     * @see DeadlineSnapshot#toCourses()
+     */
+    public ConcurrentHashMap<String, Course> getCourses() {
+        return this.snapshot.toCourses();
+    }
+
+    /**
+     * This function returns the names of every course
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a read-only set of the sorted course names
+     */
+    public Set<String> getCourseNames() {
+        return this.snapshot.getCourseNames();
+    }
+
+    /**
+     * This function returns every deadline: the upcoming deadlines first and then the
+     * past deadlines, each group ascending by due time
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new list of deadlines
+     */
+    public List<Deadline> getAll() {
+        return this.snapshot.getAll(this.now);
+    }
+
+    /**
+     * This function returns the deadlines which are due in a month of the default time
+     * zone, ascending by due time
+     * @param year the year number
+     * @param month the month number of a year, starts from 1 (Jan)
+     * @requires 1 <= month <= 12
+     * @modifies None
+     * @effects None
+     * @return a new list of deadlines
+     */
+    public List<Deadline> getMonth(int year, int month) {
+        return this.snapshot.getMonth(year, month);
+    }
+
+    /**
+     * This function returns the closest upcoming deadline
+     * @param ignoredCourses the names of the courses to skip
+     * @param ignoredStatuses the statuses to skip
+     * @requires ignoredCourses != null, ignoredStatuses != null
+     * @modifies None
+     * @effects None
+     * @return the closest upcoming deadline, or null if there is none
+     * @see DeadlineSnapshot#getClosest(long, Collection, Collection)
+     */
+    public Deadline getClosest(Collection<String> ignoredCourses, Collection<String> ignoredStatuses) {
+        return this.snapshot.getClosest(this.now, ignoredCourses, ignoredStatuses);
+    }
+}
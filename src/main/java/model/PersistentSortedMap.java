@@ -0,0 +1,433 @@
+package model;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * @overview
+ * This class represents an immutable sorted map. Adding or removing a key creates a
+ * new map which shares every unchanged node with the old one, so keeping an old
+ * version costs nothing and a version can be read by any thread without locking.
+ *
+ * @abstract_function
+ * a PersistentSortedMap is an AVL tree whose nodes are never modified. plus() and
+ * minus() copy only the O(log n) nodes on the path to the key and rebalance the
+ * copies.
+ *
+ * @creators
+ * PersistentSortedMap empty()
+ *
+ * @producers
+ * PersistentSortedMap plus(K key, V value)
+ * PersistentSortedMap minus(K key)
+ *
+ * @observers
+ * V get(Object key)
+ * boolean containsKey(Object key)
+ * int size()
+ * Set<Map.Entry<K, V>> entrySet()
+ * Iterator<Map.Entry<K, V>> iteratorFrom(K fromKey)
+ *
+ * @representation_invariant
+ * the keys of the tree are in ascending order && no key is null &&
+ * the heights of the two children of every node differ by at most 1 &&
+ * height and size of every node are the height and the size of its subtree
+ *
+ * @param <K> the type of the keys
+ * @param <V> the type of the values
+ */
+public final class PersistentSortedMap<K extends Comparable<? super K>, V> extends AbstractMap<K, V> {
+    /**
+     * A node of the tree, which is also the entry of its key
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class Node<K, V> implements Map.Entry<K, V> {
+        private final K key;
+        private final V value;
+        private final Node<K, V> left;
+        private final Node<K, V> right;
+        private final int height;
+        private final int size;
+
+        /**
+         * Constructor
+         * @param key the key
+         * @param value the value
+         * @param left the left subtree; null for empty
+         * @param right the right subtree; null for empty
+         * @requires key != null
+         * @modifies all fields
+         * @effects create a new node
+         */
+        private Node(K key, V value, Node<K, V> left, Node<K, V> right) {
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.height = Math.max(height(left), height(right)) + 1;
+            this.size = size(left) + size(right) + 1;
+        }
+
+        @Override
+        public K getKey() {
+            return this.key;
+        }
+
+        @Override
+        public V getValue() {
+            return this.value;
+        }
+
+        @Override
+        public V setValue(V value) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return this.key.equals(e.getKey()) &&
+                    (this.value == null ? e.getValue() == null : this.value.equals(e.getValue()));
+        }
+
+        @Override
+        public int hashCode() {
+            return this.key.hashCode() ^ (this.value == null ? 0 : this.value.hashCode());
+        }
+
+        @Override
+        public String toString() {
+            return this.key + "=" + this.value;
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final PersistentSortedMap EMPTY = new PersistentSortedMap<>(null);
+
+    private final Node<K, V> root;
+
+    /**
+     * Constructor
+     * @param root the root of the tree; null for empty
+     * @requires None
+     * @modifies root
+     * @effects create a new map
+     */
+    private PersistentSortedMap(Node<K, V> root) {
+        this.root = root;
+    }
+
+    /**
+     * This function returns the empty map
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return an empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K extends Comparable<? super K>, V> PersistentSortedMap<K, V> empty() {
+        return (PersistentSortedMap<K, V>) EMPTY;
+    }
+
+    /**
+     * This function returns the value of a key
+     * @param key the key
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the value, or null if the key is not in this map
+     * @throws ClassCastException if the key cannot be compared with the keys of this map
+     */
+    @Override
+    public V get(Object key) {
+        Node<K, V> node = this.find(key);
+        return (node == null) ? null : node.value;
+    }
+
+    /**
+     * This function checks whether a key is in this map
+     * @param key the key
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if the key is in this map
+     * @throws ClassCastException if the key cannot be compared with the keys of this map
+     */
+    @Override
+    public boolean containsKey(Object key) {
+        return this.find(key) != null;
+    }
+
+    /**
+     * This function returns the number of keys
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the number of keys
+     */
+    @Override
+    public int size() {
+        return size(this.root);
+    }
+
+    /**
+     * This function returns a map with a key mapped to a value
+     * @param key the key
+     * @param value the value
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return a new map, or this map if the key is already mapped to the same value
+     */
+    public PersistentSortedMap<K, V> plus(K key, V value) {
+        Node<K, V> newRoot = plus(this.root, key, value);
+        return (newRoot == this.root) ? this : new PersistentSortedMap<>(newRoot);
+    }
+
+    /**
+     * This function returns a map without a key
+     * @param key the key
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return a new map, or this map if the key is not in it
+     */
+    public PersistentSortedMap<K, V> minus(K key) {
+        Node<K, V> newRoot = minus(this.root, key);
+        return (newRoot == this.root) ? this : new PersistentSortedMap<>(newRoot);
+    }
+
+    /**
+     * This function returns a read-only view of the entries, ascending by key
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the entries
+     */
+    @Override
+    public Set<Map.Entry<K, V>> entrySet() {
+        return new AbstractSet<Map.Entry<K, V>>() {
+            @Override
+            public Iterator<Map.Entry<K, V>> iterator() {
+                return new EntryIterator<>(root);
+            }
+
+            @Override
+            public int size() {
+                return PersistentSortedMap.this.size();
+            }
+        };
+    }
+
+    /**
+     * This function returns an iterator over the entries whose keys are not less than
+     * a key, ascending by key. Only the O(log n) nodes on the path to the key are
+     * visited before the first entry.
+     * @param fromKey the lowest key
+     * @requires fromKey != null
+     * @modifies None
+     * @effects None
+     * @return a read-only iterator
+     */
+    public Iterator<Map.Entry<K, V>> iteratorFrom(K fromKey) {
+        EntryIterator<K, V> iterator = new EntryIterator<>(null);
+        Node<K, V> node = this.root;
+        while (node != null) {
+            if (fromKey.compareTo(node.key) <= 0) {
+                iterator.stack.push(node);
+                node = node.left;
+            } else {
+                node = node.right;
+            }
+        }
+        return iterator;
+    }
+
+    /**
+     * An in-order iterator over the nodes of a tree
+     * @param <K> the type of the keys
+     * @param <V> the type of the values
+     */
+    private static final class EntryIterator<K, V> implements Iterator<Map.Entry<K, V>> {
+        private final ArrayDeque<Node<K, V>> stack = new ArrayDeque<>();
+
+        private EntryIterator(Node<K, V> root) {
+            this.pushLeft(root);
+        }
+
+        private void pushLeft(Node<K, V> node) {
+            for (; node != null; node = node.left) {
+                this.stack.push(node);
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !this.stack.isEmpty();
+        }
+
+        @Override
+        public Map.Entry<K, V> next() {
+            if (this.stack.isEmpty()) {
+                throw new NoSuchElementException();
+            }
+            Node<K, V> node = this.stack.pop();
+            this.pushLeft(node.right);
+            return node;
+        }
+    }
+
+    /**
+     * This function finds the node of a key
+     * @param key the key
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the node, or null
+     */
+    @SuppressWarnings("unchecked")
+    private Node<K, V> find(Object key) {
+        if (key == null) {
+            return null;
+        }
+        Comparable<? super K> k = (Comparable<? super K>) key;
+        Node<K, V> node = this.root;
+        while (node != null) {
+            int cmp = k.compareTo(node.key);
+            if (cmp == 0) {
+                return node;
+            }
+            node = (cmp < 0) ? node.left : node.right;
+        }
+        return null;
+    }
+
+    /**
+     * This function adds a key to a tree
+     * @param node the root of the tree
+     * @param key the key
+     * @param value the value
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return the root of the new tree, or node if nothing changed
+     */
+    private static <K extends Comparable<? super K>, V> Node<K, V> plus(Node<K, V> node, K key, V value) {
+        if (node == null) {
+            return new Node<>(key, value, null, null);
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp == 0) {
+            return (node.value == value) ? node : new Node<>(key, value, node.left, node.right);
+        }
+        if (cmp < 0) {
+            Node<K, V> left = plus(node.left, key, value);
+            return (left == node.left) ? node : balance(node.key, node.value, left, node.right);
+        }
+        Node<K, V> right = plus(node.right, key, value);
+        return (right == node.right) ? node : balance(node.key, node.value, node.left, right);
+    }
+
+    /**
+     * This function removes a key from a tree
+     * @param node the root of the tree
+     * @param key the key
+     * @requires key != null
+     * @modifies None
+     * @effects None
+     * @return the root of the new tree, or node if nothing changed
+     */
+    private static <K extends Comparable<? super K>, V> Node<K, V> minus(Node<K, V> node, K key) {
+        if (node == null) {
+            return null;
+        }
+        int cmp = key.compareTo(node.key);
+        if (cmp < 0) {
+            Node<K, V> left = minus(node.left, key);
+            return (left == node.left) ? node : balance(node.key, node.value, left, node.right);
+        }
+        if (cmp > 0) {
+            Node<K, V> right = minus(node.right, key);
+            return (right == node.right) ? node : balance(node.key, node.value, node.left, right);
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+        // replace the node with the smallest node of its right subtree
+        Node<K, V> min = node.right;
+        while (min.left != null) {
+            min = min.left;
+        }
+        return balance(min.key, min.value, node.left, removeMin(node.right));
+    }
+
+    /**
+     * This function removes the smallest key from a tree
+     * @param node the root of the tree
+     * @requires node != null
+     * @modifies None
+     * @effects None
+     * @return the root of the new tree
+     */
+    private static <K, V> Node<K, V> removeMin(Node<K, V> node) {
+        if (node.left == null) {
+            return node.right;
+        }
+        return balance(node.key, node.value, removeMin(node.left), node.right);
+    }
+
+    /**
+     * This function creates a node whose subtrees may differ in height by 2 and
+     * rotates it back into balance
+     * @param key the key
+     * @param value the value
+     * @param left the left subtree
+     * @param right the right subtree
+     * @requires the heights of left and right differ by at most 2
+     * @modifies None
+     * @effects None
+     * @return the root of the balanced tree
+     */
+    private static <K, V> Node<K, V> balance(K key, V value, Node<K, V> left, Node<K, V> right) {
+        int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) >= height(left.right)) {
+                return new Node<>(left.key, left.value, left.left, new Node<>(key, value, left.right, right));
+            }
+            Node<K, V> lr = left.right;
+            return new Node<>(lr.key, lr.value, new Node<>(left.key, left.value, left.left, lr.left),
+                    new Node<>(key, value, lr.right, right));
+        }
+        if (diff < -1) {
+            if (height(right.right) >= height(right.left)) {
+                return new Node<>(right.key, right.value, new Node<>(key, value, left, right.left), right.right);
+            }
+            Node<K, V> rl = right.left;
+            return new Node<>(rl.key, rl.value, new Node<>(key, value, left, rl.left),
+                    new Node<>(right.key, right.value, rl.right, right.right));
+        }
+        return new Node<>(key, value, left, right);
+    }
+
+    private static int height(Node<?, ?> node) {
+        return (node == null) ? 0 : node.height;
+    }
+
+    private static int size(Node<?, ?> node) {
+        return (node == null) ? 0 : node.size;
+    }
+}
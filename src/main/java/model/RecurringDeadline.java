@@ -0,0 +1,320 @@
+package model;
+
+import biweekly.ICalDataType;
+import biweekly.ICalVersion;
+import biweekly.io.ParseContext;
+import biweekly.io.TimezoneInfo;
+import biweekly.io.WriteContext;
+import biweekly.io.scribe.property.RecurrenceRuleScribe;
+import biweekly.parameter.ICalParameters;
+import biweekly.property.RecurrenceRule;
+import biweekly.util.Recurrence;
+import biweekly.util.com.google.ical.compat.javautil.DateIterator;
+import javafx.util.Pair;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TimeZone;
+
+/**
+ * @overview
+ * This class represents a deadline which repeats by an iCalendar recurrence rule
+ * (RFC 5545 RRULE), e.g. a weekly lab. The occurrences are never stored: they are
+ * made only for the ranges of time which are asked for, and the last few ranges are
+ * cached, so a series costs memory for the occurrences which are shown and not for
+ * every occurrence of the rule, which may have no end.
+ *
+ * Every occurrence is a Deadline of the same course, status and link as the first
+ * one, named after the series and its date, e.g. "Lab (2019-04-26)". The occurrences
+ * are at the same wall-clock time in the default time zone.
+ *
+ * @abstract_fields
+ * first -> the first occurrence, which is also the DTSTART of the rule
+ * rule -> the text of the recurrence rule, e.g. "FREQ=WEEKLY;COUNT=12"
+ * windows -> <from minute, to minute> -> the occurrences in the range, for the last
+ *            CACHED_WINDOWS ranges which were asked for
+ *
+ * @creators
+ * RecurringDeadline(Deadline first, String rule)
+ *
+ * @mutator
+ * This class is immutable; only the cache changes
+ *
+ * @observers
+ * DeadlineKey getKey()
+ * String getCourseName()
+ * String getName()
+ * Deadline getFirst()
+ * String getRule()
+ * List<Deadline> getBetween(long fromMinute, long toMinute)
+ * Deadline getNext(long afterMinute)
+ *
+ * @representation_invariant
+ * first != null && rule can be parsed && windows.size() <= CACHED_WINDOWS
+ */
+public final class RecurringDeadline {
+    private static final int CACHED_WINDOWS = 8;
+    /** MAX_OCCURRENCES: the most occurrences made for one range, e.g. for a rule which repeats every minute */
+    private static final int MAX_OCCURRENCES = 10000;
+    private static final long MILLIS_PER_MINUTE = 60 * 1000L;
+
+    private final Deadline first;
+    private final String rule;
+    private final Recurrence recurrence;
+    private final LinkedHashMap<Pair<Long, Long>, List<Deadline>> windows;
+
+    /**
+     * Constructor
+     * @param first the first occurrence
+     * @param rule the value of an RRULE property, e.g. "FREQ=WEEKLY;BYDAY=MO,WE;UNTIL=20191231T000000Z"
+     * @requires first != null && rule != null
+     * @modifies first, rule, recurrence, windows
+     * @effects create a new series
+     * @throws IllegalArgumentException if the rule cannot be read
+     */
+    public RecurringDeadline(Deadline first, String rule) {
+        this.first = first;
+        this.recurrence = parse(rule);
+        this.rule = write(this.recurrence);
+        this.windows = new LinkedHashMap<Pair<Long, Long>, List<Deadline>>(CACHED_WINDOWS * 2, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Pair<Long, Long>, List<Deadline>> eldest) {
+                return this.size() > CACHED_WINDOWS;
+            }
+        };
+    }
+
+    /**
+     * This function reads the value of an RRULE property
+     * @param rule the value
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the recurrence
+     * @throws IllegalArgumentException if the rule cannot be read
+     */
+    private static Recurrence parse(String rule) {
+        if (rule == null || rule.trim().isEmpty()) {
+            throw new IllegalArgumentException("The recurrence rule is empty.");
+        }
+        ParseContext context = new ParseContext();
+        context.setVersion(ICalVersion.V2_0);
+        Recurrence recurrence;
+        try {
+            recurrence = new RecurrenceRuleScribe().parseText(rule.trim(), ICalDataType.RECUR,
+                    new ICalParameters(), context).getValue();
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Unable to read the recurrence rule " + rule, e);
+        }
+        if (recurrence == null || recurrence.getFrequency() == null) {
+            throw new IllegalArgumentException("The recurrence rule " + rule + " has no frequency.");
+        }
+        return recurrence;
+    }
+
+    /**
+     * This function writes a recurrence as the value of an RRULE property
+     * @param recurrence the recurrence
+     * @requires recurrence != null
+     * @modifies None
+     * @effects None
+     * @return the value
+     */
+    private static String write(Recurrence recurrence) {
+        WriteContext context = new WriteContext(ICalVersion.V2_0, new TimezoneInfo(), null);
+        return new RecurrenceRuleScribe().writeText(new RecurrenceRule(recurrence), context);
+    }
+
+    /**
+     * This function returns the key of the series
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the course name and the name of the series
+     */
+    public DeadlineKey getKey() {
+        return DeadlineKey.of(this.first);
+    }
+
+    /**
+     * This function returns the course name
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the course name
+     */
+    public String getCourseName() {
+        return this.first.getCourseName();
+    }
+
+    /**
+     * This function returns the name of the series
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the name
+     */
+    public String getName() {
+        return this.first.getName();
+    }
+
+    /**
+     * This function returns the first occurrence, which has the name of the series
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return first
+     */
+    public Deadline getFirst() {
+        return this.first;
+    }
+
+    /**
+     * This function returns the recurrence rule
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the value of the RRULE property
+     */
+    public String getRule() {
+        return this.rule;
+    }
+
+    /**
+     * This function returns the occurrences which are due in a range of time. The
+     * result for a range is cached, so a view which draws the same month again does
+     * not expand the rule again.
+     * @param fromMinute the first epoch minute of the range
+     * @param toMinute the epoch minute right after the range
+     * @requires None
+     * @modifies windows
+     * @effects cache the occurrences of the range
+     * @return a read-only list of the occurrences d with fromMinute <= d.getEpochMinute()
+     * < toMinute, ascending by due time
+     */
+    public List<Deadline> getBetween(long fromMinute, long toMinute) {
+        if (toMinute <= fromMinute) {
+            return Collections.emptyList();
+        }
+        Pair<Long, Long> window = new Pair<>(fromMinute, toMinute);
+        synchronized (this.windows) {
+            List<Deadline> cached = this.windows.get(window);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        List<Deadline> occurrences = new ArrayList<>();
+        DateIterator iterator = this.iterator(fromMinute);
+        while (iterator.hasNext() && occurrences.size() < MAX_OCCURRENCES) {
+            long minute = Math.floorDiv(iterator.next().getTime(), MILLIS_PER_MINUTE);
+            if (minute >= toMinute) {
+                break;
+            }
+            if (minute >= fromMinute) {
+                occurrences.add(this.occurrence(minute));
+            }
+        }
+        List<Deadline> result = Collections.unmodifiableList(occurrences);
+        synchronized (this.windows) {
+            this.windows.put(window, result);
+        }
+        return result;
+    }
+
+    /**
+     * This function returns the first occurrence after a time
+     * @param afterMinute an epoch minute
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the first occurrence d with d.getEpochMinute() > afterMinute, or null if
+     * the rule has ended
+     */
+    public Deadline getNext(long afterMinute) {
+        DateIterator iterator = this.iterator(afterMinute + 1);
+        while (iterator.hasNext()) {
+            long minute = Math.floorDiv(iterator.next().getTime(), MILLIS_PER_MINUTE);
+            if (minute > afterMinute) {
+                return this.occurrence(minute);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * This function returns an iterator of the occurrences which starts at a time.
+     * The iterator skips ahead without making the occurrences before it, unless the
+     * rule has a COUNT, which is counted from the first occurrence.
+     * @param fromMinute the epoch minute to start at
+     * @return the iterator
+     */
+    private DateIterator iterator(long fromMinute) {
+        DateIterator iterator = this.recurrence.getDateIterator(
+                new Date(this.first.getEpochMinute() * MILLIS_PER_MINUTE), TimeZone.getDefault());
+        if (fromMinute > this.first.getEpochMinute()) {
+            iterator.advanceTo(new Date(fromMinute * MILLIS_PER_MINUTE));
+        }
+        return iterator;
+    }
+
+    /**
+     * This function makes the occurrence at a time
+     * @param minute the epoch minute
+     * @return the occurrence
+     */
+    private Deadline occurrence(long minute) {
+        CalendarWrapper time = new CalendarWrapper(minute, TimeZone.getDefault());
+        String name = String.format("%s (%04d-%02d-%02d)", this.first.getName(),
+                time.getYear(), time.getMonth(), time.getDay());
+        return new Deadline(time, name, this.first.getCourseName(), this.first.getStatus(), this.first.getLink());
+    }
+
+    /**
+     * Indicates whether some other object is "equal to" this one.
+     * @param o the reference object with which to compare.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if the first occurrences and the rules are the same
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof RecurringDeadline)) {
+            return false;
+        }
+        RecurringDeadline other = (RecurringDeadline) o;
+        return this.rule.equals(other.rule) && this.first.equals(other.first)
+                && !CourseDelta.isModified(this.first, other.first);
+    }
+
+    /**
+     * Returns a hash code value for the object.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a hash code value for this object.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * this.first.hashCode() + this.rule.hashCode();
+    }
+
+    /**
+     * Returns a string representation of the object.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a string representation of the object.
+     */
+    @Override
+    public String toString() {
+        return this.first + " RRULE:" + this.rule;
+    }
+}
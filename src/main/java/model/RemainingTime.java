@@ -0,0 +1,335 @@
+package model;
+
+import java.util.TimeZone;
+
+/**
+ * @overview
+ * This class represents the time between now and a deadline, split into the same
+ * fields as a joda.time.Period with the standard period type. It is computed from
+ * epoch minutes and the packed calendar fields of CalendarWrapper with integer
+ * arithmetic only.
+ *
+ * @abstract_function
+ * Like a Period, the years, the months, the weeks and the days are counted one after
+ * another in local time from the earlier time, and then the hours and the minutes of
+ * elapsed time. A day that crosses a daylight saving change is therefore still one
+ * day.
+ *
+ * @abstract_fields
+ * years -> the number of whole years
+ * months -> the number of whole months after the years
+ * days -> the number of whole days after the months, including whole weeks
+ * hours -> the number of hours after the days
+ * minutes -> the number of minutes after the hours
+ * upcoming -> false if the deadline has passed
+ *
+ * @creators
+ * RemainingTime between(CalendarWrapper now, CalendarWrapper due)
+ *
+ * @mutator
+ * This class is immutable
+ *
+ * @observers
+ * int getYears()
+ * int getMonths()
+ * int getDays()
+ * int getHours()
+ * int getMinutes()
+ * boolean isUpcoming()
+ *
+ * @representation_invariant
+ * all fields are non-negative
+ */
+public final class RemainingTime {
+    private static final int MINUTES_PER_DAY = 1440;
+    private static final long MILLIS_PER_MINUTE = 60000L;
+    private static final long MILLIS_PER_DAY = MINUTES_PER_DAY * MILLIS_PER_MINUTE;
+    // Feb 29 is the 60th day of a leap year
+    private static final int FEB_29 = 59 * MINUTES_PER_DAY;
+
+    private final int years;
+    private final int months;
+    private final int days;
+    private final int hours;
+    private final int minutes;
+    private final boolean upcoming;
+
+    /**
+     * Constructor
+     * @param years the number of whole years
+     * @param months the number of whole months
+     * @param days the number of whole days
+     * @param hours the number of hours
+     * @param minutes the number of minutes
+     * @param upcoming false if the deadline has passed
+     * @requires None
+     * @modifies years, months, days, hours, minutes, upcoming
+     * @effects create a new RemainingTime
+     */
+    private RemainingTime(int years, int months, int days, int hours, int minutes, boolean upcoming) {
+        this.years = years;
+        this.months = months;
+        this.days = days;
+        this.hours = hours;
+        this.minutes = minutes;
+        this.upcoming = upcoming;
+    }
+
+    /**
+     * This function computes the time between now and a deadline. Like
+     * getRemainPeriod() of a deadline, the calendar fields are taken in the default
+     * time zone.
+     * @param now the current time
+     * @param due the due time of the deadline
+     * @requires now != null, due != null
+     * @modifies None
+     * @effects None
+     * @return the time from now to due, or from due to now if the deadline has passed
+     */
+    public static RemainingTime between(CalendarWrapper now, CalendarWrapper due) {
+        boolean upcoming = !now.isAfter(due);
+        CalendarWrapper start = upcoming ? now : due;
+        CalendarWrapper end = upcoming ? due : now;
+        TimeZone zone = TimeZone.getDefault();
+        if (!zone.equals(start.getTimeZone())) {
+            start = new CalendarWrapper(start.getEpochMinute(), zone);
+        }
+        if (!zone.equals(end.getTimeZone())) {
+            end = new CalendarWrapper(end.getEpochMinute(), zone);
+        }
+        int endYear = end.getYear();
+        int endMonth = end.getMonth();
+        int endDay = end.getDay();
+        int endTime = end.getHourOfDay() * 60 + end.getMinuteOfHour();
+
+        // whole years; a leap day counts as the day before Mar 1 of a common year
+        int startYear = start.getYear();
+        long startRem = dayOfYear(startYear, start.getMonth(), start.getDay()) * MINUTES_PER_DAY
+                + start.getHourOfDay() * 60 + start.getMinuteOfHour();
+        long endRem = dayOfYear(endYear, endMonth, endDay) * MINUTES_PER_DAY + endTime;
+        if (startRem >= FEB_29) {
+            if (isLeapYear(startYear)) {
+                if (!isLeapYear(endYear)) {
+                    startRem -= MINUTES_PER_DAY;
+                }
+            } else if (endRem >= FEB_29 && isLeapYear(endYear)) {
+                endRem -= MINUTES_PER_DAY;
+            }
+        }
+        int years = endYear - startYear - (endRem < startRem ? 1 : 0);
+        start = plusMonths(start, years * 12);
+
+        // whole months; the last day of a month is a whole month after any later day
+        int startDay = start.getDay();
+        int startTime = start.getHourOfDay() * 60 + start.getMinuteOfHour();
+        int months = (endYear - start.getYear()) * 12 + endMonth - start.getMonth();
+        if (endDay == CalendarWrapper.getMaxDayNumOfMonth(endMonth, endYear) && startDay > endDay) {
+            startDay = endDay;
+        }
+        if ((endDay - 1L) * MINUTES_PER_DAY + endTime < (startDay - 1L) * MINUTES_PER_DAY + startTime) {
+            months--;
+        }
+        start = plusMonths(start, months);
+
+        // whole weeks and whole days in local time, then elapsed hours and minutes
+        long weeks = (localMinute(end) - localMinute(start)) / (7 * MINUTES_PER_DAY);
+        start = plusDays(start, weeks * 7);
+        long days = (localMinute(end) - localMinute(start)) / MINUTES_PER_DAY;
+        start = plusDays(start, days);
+        long rest = end.getEpochMinute() - start.getEpochMinute();
+        return new RemainingTime(years, months, (int) (weeks * 7 + days),
+                (int) (rest / 60), (int) (rest % 60), upcoming);
+    }
+
+    /**
+     * This function adds months to a time in local time. The day of the month is
+     * reduced to the last day of the new month if needed.
+     * @param time the time
+     * @param months the number of months
+     * @requires time != null
+     * @modifies None
+     * @effects None
+     * @return the new time, in the same time zone
+     */
+    private static CalendarWrapper plusMonths(CalendarWrapper time, int months) {
+        if (months == 0) {
+            return time;
+        }
+        int monthIndex = time.getYear() * 12 + time.getMonth() - 1 + months;
+        int year = Math.floorDiv(monthIndex, 12);
+        int month = Math.floorMod(monthIndex, 12) + 1;
+        int day = Math.min(time.getDay(), CalendarWrapper.getMaxDayNumOfMonth(month, year));
+        long local = CalendarWrapper.epochDay(year, month, day) * MINUTES_PER_DAY
+                + time.getHourOfDay() * 60 + time.getMinuteOfHour();
+        return new CalendarWrapper(toEpochMinute(time.getTimeZone(), local), time.getTimeZone());
+    }
+
+    /**
+     * This function adds days to a time in local time
+     * @param time the time
+     * @param days the number of days
+     * @requires time != null
+     * @modifies None
+     * @effects None
+     * @return the new time, in the same time zone
+     */
+    private static CalendarWrapper plusDays(CalendarWrapper time, long days) {
+        if (days == 0) {
+            return time;
+        }
+        long local = localMinute(time) + days * MINUTES_PER_DAY;
+        return new CalendarWrapper(toEpochMinute(time.getTimeZone(), local), time.getTimeZone());
+    }
+
+    /**
+     * This function returns the number of minutes from 1970-01-01T00:00 to the local
+     * time of a CalendarWrapper
+     * @param time the time
+     * @requires time != null
+     * @modifies None
+     * @effects None
+     * @return the local minute
+     */
+    private static long localMinute(CalendarWrapper time) {
+        return CalendarWrapper.epochDay(time.getYear(), time.getMonth(), time.getDay()) * MINUTES_PER_DAY
+                + time.getHourOfDay() * 60 + time.getMinuteOfHour();
+    }
+
+    /**
+     * This function converts a local time to an epoch minute the same way as
+     * joda.time: a local time that happens twice is the earlier one, and a local time
+     * that is skipped is moved forward by the length of the gap
+     * @param zone the time zone
+     * @param localMinute the number of minutes from 1970-01-01T00:00 to the local time
+     * @requires zone != null
+     * @modifies None
+     * @effects None
+     * @return the number of minutes since 1970-01-01T00:00Z
+     */
+    private static long toEpochMinute(TimeZone zone, long localMinute) {
+        long localMillis = localMinute * MILLIS_PER_MINUTE;
+        // the offsets one day before and after; time zones never change twice a day
+        int before = zone.getOffset(localMillis - zone.getRawOffset() - MILLIS_PER_DAY);
+        int after = zone.getOffset(localMillis - zone.getRawOffset() + MILLIS_PER_DAY);
+        long early = localMillis - Math.max(before, after);
+        long late = localMillis - Math.min(before, after);
+        if (localMillis - zone.getOffset(early) == early) {
+            return early / MILLIS_PER_MINUTE;
+        }
+        if (localMillis - zone.getOffset(late) == late) {
+            return late / MILLIS_PER_MINUTE;
+        }
+        // in a gap the offset before the gap is used
+        return (localMillis - before) / MILLIS_PER_MINUTE;
+    }
+
+    /**
+     * This function returns the number of days from Jan 1 to a given date
+     * @param year the year number
+     * @param month the month number, starts from 1 (Jan)
+     * @param day the day number of the month
+     * @requires 1 <= month <= 12
+     * @modifies None
+     * @effects None
+     * @return the day of the year, starts from 0
+     */
+    private static long dayOfYear(int year, int month, int day) {
+        return CalendarWrapper.epochDay(year, month, day) - CalendarWrapper.epochDay(year, 1, 1);
+    }
+
+    /**
+     * This function checks whether a year is a leap year
+     * @param year the year number
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return true if the year has Feb 29
+     */
+    private static boolean isLeapYear(int year) {
+        return CalendarWrapper.getMaxDayNumOfMonth(CalendarWrapper.FEBRUARY, year) == 29;
+    }
+
+    /**
+     * This function returns the number of whole years
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return years
+     */
+    public int getYears() {
+        return this.years;
+    }
+
+    /**
+     * This function returns the number of whole months after the years
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return months
+     */
+    public int getMonths() {
+        return this.months;
+    }
+
+    /**
+     * This function returns the number of whole days after the months
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return days
+     */
+    public int getDays() {
+        return this.days;
+    }
+
+    /**
+     * This function returns the number of hours after the days
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return hours
+     */
+    public int getHours() {
+        return this.hours;
+    }
+
+    /**
+     * This function returns the number of minutes after the hours
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return minutes
+     */
+    public int getMinutes() {
+        return this.minutes;
+    }
+
+    /**
+     * This function checks whether the deadline is still ahead
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return false if the deadline has passed
+     */
+    public boolean isUpcoming() {
+        return this.upcoming;
+    }
+
+    /**
+     * Returns a string representation of the object.
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a string representation of the object.
+     */
+    @Override
+    public String toString() {
+        return "RemainingTime {" +
+                "years=" + years +
+                ", months=" + months +
+                ", days=" + days +
+                ", hours=" + hours +
+                ", minutes=" + minutes +
+                ", upcoming=" + upcoming + '}';
+    }
+}
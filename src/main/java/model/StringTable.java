@@ -0,0 +1,79 @@
+package model;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * @overview
+ * This class is a table of shared strings. Deadlines which are read from a file or a
+ * web page get a new String for every copy of the same course name, status or link
+ * prefix; the table hands out one String for all of them, so the copies can be
+ * collected. Unlike String.intern(), the strings of every table are kept apart and
+ * can be counted.
+ *
+ * @abstract_fields
+ * strings -> every string which was shared
+ *
+ * @creators
+ * StringTable()
+ *
+ * @mutator
+ * String share(String string)
+ *
+ * @observers
+ * int size()
+ *
+ * @representation_invariant
+ * every key of strings is mapped to itself
+ */
+final class StringTable {
+    /** COURSES: the course names of every deadline */
+    static final StringTable COURSES = new StringTable();
+    /** STATUSES: the statuses which are not a Deadline.STATUS constant */
+    static final StringTable STATUSES = new StringTable();
+    /** LINK_PREFIXES: the links of every deadline up to their last '/' or '=' */
+    static final StringTable LINK_PREFIXES = new StringTable();
+
+    private final ConcurrentHashMap<String, String> strings;
+
+    /**
+     * Constructor
+     * @requires None
+     * @modifies strings
+     * @effects create an empty table
+     */
+    StringTable() {
+        this.strings = new ConcurrentHashMap<>();
+    }
+
+    /**
+     * This function returns the shared string which is equal to a string, and
+     * shares the string if there is none yet. It can be called from any thread.
+     * @param string a string
+     * @requires None
+     * @modifies strings
+     * @effects add the string if no equal string was shared
+     * @return the shared string; null for null
+     */
+    String share(String string) {
+        if (string == null) {
+            return null;
+        }
+        String shared = this.strings.get(string);
+        if (shared != null) {
+            return shared;
+        }
+        shared = this.strings.putIfAbsent(string, string);
+        return (shared == null) ? string : shared;
+    }
+
+    /**
+     * This function returns the number of shared strings
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the size of the table
+     */
+    int size() {
+        return this.strings.size();
+    }
+}
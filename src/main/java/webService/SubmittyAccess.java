@@ -3,6 +3,7 @@ package webService;
 import com.gargoylesoftware.htmlunit.BrowserVersion;
 import com.gargoylesoftware.htmlunit.SilentCssErrorHandler;
 import com.gargoylesoftware.htmlunit.WebClient;
+import com.gargoylesoftware.htmlunit.util.Cookie;
 import com.sun.istack.internal.NotNull;
 import main.viewer.Log;
 import model.CalendarWrapper;
@@ -12,9 +13,29 @@ import org.openqa.selenium.*;
 import org.openqa.selenium.htmlunit.HtmlUnitDriver;
 
 import javax.swing.*;
+import java.math.BigInteger;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
 
 /**
  * @overview
@@ -24,32 +45,69 @@ import java.util.concurrent.ConcurrentHashMap;
  * @abstract_value
  * driver -> a WebDriver object which will simulate a browser
  * user_id, password -> String object which stores the user_id and password for login
- * courseList -> a <course_name, course_object> map
+ * baseUrl -> the address of the Submitty server
+ * courseList -> a <course_name, course_object> map of the courses that were parsed
+ * courseHashes -> a <course_name, hash> map of the gradeable list of every course
+ * knownHashes -> a <course_name, hash> map from the last refresh
+ * unchangedCourses -> the courses whose hash matched the known hash
  * SilentHtmlUnitDriver -> a extended HtmlUnitDriver which suppresses CSS error
  * LoginFailException -> an Exception which happens when login failed
  *
  * @constructor
- * SubmittyAccess(String user_id, String password)
+ * SubmittyAccess(String user_id, String password, Object currProgressLabel)
+ * SubmittyAccess(String user_id, String password, Object currProgressLabel, String baseUrl)
  *
  * @mutator
  * login() throws LoginFailException
+ * setKnownHashes(Map<String, String> knownHashes)
+ * parser(HashSet<String> ExceptionCourses)
+ * parser(HashSet<String> ExceptionCourses, int sessions)
  * close()
  *
  * @accessor
  * String getPageSource()
  * HashMap<String, Course> getCourseMap()
+ * ConcurrentHashMap<String, String> getCourseHashes()
+ * HashSet<String> getUnchangedCourses()
  */
 public class SubmittyAccess {
-    private WebDriver driver;
+    public static final String DEFAULT_URL = "https://submitty.cs.rpi.edu";
+    public static final int DEFAULT_SESSIONS = 4;
+    private SilentHtmlUnitDriver driver;
     private final String user_id;
     private final String password;
+    private final String baseUrl;
     private final Object currProgressLabel;
     private ConcurrentHashMap<String, Course> courseList;
-    private class SilentHtmlUnitDriver extends HtmlUnitDriver {
+    private final ConcurrentHashMap<String, String> courseHashes;
+    private final Set<String> unchangedCourses;
+    private Map<String, String> knownHashes;
+    private static class SilentHtmlUnitDriver extends HtmlUnitDriver {
         SilentHtmlUnitDriver(BrowserVersion b) {
             super(b);
             this.getWebClient().setCssErrorHandler(new SilentCssErrorHandler());
         }
+
+        @Override
+        protected WebClient newWebClient(BrowserVersion version) {
+            WebClient webClient = super.newWebClient(version);
+            webClient.getOptions().setUseInsecureSSL(true);
+            return webClient;
+        }
+
+        /**
+         * This function copies every cookie, including the login session, from
+         * another driver so that this driver is logged in as well
+         * @param other the driver which has logged in
+         * @requires other != null
+         * @modifies this
+         * @effects copy the cookies
+         */
+        void copyCookiesFrom(SilentHtmlUnitDriver other) {
+            for (Cookie cookie : other.getWebClient().getCookieManager().getCookies()) {
+                this.getWebClient().getCookieManager().addCookie(cookie);
+            }
+        }
     }
     public static class LoginFailException extends RuntimeException {
         LoginFailException(String e) {
@@ -69,27 +127,71 @@ public class SubmittyAccess {
      * @throws LoginFailException if user id or password is empty
      */
     public SubmittyAccess(@NotNull String user_id, @NotNull String password, Object currProgressLabel) throws LoginFailException {
+        this(user_id, password, currProgressLabel, DEFAULT_URL);
+    }
+
+    /**
+     * This constructor creates a new WebDriver for a given Submitty server
+     * @param user_id Submitty user id
+     * @param password Submitty password
+     * @param currProgressLabel a JLabel or a Consumer&lt;String&gt; to show current progress
+     * @param baseUrl the address of the Submitty server without the trailing slash
+     * @requires user_id != NULL; password != NULL; baseUrl != NULL
+     * @modifies user_id, password, baseUrl, courseList, courseHashes, unchangedCourses
+     * @effects create a new SubmittyAccess object
+     * @throws LoginFailException if user id or password is empty
+     */
+    public SubmittyAccess(@NotNull String user_id, @NotNull String password, Object currProgressLabel,
+                          @NotNull String baseUrl) throws LoginFailException {
         if (user_id.equals("") || password.equals(""))
             throw new LoginFailException("User id or password cannot be empty.");
-        // Create a new instance of the html unit driver
-        // Notice that the remainder of the code relies on the interface,
-        // not the implementation.
-        final String USER_AGENT = "Mozilla/5.0 (Windows NT 6.1; WOW64; rv:25.0) Gecko/20160101 Firefox/66.0";
         System.setProperty("https.protocols", "TLSv1,TLSv1.1,TLSv1.2");
-        driver = new SilentHtmlUnitDriver(BrowserVersion.FIREFOX_38) {
-            @Override
-            protected WebClient newWebClient(BrowserVersion version) {
-                WebClient webClient = super.newWebClient(version);
-                webClient.getOptions().setUseInsecureSSL(true);
-                return webClient;
-            }
-        };
+        driver = createDriver();
         this.user_id = user_id;
         this.password = password;
+        this.baseUrl = baseUrl;
         this.courseList = new ConcurrentHashMap<>();
+        this.courseHashes = new ConcurrentHashMap<>();
+        this.unchangedCourses = ConcurrentHashMap.newKeySet();
+        this.knownHashes = new HashMap<>();
         this.currProgressLabel = currProgressLabel;
     }
 
+    /**
+     * This function creates a new driver session
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a new driver
+     */
+    private static SilentHtmlUnitDriver createDriver() {
+        // Create a new instance of the html unit driver
+        // Notice that the remainder of the code relies on the interface,
+        // not the implementation.
+        return new SilentHtmlUnitDriver(BrowserVersion.FIREFOX_38);
+    }
+
+    /**
+     * This function shows a message on the progress label
+     * @param message the progress message
+     * @requires None
+     * @modifies currProgressLabel
+     * @effects update the progress
+     */
+    @SuppressWarnings("unchecked")
+    private void reportProgress(String message) {
+        if (currProgressLabel instanceof JLabel) {
+            SwingUtilities.invokeLater(() -> {
+                ((JLabel) currProgressLabel).setText(message);
+                ((JLabel) currProgressLabel).repaint();
+            });
+        } else if (currProgressLabel instanceof Consumer) {
+            synchronized (currProgressLabel) {
+                ((Consumer<String>) currProgressLabel).accept(message);
+            }
+        }
+    }
+
     /**
      * This function will perform a login action using the user id and password which
      * the user provides
@@ -100,18 +202,11 @@ public class SubmittyAccess {
      *                            the provided user id and password
      */
     public void login() throws LoginFailException {
-        synchronized (this) {
-            if (currProgressLabel != null){
-                if (currProgressLabel instanceof JLabel) {
-                    ((JLabel) currProgressLabel).setText("Establishing connection...");
-                    ((JLabel) currProgressLabel).repaint();
-                }
-            }
-        }
+        reportProgress("Establishing connection...");
 
         // And now use this to visit Submitty
         try {
-            driver.get("https://submitty.cs.rpi.edu/home");
+            driver.get(this.baseUrl + "/home");
         } catch (WebDriverException e) {
             throw new LoginFailException(e.getMessage());
         }
@@ -145,6 +240,42 @@ public class SubmittyAccess {
         return new ConcurrentHashMap<>(this.courseList);
     }
 
+    /**
+     * This function sets the gradeable list hashes from the last refresh. Courses
+     * whose hash has not changed will not be parsed again and will not appear in
+     * the courseList map.
+     * @param knownHashes a <course_name, hash> map
+     * @requires knownHashes != null
+     * @modifies knownHashes
+     * @effects set the known hashes
+     */
+    public void setKnownHashes(Map<String, String> knownHashes) {
+        this.knownHashes = new HashMap<>(knownHashes);
+    }
+
+    /**
+     * This function will return a copy of the gradeable list hashes of every course
+     * that was visited, including the unchanged ones
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a <course_name, hash> map
+     */
+    public ConcurrentHashMap<String, String> getCourseHashes() {
+        return new ConcurrentHashMap<>(this.courseHashes);
+    }
+
+    /**
+     * This function will return the courses whose gradeable list matched the known hash
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return a copy of the set of unchanged course names
+     */
+    public HashSet<String> getUnchangedCourses() {
+        return new HashSet<>(this.unchangedCourses);
+    }
+
     /**
      * This function will loop over the course list and get information from each
      * course's gradeables
@@ -158,117 +289,301 @@ public class SubmittyAccess {
             WebElement currCourseBtn = CourseElementList.get(i);
             String courseName = currCourseBtn.getText();
             System.err.println("DEBUG: [accessDriver] Parsing current course " + courseName);
-
-            // generate a course object
-            Course currCourse = new Course(courseName.replace("Fall 2020", "").trim());
+            reportProgress("Parsing course (" + (i + 1) + "/" + CourseElementList.size() + "): " + courseName);
 
             // Get information about current course
             currCourseBtn.click();
-            List<WebElement> DeadlineList = driver.findElements(By.className("btn-nav-submit"));
-            System.err.println("DEBUG: [accessDriver] Course <" + courseName + "> Found " + DeadlineList.size()+ " gradables");
-            for (WebElement gradeable: DeadlineList) {
-                String text = gradeable.findElement(By.xpath("..")).findElement(By.xpath("..")).getText();
-                System.err.println("DEBUG: [accessDriver] Working on a new gradable " + text);
-                if (text.contains("VIEW GRADE") ||             // Finished Homework
-                        text.contains("NO SUBMISSION") ||      // Past Homework
-                        text.contains("OVERDUE SUBMISSION") || // Past Homework
-                        text.contains("GRADE") ||              // TA Homework
-                        text.contains("REGRADE"))              // TA Homework
-                    continue;
-                String id = gradeable.getAttribute("id");
-
-                String status;
-                if (text.contains("LATE SUBMIT")) {
-                    status = Deadline.STATUS.LATE_SUBMIT;
-                } else if (text.contains("LATE RESUBMIT")) {
-                    status = Deadline.STATUS.LATE_RESUBMIT;
-                } else if (text.contains("RESUBMIT")) {
-                    status = Deadline.STATUS.RESUBMIT;
-                } else if (text.contains("OVERDUE SUBMISSION")) {
-                    status = Deadline.STATUS.OVERDUE_SUBMISSION;
-                } else if (text.contains("NO SUBMISSION")) {
-                    status = Deadline.STATUS.NO_SUBMISSION;
-                } else if (text.contains("MUST BE ON A TEAM")) {
-                    status = Deadline.STATUS.MUST_ON_TEAM;
-                } else {
-                    status = Deadline.STATUS.DEFAULT;
-                }
-                // progress
-                if (status.equals(Deadline.STATUS.RESUBMIT)) {
+            Course currCourse = parseCourse(driver, courseName);
+            if (currCourse != null) {
+                this.courseList.put(courseName, currCourse);
+            }
+            driver.navigate().back();
+            CourseElementList = driver.findElements(By.className("btn-block"));
+        }
+        System.err.println("DEBUG: [accessDriver] End of parsing");
+    }
+
+    /**
+     * This function collects the address of every course first and then parses the
+     * course pages concurrently. Each worker thread uses its own driver session which
+     * shares the login cookie of the main driver, so no course page has to be loaded
+     * twice and the home page is not reloaded between courses. If some course button
+     * has no address, it falls back to parser(ExceptionCourses).
+     * @param ExceptionCourses the courses that are ignored by the user
+     * @param sessions the maximum number of driver sessions used at the same time
+     * @requires None
+     * @modifies courseList
+     * @effects get the gradeables of every course
+     */
+    public void parser(HashSet<String> ExceptionCourses, int sessions) {
+        if (sessions <= 1) {
+            parser(ExceptionCourses);
+            return;
+        }
+        // collect the course addresses
+        LinkedHashMap<String, String> courseUrls = new LinkedHashMap<>();
+        for (WebElement currCourseBtn : driver.findElements(By.className("btn-block"))) {
+            String url = resolve(currCourseBtn.getAttribute("href"));
+            if (url == null) {
+                Log.debug("DEBUG: [accessDriver] Course button without link; parsing one course at a time");
+                parser(ExceptionCourses);
+                return;
+            }
+            courseUrls.put(currCourseBtn.getText(), url);
+        }
+        try {
+            int poolSize = Math.min(sessions, courseUrls.size());
+            if (poolSize == 0) {
+                return;
+            }
+
+            // every thread takes a logged-in session from the queue and puts it back; the
+            // list keeps every session, so the ones still held by a task are quit as well
+            BlockingQueue<SilentHtmlUnitDriver> sessionPool = new ArrayBlockingQueue<>(poolSize);
+            List<SilentHtmlUnitDriver> createdSessions = new ArrayList<>(poolSize);
+            for (int i = 0; i < poolSize; i++) {
+                SilentHtmlUnitDriver session = createDriver();
+                session.copyCookiesFrom(this.driver);
+                createdSessions.add(session);
+                sessionPool.add(session);
+            }
+            ExecutorService executor = Executors.newFixedThreadPool(poolSize);
+            AtomicInteger finished = new AtomicInteger();
+            List<Future<?>> futures = new ArrayList<>();
+            for (Map.Entry<String, String> course : courseUrls.entrySet()) {
+                futures.add(executor.submit(() -> {
+                    String courseName = course.getKey();
+                    SilentHtmlUnitDriver session = sessionPool.take();
                     try {
-                        String progressStr = gradeable.findElement(By.xpath("../div[contains(@class, 'meter')]/span")).getAttribute("style");
-                        if (progressStr.startsWith("width: ")) {
-                            int progress = Integer.valueOf(progressStr.replace("width: ", "").replace("%", ""));
-                            if (progress == 100) {
-                                status = Deadline.STATUS.FINISHED;
-                            }
+                        Log.debug("DEBUG: [accessDriver] Parsing current course " + courseName);
+                        session.get(course.getValue());
+                        Course currCourse = parseCourse(session, courseName);
+                        if (currCourse != null) {
+                            this.courseList.put(courseName, currCourse);
                         }
-                    } catch (NoSuchElementException e) {
-                        Log.error("DEBUG: [accessDriver] Deadline " + text + " for " + courseName + " contains no width");
+                    } catch (WebDriverException e) {
+                        Log.error("DEBUG: [accessDriver] Failed to parse course " + courseName + ": " + e.getMessage());
+                    } finally {
+                        // never blocks: the queue holds every session, and offer() ignores interrupts
+                        sessionPool.offer(session);
                     }
-                }
-                String link;
+                    // count and report under one lock so the messages arrive in order
+                    synchronized (finished) {
+                        reportProgress("Parsing course (" + finished.incrementAndGet() + "/" + courseUrls.size() + "): "
+                                + courseName);
+                    }
+                    return null;
+                }));
+            }
+            executor.shutdown();
+            boolean interrupted = false;
+            for (Future<?> future : futures) {
                 try {
-                    link = gradeable.getAttribute("href");
-                } catch (NoSuchElementException e) {
-                    Log.debug("DEBUG: [accessDriver] Deadline " + text + " for " + courseName + " contains no link");
-                    link = "";
+                    future.get();
+                } catch (InterruptedException e) {
+                    // skip the courses which have not started, but let the running ones finish
+                    interrupted = true;
+                    executor.shutdownNow();
+                    break;
+                } catch (ExecutionException e) {
+                    Log.error("DEBUG: [accessDriver] " + e.getCause());
                 }
-                if (link == null) {
-                    // the attribute's href value is null if the value is not set
-                    link = "";
+            }
+            // no session may be quit while a task still uses it
+            while (!executor.isTerminated()) {
+                try {
+                    executor.awaitTermination(1, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    interrupted = true;
                 }
+            }
+            for (SilentHtmlUnitDriver session : createdSessions) {
+                session.quit();
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        } finally {
+            Log.debug("DEBUG: [accessDriver] End of parsing");
+        }
+    }
+
+    /**
+     * This function turns the link of a course button into an absolute address
+     * @param href the value of the href attribute
+     * @requires None
+     * @modifies None
+     * @effects None
+     * @return the absolute address, or null if there is no valid link
+     */
+    private String resolve(String href) {
+        if (href == null || href.isEmpty()) {
+            return null;
+        }
+        try {
+            return new URL(new URL(driver.getCurrentUrl()), href).toString();
+        } catch (MalformedURLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * This function gets every gradeable from the course page that is currently
+     * opened. The gradeable list is hashed first; if the hash is the same as the
+     * known hash of this course, the course is recorded as unchanged and not parsed.
+     * @param page the driver showing the course page
+     * @param courseName the name of the course button
+     * @requires page != null, courseName != null
+     * @modifies courseHashes, unchangedCourses
+     * @effects None
+     * @return a course object which contains the deadlines of this course, or null
+     *         if the course has not changed
+     */
+    private Course parseCourse(WebDriver page, String courseName) {
+        List<WebElement> DeadlineList = page.findElements(By.className("btn-nav-submit"));
+        System.err.println("DEBUG: [accessDriver] Course <" + courseName + "> Found " + DeadlineList.size()+ " gradables");
+
+        // hash the gradeable list
+        List<String> texts = new ArrayList<>(DeadlineList.size());
+        StringBuilder content = new StringBuilder();
+        for (WebElement gradeable: DeadlineList) {
+            String text = gradeable.findElement(By.xpath("..")).findElement(By.xpath("..")).getText();
+            texts.add(text);
+            content.append(text).append('\0').append(gradeable.getAttribute("href")).append('\0');
+            for (WebElement meter : gradeable.findElements(By.xpath("../div[contains(@class, 'meter')]/span"))) {
+                content.append(meter.getAttribute("style"));
+            }
+            content.append('\0');
+        }
+        String hash = hash(content.toString());
+        this.courseHashes.put(courseName, hash);
+        if (hash.equals(this.knownHashes.get(courseName))) {
+            Log.debug("DEBUG: [accessDriver] Course <" + courseName + "> has not changed");
+            this.unchangedCourses.add(courseName);
+            return null;
+        }
+
+        // generate a course object
+        Course currCourse = new Course(courseName.replace("Fall 2020", "").trim());
 
-                String name = text.replace("REGRADE","")
-                        .replace("VIEW GRADE","")
-                        .replace("GRADE","")
-                        .replace("VIEW TEAM","")
-                        .replace("LATE SUBMIT","")
-                        .replace("LATE RESUBMIT","")
-                        .replace("RESUBMIT","")
-                        .replace("SUBMIT","")
-                        .replace("OVERDUE SUBMISSION","")
-                        .replace("NO SUBMISSION","");
-                String[] textArr = name.split("\n");
-                name = textArr[0].trim();
+        for (int i = 0; i < DeadlineList.size(); i++) {
+            WebElement gradeable = DeadlineList.get(i);
+            String text = texts.get(i);
+            System.err.println("DEBUG: [accessDriver] Working on a new gradable " + text);
+            if (text.contains("VIEW GRADE") ||             // Finished Homework
+                    text.contains("NO SUBMISSION") ||      // Past Homework
+                    text.contains("OVERDUE SUBMISSION") || // Past Homework
+                    text.contains("GRADE") ||              // TA Homework
+                    text.contains("REGRADE"))              // TA Homework
+                continue;
+            String id = gradeable.getAttribute("id");
+
+            String status;
+            if (text.contains("LATE SUBMIT")) {
+                status = Deadline.STATUS.LATE_SUBMIT;
+            } else if (text.contains("LATE RESUBMIT")) {
+                status = Deadline.STATUS.LATE_RESUBMIT;
+            } else if (text.contains("RESUBMIT")) {
+                status = Deadline.STATUS.RESUBMIT;
+            } else if (text.contains("OVERDUE SUBMISSION")) {
+                status = Deadline.STATUS.OVERDUE_SUBMISSION;
+            } else if (text.contains("NO SUBMISSION")) {
+                status = Deadline.STATUS.NO_SUBMISSION;
+            } else if (text.contains("MUST BE ON A TEAM")) {
+                status = Deadline.STATUS.MUST_ON_TEAM;
+            } else {
+                status = Deadline.STATUS.DEFAULT;
+            }
+            // progress
+            if (status.equals(Deadline.STATUS.RESUBMIT)) {
                 try {
-                    // team works
-                    if (text.contains("CREATE TEAM") || text.contains("MANAGE TEAM")
-                            || text.contains("CREATE/JOIN TEAM")) {
-                        String teamDueText = textArr[1].trim();
-                        CalendarWrapper teamDueDate;
-                        try {
-                            teamDueDate = Deadline.parseDate(teamDueText);
-                            name = name.
-                                    replace("CREATE TEAM", "").
-                                    replace("MANAGE TEAM", "").
-                                    replace("CREATE/JOIN TEAM", "");
-                            String createTeamName = name + " (MANAGE TEAM)";
-                            Deadline teamDue = new Deadline(teamDueDate, createTeamName, currCourse.getCourseName(), status, link);
-                            currCourse.addDeadline(teamDue);
-                        } catch (CalendarWrapper.CalendarFormatException  ept) {
-                            System.err.println("Due date format not correct: " + textArr[1].trim());
-                        } catch (ArrayIndexOutOfBoundsException ept) {
-                            System.err.println("No team deadlines");
+                    String progressStr = gradeable.findElement(By.xpath("../div[contains(@class, 'meter')]/span")).getAttribute("style");
+                    if (progressStr.startsWith("width: ")) {
+                        int progress = Integer.valueOf(progressStr.replace("width: ", "").replace("%", ""));
+                        if (progress == 100) {
+                            status = Deadline.STATUS.FINISHED;
                         }
                     }
-                    WebElement due = gradeable.findElement(By.className("subtitle"));
-                    String dueText = due.getText();
-                    CalendarWrapper currDueDate = Deadline.parseDate(dueText);
-                    Deadline currDue = new Deadline(currDueDate, name, currCourse.getCourseName(), status, link);
-                    System.err.println("DEBUG: [accessDriver] Adding " + currDue.toString());
-                    currCourse.addDeadline(currDue);
-                } catch (NoSuchElementException ept) {
-                    System.err.println("No due for this element " + name);
-                } catch (CalendarWrapper.CalendarFormatException  ept) {
-                    System.err.println("Due date format not correct.");
+                } catch (NoSuchElementException e) {
+                    Log.error("DEBUG: [accessDriver] Deadline " + text + " for " + courseName + " contains no width");
                 }
             }
-            this.courseList.put(courseName, currCourse);
-            driver.navigate().back();
-            CourseElementList = driver.findElements(By.className("btn-block"));
+            String link;
+            try {
+                link = gradeable.getAttribute("href");
+            } catch (NoSuchElementException e) {
+                Log.debug("DEBUG: [accessDriver] Deadline " + text + " for " + courseName + " contains no link");
+                link = "";
+            }
+            if (link == null) {
+                // the attribute's href value is null if the value is not set
+                link = "";
+            }
+
+            String name = text.replace("REGRADE","")
+                    .replace("VIEW GRADE","")
+                    .replace("GRADE","")
+                    .replace("VIEW TEAM","")
+                    .replace("LATE SUBMIT","")
+                    .replace("LATE RESUBMIT","")
+                    .replace("RESUBMIT","")
+                    .replace("SUBMIT","")
+                    .replace("OVERDUE SUBMISSION","")
+                    .replace("NO SUBMISSION","");
+            String[] textArr = name.split("\n");
+            name = textArr[0].trim();
+            try {
+                // team works
+                if (text.contains("CREATE TEAM") || text.contains("MANAGE TEAM")
+                        || text.contains("CREATE/JOIN TEAM")) {
+                    String teamDueText = textArr[1].trim();
+                    CalendarWrapper teamDueDate;
+                    try {
+                        teamDueDate = Deadline.parseDate(teamDueText);
+                        name = name.
+                                replace("CREATE TEAM", "").
+                                replace("MANAGE TEAM", "").
+                                replace("CREATE/JOIN TEAM", "");
+                        String createTeamName = name + " (MANAGE TEAM)";
+                        Deadline teamDue = new Deadline(teamDueDate, createTeamName, currCourse.getCourseName(), status, link);
+                        currCourse.addDeadline(teamDue);
+                    } catch (CalendarWrapper.CalendarFormatException  ept) {
+                        System.err.println("Due date format not correct: " + textArr[1].trim());
+                    } catch (ArrayIndexOutOfBoundsException ept) {
+                        System.err.println("No team deadlines");
+                    }
+                }
+                WebElement due = gradeable.findElement(By.className("subtitle"));
+                String dueText = due.getText();
+                CalendarWrapper currDueDate = Deadline.parseDate(dueText);
+                Deadline currDue = new Deadline(currDueDate, name, currCourse.getCourseName(), status, link);
+                System.err.println("DEBUG: [accessDriver] Adding " + currDue.toString());
+                currCourse.addDeadline(currDue);
+            } catch (NoSuchElementException ept) {
+                System.err.println("No due for this element " + name);
+            } catch (CalendarWrapper.CalendarFormatException  ept) {
+                System.err.println("Due date format not correct.");
+            }
+        }
+        return currCourse;
+    }
+
+    /**
+     * This function returns the SHA-1 hash of a string
+     * @param content the string
+     * @requires content != null
+     * @modifies None
+     * @effects None
+     * @return the hash as a hexadecimal string
+     */
+    private static String hash(String content) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            return new BigInteger(1, digest.digest(content.getBytes(StandardCharsets.UTF_8))).toString(16);
+        } catch (NoSuchAlgorithmException e) {
+            // every Java platform supports SHA-1
+            throw new IllegalStateException(e);
         }
-        System.err.println("DEBUG: [accessDriver] End of parsing");
     }
 
     /**
@@ -0,0 +1,120 @@
+package webService;
+
+import model.Course;
+import model.CourseDelta;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @overview
+ * This class remembers what every Submitty course looked like at the last refresh,
+ * so that a refresh only reports what has changed since then.
+ *
+ * @abstract_fields
+ * hashes -> a <course_name, hash> map of the gradeable list of every course
+ * snapshots -> a <course_name, course_object> map of the last parsed version of
+ *              every course
+ *
+ * @creators
+ * SubmittySync()
+ *
+ * @mutator
+ * List<CourseDelta> update(SubmittyAccess access, Map<String, Course> current)
+ * clear()
+ *
+ * @observers
+ * Map<String, String> getKnownHashes(Map<String, Course> current)
+ *
+ * @representation_invariant
+ * hashes.keySet() contains snapshots.keySet()
+ */
+public class SubmittySync {
+    private final HashMap<String, String> hashes;
+    private final HashMap<String, Course> snapshots;
+
+    /**
+     * Constructor
+     * @requires None
+     * @modifies hashes, snapshots
+     * @effects create an empty sync state
+     */
+    public SubmittySync() {
+        this.hashes = new HashMap<>();
+        this.snapshots = new HashMap<>();
+    }
+
+    /**
+     * This function returns the hashes that can be passed to
+     * SubmittyAccess.setKnownHashes(). A course that no longer exists in the current
+     * course map is left out, so it will be parsed and added again.
+     * @param current the <course_name, course_object> map that is shown to the user
+     * @requires current != null
+     * @modifies None
+     * @effects None
+     * @return a <course_name, hash> map
+     */
+    public synchronized Map<String, String> getKnownHashes(Map<String, Course> current) {
+        Map<String, String> known = new HashMap<>();
+        for (Map.Entry<String, Course> snapshot : this.snapshots.entrySet()) {
+            if (current.containsKey(snapshot.getValue().getCourseName())) {
+                known.put(snapshot.getKey(), this.hashes.get(snapshot.getKey()));
+            }
+        }
+        return known;
+    }
+
+    /**
+     * This function compares the result of a refresh with the last one and remembers
+     * the new result. A course that was parsed for the first time is compared with
+     * its current version without reporting removed deadlines, since the current
+     * version may contain deadlines that the user added. Courses that no longer
+     * appear on Submitty are forgotten, but their deadlines are not removed.
+     * @param access a SubmittyAccess object whose parser() has finished
+     * @param current the <course_name, course_object> map that is shown to the user
+     * @requires access != null, current != null
+     * @modifies hashes, snapshots
+     * @effects remember the new result
+     * @return a delta for every course that was parsed and is new or has changed
+     */
+    public synchronized List<CourseDelta> update(SubmittyAccess access, Map<String, Course> current) {
+        Map<String, Course> parsed = access.getCourseMap();
+        Map<String, String> newHashes = access.getCourseHashes();
+        HashSet<String> unchanged = access.getUnchangedCourses();
+        List<CourseDelta> deltas = new ArrayList<>();
+        for (Map.Entry<String, Course> entry : parsed.entrySet()) {
+            Course course = entry.getValue();
+            Course previous = this.snapshots.get(entry.getKey());
+            CourseDelta delta;
+            if (previous == null) {
+                delta = CourseDelta.diff(current.get(course.getCourseName()), course, false);
+            } else {
+                delta = CourseDelta.diff(previous, course, true);
+            }
+            // a new course is reported even without deadlines so that it can be listed
+            if (!delta.isEmpty() || !current.containsKey(course.getCourseName())) {
+                deltas.add(delta);
+            }
+            this.snapshots.put(entry.getKey(), course);
+            this.hashes.put(entry.getKey(), newHashes.get(entry.getKey()));
+        }
+        // forget the courses that were not visited
+        this.snapshots.keySet().removeIf(name -> !parsed.containsKey(name) && !unchanged.contains(name));
+        this.hashes.keySet().retainAll(this.snapshots.keySet());
+        return deltas;
+    }
+
+    /**
+     * This function forgets every course
+     * @requires None
+     * @modifies hashes, snapshots
+     * @effects clear the sync state
+     */
+    public synchronized void clear() {
+        this.hashes.clear();
+        this.snapshots.clear();
+    }
+}
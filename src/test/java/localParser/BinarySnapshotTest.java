@@ -0,0 +1,230 @@
+package localParser;
+
+import main.controller.CommandLineController;
+import model.CalendarWrapper;
+import model.Course;
+import model.Deadline;
+import model.DeadlineSnapshot;
+import model.DeadlineStore;
+import model.RecurringDeadline;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the BinarySnapshot class and the binary format of Load and Save.
+ */
+public class BinarySnapshotTest {
+    private ConcurrentHashMap<String, Course> courses;
+    private File file;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() throws IOException {
+        courses = new ConcurrentHashMap<>();
+        Course os = new Course("Operating System");
+        os.addDeadline(new Deadline(2019, 4, 26, 23, 59, "HW4", "Operating System",
+                Deadline.STATUS.DEFAULT, "https://submitty.org/hw4"));
+        os.addDeadline(new Deadline(2019, 3, 1, 8, 0, "HW1", "Operating System",
+                Deadline.STATUS.FINISHED, Deadline.LINK.NONE));
+        os.addDeadline(new Deadline(2019, 5, 2, 12, 30, "Lab 一", "Operating System",
+                null, Deadline.LINK.NONE));
+        courses.put(os.getCourseName(), os);
+        courses.put("Empty", new Course("Empty"));
+        file = File.createTempFile("deadlines", ".dls");
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    private void save() throws IOException {
+        Save save = new Save(DeadlineSnapshot.of(courses), new FileOutputStream(file));
+        assertTrue(Parser.parse(save, "DLS"));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  round trip Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void roundTripTest() throws IOException {
+        save();
+        CommandLineController controller = new CommandLineController();
+        assertTrue(Parser.parse(new Load(controller, file), "DLS"));
+        Course os = controller.getAllCourses().get("Operating System");
+        assertEquals(3, os.size());
+        for (Deadline expected: courses.get("Operating System").getDeadlines().values()) {
+            Deadline actual = os.getDeadlines().get(expected.getName());
+            assertEquals(expected.getEpochMinute(), actual.getEpochMinute());
+            assertEquals(expected.getDay(), actual.getDay());
+            assertEquals(expected.getHour(), actual.getHour());
+            assertEquals(expected.getStatus(), actual.getStatus());
+            assertEquals(expected.getLink(), actual.getLink());
+        }
+        // the course names are written once
+        assertSame(os.getDeadlines().get("HW1").getCourseName(), os.getDeadlines().get("HW4").getCourseName());
+    }
+
+    @Test
+    public void sizeTest() throws IOException {
+        Course big = new Course("Data Structures");
+        for (int i = 0; i < 1000; i++) {
+            big.addDeadline(new Deadline(2019, 1 + i % 12, 1 + i % 28, 23, 59, "HW" + i, "Data Structures",
+                    Deadline.STATUS.DEFAULT, Deadline.LINK.NONE));
+        }
+        courses.put(big.getCourseName(), big);
+        save();
+        StringWriter json = new StringWriter();
+        new Save(courses, json).Json();
+        // a deadline takes a few bytes besides its name
+        assertTrue(file.length() * 8 < json.toString().length());
+
+        List<Deadline> loaded = new ArrayList<>();
+        assertEquals(1003, BinarySnapshot.read(ByteBuffer.wrap(Files.readAllBytes(file.toPath())),
+                (deadline, rule) -> loaded.add(deadline)));
+        assertEquals(1003, loaded.size());
+    }
+
+    @Test
+    public void recurringTest() throws IOException {
+        DeadlineStore store = new DeadlineStore(new CalendarWrapper(2019, 4, 1, 12, 0));
+        store.putAll(courses.get("Operating System").getDeadlines().values());
+        Deadline first = new Deadline(2019, 4, 5, 14, 0, "Lab", "Operating System",
+                Deadline.STATUS.DEFAULT, "https://submitty.org/lab");
+        RecurringDeadline lab = new RecurringDeadline(first, "FREQ=WEEKLY;COUNT=12");
+        store.putRecurring(Collections.singletonList(lab));
+        assertTrue(Parser.parse(new Save(store.getSnapshot(), new FileOutputStream(file)), "DLS"));
+
+        CommandLineController controller = new CommandLineController();
+        assertTrue(Parser.parse(new Load(controller, file), "DLS"));
+        DeadlineSnapshot loaded = controller.getDeadlineStore().getSnapshot();
+        assertEquals(3, loaded.getDeadlines("Operating System").size());
+        RecurringDeadline series = loaded.getRecurring(lab.getKey());
+        assertEquals(lab, series);
+        assertEquals(first.getEpochMinute(), series.getFirst().getEpochMinute());
+        assertEquals(first.getLink(), series.getFirst().getLink());
+
+        // a CSV file has no rules, so the series is left out and the save says so
+        StringWriter csv = new StringWriter();
+        Save save = new Save(store.getSnapshot(), csv);
+        assertTrue(save.Csv());
+        assertEquals(4, csv.toString().split(System.lineSeparator()).length);
+        assertFalse(csv.toString().contains("lab"));
+        assertTrue(save.getErrorMessage().startsWith("1 recurring"));
+    }
+
+    @Test
+    public void versionOneTest() throws IOException {
+        // the layout before recurrence rules were added
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        out.write(BinarySnapshot.MAGIC);
+        out.write(1);
+        writeString(out, "UTC");
+        BinarySnapshot.writeVarint(out, 2);
+        writeString(out, "Operating System");
+        writeString(out, Deadline.LINK.NONE);
+        BinarySnapshot.writeVarint(out, 1);
+        BinarySnapshot.writeVarint(out, 0);
+        BinarySnapshot.writeVarint(out, 1);
+        writeString(out, "HW1");
+        BinarySnapshot.writeVarint(out, BinarySnapshot.zigzag(25000000));
+        BinarySnapshot.writeVarint(out, 0);
+        BinarySnapshot.writeVarint(out, 1);
+
+        List<Deadline> loaded = new ArrayList<>();
+        List<String> rules = new ArrayList<>();
+        assertEquals(1, BinarySnapshot.read(ByteBuffer.wrap(out.toByteArray()), (deadline, rule) -> {
+            loaded.add(deadline);
+            rules.add(rule);
+        }));
+        assertEquals("HW1", loaded.get(0).getName());
+        assertEquals(25000000, loaded.get(0).getEpochMinute());
+        assertEquals(Collections.singletonList(null), rules);
+    }
+
+    private static void writeString(ByteArrayOutputStream out, String string) throws IOException {
+        byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+        BinarySnapshot.writeVarint(out, bytes.length);
+        out.write(bytes);
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  varint Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void varintTest() throws IOException {
+        long[] values = {0, 1, 127, 128, 300, Integer.MAX_VALUE, -1, Long.MIN_VALUE, Long.MAX_VALUE};
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        for (long value: values) {
+            BinarySnapshot.writeVarint(out, BinarySnapshot.zigzag(value));
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(out.toByteArray());
+        for (long value: values) {
+            assertEquals(value, BinarySnapshot.unzigzag(BinarySnapshot.readVarint(buffer)));
+        }
+        assertFalse(buffer.hasRemaining());
+        // small differences take one byte
+        out.reset();
+        BinarySnapshot.writeVarint(out, BinarySnapshot.zigzag(-60));
+        assertEquals(1, out.size());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  bad file Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void badFileTest() throws IOException {
+        save();
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        CommandLineController controller = new CommandLineController();
+
+        // a newer version is refused
+        bytes[3] = (byte) (BinarySnapshot.VERSION + 1);
+        Files.write(file.toPath(), bytes);
+        Load load = new Load(controller, file);
+        assertFalse(Parser.parse(load, "DLS"));
+        assertTrue(load.getErrorMessage().contains("version"));
+
+        // so is a text file
+        Files.write(file.toPath(), "{}".getBytes());
+        assertFalse(Parser.parse(new Load(controller, file), "DLS"));
+
+        // a truncated file keeps the deadlines before the end
+        bytes[3] = BinarySnapshot.VERSION;
+        Files.write(file.toPath(), Arrays.copyOf(bytes, bytes.length - 3));
+        load = new Load(controller, file);
+        assertFalse(Parser.parse(load, "DLS"));
+        assertEquals("The snapshot is truncated.", load.getErrorMessage());
+        assertEquals(2, controller.getAllCourses().get("Operating System").size());
+
+        // a reader has no file to map
+        assertFalse(new Load(controller, new StringReader("")).Binary());
+    }
+}
@@ -0,0 +1,156 @@
+package localParser;
+
+import main.controller.CommandLineController;
+import model.Course;
+import model.Deadline;
+import model.DeadlineKey;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the BulkImport class.
+ */
+public class BulkImportTest {
+    private File directory;
+    private File json;
+    private File csv;
+    private File ics;
+    private ForkJoinPool pool;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("import").toFile();
+        json = write("a.json", "{\"Operating System\": {"
+                + "\"HW1\": {\"year\": 2019, \"month\": 3, \"day\": 1, \"hour\": 8, \"minute\": 0},"
+                + "\"HW4\": {\"year\": 2019, \"month\": 4, \"day\": 26, \"hour\": 23, \"minute\": 59}}}");
+        csv = write("b.csv", "Course Name, Deadline Name, Month, Day, Year, Hour, Minute, Status, Link\r\n"
+                + "Operating System,HW4,4,27,2019,23,59,WAIT FOR SUBMISSION,\r\n"
+                + "Data Structures,HW1,5,1,2019,12,0,WAIT FOR SUBMISSION,\r\n");
+        StringBuilder calendar = new StringBuilder("BEGIN:VCALENDAR\r\nVERSION:2.0\r\n");
+        calendar.append("BEGIN:VEVENT\r\nSUMMARY:Algorithms: Lab\r\nDTSTART:20190405T100000Z\r\n")
+                .append("RRULE:FREQ=WEEKLY;COUNT=4\r\nDESCRIPTION:Status = WAIT FOR SUBMISSION\r\nEND:VEVENT\r\n")
+                .append("END:VCALENDAR\r\n");
+        File sub = new File(directory, "sub");
+        assertTrue(sub.mkdir());
+        ics = write("sub/c.ics", calendar.toString());
+        write("notes.md", "not a calendar");
+        pool = new ForkJoinPool(4);
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        pool.shutdown();
+        List<File> files = new ArrayList<>();
+        Files.walk(directory.toPath()).forEach(path -> files.add(path.toFile()));
+        Collections.reverse(files);
+        for (File file: files) {
+            file.delete();
+        }
+    }
+
+    private File write(String name, String content) throws IOException {
+        File file = new File(directory, name);
+        Files.write(file.toPath(), content.getBytes(StandardCharsets.UTF_8));
+        return file;
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  collect Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void collectTest() {
+        // a directory is listed by path and a file given twice is kept at its first place
+        assertEquals(Arrays.asList(ics.getAbsoluteFile(), json.getAbsoluteFile(), csv.getAbsoluteFile()),
+                BulkImport.collect(Arrays.asList(ics, directory)));
+        assertEquals("CSV", BulkImport.extensionOf(new File("X.Csv")));
+        assertNull(BulkImport.extensionOf(new File("notes.md")));
+        assertNull(BulkImport.extensionOf(new File("README")));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  import Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void importTest() {
+        CommandLineController controller = new CommandLineController();
+        List<BulkImport.Result> results = BulkImport.run(Collections.singletonList(directory), pool, controller);
+        assertEquals(3, results.size());
+        for (BulkImport.Result result: results) {
+            assertTrue(result.toString(), result.isSuccessful());
+            assertEquals("", result.getErrorMessage());
+        }
+        // a.json, b.csv, then sub/c.ics
+        assertEquals("JSON", results.get(0).getExtension());
+        assertEquals(2, results.get(0).getDeadlines().size());
+        assertEquals(2, results.get(1).size());
+        assertEquals(1, results.get(2).getRecurring().size());
+
+        Course os = controller.getAllCourses().get("Operating System");
+        assertEquals(2, os.size());
+        // the later file wins, whichever finished first
+        assertEquals(27, os.getDeadlines().get("HW4").getDay());
+        assertEquals(1, controller.getAllCourses().get("Data Structures").size());
+        assertNotNull(controller.getDeadlineStore().getSnapshot()
+                .getRecurring(new DeadlineKey("Algorithms", "Lab")));
+    }
+
+    @Test
+    public void mergeOrderTest() {
+        // the same files in the other order
+        CommandLineController controller = new CommandLineController();
+        BulkImport.run(Arrays.asList(csv, json), pool, controller);
+        assertEquals(26, controller.getAllCourses().get("Operating System").getDeadlines().get("HW4").getDay());
+    }
+
+    @Test
+    public void errorTest() throws IOException {
+        File broken = write("broken.json", "{\"Operating System\": {\"HW9\": {\"month\": 4}}}");
+        File missing = new File(directory, "missing.csv");
+        File other = write("other.txt.md", "");
+        CommandLineController controller = new CommandLineController();
+        List<BulkImport.Result> results =
+                BulkImport.run(Arrays.asList(broken, missing, other, json), pool, controller);
+        assertEquals(4, results.size());
+        // every file has its own error
+        assertFalse(results.get(0).isSuccessful());
+        assertEquals("Unrecognizable file format on line 1", results.get(0).getErrorMessage());
+        assertFalse(results.get(1).isSuccessful());
+        assertFalse(results.get(1).getErrorMessage().isEmpty());
+        assertEquals("Unsupported file type.", results.get(2).getErrorMessage());
+        assertTrue(results.get(3).isSuccessful());
+        // the files which were read are merged anyway
+        assertEquals(2, controller.getAllCourses().get("Operating System").size());
+    }
+
+    @Test
+    public void controllerTest() {
+        CommandLineController controller = new CommandLineController();
+        controller.importFromLocal(Arrays.asList(json, ics));
+        assertEquals(2, controller.getAllCourses().get("Operating System").size());
+        assertEquals(1, controller.getDeadlineStore().getSnapshot().getRecurringCount());
+        Deadline hw1 = controller.getAllCourses().get("Operating System").getDeadlines().get("HW1");
+        assertEquals(3, hw1.getMonth());
+    }
+}
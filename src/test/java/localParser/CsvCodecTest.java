@@ -0,0 +1,139 @@
+package localParser;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the CsvCodec class.
+ */
+public class CsvCodecTest {
+    private List<String> record;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        record = new ArrayList<>();
+    }
+
+    private static List<List<String>> readAll(CsvCodec.RecordReader reader) throws IOException {
+        List<List<String>> records = new ArrayList<>();
+        List<String> record = new ArrayList<>();
+        while (reader.next(record)) {
+            records.add(new ArrayList<>(record));
+        }
+        return records;
+    }
+
+    /**
+     * A reader which returns one character at a time, so every field crosses the end of
+     * the buffer
+     */
+    private static Reader slow(String text) {
+        return new StringReader(text) {
+            @Override
+            public int read(char[] buffer, int offset, int length) throws IOException {
+                return super.read(buffer, offset, Math.min(length, 1));
+            }
+        };
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  read Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void readTest() throws IOException {
+        String text = "a,b,,d\r\n\"x, y\",\"say \"\"hi\"\"\",\"two\nlines\"\nlast,\n";
+        for (Reader in: Arrays.asList(new StringReader(text), slow(text))) {
+            List<List<String>> records = readAll(new CsvCodec.RecordReader(in));
+            assertEquals(3, records.size());
+            assertEquals(Arrays.asList("a", "b", "", "d"), records.get(0));
+            assertEquals(Arrays.asList("x, y", "say \"hi\"", "two\nlines"), records.get(1));
+            assertEquals(Arrays.asList("last", ""), records.get(2));
+        }
+    }
+
+    @Test
+    public void lenientTest() throws IOException {
+        // no line break at the end, text after a closing quote and a quote which is not closed
+        CsvCodec.RecordReader reader = new CsvCodec.RecordReader(new StringReader("\"a\"b,c\r\"open,"));
+        assertTrue(reader.next(record));
+        assertEquals(Arrays.asList("ab", "c"), record);
+        assertTrue(reader.next(record));
+        assertEquals(Collections.singletonList("open,"), record);
+        assertFalse(reader.next(record));
+        assertFalse(new CsvCodec.RecordReader(new StringReader("")).next(record));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  write Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void writeTest() throws IOException {
+        StringWriter out = new StringWriter();
+        CsvCodec.writeRecord(out, "Operating System", "HW \"4\", part 1", null, "two\r\nlines");
+        assertEquals("Operating System,\"HW \"\"4\"\", part 1\",,\"two\r\nlines\"\r\n", out.toString());
+
+        CsvCodec.RecordReader reader = new CsvCodec.RecordReader(new StringReader(out.toString()));
+        assertTrue(reader.next(record));
+        assertEquals(Arrays.asList("Operating System", "HW \"4\", part 1", "", "two\r\nlines"), record);
+        assertFalse(reader.next(record));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  parallel Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void splitTest() {
+        char[] data = "a,\"1\n2\"\nb,3\nc,4\n".toCharArray();
+        // the line break inside the quotes is not a record boundary
+        assertEquals(Arrays.toString(new int[]{0, 8, 12, data.length}),
+                Arrays.toString(CsvCodec.split(data, 0, data.length, 1)));
+        assertEquals(Arrays.toString(new int[]{0, data.length}),
+                Arrays.toString(CsvCodec.split(data, 0, data.length, data.length)));
+    }
+
+    @Test
+    public void parallelTest() throws IOException {
+        StringWriter out = new StringWriter();
+        for (int i = 0; i < 5000; i++) {
+            CsvCodec.writeRecord(out, String.valueOf(i), (i % 7 == 0) ? "line\nbreak, " + i : "plain");
+        }
+        char[] data = out.toString().toCharArray();
+        List<List<String>> expected = readAll(new CsvCodec.RecordReader(data, 0, data.length));
+        assertEquals(5000, expected.size());
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<List<String>> records = CsvCodec.parse(data, 0, data.length, 1000, pool, ArrayList::new);
+            assertEquals(expected, records);
+            // records which are mapped to null are left out
+            List<String> names = CsvCodec.parse(data, 0, data.length, 1000, pool,
+                    fields -> fields.get(1).equals("plain") ? null : fields.get(0));
+            assertEquals(715, names.size());
+            assertEquals("7", names.get(1));
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package localParser;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Date;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the IcsCodec class.
+ */
+public class IcsCodecTest {
+    private StringWriter out;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        out = new StringWriter();
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  round trip Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void roundTripTest() throws IOException {
+        StringBuilder summary = new StringBuilder("Operating System: HW; part, 2");
+        for (int i = 0; i < 10; i++) {
+            summary.append(" a long name 😀");
+        }
+        String description = "Status = WAIT\\FOR" + System.lineSeparator() + "Link = https://example.org/a,b";
+        Date start = new Date(1556337540000L);
+        IcsCodec.writeHeader(out);
+        IcsCodec.writeEvent(out, summary.toString(), start, description, new Date());
+        IcsCodec.writeEvent(out, "OS: HW5", new Date(0), "Status = DONE", new Date());
+        IcsCodec.writeFooter(out);
+
+        String[] lines = out.toString().split("\r\n", -1);
+        for (String line: lines) {
+            assertTrue(line.length() <= 75);
+            assertFalse(line.contains("\n"));
+        }
+        assertTrue(out.toString().contains("SUMMARY;LANGUAGE=en-us:Operating System: HW\\; part\\, 2"));
+        assertTrue(out.toString().contains("DTSTART:20190427T035900Z\r\n"));
+
+        IcsCodec.EventReader reader = new IcsCodec.EventReader(new StringReader(out.toString()));
+        IcsCodec.Event event = reader.next();
+        assertEquals(summary.toString(), event.getSummary());
+        assertEquals("Status = WAIT\\FOR\nLink = https://example.org/a,b", event.getDescription());
+        assertEquals(start.getTime(), event.getStart());
+        event = reader.next();
+        assertEquals("OS: HW5", event.getSummary());
+        assertEquals(0, event.getStart());
+        assertNull(reader.next());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  read Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void nestedTest() throws IOException {
+        IcsCodec.EventReader reader = new IcsCodec.EventReader(new StringReader("BEGIN:VCALENDAR\n" +
+                "BEGIN:VEVENT\n" +
+                "SUMMARY:OS: HW1\n" +
+                "DTSTART;TZID=\"Asia/Shanghai\":20190426T235900\n" +
+                "DESCRIPTION:Status = DONE\n" +
+                "BEGIN:VALARM\n" +
+                "DESCRIPTION:Reminder\n" +
+                "END:VALARM\n" +
+                "END:VEVENT\n" +
+                "BEGIN:VEVENT\n" +
+                "SUMMARY:OS: HW2\n" +
+                "DTSTART;VALUE=DATE:20190426\n" +
+                "END:VEVENT\n" +
+                "BEGIN:VEVENT\n" +
+                "SUMMARY:OS: HW3\n" +
+                "DTSTART:soon\n" +
+                "END:VEVENT\n" +
+                "END:VCALENDAR\n"));
+        IcsCodec.Event event = reader.next();
+        assertEquals("Status = DONE", event.getDescription());
+        assertEquals(LocalDateTime.of(2019, 4, 26, 15, 59).toInstant(ZoneOffset.UTC).toEpochMilli(), event.getStart());
+        event = reader.next();
+        assertNull(event.getDescription());
+        assertEquals(LocalDate.of(2019, 4, 26).atStartOfDay(ZoneId.systemDefault()).toInstant().toEpochMilli(),
+                event.getStart());
+        assertFalse(reader.next().hasStart());
+        assertNull(reader.next());
+    }
+}
@@ -0,0 +1,123 @@
+package localParser;
+
+import main.controller.CommandLineController;
+import model.CalendarWrapper;
+import model.Deadline;
+import model.DeadlineKey;
+import model.DeadlineStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the Journal class.
+ */
+public class JournalTest {
+    private File file;
+    private DeadlineStore store;
+    private Journal journal;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("deadlines", ".journal");
+        assertTrue(file.delete());
+        store = new DeadlineStore(new CalendarWrapper(2019, 4, 1, 12, 0));
+        journal = new Journal(file);
+        store.addListener(journal);
+    }
+
+    @After
+    public void tearDown() {
+        journal.close();
+        file.delete();
+        new File(file.getPath() + Journal.ROTATED_SUFFIX).delete();
+    }
+
+    private static Deadline homework(int i, int day) {
+        return new Deadline(2019, 4, day, 23, 59, "HW" + i, "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+    }
+
+    private CommandLineController replay() {
+        CommandLineController controller = new CommandLineController();
+        new Journal(file).replay(controller);
+        return controller;
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  replay Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void replayTest() {
+        store.putAll(Arrays.asList(homework(1, 2), homework(2, 9), homework(3, 16)));
+        store.put(homework(2, 10));
+        store.remove(DeadlineKey.of(homework(3, 16)));
+        journal.ignore("DS", true);
+        journal.ignore("ALGO", true);
+        journal.ignore("DS", false);
+        // one record per change, not per deadline in the store
+        assertEquals(8, journal.getRecordCount());
+        assertEquals(file.length(), journal.length());
+
+        CommandLineController controller = replay();
+        assertEquals(2, controller.getAllCourses().get("OS").size());
+        assertEquals(10, controller.getAllCourses().get("OS").getDeadlines().get("HW2").getDay());
+        assertNull(controller.getAllCourses().get("OS").getDeadlines().get("HW3"));
+        assertTrue(controller.isIgnoring("ALGO"));
+        assertFalse(controller.isIgnoring("DS"));
+    }
+
+    @Test
+    public void tornRecordTest() throws IOException {
+        store.put(homework(1, 2));
+        journal.close();
+        // the program was killed while writing the last record
+        try (FileWriter writer = new FileWriter(file, true)) {
+            writer.write("{\"op\":\"put\",\"course\":\"OS\",\"name\":\"HW2\",\"ye");
+        }
+        CommandLineController controller = new CommandLineController();
+        Journal reopened = new Journal(file);
+        assertEquals(1, reopened.replay(controller));
+        assertEquals(1, reopened.getSkippedCount());
+        assertEquals(1, controller.getAllCourses().get("OS").size());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  compaction Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void compactionTest() throws IOException {
+        store.putAll(Arrays.asList(homework(1, 2), homework(2, 9)));
+        assertTrue(journal.startCompaction());
+        assertTrue(journal.isCompacting());
+        assertEquals(0, journal.length());
+        // a second compaction waits for the first one
+        store.remove(DeadlineKey.of(homework(1, 2)));
+        assertFalse(journal.startCompaction());
+        // until the deadlines file is written, both files are replayed in order
+        CommandLineController controller = replay();
+        assertEquals(1, controller.getAllCourses().get("OS").size());
+        assertEquals(1, Files.readAllLines(file.toPath()).size());
+
+        journal.finishCompaction();
+        assertFalse(journal.isCompacting());
+        // only the records after the rotation are left; the rest is in the deadlines file
+        assertTrue(replay().getAllCourses().isEmpty());
+    }
+}
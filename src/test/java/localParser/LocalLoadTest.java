@@ -8,6 +8,9 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.Assert.assertEquals;
@@ -40,7 +43,7 @@ public class LocalLoadTest {
     ////  a helper function to test the loading result
     /////////////////////////////////////////////////////////////////////////
 
-    private void loadTest(String extension) {
+    private Load loadTest(String extension) {
         Load load = new Load(this.controller, stringReader);
         Thread thread = Parser.getParserThread(load, extension.toUpperCase(), null, false);
         thread.run();
@@ -49,6 +52,7 @@ public class LocalLoadTest {
         assertFalse(this.controller.getAllCourses().get("Operating System").getDeadlines().isEmpty());
         assertEquals("HW4",
                 this.controller.getAllCourses().get("Operating System").getDeadlines().get("HW4").getName());
+        return load;
     }
 
     private void loadTestFailed(String extension) {
@@ -113,6 +117,59 @@ public class LocalLoadTest {
         this.loadTestFailed("JSON");
     }
 
+    @Test
+    public void jsonStreamTest() {
+        StringBuilder json = new StringBuilder("{");
+        for (int c = 0; c < 30; c++) {
+            json.append(c == 0 ? "" : ",").append("\"Course ").append(c).append("\": {");
+            for (int d = 0; d < 50; d++) {
+                json.append(d == 0 ? "" : ",").append("\"HW").append(d).append("\": {")
+                        .append("\"year\": 2019, \"month\": 4, \"day\": ").append(d % 28 + 1)
+                        .append(", \"hour\": \"23\", \"minute\": 59, \"status\": null,")
+                        .append(" \"extra\": {\"nested\": [1, 2]}}");
+            }
+            json.append("}");
+        }
+        // a record without a year is counted as an error but does not stop the loading
+        json.append(", \"Operating System\": {\"HW3\": {\"month\": 4, \"date\": 26, \"hour\": 23, \"minute\": 59},")
+                .append(" \"HW4\": {\"year\": 2019, \"month\": 4, \"date\": 26, \"hour\": 23, \"minute\": 59}}}");
+        this.stringReader = new StringReader(json.toString());
+        Load load = this.loadTest("JSON");
+        assertEquals(31, this.controller.getAllCourses().size());
+        assertEquals(50, this.controller.getAllCourses().get("Course 7").size());
+        assertEquals(1, this.controller.getAllCourses().get("Operating System").size());
+        assertEquals(8, this.controller.getAllCourses().get("Course 7").getDeadlines().get("HW7").getDay());
+        assertEquals(50, this.controller.getAllCourses().get("Course 29").size());
+        assertEquals("Unrecognizable file format on line 1501", load.getErrorMessage());
+    }
+
+    @Test
+    public void jsonMalformedTest() {
+        this.stringReader = new StringReader("{\"Operating System\": [1, 2]}");
+        this.loadTestFailed("JSON");
+    }
+
+    @Test
+    public void jsonEmptyTest() {
+        // an empty store is saved as an empty object, which is read completely
+        this.stringReader = new StringReader("{" + newline + "}" + newline);
+        assertTrue(Parser.parse(new Load(this.controller, stringReader), "JSON"));
+        assertTrue(this.controller.getAllCourses().isEmpty());
+    }
+
+    @Test
+    public void jsonTruncatedTest() {
+        this.stringReader = new StringReader("{\"Operating System\": {\"HW4\": {\"year\": 2019, \"month\": 4,"
+                + " \"date\": 26, \"hour\": 23, \"minute\": 59}, \"HW5\": {\"year\": 20");
+        Boolean[] done = {null};
+        Thread thread = Parser.getParserThread(new Load(this.controller, stringReader), "JSON", null, false,
+                parsed -> done[0] = parsed);
+        thread.run();
+        // the deadlines before the error are kept, but the file was not read completely
+        assertEquals(Boolean.FALSE, done[0]);
+        assertEquals(1, this.controller.getAllCourses().get("Operating System").size());
+    }
+
     /////////////////////////////////////////////////////////////////////////
     ////  ICS test
     /////////////////////////////////////////////////////////////////////////
@@ -245,4 +302,37 @@ public class LocalLoadTest {
         thread3.run();
         assertTrue(this.controller.getAllCourses().isEmpty());
     }
-}
\ No newline at end of file
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  Cancel Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void cancelTest() {
+        StringBuilder csv = new StringBuilder("Course Name, Deadline Name, Month, Date, Year, Hour, Minute, Status");
+        for (int i = 0; i < 3000; i++) {
+            csv.append(newline).append("Operating System,HW").append(i).append(",4,26,2019,23,59,WAIT FOR SUBMISSION");
+        }
+        this.stringReader = new StringReader(csv.toString());
+        Load load = new Load(this.controller, stringReader);
+        List<Integer> progress = new ArrayList<>();
+        List<Long> characters = new ArrayList<>();
+        load.setProgressListener((deadlines, read) -> {
+            progress.add(deadlines);
+            characters.add(read);
+            // stop after the first batch
+            load.cancel();
+        });
+        Boolean[] done = {null};
+        Thread thread = Parser.getParserThread(load, "CSV", null, false, parsed -> done[0] = parsed);
+        thread.run();
+        // a cancelled load is not a successful one
+        assertEquals(Boolean.FALSE, done[0]);
+        assertTrue(load.isCancelled());
+        assertEquals("Loading was cancelled.", load.getErrorMessage());
+        // the first batch is kept and the rest of the file is not read
+        assertEquals(Collections.singletonList(1024), progress);
+        assertTrue(characters.get(0) > 0 && characters.get(0) < csv.length());
+        assertEquals(1024, this.controller.getAllCourses().get("Operating System").size());
+    }
+}
@@ -1,11 +1,17 @@
 package localParser;
 
+import main.controller.CommandLineController;
 import model.Course;
 import model.Deadline;
+import model.DeadlineKey;
+import model.DeadlineSnapshot;
+import model.RecurringDeadline;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.StringReader;
 import java.io.StringWriter;
+import java.util.Collections;
 import java.util.concurrent.ConcurrentHashMap;
 
 import static org.junit.Assert.*;
@@ -108,6 +114,77 @@ public class LocalSaveTest {
                 "}" + newline, stringWriter.toString());
     }
 
+    @Test
+    public void jsonEscapeTest() {
+        ConcurrentHashMap<String, Course> allCourses = new ConcurrentHashMap<>();
+        Course course = new Course("C:\\Courses \"OS\"");
+        course.addDeadline("HW \"4\"", 2019, 4, 26, 23, 59, Deadline.STATUS.DEFAULT,
+                "https://example.org/?q=\"a\\b\"");
+        allCourses.put(course.getCourseName(), course);
+        allCourses.put("Empty", new Course("Empty"));
+        StringWriter stringWriter = new StringWriter();
+        assertTrue(new Save(allCourses, stringWriter).Json());
+        assertTrue(stringWriter.toString().contains("\t\t\"HW \\\"4\\\"\": {"));
+
+        CommandLineController controller = new CommandLineController();
+        assertTrue(new Load(controller, new StringReader(stringWriter.toString())).Json());
+        Deadline deadline = controller.getAllCourses().get(course.getCourseName()).getDeadlines().get("HW \"4\"");
+        assertEquals("https://example.org/?q=\"a\\b\"", deadline.getLink());
+    }
+
+    @Test
+    public void recurringTest() {
+        CommandLineController source = new CommandLineController();
+        Deadline first = new Deadline(2019, 4, 5, 10, 0, "Lab", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        source.addDeadline("OS", "HW1", 2019, 4, 2, 23, 59, Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        source.addRecurringDeadlines(Collections.singletonList(new RecurringDeadline(first, "FREQ=WEEKLY;COUNT=4")));
+        for (String format: new String[]{"JSON", "ICS"}) {
+            StringWriter stringWriter = new StringWriter();
+            Save save = new Save(source.getDeadlineStore().getSnapshot(), stringWriter);
+            assertTrue(format.equals("JSON") ? save.Json() : save.Ics());
+            assertTrue(stringWriter.toString().contains("FREQ=WEEKLY;COUNT=4"));
+
+            CommandLineController controller = new CommandLineController();
+            Load load = new Load(controller, new StringReader(stringWriter.toString()));
+            assertTrue(format.equals("JSON") ? load.Json() : load.Ics());
+            DeadlineSnapshot snapshot = controller.getDeadlineStore().getSnapshot();
+            assertEquals(1, snapshot.size());
+            RecurringDeadline series = snapshot.getRecurring(new DeadlineKey("OS", "Lab"));
+            assertEquals("FREQ=WEEKLY;COUNT=4", series.getRule());
+            assertEquals(first.getEpochMinute(), series.getFirst().getEpochMinute());
+            assertEquals(5, snapshot.getMonth(2019, 4).size());
+        }
+    }
+
+    @Test
+    public void jsonParallelTest() {
+        ConcurrentHashMap<String, Course> allCourses = new ConcurrentHashMap<>();
+        for (int c = 0; c < 50; c++) {
+            Course course = new Course("Course " + c);
+            for (int i = 0; i < 200; i++) {
+                course.addDeadline("HW" + i, 2019, 1 + i % 12, 1 + i % 28, 23, 59, Deadline.STATUS.DEFAULT, "");
+            }
+            allCourses.put(course.getCourseName(), course);
+        }
+        StringWriter parallel = new StringWriter();
+        assertTrue(new Save(allCourses, parallel).Json());
+
+        // the courses are in the same order as the ones serialized one at a time
+        StringBuilder expected = new StringBuilder("{" + newline);
+        int count = 0;
+        for (String courseName: DeadlineSnapshot.of(allCourses).getCourseNames()) {
+            ConcurrentHashMap<String, Course> one = new ConcurrentHashMap<>();
+            one.put(courseName, allCourses.get(courseName));
+            StringWriter single = new StringWriter();
+            assertTrue(new Save(one, single).Json());
+            String body = single.toString();
+            expected.append(body, 1 + newline.length(), body.length() - 1 - newline.length() * 2);
+            expected.append(++count == allCourses.size() ? newline : "," + newline);
+        }
+        expected.append("}").append(newline);
+        assertEquals(expected.toString(), parallel.toString());
+    }
+
     /////////////////////////////////////////////////////////////////////////
     ////  ICS test
     /////////////////////////////////////////////////////////////////////////
@@ -0,0 +1,125 @@
+package main.controller;
+
+import model.CalendarWrapper;
+import model.Deadline;
+import model.DeadlineKey;
+import model.DeadlineStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the ModelWriter class.
+ */
+public class ModelWriterTest {
+    private DeadlineStore store;
+    private ModelWriter writer;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        store = new DeadlineStore(new CalendarWrapper(2019, 4, 1, 12, 0));
+        writer = new ModelWriter(store);
+    }
+
+    @After
+    public void tearDown() {
+        writer.shutdown();
+    }
+
+    private static Deadline homework(int i) {
+        return new Deadline(2019, 4, 2, 23, 59, "HW" + i, "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  order Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void orderTest() {
+        List<Deadline> batch = new ArrayList<>();
+        batch.add(homework(1));
+        writer.putAll(batch);
+        // the batch was copied when it was queued
+        batch.add(homework(2));
+        writer.remove(DeadlineKey.of(homework(1)));
+        writer.put(homework(3));
+        assertEquals(3, writer.snapshot().join().getVersion());
+        assertNull(store.get(DeadlineKey.of(homework(1))));
+        assertNull(store.get(DeadlineKey.of(homework(2))));
+        assertNotNull(store.get(DeadlineKey.of(homework(3))));
+    }
+
+    @Test
+    public void writerThreadTest() throws InterruptedException {
+        List<Boolean> onWriter = Collections.synchronizedList(new ArrayList<>());
+        store.addListener(change -> onWriter.add(writer.isWriterThread()));
+        writer.put(homework(1)).join();
+        assertFalse(writer.isWriterThread());
+        assertEquals(Collections.singletonList(true), onWriter);
+        // a change submitted by the writer thread runs at once instead of waiting for itself
+        assertEquals(Integer.valueOf(1), writer.submit(s -> writer.put(homework(2)).join().size()).join());
+        // readers are not blocked by a long change
+        CountDownLatch release = new CountDownLatch(1);
+        writer.submit(s -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return s.put(homework(3));
+        });
+        assertEquals(2, store.getSnapshot().size());
+        assertEquals(2, store.getAll().size());
+        release.countDown();
+        assertEquals(3, writer.snapshot().join().size());
+    }
+
+    @Test
+    public void errorTest() {
+        try {
+            writer.submit(s -> {
+                throw new IllegalStateException("broken change");
+            }).join();
+            fail("the error of a change was not reported");
+        } catch (CompletionException e) {
+            assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        // the writer keeps working after an error
+        assertEquals(1, writer.put(homework(1)).join().size());
+    }
+
+    @Test
+    public void shutdownTest() {
+        CountDownLatch release = new CountDownLatch(1);
+        writer.submit(s -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return s.put(homework(1));
+        });
+        writer.put(homework(2));
+        assertFalse(writer.shutdown(0));
+        release.countDown();
+        // the changes queued before the shutdown are applied before it returns
+        assertTrue(writer.shutdown(5000));
+        assertEquals(2, store.getSnapshot().size());
+    }
+}
@@ -0,0 +1,154 @@
+package main.controller;
+
+import model.CalendarWrapper;
+import model.Deadline;
+import model.DeadlineStore;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the SaveService class.
+ */
+public class SaveServiceTest {
+    private DeadlineStore store;
+    private SaveService saver;
+    private File file;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() throws IOException {
+        store = new DeadlineStore(new CalendarWrapper(2019, 4, 1, 12, 0));
+        store.put(homework(1));
+        saver = new SaveService(store::getSnapshot, 200);
+        file = File.createTempFile("deadlines", ".json");
+        assertTrue(file.delete());
+    }
+
+    @After
+    public void tearDown() {
+        saver.shutdown(1000);
+        file.delete();
+    }
+
+    private static Deadline homework(int i) {
+        return new Deadline(2019, 4, 2, 23, 59, "HW" + i, "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  coalesce Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void coalesceTest() throws IOException {
+        List<CompletableFuture<SaveService.Result>> results = new ArrayList<>();
+        for (int i = 2; i <= 6; i++) {
+            store.put(homework(i));
+            results.add(saver.request(file, "JSON"));
+        }
+        // every request shares the one write, which saw the last change
+        SaveService.Result result = results.get(0).join();
+        for (CompletableFuture<SaveService.Result> other: results) {
+            assertSame(result, other.join());
+        }
+        assertEquals(SaveService.Status.WRITTEN, result.getStatus());
+        assertEquals(1, saver.getWrittenCount());
+        assertEquals(4, saver.getCoalescedCount());
+        assertEquals(file.length(), result.getBytes());
+        assertEquals(file.length(), saver.getBytesWritten());
+        assertTrue(result.getLatencyMillis() >= 200);
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains("\"HW6\""));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  skip Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void skipTest() {
+        assertEquals(SaveService.Status.WRITTEN, saver.request(file, "JSON").join().getStatus());
+        assertEquals(SaveService.Status.SKIPPED, saver.request(file, "JSON").join().getStatus());
+        assertEquals(1, saver.getSkippedCount());
+        // new content is written
+        store.put(homework(2));
+        assertEquals(SaveService.Status.WRITTEN, saver.request(file, "JSON").join().getStatus());
+        // so is a file which was removed by someone else
+        assertTrue(file.delete());
+        assertEquals(SaveService.Status.WRITTEN, saver.request(file, "JSON").join().getStatus());
+        assertTrue(file.isFile());
+        assertEquals(3, saver.getWrittenCount());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  flush Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void flushTest() {
+        SaveService slow = new SaveService(store::getSnapshot, 60000);
+        CompletableFuture<SaveService.Result> result = slow.request(file, "CSV");
+        assertFalse(result.isDone());
+        slow.flush().join();
+        assertEquals(SaveService.Status.WRITTEN, result.join().getStatus());
+        // shutting down writes the waiting files too
+        store.put(homework(2));
+        CompletableFuture<SaveService.Result> last = slow.request(file, "CSV");
+        slow.shutdown(1000);
+        assertEquals(SaveService.Status.WRITTEN, last.join().getStatus());
+        assertEquals(2, slow.getWrittenCount());
+    }
+
+    @Test
+    public void shutdownTest() throws IOException {
+        // the saves of the GUI wait for the changes queued on the model writer
+        ModelWriter writer = new ModelWriter(store);
+        SaveService slow = new SaveService(() -> writer.snapshot().join(), 60000);
+        CompletableFuture<SaveService.Result> result = slow.request(file, "JSON");
+        writer.put(homework(2));
+        assertFalse(result.isDone());
+        // a request still in its quiet window is written before the program exits
+        slow.shutdown(1000);
+        writer.shutdown();
+        assertTrue(result.isDone());
+        assertEquals(SaveService.Status.WRITTEN, result.join().getStatus());
+        String content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+        assertTrue(content.contains("\"HW2\""));
+    }
+
+    @Test
+    public void failureTest() {
+        File missing = new File(file, "deadlines.json");
+        SaveService.Result result = saver.request(missing, "JSON").join();
+        assertEquals(SaveService.Status.FAILED, result.getStatus());
+        assertNotNull(result.getError());
+        assertEquals(0, saver.getWrittenCount());
+    }
+
+    @Test
+    public void unknownExtensionTest() throws IOException {
+        Files.write(file.toPath(), "{}".getBytes(StandardCharsets.UTF_8));
+        SaveService.Result result = saver.request(file, "XLS").join();
+        assertEquals(SaveService.Status.FAILED, result.getStatus());
+        assertTrue(result.getError().contains("XLS"));
+        // the file is not replaced by an empty one
+        assertEquals("{}", new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8));
+        assertEquals(0, saver.getWrittenCount());
+    }
+}
@@ -0,0 +1,134 @@
+package main.viewer.sideBarPanel;
+
+import model.Deadline;
+import org.junit.Before;
+import org.junit.Test;
+
+import javax.swing.event.ListDataEvent;
+import javax.swing.event.ListDataListener;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the DeadlineListModel class.
+ */
+public class DeadlineListModelTest {
+    private DeadlineListModel model;
+    private List<String> events;
+    private Deadline hw1;
+    private Deadline hw2;
+    private Deadline hw3;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() throws Exception {
+        model = new DeadlineListModel();
+        events = new ArrayList<>();
+        model.addListDataListener(new ListDataListener() {
+            @Override
+            public void intervalAdded(ListDataEvent e) {
+                events.add("added " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            @Override
+            public void intervalRemoved(ListDataEvent e) {
+                events.add("removed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+
+            @Override
+            public void contentsChanged(ListDataEvent e) {
+                events.add("changed " + e.getIndex0() + "-" + e.getIndex1());
+            }
+        });
+        hw1 = new Deadline(2019, 4, 1, 23, 59, "HW1", "OS", Deadline.STATUS.DEFAULT, "");
+        hw2 = new Deadline(2019, 4, 8, 23, 59, "HW2", "OS", Deadline.STATUS.DEFAULT, "");
+        hw3 = new Deadline(2019, 4, 15, 23, 59, "HW3", "OS", Deadline.STATUS.DEFAULT, "");
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  setDeadlines Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void setDeadlinesTest() {
+        model.setDeadlines(Arrays.asList(hw3, hw1, hw2), Comparator.naturalOrder());
+        assertEquals(3, model.getSize());
+        assertSame(hw1, model.getElementAt(0));
+        assertSame(hw2, model.getElementAt(1));
+        assertSame(hw3, model.getElementAt(2));
+        assertEquals(Collections.singletonList("added 0-2"), events);
+    }
+
+    @Test
+    public void resortTest() {
+        model.setDeadlines(Arrays.asList(hw3, hw1, hw2), Comparator.naturalOrder());
+        events.clear();
+        model.setDeadlines(Arrays.asList(hw3, hw1, hw2), Comparator.reverseOrder());
+        assertSame(hw3, model.getElementAt(0));
+        assertSame(hw1, model.getElementAt(2));
+        // the rows are changed in place
+        assertEquals(Collections.singletonList("changed 0-2"), events);
+    }
+
+    @Test
+    public void shrinkTest() {
+        model.setDeadlines(Arrays.asList(hw3, hw1, hw2), Comparator.naturalOrder());
+        events.clear();
+        model.setDeadlines(Collections.singletonList(hw2), Comparator.naturalOrder());
+        assertEquals(1, model.getSize());
+        assertSame(hw2, model.getElementAt(0));
+        assertEquals(Arrays.asList("removed 1-2", "changed 0-0"), events);
+    }
+
+    @Test
+    public void largeListTest() throws Exception {
+        List<Deadline> deadlines = new ArrayList<>();
+        for (int i = 0; i < 10000; i++) {
+            deadlines.add(new Deadline(2019, 1 + i % 12, 1 + i % 28, i % 24, i % 60,
+                    "HW" + i, "Course" + (i % 10), Deadline.STATUS.DEFAULT, ""));
+        }
+        Collections.shuffle(deadlines);
+        model.setDeadlines(deadlines, Comparator.naturalOrder());
+        assertEquals(10000, model.getSize());
+        for (int i = 1; i < model.getSize(); i++) {
+            assertTrue(model.getElementAt(i - 1).compareTo(model.getElementAt(i)) <= 0);
+        }
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  insert & remove Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void insertTest() {
+        model.setDeadlines(Arrays.asList(hw1, hw3), Comparator.naturalOrder());
+        events.clear();
+        assertEquals(1, model.insert(hw2));
+        assertSame(hw2, model.getElementAt(1));
+        assertEquals(Collections.singletonList("added 1-1"), events);
+    }
+
+    @Test
+    public void removeTest() throws Exception {
+        model.setDeadlines(Arrays.asList(hw1, hw2, hw3), Comparator.naturalOrder());
+        events.clear();
+        // an equal deadline that is not displayed is not removed
+        Deadline copy = new Deadline(2019, 4, 8, 23, 59, "HW2", "OS", Deadline.STATUS.DEFAULT, "");
+        assertEquals(-1, model.remove(copy));
+        assertEquals(1, model.remove(hw2));
+        assertEquals(2, model.getSize());
+        assertEquals(-1, model.indexOf(hw2));
+        assertEquals(Collections.singletonList("removed 1-1"), events);
+    }
+}
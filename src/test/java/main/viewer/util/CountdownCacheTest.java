@@ -0,0 +1,84 @@
+package main.viewer.util;
+
+import main.viewer.textFormat.BaseText;
+import main.viewer.textFormat.TextFactory;
+import model.CalendarWrapper;
+import model.Deadline;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Locale;
+import java.util.ResourceBundle;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the CountdownCache class.
+ */
+public class CountdownCacheTest {
+    private CountdownCache cache;
+    private BaseText english;
+    private Deadline hw1;
+    private Deadline hw2;
+    private long now;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        cache = new CountdownCache();
+        english = TextFactory.createTextFormat("en_US", ResourceBundle.getBundle("text", Locale.US));
+        hw1 = new Deadline(2019, 4, 1, 23, 59, "HW1", "OS", Deadline.STATUS.DEFAULT, "");
+        hw2 = new Deadline(2019, 4, 8, 23, 59, "HW2", "OS", Deadline.STATUS.DEFAULT, "");
+        now = new CalendarWrapper(2019, CalendarWrapper.MARCH, 25, 12, 0).getEpochMinute();
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  getText Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void getTextTest() {
+        String expected = english.getRemainingText(hw1, new CalendarWrapper(now, TimeZone.getDefault()), true);
+        String text = cache.getText(hw1, english, now);
+        assertEquals(expected, text);
+        // the same minute returns the cached text
+        assertSame(text, cache.getText(hw1, english, now));
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    public void nextMinuteTest() {
+        String text = cache.getText(hw1, english, now);
+        String next = cache.getText(hw1, english, now + 1);
+        assertNotEquals(text, next);
+        assertEquals(english.getRemainingText(hw1, new CalendarWrapper(now + 1, TimeZone.getDefault()), true), next);
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  update & retain Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void updateTest() {
+        assertTrue(cache.update(hw1, english, now));
+        assertFalse(cache.update(hw1, english, now));
+        assertTrue(cache.update(hw1, english, now + 1));
+    }
+
+    @Test
+    public void retainTest() {
+        cache.getText(hw1, english, now);
+        cache.getText(hw2, english, now);
+        cache.update(hw1, english, now + 1);
+        cache.retain(now + 1);
+        assertEquals(1, cache.size());
+        assertFalse(cache.update(hw1, english, now + 1));
+    }
+}
@@ -0,0 +1,155 @@
+package main.viewer.util;
+
+import model.Deadline;
+import model.RecurringDeadline;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the TimingWheel class and the notification schedule of
+ * DeadlineTimer and RecurringTimer.
+ */
+public class TimingWheelTest {
+    private static final long START = 25246080; // 2018-01-01 00:00 UTC
+    private TimingWheel<String> wheel;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        wheel = new TimingWheel<>(START);
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  schedule/cancel Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void scheduleTest() {
+        assertEquals(Long.MAX_VALUE, wheel.nextWakeup());
+        wheel.schedule("a", START + 10);
+        wheel.schedule("b", START + 3);
+        assertEquals(2, wheel.size());
+        assertEquals(START + 3, wheel.nextWakeup());
+        wheel.schedule("b", START + 20);
+        assertEquals(Long.valueOf(START + 20), wheel.getScheduledTime("b"));
+        assertEquals(START + 10, wheel.nextWakeup());
+    }
+
+    @Test
+    public void cancelTest() {
+        wheel.schedule("a", START + 10);
+        assertTrue(wheel.cancel("a"));
+        assertFalse(wheel.cancel("a"));
+        assertEquals(0, wheel.size());
+        assertNull(wheel.getScheduledTime("a"));
+        assertEquals(Collections.emptyList(), wheel.advance(START + 100));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  advance Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void advanceTest() {
+        wheel.schedule("a", START + 1);
+        wheel.schedule("b", START + 1);
+        wheel.schedule("c", START + 2);
+        List<String> due = new ArrayList<>(wheel.advance(START + 1));
+        Collections.sort(due);
+        assertEquals(Arrays.asList("a", "b"), due);
+        assertEquals(Collections.singletonList("c"), wheel.advance(START + 5));
+        assertEquals(START + 5, wheel.getCurrentMinute());
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    public void pastTaskTest() {
+        wheel.advance(START + 10);
+        wheel.schedule("late", START + 4);
+        assertEquals(START + 10, wheel.nextWakeup());
+        assertEquals(Collections.singletonList("late"), wheel.advance(START + 10));
+    }
+
+    @Test
+    public void cascadeTest() {
+        // one task for every level and one in the overflow set
+        long[] offsets = {30, 100, 5000, 300000, 1000000};
+        for (long offset : offsets) {
+            wheel.schedule("t" + offset, START + offset);
+        }
+        List<String> fired = new ArrayList<>();
+        long now = START;
+        while (wheel.size() > 0) {
+            long next = wheel.nextWakeup();
+            assertTrue(next > now);
+            now = next;
+            for (String task : wheel.advance(now)) {
+                assertEquals("t" + (now - START), task);
+                fired.add(task);
+            }
+        }
+        assertEquals(Arrays.asList("t30", "t100", "t5000", "t300000", "t1000000"), fired);
+    }
+
+    @Test
+    public void jumpTest() {
+        wheel.schedule("a", START + 70);
+        wheel.schedule("b", START + 9000);
+        assertEquals(Collections.singletonList("a"), wheel.advance(START + 8000));
+        assertEquals(Collections.emptyList(), wheel.advance(START + 8999));
+        assertEquals(Collections.singletonList("b"), wheel.advance(START + 9000));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  DeadlineTimer schedule Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void nextNotificationTest() {
+        long due = START + 30 * 1440;
+        // more than two weeks left: the first notification is two weeks before
+        assertEquals(due - 14 * 1440, DeadlineTimer.nextNotification(due, START));
+        assertEquals(due - 2 * 1440, DeadlineTimer.nextNotification(due, due - 2 * 1440 - 30));
+        assertEquals(due - 1440, DeadlineTimer.nextNotification(due, due - 2 * 1440));
+        assertEquals(due - 23 * 60, DeadlineTimer.nextNotification(due, due - 1440));
+        assertEquals(due - 60, DeadlineTimer.nextNotification(due, due - 61));
+        assertEquals(due - 45, DeadlineTimer.nextNotification(due, due - 60));
+        assertEquals(due - 15, DeadlineTimer.nextNotification(due, due - 16));
+        assertEquals(due - 10, DeadlineTimer.nextNotification(due, due - 15));
+        assertEquals(due - 5, DeadlineTimer.nextNotification(due, due - 6));
+        assertEquals(due - 4, DeadlineTimer.nextNotification(due, due - 5));
+        assertEquals(due - 1, DeadlineTimer.nextNotification(due, due - 2));
+        assertEquals(NotificationScheduler.NONE, DeadlineTimer.nextNotification(due, due - 1));
+        assertEquals(NotificationScheduler.NONE, DeadlineTimer.nextNotification(due, due + 5));
+    }
+
+    @Test
+    public void recurringNextNotificationTest() {
+        Deadline first = new Deadline(2019, 4, 5, 10, 0, "Lab", "Algorithms", Deadline.STATUS.DEFAULT,
+                Deadline.LINK.NONE);
+        RecurringDeadline series = new RecurringDeadline(first, "FREQ=WEEKLY;COUNT=2");
+        long due = first.getEpochMinute();
+        long second = due + 7 * 1440;
+        assertEquals(due - 14 * 1440, RecurringTimer.nextNotification(series, due - 30 * 1440));
+        assertEquals(due - 1, RecurringTimer.nextNotification(series, due - 2));
+        // once the first occurrence needs no more notification, the next one is armed
+        assertEquals(second - 7 * 1440, RecurringTimer.nextNotification(series, due - 1));
+        assertEquals(second - 6 * 1440, RecurringTimer.nextNotification(series, due));
+        assertEquals(second - 1, RecurringTimer.nextNotification(series, second - 2));
+        // the rule has ended
+        assertEquals(NotificationScheduler.NONE, RecurringTimer.nextNotification(series, second - 1));
+    }
+}
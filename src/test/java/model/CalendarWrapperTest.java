@@ -261,6 +261,63 @@ public class CalendarWrapperTest {
         assertEquals(c2.hashCode(), newYear2018.hashCode());
     }
 
+    /////////////////////////////////////////////////////////////////////////
+    ////  compareTo Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void compareToTest() {
+        assertTrue(newYear2018.compareTo(Mar03302333) < 0);
+        assertTrue(Mar03302333.compareTo(newYear2018) > 0);
+        assertEquals(0, new CalendarWrapper(2018,1,1,0,0).compareTo(newYear2018));
+        assertTrue(Mar03302333.isAfter(newYear2018));
+        assertFalse(newYear2018.isAfter(new CalendarWrapper(2018,1,1,0,0)));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  epochMinute Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void epochMinuteTest() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        assertEquals(1970, new CalendarWrapper(0, utc).getYear());
+        assertEquals(4, new CalendarWrapper(0, utc).getWeekDay());
+        CalendarWrapper leapDay = new CalendarWrapper(25246080L + 59 * 1440, utc);
+        assertEquals(2018, leapDay.getYear());
+        assertEquals(3, leapDay.getMonth());
+        assertEquals(1, leapDay.getDay());
+        CalendarWrapper copy = new CalendarWrapper(Mar03302333.getEpochMinute(), Mar03302333.getTimeZone());
+        assertEquals(Mar03302333, copy);
+        assertEquals(Mar03302333.toString(), copy.toString());
+    }
+
+    @Test
+    public void matchesJavaCalendarTest() {
+        TimeZone zone = TimeZone.getTimeZone("America/New_York");
+        Calendar cal = Calendar.getInstance(zone);
+        for (long minute = 24000000L; minute < 30000000L; minute += 7919) {
+            cal.setTimeInMillis(minute * 60000L);
+            CalendarWrapper c = new CalendarWrapper(minute, zone);
+            assertEquals(cal.get(Calendar.YEAR), c.getYear());
+            assertEquals(cal.get(Calendar.MONTH) + 1, c.getMonth());
+            assertEquals(cal.get(Calendar.DAY_OF_MONTH), c.getDay());
+            assertEquals(cal.get(Calendar.HOUR_OF_DAY), c.getHourOfDay());
+            assertEquals(cal.get(Calendar.MINUTE), c.getMinuteOfHour());
+            assertEquals(cal.get(Calendar.DAY_OF_WEEK) - 1, c.getWeekDay());
+            assertEquals(cal.getActualMaximum(Calendar.DAY_OF_MONTH), c.getMaxDayNumOfMonth());
+        }
+    }
+
+    @Test
+    public void rollOverTest() {
+        CalendarWrapper c = new CalendarWrapper(2019,2,30,12,0);
+        assertEquals(3, c.getMonth());
+        assertEquals(2, c.getDay());
+        assertEquals(29, CalendarWrapper.getMaxDayNumOfMonth(2, 2020));
+        assertEquals(28, CalendarWrapper.getMaxDayNumOfMonth(2, 1900));
+    }
+
     /////////////////////////////////////////////////////////////////////////
     ////  toString Test
     /////////////////////////////////////////////////////////////////////////
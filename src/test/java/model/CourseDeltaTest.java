@@ -0,0 +1,80 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the CourseDelta class.
+ */
+public class CourseDeltaTest {
+    private Course older;
+    private Course newer;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        older = new Course("OS");
+        older.addDeadline("HW1", 2019, 4, 1, 23, 59, Deadline.STATUS.DEFAULT, "");
+        older.addDeadline("HW2", 2019, 4, 8, 23, 59, Deadline.STATUS.DEFAULT, "");
+        older.addDeadline("HW3", 2019, 4, 15, 23, 59, Deadline.STATUS.DEFAULT, "");
+        older.addDeadline("HW4", 2019, 4, 22, 23, 59, Deadline.STATUS.DEFAULT, "");
+        newer = new Course("OS");
+        newer.addDeadline("HW1", 2019, 4, 1, 23, 59, Deadline.STATUS.DEFAULT, "");
+        newer.addDeadline("HW2", 2019, 4, 9, 23, 59, Deadline.STATUS.DEFAULT, "");
+        newer.addDeadline("HW3", 2019, 4, 15, 23, 59, Deadline.STATUS.FINISHED, "");
+        newer.addDeadline("HW5", 2019, 4, 29, 23, 59, Deadline.STATUS.DEFAULT, "");
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  diff Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void diffTest() {
+        CourseDelta delta = CourseDelta.diff(older, newer, true);
+        assertEquals("OS", delta.getCourseName());
+        assertFalse(delta.isEmpty());
+        assertEquals(1, delta.getAdded().size());
+        assertEquals("HW5", delta.getAdded().get(0).getName());
+        assertEquals(2, delta.getChanged().size());
+        // the due time of HW2 changed
+        assertEquals("HW2", delta.getChanged().get(0).getKey().getName());
+        assertEquals(8, delta.getChanged().get(0).getKey().getDay());
+        assertEquals(9, delta.getChanged().get(0).getValue().getDay());
+        // the status of HW3 changed
+        assertEquals("HW3", delta.getChanged().get(1).getValue().getName());
+        assertEquals(Deadline.STATUS.FINISHED, delta.getChanged().get(1).getValue().getStatus());
+        assertEquals(1, delta.getRemoved().size());
+        assertEquals("HW4", delta.getRemoved().get(0).getName());
+    }
+
+    @Test
+    public void diffWithoutRemovedTest() {
+        CourseDelta delta = CourseDelta.diff(older, newer, false);
+        assertEquals(1, delta.getAdded().size());
+        assertEquals(2, delta.getChanged().size());
+        assertTrue(delta.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void diffNewCourseTest() {
+        CourseDelta delta = CourseDelta.diff(null, newer, true);
+        assertEquals(4, delta.getAdded().size());
+        assertTrue(delta.getChanged().isEmpty());
+        assertTrue(delta.getRemoved().isEmpty());
+    }
+
+    @Test
+    public void diffSameTest() {
+        assertTrue(CourseDelta.diff(older, older, true).isEmpty());
+        assertTrue(CourseDelta.diff(new Course("OS"), new Course("OS"), true).isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the DeadlineArchive class.
+ */
+public class DeadlineArchiveTest {
+    private Deadline hw1;
+    private Deadline hw2;
+    private Deadline lab1;
+    private Deadline quiz;
+    private DeadlineArchive archive;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        hw1 = new Deadline(2019, 2, 1, 23, 59, "HW1", "OS", Deadline.STATUS.FINISHED,
+                "https://submitty.cs.rpi.edu/index.php?semester=s19&course=csci4210&gradeable_id=hw1");
+        hw2 = new Deadline(2019, 2, 8, 23, 59, "HW2", "OS", "SOMETHING ELSE", Deadline.LINK.NONE);
+        lab1 = new Deadline(2019, 2, 8, 23, 59, "Lab1", "DS", Deadline.STATUS.LATE_SUBMIT, null);
+        quiz = new Deadline(2019, 3, 1, 10, 0, "Quiz", "DS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        archive = DeadlineArchive.empty().plus(Arrays.asList(hw1, lab1, hw2));
+    }
+
+    /**
+     * This function checks every field of a made deadline
+     */
+    private static void assertSameFields(Deadline expected, Deadline actual) {
+        assertEquals(expected, actual);
+        assertEquals(expected.getTime(), actual.getTime());
+        assertEquals(expected.getMinute(), actual.getMinute());
+        assertEquals(expected.getStatus(), actual.getStatus());
+        assertEquals(expected.getLink(), actual.getLink());
+        assertFalse(CourseDelta.isModified(expected, actual));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  get Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void getTest() {
+        assertEquals(3, archive.size());
+        assertSameFields(hw1, archive.get(DeadlineKey.of(hw1)));
+        assertSameFields(hw2, archive.get(DeadlineKey.of(hw2)));
+        assertSameFields(lab1, archive.get(DeadlineKey.of(lab1)));
+        assertNull(archive.get(DeadlineKey.of(quiz)));
+        assertNull(archive.get(new DeadlineKey("OS", "HW3")));
+        // every call makes a new object which shares the strings
+        Deadline made = archive.get(DeadlineKey.of(hw1));
+        assertNotSame(made, archive.get(DeadlineKey.of(hw1)));
+        assertSame(hw1.getCourseName(), made.getCourseName());
+        assertSame(Deadline.STATUS.FINISHED, made.getStatus());
+    }
+
+    @Test
+    public void getBetweenTest() {
+        long from = new CalendarWrapper(2019, 2, 8, 0, 0).getEpochMinute();
+        // the same due time is ordered by course name
+        assertEquals(Arrays.asList(lab1, hw2), archive.getBetween(from, Long.MAX_VALUE));
+        assertEquals(Collections.singletonList(hw1), archive.getBetween(Long.MIN_VALUE, from));
+        assertEquals(Collections.singletonList(hw1),
+                archive.getBetween(hw1.getEpochMinute(), hw1.getEpochMinute() + 1));
+        assertTrue(archive.getBetween(from, from).isEmpty());
+        assertTrue(DeadlineArchive.empty().getBetween(Long.MIN_VALUE, Long.MAX_VALUE).isEmpty());
+    }
+
+    @Test
+    public void getCourseTest() {
+        assertEquals(Arrays.asList(hw1, hw2), archive.getCourse("OS"));
+        assertEquals(Collections.singletonList(lab1), archive.getCourse("DS"));
+        assertTrue(archive.getCourse("AI").isEmpty());
+        assertTrue(archive.getCourse("ZZ").isEmpty());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  change Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void minusTest() {
+        DeadlineArchive smaller = archive.minus(DeadlineKey.of(hw2));
+        assertEquals(2, smaller.size());
+        assertNull(smaller.get(DeadlineKey.of(hw2)));
+        assertEquals(Arrays.asList(hw1, lab1), smaller.getBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(Collections.singletonList(hw1), smaller.getCourse("OS"));
+        // the archive it came from is not changed
+        assertEquals(3, archive.size());
+        assertNotNull(archive.get(DeadlineKey.of(hw2)));
+        assertSame(smaller, smaller.minus(DeadlineKey.of(hw2)));
+        assertSame(smaller, smaller.minus(DeadlineKey.of(quiz)));
+        assertTrue(smaller.minus(DeadlineKey.of(hw1)).minus(DeadlineKey.of(lab1)).isEmpty());
+    }
+
+    @Test
+    public void plusTest() {
+        DeadlineArchive bigger = archive.minus(DeadlineKey.of(hw1)).plus(Arrays.asList(hw1, quiz));
+        assertEquals(4, bigger.size());
+        assertEquals(Arrays.asList(hw1, lab1, hw2, quiz), bigger.getBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertEquals(Arrays.asList(lab1, quiz), bigger.getCourse("DS"));
+        assertSame(archive, archive.plus(Collections.emptyList()));
+    }
+
+    @Test
+    public void minusCourseTest() {
+        DeadlineArchive smaller = archive.minus(DeadlineKey.of(lab1)).plus(Collections.singletonList(quiz))
+                .minusCourse("OS");
+        assertEquals(Collections.singletonList(quiz), smaller.getBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        assertSame(smaller, smaller.minusCourse("OS"));
+        assertTrue(smaller.minusCourse("DS").isEmpty());
+    }
+
+    @Test
+    public void largeTest() {
+        List<Deadline> deadlines = new ArrayList<>();
+        for (int day = 1; day <= 28; day++) {
+            for (int course = 0; course < 10; course++) {
+                deadlines.add(new Deadline(2019, 2, day, 12, 0, "HW" + day, "Course " + course,
+                        Deadline.STATUS.getAllStatus()[day % 8], Deadline.LINK.NONE));
+            }
+        }
+        DeadlineArchive large = DeadlineArchive.empty().plus(deadlines);
+        assertEquals(280, large.size());
+        assertEquals(deadlines, large.getBetween(Long.MIN_VALUE, Long.MAX_VALUE));
+        for (Deadline deadline : deadlines) {
+            large = large.minus(DeadlineKey.of(deadline));
+            assertNull(large.get(DeadlineKey.of(deadline)));
+        }
+        assertTrue(large.isEmpty());
+    }
+}
@@ -0,0 +1,248 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the DeadlineStore class.
+ */
+public class DeadlineStoreTest {
+    private DeadlineStore store;
+    private List<DeadlineStore.Change> changes;
+    private Deadline hw1;
+    private Deadline hw2;
+    private Deadline lab1;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        store = new DeadlineStore(new CalendarWrapper(2019, 4, 1, 12, 0));
+        changes = new ArrayList<>();
+        store.addListener(changes::add);
+        hw1 = new Deadline(2019, 4, 2, 23, 59, "HW1", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        hw2 = new Deadline(2019, 4, 9, 23, 59, "HW2", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        lab1 = new Deadline(2019, 5, 1, 12, 0, "HW1", "DS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  put Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void putAllTest() {
+        store.putAll(Arrays.asList(hw1, hw2, lab1));
+        assertEquals(1, changes.size());
+        DeadlineStore.Change change = changes.get(0);
+        assertEquals(Arrays.asList(hw1, hw2, lab1), change.getAdded());
+        assertEquals(Arrays.asList("OS", "DS"), change.getAddedCourses());
+        assertTrue(change.getUpdated().isEmpty());
+        assertEquals(3, store.size());
+        // the same deadlines change nothing and nobody is notified
+        assertTrue(store.putAll(Arrays.asList(hw1, hw2)).isEmpty());
+        assertEquals(1, changes.size());
+    }
+
+    @Test
+    public void putUpdateTest() {
+        store.put(hw1);
+        Deadline moved = new Deadline(2019, 4, 3, 23, 59, "HW1", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        DeadlineStore.Change change = store.put(moved);
+        assertTrue(change.getAdded().isEmpty());
+        assertEquals(1, change.getUpdated().size());
+        assertSame(hw1, change.getUpdated().get(0).getKey());
+        assertSame(moved, change.getUpdated().get(0).getValue());
+        assertSame(moved, store.get(new DeadlineKey("OS", "HW1")));
+        assertEquals(1, store.size());
+        // a new status is an update too
+        Deadline finished = new Deadline(2019, 4, 3, 23, 59, "HW1", "OS", Deadline.STATUS.FINISHED, Deadline.LINK.NONE);
+        assertEquals(1, store.put(finished).getUpdated().size());
+        assertNull(store.getClosest(Collections.emptyList(), Collections.singletonList(Deadline.STATUS.FINISHED)));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  remove Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void removeTest() {
+        store.putAll(Arrays.asList(hw1, hw2, lab1));
+        assertSame(lab1, store.remove(DeadlineKey.of(lab1)));
+        DeadlineStore.Change change = changes.get(changes.size() - 1);
+        assertEquals(Collections.singletonList(lab1), change.getRemoved());
+        assertEquals(Collections.singletonList("DS"), change.getRemovedCourses());
+        assertNull(store.remove(DeadlineKey.of(lab1)));
+        assertSame(hw1, store.remove(new DeadlineKey("OS", "HW1")));
+        assertTrue(changes.get(changes.size() - 1).getRemovedCourses().isEmpty());
+        assertEquals(Collections.singletonList(hw2), store.getAll());
+        assertFalse(store.getCourseNames().contains("DS"));
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  course Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void addCourseTest() {
+        assertTrue(store.addCourse("ALGO"));
+        assertFalse(store.addCourse("ALGO"));
+        assertEquals(1, changes.size());
+        assertEquals(Collections.singletonList("ALGO"), changes.get(0).getAddedCourses());
+        assertTrue(store.getCourses().get("ALGO").getDeadlines().isEmpty());
+    }
+
+    @Test
+    public void getCoursesTest() {
+        store.putAll(Arrays.asList(hw1, hw2, lab1));
+        Course os = store.getCourses().get("OS");
+        assertEquals(2, os.size());
+        // the copy does not change the store
+        os.removeDeadline("HW1");
+        assertSame(hw1, store.get(DeadlineKey.of(hw1)));
+        assertEquals(2, store.getCourses().get("OS").size());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  snapshot Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void snapshotTest() {
+        DeadlineSnapshot empty = store.getSnapshot();
+        store.putAll(Arrays.asList(hw1, hw2, lab1));
+        DeadlineSnapshot first = store.getSnapshot();
+        assertEquals(empty.getVersion() + 1, first.getVersion());
+        assertSame(first, store.getSnapshot());
+        // changing nothing keeps the snapshot
+        store.put(hw1);
+        assertSame(first, store.getSnapshot());
+        store.remove(DeadlineKey.of(lab1));
+        DeadlineSnapshot second = store.getSnapshot();
+        assertEquals(first.getVersion() + 1, second.getVersion());
+        // the old snapshots do not see the later changes
+        assertEquals(0, empty.size());
+        assertEquals(3, first.size());
+        assertSame(lab1, first.get(DeadlineKey.of(lab1)));
+        assertEquals(Arrays.asList("DS", "OS"), new ArrayList<>(first.getCourseNames()));
+        assertEquals(2, second.size());
+        assertNull(second.get(DeadlineKey.of(lab1)));
+        assertFalse(second.containsCourse("DS"));
+        assertEquals(Arrays.asList(hw1, hw2), new ArrayList<>(second.getDeadlines("OS").values()));
+        assertTrue(second.getDeadlines("DS").isEmpty());
+        assertEquals(2, second.toCourses().get("OS").size());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  query Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void queryTest() {
+        store.putAll(Arrays.asList(lab1, hw2, hw1));
+        assertEquals(Arrays.asList(hw1, hw2), store.getMonth(2019, 4));
+        assertEquals(hw1, store.getClosest(Collections.emptyList(), Collections.emptyList()));
+        assertEquals(lab1, store.getClosest(Collections.singletonList("OS"), Collections.emptyList()));
+        assertEquals(2, store.rebalance(new CalendarWrapper(2019, 4, 10, 0, 0)));
+        assertEquals(Arrays.asList(lab1, hw1, hw2), store.getAll());
+    }
+
+    @Test
+    public void archiveTest() {
+        store.putAll(Arrays.asList(lab1, hw2, hw1));
+        long version = store.getSnapshot().getVersion();
+        changes.clear();
+        // hw1 passed more than ARCHIVE_AFTER minutes ago, hw2 did not
+        store.rebalance(new CalendarWrapper(2019, 4, 10, 0, 0));
+        DeadlineSnapshot snapshot = store.getSnapshot();
+        assertEquals(1, snapshot.getArchivedCount());
+        assertEquals(3, snapshot.size());
+        assertEquals(version, snapshot.getVersion());
+        assertTrue(changes.isEmpty());
+        // the archived deadline is still read by every observer
+        assertEquals(hw1, snapshot.get(DeadlineKey.of(hw1)));
+        assertEquals(Arrays.asList(hw1, hw2), new ArrayList<>(snapshot.getDeadlines("OS").values()));
+        assertEquals(Arrays.asList(hw1, hw2), store.getMonth(2019, 4));
+        assertEquals(Arrays.asList(lab1, hw1, hw2), store.getAll());
+        assertEquals(Collections.singletonList(lab1),
+                snapshot.getUpcoming(new CalendarWrapper(2019, 4, 10, 0, 0).getEpochMinute()));
+        assertEquals(2, snapshot.toCourses().get("OS").size());
+        assertEquals(hw1, snapshot.getClosest(new CalendarWrapper(2019, 3, 1, 0, 0).getEpochMinute(),
+                Collections.emptyList(), Collections.emptyList()));
+
+        // a deadline which is changed leaves the archive until the next rebalance
+        Deadline finished = new Deadline(2019, 4, 2, 23, 59, "HW1", "OS", Deadline.STATUS.FINISHED,
+                Deadline.LINK.NONE);
+        assertEquals(1, store.put(finished).getUpdated().size());
+        assertEquals(0, store.getSnapshot().getArchivedCount());
+        assertEquals(3, store.size());
+        assertEquals(Deadline.STATUS.FINISHED, store.get(DeadlineKey.of(hw1)).getStatus());
+        store.rebalance(new CalendarWrapper(2019, 4, 10, 0, 1));
+        assertEquals(1, store.getSnapshot().getArchivedCount());
+        assertEquals(Deadline.STATUS.FINISHED, store.get(DeadlineKey.of(hw1)).getStatus());
+
+        // removing works the same for an archived deadline
+        assertEquals(hw1, store.remove(DeadlineKey.of(hw1)));
+        assertEquals(2, store.size());
+        assertNull(store.get(DeadlineKey.of(hw1)));
+        assertEquals(Collections.singletonList(hw1), changes.get(changes.size() - 1).getRemoved());
+        store.rebalance(new CalendarWrapper(2019, 5, 20, 0, 0));
+        assertEquals(2, store.getSnapshot().getArchivedCount());
+        assertEquals(lab1, store.remove(DeadlineKey.of(lab1)));
+        // the course is removed with its last deadline, archived or not
+        assertFalse(store.getSnapshot().containsCourse("DS"));
+        assertEquals(Collections.singletonList(hw2), store.getAll());
+    }
+
+    @Test
+    public void executorListenerTest() {
+        List<Runnable> queue = new ArrayList<>();
+        List<DeadlineStore.Change> later = new ArrayList<>();
+        store.addListener(later::add, queue::add);
+        store.put(hw1);
+        store.put(hw2);
+        // the listener is only called when its executor runs the tasks, in order
+        assertTrue(later.isEmpty());
+        assertEquals(2, queue.size());
+        queue.forEach(Runnable::run);
+        assertEquals(Collections.singletonList(hw1), later.get(0).getAdded());
+        assertEquals(later.get(0).getSnapshot().getVersion() + 1, later.get(1).getSnapshot().getVersion());
+        assertSame(store.getSnapshot(), later.get(1).getSnapshot());
+    }
+
+    @Test
+    public void snapshotQueryTest() {
+        store.putAll(Arrays.asList(lab1, hw2, hw1));
+        DeadlineSnapshot snapshot = store.getSnapshot();
+        long now = new CalendarWrapper(2019, 4, 5, 0, 0).getEpochMinute();
+        assertEquals(Arrays.asList(hw2, lab1, hw1), snapshot.getAll(now));
+        assertEquals(Collections.singletonList(lab1), snapshot.getMonth(2019, 5));
+        assertEquals(hw2, snapshot.getClosest(now, Collections.emptyList(), Collections.emptyList()));
+        store.put(new Deadline(2019, 4, 9, 23, 59, "HW2", "OS", Deadline.STATUS.FINISHED, Deadline.LINK.NONE));
+        assertEquals(lab1, store.getSnapshot().getClosest(now, Collections.emptyList(),
+                Collections.singletonList(Deadline.STATUS.FINISHED)));
+        // the old snapshot still has the old status
+        assertEquals(hw2, snapshot.getClosest(now, Collections.emptyList(),
+                Collections.singletonList(Deadline.STATUS.FINISHED)));
+    }
+
+    @Test
+    public void removeListenerTest() {
+        DeadlineStore.Listener listener = change -> fail("a removed listener was notified");
+        store.addListener(listener);
+        store.removeListener(listener);
+        store.put(hw1);
+        assertEquals(1, changes.size());
+    }
+}
@@ -7,8 +7,10 @@ import static org.junit.Assert.*;
 
 import java.util.Arrays;
 import java.util.Calendar;
+import java.util.Comparator;
 import java.util.GregorianCalendar;
 import java.util.HashSet;
+import java.util.TreeSet;
 
 /**
  * This class contains a set of test cases that can be used to test the
@@ -326,8 +328,21 @@ public class DeadlineTest {
                 new Deadline(2020, 12,31,23,59,"Future", "Future", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
         Deadline past =
                 new Deadline(2003, 12,31,23,59,"Past", "Past", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
-        assertTrue(past.compareTo(future)>0);
-        assertTrue(future.compareTo(past)<0);
+        Comparator<Deadline> upcomingFirst = Deadline.upcomingFirst(new CalendarWrapper(2019, 4, 26, 23, 59));
+        assertTrue(upcomingFirst.compare(past, future) > 0);
+        assertTrue(upcomingFirst.compare(future, past) < 0);
+        assertTrue(past.compareTo(future) < 0);
+        assertTrue(future.compareTo(past) > 0);
+    }
+
+    @Test
+    public void compareToSameTimeTest() {
+        Deadline hw1 = new Deadline(2019, 4,26,23,59,"HW1", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        Deadline hw2 = new Deadline(2019, 4,26,23,59,"HW2", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        Deadline dbHw1 = new Deadline(2019, 4,26,23,59,"HW1", "DB", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        assertTrue(hw1.compareTo(hw2) < 0);
+        assertTrue(dbHw1.compareTo(hw1) < 0);
+        assertEquals(3, new TreeSet<>(Arrays.asList(hw1, hw2, dbHw1)).size());
     }
 
     /////////////////////////////////////////////////////////////////////////
@@ -449,4 +464,54 @@ public class DeadlineTest {
         assertEquals(OShw2, OShw2_0);
         assertNotSame(OShw2, OShw2_0);
     }
-}
\ No newline at end of file
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  shared strings Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void testSharedStrings() {
+        // strings read from a file are new copies
+        Deadline hw1 = new Deadline(2019, 4, 2, 23, 59, "HW1", new String("Operating System"),
+                new String(Deadline.STATUS.FINISHED), new String("https://submitty.org/s19/os/gradeable/hw1"));
+        Deadline hw2 = new Deadline(2019, 4, 9, 23, 59, "HW2", new String("Operating System"),
+                new String(Deadline.STATUS.FINISHED), "https://submitty.org/s19/os/gradeable/hw2");
+        assertSame(hw1.getCourseName(), hw2.getCourseName());
+        assertSame(Deadline.STATUS.FINISHED, hw1.getStatus());
+        assertEquals("https://submitty.org/s19/os/gradeable/hw1", hw1.getLink());
+        assertEquals("https://submitty.org/s19/os/gradeable/hw2", hw2.getLink());
+        assertFalse(hw1.hasSameLink(hw2));
+
+        // a status which is not a constant is shared too
+        Deadline other = new Deadline(2019, 4, 9, 23, 59, "HW3", "OS", new String("GRADED"), Deadline.LINK.NONE);
+        Deadline again = new Deadline(2019, 4, 9, 23, 59, "HW4", "OS", new String("GRADED"), Deadline.LINK.NONE);
+        assertSame(other.getStatus(), again.getStatus());
+        assertEquals("GRADED", other.getStatus());
+    }
+
+    @Test
+    public void testLinks() {
+        String[] links = {"", "hw4", "https://submitty.org/", "https://submitty.org/index.php?gradeable_id=hw4",
+                "a=", "=", "/"};
+        for (String link: links) {
+            Deadline deadline = new Deadline(DBhw1.getTime(), "HW", "DB", null, link);
+            assertEquals(link, deadline.getLink());
+            assertTrue(deadline.hasSameLink(new Deadline(DBhw1.getTime(), "HW", "DB", null, link)));
+        }
+        assertNull(new Deadline(DBhw1.getTime(), "HW", "DB", null, null).getLink());
+        assertNull(new Deadline(DBhw1.getTime(), "HW", "DB", null, null).getStatus());
+    }
+
+    @Test
+    public void testStatus() {
+        String[] all = Deadline.STATUS.getAllStatus();
+        assertEquals(all.length, DeadlineStatus.values().length);
+        for (int i = 0; i < all.length; i++) {
+            assertSame(DeadlineStatus.values()[i], DeadlineStatus.of(all[i]));
+            assertSame(all[i], DeadlineStatus.of(new String(all[i])).getText());
+        }
+        assertNull(DeadlineStatus.of("GRADED"));
+        assertNull(DeadlineStatus.of(null));
+        assertSame(DeadlineStatus.LATE_RESUBMIT, DeadlineStatus.of(AIhw1.getStatus()));
+    }
+}
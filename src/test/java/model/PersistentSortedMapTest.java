@@ -0,0 +1,100 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the PersistentSortedMap class.
+ */
+public class PersistentSortedMapTest {
+    private PersistentSortedMap<Integer, String> empty;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        empty = PersistentSortedMap.empty();
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  plus Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void plusTest() {
+        PersistentSortedMap<Integer, String> map = empty.plus(2, "b").plus(1, "a").plus(3, "c");
+        assertEquals(3, map.size());
+        assertEquals("a", map.get(1));
+        assertNull(map.get(4));
+        assertNull(map.get(null));
+        assertEquals(Arrays.asList(1, 2, 3), new ArrayList<>(map.keySet()));
+        assertSame(map, map.plus(2, "b"));
+        assertEquals("B", map.plus(2, "B").get(2));
+    }
+
+    @Test
+    public void sharingTest() {
+        PersistentSortedMap<Integer, String> before = empty.plus(1, "a").plus(2, "b");
+        PersistentSortedMap<Integer, String> after = before.plus(3, "c").minus(1);
+        // the old version does not see the changes
+        assertEquals(2, before.size());
+        assertEquals("a", before.get(1));
+        assertFalse(before.containsKey(3));
+        assertEquals(Arrays.asList(2, 3), new ArrayList<>(after.keySet()));
+        assertTrue(empty.isEmpty());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void readOnlyTest() {
+        empty.plus(1, "a").put(2, "b");
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  minus Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void minusTest() {
+        PersistentSortedMap<Integer, String> map = empty;
+        for (int i = 0; i < 10; i++) {
+            map = map.plus(i, String.valueOf(i));
+        }
+        assertSame(map, map.minus(10));
+        map = map.minus(3).minus(0).minus(9);
+        assertEquals(Arrays.asList(1, 2, 4, 5, 6, 7, 8), new ArrayList<>(map.keySet()));
+        assertEquals(new TreeMap<>(map), map);
+    }
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(13);
+        TreeMap<Integer, String> expected = new TreeMap<>();
+        PersistentSortedMap<Integer, String> map = empty;
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                expected.remove(key);
+                map = map.minus(key);
+            } else {
+                expected.put(key, "v" + i);
+                map = map.plus(key, "v" + i);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(map.entrySet()));
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+    }
+}
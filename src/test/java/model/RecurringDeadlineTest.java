@@ -0,0 +1,179 @@
+package model;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the RecurringDeadline class and how the store shows its
+ * occurrences.
+ */
+public class RecurringDeadlineTest {
+    private Deadline first;
+    private RecurringDeadline lab;
+    private DeadlineStore store;
+    private List<DeadlineStore.Change> changes;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        first = new Deadline(2019, 4, 5, 10, 0, "Lab", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        lab = new RecurringDeadline(first, "FREQ=WEEKLY;COUNT=4");
+        store = new DeadlineStore(new CalendarWrapper(2019, 4, 1, 12, 0));
+        changes = new ArrayList<>();
+        store.addListener(changes::add);
+    }
+
+    private static long minute(int year, int month, int day) {
+        return new CalendarWrapper(year, month, day, 0, 0).getEpochMinute();
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  constructor Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void constructorTest() {
+        assertEquals(new DeadlineKey("OS", "Lab"), lab.getKey());
+        assertSame(first, lab.getFirst());
+        assertEquals("FREQ=WEEKLY;COUNT=4", lab.getRule());
+        // the rule is written the same way whatever the case it was given in
+        assertEquals(lab, new RecurringDeadline(first, "freq=weekly;count=4"));
+        assertNotEquals(lab, new RecurringDeadline(first, "FREQ=WEEKLY;COUNT=5"));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void noFrequencyTest() {
+        new RecurringDeadline(first, "COUNT=4");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void emptyRuleTest() {
+        new RecurringDeadline(first, " ");
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  occurrence Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void getBetweenTest() {
+        List<Deadline> april = lab.getBetween(minute(2019, 4, 1), minute(2019, 5, 1));
+        assertEquals(4, april.size());
+        int[] days = {5, 12, 19, 26};
+        for (int i = 0; i < days.length; i++) {
+            Deadline occurrence = april.get(i);
+            assertEquals(days[i], occurrence.getDay());
+            assertEquals(10, occurrence.getHour());
+            assertEquals("OS", occurrence.getCourseName());
+            assertEquals(String.format("Lab (2019-04-%02d)", days[i]), occurrence.getName());
+        }
+        // the rule ends after four weeks
+        assertTrue(lab.getBetween(minute(2019, 5, 1), minute(2019, 6, 1)).isEmpty());
+        // a range in the middle skips the occurrences before it
+        List<Deadline> middle = lab.getBetween(minute(2019, 4, 10), minute(2019, 4, 20));
+        assertEquals(2, middle.size());
+        assertEquals(12, middle.get(0).getDay());
+        assertTrue(lab.getBetween(minute(2019, 5, 1), minute(2019, 4, 1)).isEmpty());
+    }
+
+    @Test
+    public void cacheTest() {
+        List<Deadline> april = lab.getBetween(minute(2019, 4, 1), minute(2019, 5, 1));
+        assertSame(april, lab.getBetween(minute(2019, 4, 1), minute(2019, 5, 1)));
+        // only the last few ranges are kept
+        for (int day = 1; day <= 20; day++) {
+            lab.getBetween(minute(2019, 4, day), minute(2019, 4, day + 1));
+        }
+        List<Deadline> again = lab.getBetween(minute(2019, 4, 1), minute(2019, 5, 1));
+        assertNotSame(april, again);
+        assertEquals(april, again);
+    }
+
+    @Test
+    public void unboundedTest() {
+        RecurringDeadline daily = new RecurringDeadline(first, "FREQ=DAILY");
+        // a rule without an end is only expanded for the range asked for
+        assertEquals(30, daily.getBetween(minute(2030, 4, 1), minute(2030, 5, 1)).size());
+    }
+
+    @Test
+    public void getNextTest() {
+        assertEquals(12, lab.getNext(first.getEpochMinute()).getDay());
+        assertSame(null, lab.getNext(minute(2019, 4, 27)));
+        assertEquals(5, lab.getNext(minute(2019, 4, 1)).getDay());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  store Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void putRecurringTest() {
+        DeadlineStore.Change change = store.putRecurring(Collections.singletonList(lab));
+        assertEquals(Collections.singletonList(lab), change.getAddedRecurring());
+        assertEquals(Collections.singletonList("OS"), change.getAddedCourses());
+        assertTrue(change.isRecurringChanged());
+        assertEquals(1, change.getSnapshot().getRecurringCount());
+        assertSame(lab, change.getSnapshot().getRecurring(new DeadlineKey("OS", "Lab")));
+        // the same series changes nothing
+        assertTrue(store.putRecurring(Collections.singletonList(lab)).isEmpty());
+        assertEquals(1, changes.size());
+
+        // a new rule replaces the series
+        RecurringDeadline longer = new RecurringDeadline(first, "FREQ=WEEKLY;COUNT=8");
+        change = store.putRecurring(Collections.singletonList(longer));
+        assertEquals(Collections.singletonList(longer), change.getAddedRecurring());
+        assertEquals(Collections.singletonList(lab), change.getRemovedRecurring());
+        assertEquals(1, store.getSnapshot().getRecurringCount());
+    }
+
+    @Test
+    public void snapshotTest() {
+        Deadline hw1 = new Deadline(2019, 4, 2, 23, 59, "HW1", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        Deadline hw2 = new Deadline(2019, 4, 10, 23, 59, "HW2", "OS", Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        store.putAll(Arrays.asList(hw1, hw2));
+        store.putRecurring(Collections.singletonList(lab));
+        DeadlineSnapshot snapshot = store.getSnapshot();
+        // the series is not a deadline of the course
+        assertEquals(2, snapshot.size());
+        assertEquals(2, snapshot.getDeadlines("OS").size());
+
+        List<Deadline> april = snapshot.getMonth(2019, 4);
+        assertEquals(6, april.size());
+        assertEquals("HW1", april.get(0).getName());
+        assertEquals("Lab (2019-04-05)", april.get(1).getName());
+        assertEquals("HW2", april.get(2).getName());
+        assertTrue(snapshot.getMonth(2019, 5).isEmpty());
+
+        assertEquals("HW1",
+                snapshot.getClosest(minute(2019, 4, 1), Collections.emptyList(), Collections.emptyList()).getName());
+        assertEquals("Lab (2019-04-12)",
+                snapshot.getClosest(minute(2019, 4, 11), Collections.emptyList(), Collections.emptyList()).getName());
+        assertSame(null, snapshot.getClosest(minute(2019, 4, 11), Collections.singletonList("OS"),
+                Collections.emptyList()));
+    }
+
+    @Test
+    public void removeTest() {
+        store.putRecurring(Collections.singletonList(lab));
+        assertSame(first, store.remove(new DeadlineKey("OS", "Lab")));
+        DeadlineStore.Change change = changes.get(changes.size() - 1);
+        assertEquals(Collections.singletonList(lab), change.getRemovedRecurring());
+        assertEquals(Collections.singletonList("OS"), change.getRemovedCourses());
+        assertEquals(0, store.getSnapshot().getRecurringCount());
+        assertTrue(store.getSnapshot().getMonth(2019, 4).isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+package model;
+
+import org.joda.time.DateTimeZone;
+import org.joda.time.Period;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Random;
+import java.util.TimeZone;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the RemainingTime class.
+ */
+public class RemainingTimeTest {
+    private Deadline NewYearEve2019;
+    private CalendarWrapper Christmas2018;
+    private TimeZone defaultZone;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() {
+        defaultZone = TimeZone.getDefault();
+        NewYearEve2019 = new Deadline(2018, 12, 31, 23, 59, "New Year", "2019",
+                Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        Christmas2018 = new CalendarWrapper(2018, CalendarWrapper.DECEMBER, 25, 0, 0);
+    }
+
+    @After
+    public void tearDown() {
+        setDefaultZone(defaultZone);
+    }
+
+    /**
+     * This function changes the default time zone of both Java and joda.time
+     * @param zone the new default time zone
+     */
+    private static void setDefaultZone(TimeZone zone) {
+        TimeZone.setDefault(zone);
+        DateTimeZone.setDefault(DateTimeZone.forTimeZone(zone));
+    }
+
+    /**
+     * This function checks that a RemainingTime has the same fields as the Period
+     * computed by Deadline.getRemainPeriod()
+     * @param zone the default time zone
+     * @param nowMinute the current epoch minute
+     * @param dueMinute the due epoch minute
+     */
+    private static void assertSameAsPeriod(TimeZone zone, long nowMinute, long dueMinute) {
+        setDefaultZone(zone);
+        CalendarWrapper now = new CalendarWrapper(nowMinute, zone);
+        Deadline deadline = new Deadline(new CalendarWrapper(dueMinute, zone), "HW", "Course",
+                Deadline.STATUS.DEFAULT, Deadline.LINK.NONE);
+        Period expected = deadline.getRemainPeriod(now).getKey();
+        RemainingTime actual = deadline.getRemainingTime(now);
+        String message = zone.getID() + " " + now + " -> " + deadline.getTime() + ": " + actual;
+        assertEquals(message, expected.getYears(), actual.getYears());
+        assertEquals(message, expected.getMonths(), actual.getMonths());
+        assertEquals(message, expected.getWeeks() * 7 + expected.getDays(), actual.getDays());
+        assertEquals(message, expected.getHours(), actual.getHours());
+        assertEquals(message, expected.getMinutes(), actual.getMinutes());
+        assertEquals(message, deadline.getRemainPeriod(now).getValue(), actual.isUpcoming());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  between Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void betweenTest() {
+        RemainingTime remain = NewYearEve2019.getRemainingTime(Christmas2018);
+        assertEquals(0, remain.getMonths());
+        assertEquals(6, remain.getDays());
+        assertEquals(23, remain.getHours());
+        assertEquals(59, remain.getMinutes());
+        assertTrue(remain.isUpcoming());
+    }
+
+    @Test
+    public void betweenPassedTest() {
+        CalendarWrapper newYear = new CalendarWrapper(2019, CalendarWrapper.JANUARY, 1, 0, 0);
+        RemainingTime remain = NewYearEve2019.getRemainingTime(newYear);
+        assertEquals(0, remain.getDays());
+        assertEquals(0, remain.getHours());
+        assertEquals(1, remain.getMinutes());
+        assertFalse(remain.isUpcoming());
+    }
+
+    @Test
+    public void endOfMonthTest() {
+        TimeZone utc = TimeZone.getTimeZone("UTC");
+        // Jan 31 -> Feb 28 is a whole month, Jan 30 -> Mar 1 is a month and a day
+        long jan31 = new CalendarWrapper(0, utc).getEpochMinute() + 30L * 1440;
+        assertSameAsPeriod(utc, jan31, jan31 + 28L * 1440);
+        assertSameAsPeriod(utc, jan31 - 1440, jan31 + 29L * 1440);
+        // leap days
+        CalendarWrapper leapDay = new CalendarWrapper(2020, CalendarWrapper.FEBRUARY, 29, 12, 0);
+        long leap = leapDay.getEpochMinute();
+        assertSameAsPeriod(TimeZone.getDefault(), leap, leap + 365L * 1440);
+        assertSameAsPeriod(TimeZone.getDefault(), leap - 365L * 1440, leap);
+        assertSameAsPeriod(TimeZone.getDefault(), leap, leap + 4 * 365L * 1440 + 1440);
+    }
+
+    @Test
+    public void randomTest() {
+        Random random = new Random(4210);
+        String[] zones = {"UTC", "America/New_York", "Europe/London", "Asia/Shanghai",
+                "Australia/Lord_Howe", "America/St_Johns"};
+        long base = new CalendarWrapper(2019, CalendarWrapper.JANUARY, 1, 0, 0).getEpochMinute();
+        for (String id : zones) {
+            TimeZone zone = TimeZone.getTimeZone(id);
+            for (int i = 0; i < 3000; i++) {
+                long now = base + random.nextInt(3 * 365 * 1440);
+                // mostly short distances, sometimes years
+                int range = (i % 3 == 0) ? 3 * 365 * 1440 : ((i % 3 == 1) ? 60 * 1440 : 3 * 1440);
+                long due = now + random.nextInt(2 * range) - range;
+                assertSameAsPeriod(zone, now, due);
+            }
+        }
+    }
+}
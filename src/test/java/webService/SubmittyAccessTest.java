@@ -0,0 +1,307 @@
+package webService;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import model.Course;
+import model.CourseDelta;
+import model.Deadline;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * This class contains a set of test cases that can be used to test the
+ * implementation of the SubmittyAccess class against a local stand-in for the
+ * Submitty server.
+ */
+public class SubmittyAccessTest {
+    private static final String SESSION = "submitty_session=logged-in";
+    private HttpServer server;
+    private ExecutorService serverThreads;
+    private String baseUrl;
+    private AtomicInteger activeCoursePages;
+    private AtomicInteger maxCoursePages;
+
+    /**
+     * Because all tests run this method before executing, ALL TESTS WILL FAIL until
+     * the constructor does not throw exceptions. Also, any incorrectness in this
+     * method may have unforeseen consequences elsewhere in the tests, so it is a good
+     * idea to make sure this method is correct before moving on to others.
+     */
+    @Before
+    public void setUp() throws IOException {
+        this.activeCoursePages = new AtomicInteger();
+        this.maxCoursePages = new AtomicInteger();
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        this.server.createContext("/home", this::home);
+        this.server.createContext("/courses/", this::course);
+        this.serverThreads = Executors.newCachedThreadPool();
+        this.server.setExecutor(this.serverThreads);
+        this.server.start();
+        this.baseUrl = "http://127.0.0.1:" + this.server.getAddress().getPort();
+    }
+
+    @After
+    public void tearDown() {
+        this.server.stop(0);
+        this.serverThreads.shutdownNow();
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  the stand-in server
+    /////////////////////////////////////////////////////////////////////////
+
+    private static final String LOGIN_PAGE = "<html><body><form method='post' action='/home'>" +
+            "<input type='text' name='user_id'/><input type='password' name='password'/>" +
+            "<input type='submit' value='Login'/></form></body></html>";
+
+    private static final String[][] COURSES = {
+            {"os", "Fall 2020 OS", "HW1", "(due 04/26/2019 @ 11:59 PM)"},
+            {"pl", "Fall 2020 PL", "HW2", "(due 04/27/2019 @ 10:00 AM)"},
+            {"algo", "Fall 2020 ALGO", "HW3", "(due 04/28/2019 @ 09:30 PM)"},
+    };
+    private String[][] courses = COURSES;
+
+    private void home(HttpExchange exchange) throws IOException {
+        boolean loggedIn = hasSession(exchange);
+        if (exchange.getRequestMethod().equals("POST")) {
+            String form = read(exchange.getRequestBody());
+            if (form.contains("user_id=student") && form.contains("password=secret")) {
+                exchange.getResponseHeaders().add("Set-Cookie", SESSION + "; Path=/");
+                loggedIn = true;
+            } else {
+                send(exchange, "<html><body>Could not login using that user id or password" +
+                        LOGIN_PAGE + "</body></html>");
+                return;
+            }
+        }
+        if (!loggedIn) {
+            send(exchange, LOGIN_PAGE);
+            return;
+        }
+        StringBuilder page = new StringBuilder("<html><body>");
+        for (String[] course : courses) {
+            page.append("<a class='btn btn-primary btn-block' href='/courses/").append(course[0])
+                    .append("'>").append(course[1]).append("</a>");
+        }
+        send(exchange, page.append("</body></html>").toString());
+    }
+
+    private void course(HttpExchange exchange) throws IOException {
+        if (!hasSession(exchange)) {
+            send(exchange, LOGIN_PAGE);
+            return;
+        }
+        int active = this.activeCoursePages.incrementAndGet();
+        this.maxCoursePages.accumulateAndGet(active, Math::max);
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        this.activeCoursePages.decrementAndGet();
+        String path = exchange.getRequestURI().getPath();
+        StringBuilder page = new StringBuilder("<html><body>");
+        for (String[] course : courses) {
+            if (path.equals("/courses/" + course[0])) {
+                page.append("<div class='gradeable'><div class='name'>").append(course[2]).append("</div>")
+                        .append("<div class='actions'><a class='btn btn-nav-submit' id='").append(course[2])
+                        .append("' href='/submit/").append(course[2]).append("'>SUBMIT<br/>")
+                        .append("<span class='subtitle'>").append(course[3]).append("</span></a></div></div>")
+                        .append("<div class='gradeable'><div class='name'>Old</div>")
+                        .append("<div class='actions'><a class='btn btn-nav-submit' href='/grade'>VIEW GRADE</a>")
+                        .append("</div></div>");
+            }
+        }
+        send(exchange, page.append("</body></html>").toString());
+    }
+
+    private static boolean hasSession(HttpExchange exchange) {
+        List<String> cookies = exchange.getRequestHeaders().get("Cookie");
+        return cookies != null && String.join(";", cookies).contains(SESSION);
+    }
+
+    private static String read(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        int n;
+        while ((n = in.read(buffer)) > 0) {
+            out.write(buffer, 0, n);
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void send(HttpExchange exchange, String html) throws IOException {
+        byte[] bytes = html.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "text/html; charset=utf-8");
+        exchange.sendResponseHeaders(200, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  a helper function to check the parsing result
+    /////////////////////////////////////////////////////////////////////////
+
+    private static void checkCourses(ConcurrentHashMap<String, Course> courses) {
+        assertEquals(3, courses.size());
+        for (String[] course : COURSES) {
+            Course c = courses.get(course[1]);
+            assertNotNull(c);
+            assertEquals(course[1].replace("Fall 2020", "").trim(), c.getCourseName());
+            assertEquals(1, c.getDeadlines().size());
+            Deadline d = c.getDeadlines().values().iterator().next();
+            assertEquals(course[2], d.getName());
+            assertEquals(c.getCourseName(), d.getCourseName());
+        }
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  login Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test(expected = SubmittyAccess.LoginFailException.class)
+    public void loginFailTest() {
+        SubmittyAccess sa = new SubmittyAccess("student", "wrong", null, baseUrl);
+        try {
+            sa.login();
+        } finally {
+            sa.close();
+        }
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  parser Test
+    /////////////////////////////////////////////////////////////////////////
+
+    @Test
+    public void sequentialParserTest() {
+        SubmittyAccess sa = new SubmittyAccess("student", "secret", null, baseUrl);
+        sa.login();
+        sa.parser(new HashSet<>());
+        sa.close();
+        checkCourses(sa.getCourseMap());
+        assertEquals(1, maxCoursePages.get());
+    }
+
+    @Test
+    public void parallelParserTest() {
+        List<String> progress = Collections.synchronizedList(new ArrayList<>());
+        Consumer<String> listener = progress::add;
+        SubmittyAccess sa = new SubmittyAccess("student", "secret", listener, baseUrl);
+        sa.login();
+        sa.parser(new HashSet<>(), 3);
+        sa.close();
+        checkCourses(sa.getCourseMap());
+        // the course pages were requested at the same time with the shared login cookie
+        assertTrue(maxCoursePages.get() > 1);
+        int perCourse = 0;
+        for (String message : progress) {
+            if (message.startsWith("Parsing course (")) {
+                perCourse++;
+            }
+        }
+        assertEquals(3, perCourse);
+        assertTrue(progress.get(progress.size() - 1).startsWith("Parsing course (3/3): "));
+    }
+
+    @Test
+    public void singleSessionTest() {
+        SubmittyAccess sa = new SubmittyAccess("student", "secret", null, baseUrl);
+        sa.login();
+        sa.parser(new HashSet<>(), 1);
+        sa.close();
+        checkCourses(sa.getCourseMap());
+        assertEquals(1, maxCoursePages.get());
+    }
+
+    /////////////////////////////////////////////////////////////////////////
+    ////  incremental refresh Test
+    /////////////////////////////////////////////////////////////////////////
+
+    private List<CourseDelta> refresh(SubmittySync sync, ConcurrentHashMap<String, Course> shown) {
+        SubmittyAccess sa = new SubmittyAccess("student", "secret", null, baseUrl);
+        sa.setKnownHashes(sync.getKnownHashes(shown));
+        sa.login();
+        sa.parser(new HashSet<>(), 2);
+        sa.close();
+        List<CourseDelta> deltas = sync.update(sa, shown);
+        // apply the deltas the way the controller does
+        for (CourseDelta delta : deltas) {
+            Course c = shown.computeIfAbsent(delta.getCourseName(), Course::new);
+            for (Deadline d : delta.getRemoved()) {
+                c.removeDeadline(d.getName());
+            }
+            delta.getChanged().forEach(pair -> c.addDeadline(pair.getValue()));
+            delta.getAdded().forEach(c::addDeadline);
+        }
+        return deltas;
+    }
+
+    @Test
+    public void incrementalRefreshTest() {
+        SubmittySync sync = new SubmittySync();
+        ConcurrentHashMap<String, Course> shown = new ConcurrentHashMap<>();
+
+        // the first refresh adds everything
+        List<CourseDelta> deltas = refresh(sync, shown);
+        assertEquals(3, deltas.size());
+        for (CourseDelta delta : deltas) {
+            assertEquals(1, delta.getAdded().size());
+        }
+
+        // nothing changed on the server
+        assertTrue(refresh(sync, shown).isEmpty());
+
+        // one course changed its due date
+        courses = new String[][] {
+                COURSES[0],
+                {"pl", "Fall 2020 PL", "HW2", "(due 04/29/2019 @ 10:00 AM)"},
+                COURSES[2],
+        };
+        deltas = refresh(sync, shown);
+        assertEquals(1, deltas.size());
+        assertEquals("PL", deltas.get(0).getCourseName());
+        assertEquals(1, deltas.get(0).getChanged().size());
+        assertEquals(29, shown.get("PL").getDeadlines().get("HW2").getDay());
+
+        // one gradeable was replaced by another one
+        courses = new String[][] {
+                COURSES[0],
+                {"pl", "Fall 2020 PL", "HW4", "(due 04/29/2019 @ 10:00 AM)"},
+                COURSES[2],
+        };
+        deltas = refresh(sync, shown);
+        assertEquals(1, deltas.size());
+        assertEquals(1, deltas.get(0).getAdded().size());
+        assertEquals(1, deltas.get(0).getRemoved().size());
+        assertEquals("HW2", deltas.get(0).getRemoved().get(0).getName());
+        assertEquals(1, shown.get("PL").size());
+        assertTrue(shown.get("PL").getDeadlines().containsKey("HW4"));
+
+        // a course deleted by the user is parsed again
+        shown.remove("OS");
+        deltas = refresh(sync, shown);
+        assertEquals(1, deltas.size());
+        assertEquals("OS", deltas.get(0).getCourseName());
+    }
+}